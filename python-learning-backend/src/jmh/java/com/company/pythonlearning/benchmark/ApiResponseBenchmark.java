@@ -0,0 +1,114 @@
+package com.company.pythonlearning.benchmark;
+
+import com.company.pythonlearning.dto.response.ApiResponse;
+import com.company.pythonlearning.dto.response.LessonSummaryResponse;
+import com.company.pythonlearning.enums.DifficultyLevel;
+import com.company.pythonlearning.json.ApiJsonModule;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.Data;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 单个请求的响应外层开销：每次新建带 {@code LocalDateTime.now()} 的可变响应对象并走默认Bean序列化，
+ * 对比不可变响应、共享实例和 {@link ApiJsonModule} 直接写出。
+ * 每次操作的分配字节数需加 {@code -prof gc} 查看（gc.alloc.rate.norm）
+ *
+ * @author Company
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ApiResponseBenchmark {
+
+    private ObjectMapper legacyObjectMapper;
+
+    private ObjectMapper objectMapper;
+
+    private LessonSummaryResponse lesson;
+
+    @Setup
+    public void setUp() {
+        legacyObjectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .modulesToInstall(new ApiJsonModule())
+                .build();
+        lesson = new LessonSummaryResponse(1L, 1L, "第1课：变量与数据类型", "学习Python中的变量定义、基本数据类型以及类型转换",
+                15, DifficultyLevel.BEGINNER, 1, true);
+    }
+
+    @Benchmark
+    public void legacySuccess() throws IOException {
+        legacyObjectMapper.writeValue(OutputStream.nullOutputStream(), new LegacyApiResponse<>(200, "获取成功", lesson));
+    }
+
+    @Benchmark
+    public void success() throws IOException {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), ApiResponse.success("获取成功", lesson));
+    }
+
+    @Benchmark
+    public void legacySuccessWithoutData() throws IOException {
+        legacyObjectMapper.writeValue(OutputStream.nullOutputStream(), new LegacyApiResponse<>(200, "删除成功", null));
+    }
+
+    @Benchmark
+    public void successWithoutData() throws IOException {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), ApiResponse.success("删除成功", null));
+    }
+
+    @Benchmark
+    public void legacySystemError() throws IOException {
+        legacyObjectMapper.writeValue(OutputStream.nullOutputStream(),
+                new LegacyApiResponse<>(500, ApiResponse.SYSTEM_ERROR_MESSAGE, null));
+    }
+
+    @Benchmark
+    public void systemError() throws IOException {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), ApiResponse.systemError());
+    }
+
+    /**
+     * 改造前的响应对象
+     */
+    @Data
+    public static class LegacyApiResponse<T> {
+
+        private Integer code;
+
+        private String message;
+
+        private T data;
+
+        private LocalDateTime timestamp;
+
+        LegacyApiResponse(Integer code, String message, T data) {
+            this.timestamp = LocalDateTime.now();
+            this.code = code;
+            this.message = message;
+            this.data = data;
+        }
+    }
+}
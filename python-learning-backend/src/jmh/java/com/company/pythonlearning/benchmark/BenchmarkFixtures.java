@@ -0,0 +1,98 @@
+package com.company.pythonlearning.benchmark;
+
+import com.company.pythonlearning.cache.EmbeddedSharedCacheTier;
+import com.company.pythonlearning.config.ConverterProperties;
+import com.company.pythonlearning.config.SharedCacheProperties;
+import com.company.pythonlearning.converter.ConversionCache;
+import com.company.pythonlearning.converter.JavaParserPool;
+import com.company.pythonlearning.converter.JavaToPythonConverter;
+import com.company.pythonlearning.dto.request.CodeConversionRequest.ConversionOptions;
+import com.company.pythonlearning.service.impl.CodeConverterServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * 基准测试共用的输入数据和组件装配
+ *
+ * @author Company
+ * @version 1.0.0
+ */
+public final class BenchmarkFixtures {
+
+    private static final String METHOD_TEMPLATE = """
+                public int method%1$d(List<Integer> values) {
+                    int total = 0;
+                    for (int value : values) {
+                        if (value %% 2 == 0) {
+                            total += value * %1$d;
+                        } else {
+                            total -= value;
+                        }
+                    }
+                    String label = "result-" + total;
+                    System.out.println(label.toUpperCase());
+                    return total;
+                }
+            """;
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * 源码规模：小片段为几条语句，中等为10个方法的类，大型为100个方法的类
+     */
+    public enum SnippetSize {
+        SMALL, MEDIUM, LARGE
+    }
+
+    static String javaSource(SnippetSize size) {
+        if (size == SnippetSize.SMALL) {
+            return """
+                    List<String> names = new ArrayList<>();
+                    names.add("alice");
+                    for (String name : names) {
+                        System.out.println(name.toUpperCase());
+                    }
+                    """;
+        }
+        int methods = size == SnippetSize.MEDIUM ? 10 : 100;
+        StringBuilder source = new StringBuilder("import java.util.List;\n\npublic class Sample {\n");
+        for (int i = 0; i < methods; i++) {
+            source.append(String.format(METHOD_TEMPLATE, i));
+        }
+        return source.append("}\n").toString();
+    }
+
+    /**
+     * 转换选项组合：default、camelCase、noComments、indent2
+     */
+    static ConversionOptions options(String name) {
+        ConversionOptions options = new ConversionOptions();
+        switch (name) {
+            case "camelCase" -> options.setNamingConvention("camelCase");
+            case "noComments" -> options.setIncludeComments(false);
+            case "indent2" -> options.setIndentSize(2);
+            default -> {
+            }
+        }
+        return options;
+    }
+
+    static ConverterProperties converterProperties(boolean cacheEnabled) {
+        ConverterProperties properties = new ConverterProperties();
+        properties.setMaxCodeLength(1_000_000);
+        properties.getCache().setEnabled(cacheEnabled);
+        return properties;
+    }
+
+    static JavaToPythonConverter converter(ConverterProperties properties) {
+        JavaParserPool pool = new JavaParserPool(properties);
+        pool.init();
+        return new JavaToPythonConverter(pool, properties, new SimpleMeterRegistry());
+    }
+
+    static CodeConverterServiceImpl converterService(boolean cacheEnabled) {
+        ConverterProperties properties = converterProperties(cacheEnabled);
+        return new CodeConverterServiceImpl(converter(properties), new ConversionCache(properties,
+                new EmbeddedSharedCacheTier(properties.getCache().getMaxBytes()), new SharedCacheProperties()));
+    }
+}
@@ -0,0 +1,191 @@
+package com.company.pythonlearning.benchmark;
+
+import com.company.pythonlearning.PythonLearningApplication;
+import com.company.pythonlearning.catalog.CatalogSnapshotBuilder;
+import com.company.pythonlearning.dto.request.KeysetCursor;
+import com.company.pythonlearning.dto.response.CursorPageResponse;
+import com.company.pythonlearning.dto.response.LessonSummaryResponse;
+import com.company.pythonlearning.dto.response.ModuleTreeResponse;
+import com.company.pythonlearning.dto.response.SearchHitResponse;
+import com.company.pythonlearning.dto.response.SuggestionResponse;
+import com.company.pythonlearning.entity.CodeExample;
+import com.company.pythonlearning.entity.LearningModule;
+import com.company.pythonlearning.entity.Lesson;
+import com.company.pythonlearning.enums.DifficultyLevel;
+import com.company.pythonlearning.repository.CodeExampleRepository;
+import com.company.pythonlearning.repository.LearningModuleRepository;
+import com.company.pythonlearning.repository.LessonRepository;
+import com.company.pythonlearning.search.SearchIndex;
+import com.company.pythonlearning.search.SearchIndexer;
+import com.company.pythonlearning.search.SuggestionIndexer;
+import com.company.pythonlearning.service.LearningModuleService;
+import com.company.pythonlearning.service.LessonService;
+import com.company.pythonlearning.service.SearchService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 课程目录读取路径：目录树、键集分页、全文搜索、输入联想和目录快照
+ *
+ * <p>在内嵌H2上启动不含Web层的应用上下文，按参数合成指定规模的目录数据。
+ * data.sql 对应的是旧版MySQL表结构，与当前实体映射的列不一致，因此数据由实体直接生成。</p>
+ *
+ * @author Company
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CatalogBenchmark {
+
+    private static final int LESSONS_PER_MODULE = 40;
+
+    private static final int EXAMPLES_PER_MODULE = 10;
+
+    @Param({"10", "100"})
+    private int moduleCount;
+
+    private ConfigurableApplicationContext context;
+
+    private LearningModuleService learningModuleService;
+
+    private LessonService lessonService;
+
+    private SearchService searchService;
+
+    private CatalogSnapshotBuilder catalogSnapshotBuilder;
+
+    private String deepCursor;
+
+    @Setup(Level.Trial)
+    public void setUp() throws InterruptedException {
+        context = new SpringApplicationBuilder(PythonLearningApplication.class)
+                .web(WebApplicationType.NONE)
+                // 以命令行参数传入，优先级高于 application.yml 中的MySQL配置
+                .run("--spring.datasource.url=jdbc:h2:mem:benchmark;MODE=MySQL;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                        "--logging.level.com.company.pythonlearning=WARN");
+        seed(context.getBean(LearningModuleRepository.class), context.getBean(LessonRepository.class),
+                context.getBean(CodeExampleRepository.class));
+
+        learningModuleService = context.getBean(LearningModuleService.class);
+        lessonService = context.getBean(LessonService.class);
+        searchService = context.getBean(SearchService.class);
+        catalogSnapshotBuilder = context.getBean(CatalogSnapshotBuilder.class);
+        catalogSnapshotBuilder.rebuild();
+        deepCursor = new KeysetCursor(LESSONS_PER_MODULE / 2, (long) moduleCount * LESSONS_PER_MODULE / 2).encode();
+
+        // 数据是直接写入仓库的，不经过服务层事件，这里手动重建索引并等待后台构建完成
+        int documents = moduleCount * (1 + LESSONS_PER_MODULE + EXAMPLES_PER_MODULE);
+        SearchIndex searchIndex = context.getBean(SearchIndex.class);
+        context.getBean(SearchIndexer.class).rebuild();
+        SuggestionIndexer suggestionIndexer = context.getBean(SuggestionIndexer.class);
+        suggestionIndexer.onApplicationReady();
+        while (searchIndex.size() < documents || suggestionIndexer.current().size() == 0) {
+            Thread.sleep(50);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    private void seed(LearningModuleRepository modules, LessonRepository lessons, CodeExampleRepository examples) {
+        for (int m = 0; m < moduleCount; m++) {
+            LearningModule module = new LearningModule();
+            module.setTitle("Python模块" + m + "：面向对象与函数式编程");
+            module.setDescription("学习类、继承、多态以及lambda表达式和列表推导式");
+            module.setDifficultyLevel(DifficultyLevel.values()[m % 3]);
+            module.setIsPublished(true);
+            module.setSortOrder(m);
+            module = modules.save(module);
+
+            List<Lesson> moduleLessons = new ArrayList<>(LESSONS_PER_MODULE);
+            for (int l = 0; l < LESSONS_PER_MODULE; l++) {
+                Lesson lesson = new Lesson();
+                lesson.setLearningModule(module);
+                lesson.setTitle("第" + l + "课：变量与数据类型 " + m);
+                lesson.setDescription("变量定义、基本数据类型与类型转换");
+                lesson.setContent("<p>Python是动态类型语言，变量在赋值时确定类型，list和dict是最常用的容器。</p>");
+                lesson.setSortOrder(l);
+                lesson.setIsFree(l % 2 == 0);
+                lesson.setIsPublished(true);
+                moduleLessons.add(lesson);
+            }
+            lessons.saveAll(moduleLessons);
+
+            List<CodeExample> moduleExamples = new ArrayList<>(EXAMPLES_PER_MODULE);
+            for (int e = 0; e < EXAMPLES_PER_MODULE; e++) {
+                CodeExample example = new CodeExample();
+                example.setLearningModule(module);
+                example.setTitle("示例" + e + "：getUserName 与 property");
+                example.setJavaCode(BenchmarkFixtures.javaSource(BenchmarkFixtures.SnippetSize.SMALL));
+                example.setPythonCode("names = []\nfor name in names:\n    print(name.upper())\n");
+                example.setExplanation("Java的增强for循环对应Python的for...in");
+                example.setDifficultyLevel(DifficultyLevel.BEGINNER);
+                example.setSortOrder(e);
+                moduleExamples.add(example);
+            }
+            examples.saveAll(moduleExamples);
+        }
+    }
+
+    @Benchmark
+    public List<ModuleTreeResponse> publishedTree() {
+        return learningModuleService.getPublishedModuleTree();
+    }
+
+    @Benchmark
+    public CursorPageResponse<LessonSummaryResponse> lessonFirstPage() {
+        return lessonService.getAllLessons(null, KeysetCursor.DEFAULT_PAGE_SIZE);
+    }
+
+    @Benchmark
+    public CursorPageResponse<LessonSummaryResponse> lessonDeepPage() {
+        return lessonService.getAllLessons(deepCursor, KeysetCursor.DEFAULT_PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<SearchHitResponse> fullTextSearch() {
+        return searchService.search("变量 类型", null, 20);
+    }
+
+    @Benchmark
+    public List<SuggestionResponse> suggest() {
+        return searchService.suggest("py", 10);
+    }
+
+    @Benchmark
+    public byte[] snapshotRead() {
+        return catalogSnapshotBuilder.current().body(true);
+    }
+}
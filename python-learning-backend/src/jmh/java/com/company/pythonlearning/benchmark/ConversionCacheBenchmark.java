@@ -0,0 +1,62 @@
+package com.company.pythonlearning.benchmark;
+
+import com.company.pythonlearning.dto.request.CodeConversionRequest;
+import com.company.pythonlearning.dto.response.CodeConversionResponse;
+import com.company.pythonlearning.service.impl.CodeConverterServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 转换服务的缓存命中路径与未启用缓存时的完整转换对比
+ *
+ * @author Company
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConversionCacheBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    private BenchmarkFixtures.SnippetSize size;
+
+    private CodeConverterServiceImpl cachedService;
+
+    private CodeConverterServiceImpl uncachedService;
+
+    private CodeConversionRequest request;
+
+    @Setup
+    public void setUp() {
+        cachedService = BenchmarkFixtures.converterService(true);
+        uncachedService = BenchmarkFixtures.converterService(false);
+        request = new CodeConversionRequest();
+        request.setSourceCode(BenchmarkFixtures.javaSource(size));
+        request.setConversionOptions(BenchmarkFixtures.options("default"));
+        cachedService.convert(request);
+    }
+
+    @Benchmark
+    public CodeConversionResponse cacheHit() {
+        return cachedService.convert(request);
+    }
+
+    @Benchmark
+    public CodeConversionResponse cacheDisabled() {
+        return uncachedService.convert(request);
+    }
+}
@@ -0,0 +1,81 @@
+package com.company.pythonlearning.benchmark;
+
+import com.company.pythonlearning.converter.ConversionReport;
+import com.company.pythonlearning.converter.JavaToPythonConverter;
+import com.company.pythonlearning.converter.PreparedConversion;
+import com.company.pythonlearning.dto.request.CodeConversionRequest.ConversionOptions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Java到Python转换的吞吐量与延迟，按源码规模和转换选项组合
+ *
+ * @author Company
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConverterBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    private BenchmarkFixtures.SnippetSize size;
+
+    @Param({"default", "camelCase", "noComments", "indent2"})
+    private String optionSet;
+
+    private JavaToPythonConverter converter;
+
+    private String source;
+
+    private ConversionOptions options;
+
+    @Setup
+    public void setUp() {
+        converter = BenchmarkFixtures.converter(BenchmarkFixtures.converterProperties(false));
+        source = BenchmarkFixtures.javaSource(size);
+        options = BenchmarkFixtures.options(optionSet);
+    }
+
+    /**
+     * 只解析和分析，不生成代码
+     */
+    @Benchmark
+    public PreparedConversion prepare() {
+        return converter.prepare(source, options);
+    }
+
+    /**
+     * 完整转换，输出丢弃，衡量转换本身
+     */
+    @Benchmark
+    public ConversionReport convertToNullWriter() {
+        return converter.convert(source, options, Writer.nullWriter());
+    }
+
+    /**
+     * 完整转换并保留结果字符串，与同步接口的实际开销一致
+     */
+    @Benchmark
+    public String convertToString() {
+        StringWriter out = new StringWriter(source.length() + 256);
+        converter.convert(source, options, out);
+        return out.toString();
+    }
+}
@@ -0,0 +1,111 @@
+package com.company.pythonlearning.benchmark;
+
+import com.company.pythonlearning.dto.response.ApiResponse;
+import com.company.pythonlearning.dto.response.CodeExampleSummaryResponse;
+import com.company.pythonlearning.dto.response.LessonSummaryResponse;
+import com.company.pythonlearning.dto.response.ModuleTreeResponse;
+import com.company.pythonlearning.entity.LearningModule;
+import com.company.pythonlearning.entity.Lesson;
+import com.company.pythonlearning.enums.DifficultyLevel;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ApiResponse 包装的大课程列表JSON序列化，对比实体与摘要DTO；
+ * 目录树用例对应 /published 快照的响应体，每10个课程挂在一个模块下，附带同样数量的代码示例
+ *
+ * @author Company
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int lessonCount;
+
+    private ObjectMapper objectMapper;
+
+    private ApiResponse<List<Lesson>> entities;
+
+    private ApiResponse<List<LessonSummaryResponse>> summaries;
+
+    private ApiResponse<List<ModuleTreeResponse>> tree;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        LearningModule module = new LearningModule();
+        module.setId(1L);
+        module.setTitle("Python基础入门");
+        List<Lesson> lessons = new ArrayList<>(lessonCount);
+        List<LessonSummaryResponse> lessonSummaries = new ArrayList<>(lessonCount);
+        List<ModuleTreeResponse> modules = new ArrayList<>();
+        for (int i = 0; i < lessonCount; i++) {
+            Lesson lesson = new Lesson();
+            lesson.setId((long) i);
+            lesson.setLearningModule(module);
+            lesson.setTitle("第" + i + "课：变量与数据类型");
+            lesson.setDescription("学习Python中的变量定义、基本数据类型以及类型转换");
+            lesson.setContent("<p>Python是动态类型语言，变量在赋值时确定类型。</p>".repeat(20));
+            lesson.setDurationMinutes(15);
+            lesson.setDifficultyLevel(DifficultyLevel.BEGINNER);
+            lesson.setSortOrder(i);
+            lessons.add(lesson);
+            lessonSummaries.add(LessonSummaryResponse.from(lesson));
+            if (i % 10 == 0) {
+                modules.add(new ModuleTreeResponse((long) i / 10, "Python基础入门", "学习Python编程语言的基础知识",
+                        LearningModule.ModuleType.BASIC_SYNTAX, DifficultyLevel.BEGINNER, 180,
+                        "/icons/python-basic.svg", "/images/python-basic.png", i / 10));
+            }
+            ModuleTreeResponse node = modules.get(modules.size() - 1);
+            node.getLessons().add(LessonSummaryResponse.from(lesson));
+            node.getCodeExamples().add(new CodeExampleSummaryResponse((long) i, node.getId(), "变量声明对比",
+                    DifficultyLevel.BEGINNER, i));
+        }
+        entities = ApiResponse.success("获取成功", lessons);
+        summaries = ApiResponse.success("获取成功", lessonSummaries);
+        tree = ApiResponse.success("获取成功", modules);
+    }
+
+    @Benchmark
+    public void serializeEntities() throws IOException {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), entities);
+    }
+
+    @Benchmark
+    public void serializeSummaries() throws IOException {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), summaries);
+    }
+
+    @Benchmark
+    public byte[] serializeSummariesToBytes() throws IOException {
+        return objectMapper.writeValueAsBytes(summaries);
+    }
+
+    @Benchmark
+    public byte[] serializeTree() throws IOException {
+        return objectMapper.writeValueAsBytes(tree);
+    }
+}
@@ -3,6 +3,7 @@ package com.company.pythonlearning;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.scheduling.annotation.EnableAsync;
 
 /**
  * Python语言学习驾驶舱系统 - 后端启动类
@@ -12,6 +13,7 @@ import org.springframework.cache.annotation.EnableCaching;
  */
 @SpringBootApplication
 @EnableCaching
+@EnableAsync
 public class PythonLearningApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,94 @@
+package com.company.pythonlearning.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * 共享缓存层的进程内替身
+ *
+ * <p>行为与Redis实现一致：值按条目过期，发布的消息同步投递给本进程内的全部订阅者。
+ * 单实例部署时相当于第二个本地缓存；在同一进程中创建多个
+ * {@link TwoLevelCache} 共用一个替身，即可模拟多实例之间的共享与失效通知。</p>
+ *
+ * @author Company
+ * @version 1.0.0
+ */
+@Slf4j
+public class EmbeddedSharedCacheTier implements SharedCacheTier {
+
+    private record Entry(byte[] value, long ttlNanos) {
+    }
+
+    private final Cache<String, Entry> entries;
+
+    private final Map<String, List<Consumer<String>>> subscribers = new ConcurrentHashMap<>();
+
+    public EmbeddedSharedCacheTier(long maxBytes) {
+        this.entries = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String key, Entry entry) -> key.length() * 2 + entry.value().length)
+                .expireAfter(new Expiry<String, Entry>() {
+                    @Override
+                    public long expireAfterCreate(String key, Entry entry, long currentTime) {
+                        return entry.ttlNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+                        return entry.ttlNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    @Override
+    public byte[] get(String key) {
+        Entry entry = entries.getIfPresent(key);
+        return entry != null ? entry.value() : null;
+    }
+
+    @Override
+    public void put(String key, byte[] value, Duration ttl) {
+        entries.put(key, new Entry(value, ttl.toNanos()));
+    }
+
+    @Override
+    public void delete(String key) {
+        entries.invalidate(key);
+    }
+
+    @Override
+    public void publish(String channel, String message) {
+        for (Consumer<String> listener : subscribers.getOrDefault(channel, List.of())) {
+            try {
+                listener.accept(message);
+            } catch (RuntimeException e) {
+                log.warn("缓存失效通知处理失败: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    @Override
+    public void subscribe(String channel, Consumer<String> listener) {
+        subscribers.computeIfAbsent(channel, c -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    @Override
+    public String describe() {
+        return "embedded";
+    }
+}
@@ -0,0 +1,75 @@
+package com.company.pythonlearning.cache;
+
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.function.Consumer;
+
+/**
+ * 基于Redis的共享缓存层
+ *
+ * <p>值以字节数组保存，键统一加上配置的前缀；失效通知使用Redis发布订阅，
+ * 订阅由 {@link RedisMessageListenerContainer} 在独立线程上接收。</p>
+ *
+ * @author Company
+ * @version 1.0.0
+ */
+public class RedisSharedCacheTier implements SharedCacheTier {
+
+    private final String keyPrefix;
+
+    private final RedisTemplate<String, byte[]> template;
+
+    private final RedisMessageListenerContainer listenerContainer;
+
+    private final String description;
+
+    public RedisSharedCacheTier(RedisConnectionFactory connectionFactory,
+                                RedisMessageListenerContainer listenerContainer, String keyPrefix) {
+        this.keyPrefix = keyPrefix;
+        this.listenerContainer = listenerContainer;
+        this.template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+        template.setKeySerializer(RedisSerializer.string());
+        template.setValueSerializer(RedisSerializer.byteArray());
+        template.afterPropertiesSet();
+        this.description = "redis(" + connectionFactory.getClass().getSimpleName() + ")";
+    }
+
+    @Override
+    public byte[] get(String key) {
+        return template.opsForValue().get(keyPrefix + key);
+    }
+
+    @Override
+    public void put(String key, byte[] value, Duration ttl) {
+        template.opsForValue().set(keyPrefix + key, value, ttl);
+    }
+
+    @Override
+    public void delete(String key) {
+        template.delete(keyPrefix + key);
+    }
+
+    @Override
+    public void publish(String channel, String message) {
+        template.convertAndSend(channel, message.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void subscribe(String channel, Consumer<String> listener) {
+        listenerContainer.addMessageListener(
+                (message, pattern) -> listener.accept(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(channel));
+    }
+
+    @Override
+    public String describe() {
+        return description;
+    }
+}
@@ -0,0 +1,37 @@
+package com.company.pythonlearning.cache;
+
+import java.time.Duration;
+import java.util.function.Consumer;
+
+/**
+ * 多实例共享的远程缓存层
+ *
+ * <p>保存已编码的缓存值，并提供发布订阅用于通知各实例丢弃本地副本。
+ * 实现可能访问网络，调用方需要容忍异常并回退到本地计算。</p>
+ *
+ * @author Company
+ * @version 1.0.0
+ */
+public interface SharedCacheTier {
+
+    /**
+     * 读取缓存值，不存在或已过期时返回null
+     */
+    byte[] get(String key);
+
+    void put(String key, byte[] value, Duration ttl);
+
+    void delete(String key);
+
+    /**
+     * 向频道发布消息，所有实例（包括自身）的订阅者都会收到
+     */
+    void publish(String channel, String message);
+
+    void subscribe(String channel, Consumer<String> listener);
+
+    /**
+     * 实现描述，用于日志
+     */
+    String describe();
+}
@@ -0,0 +1,216 @@
+package com.company.pythonlearning.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * 两级缓存：进程内近端缓存 + 多实例共享缓存层
+ *
+ * <p>读取先查近端缓存，未命中再查共享层并回填近端；写入同时写两级。
+ * 值变化（而不只是新增）时通过 {@link #update} 或 {@link #invalidate} 在共享频道上广播失效消息，
+ * 其他实例收到后丢弃自己的近端副本，下次读取时从共享层取得新值。</p>
+ *
+ * <p>共享层不可用时只记录日志，读取按未命中处理，写入只保留近端副本，不影响请求本身。</p>
+ *
+ * @author Company
+ * @version 1.0.0
+ */
+@Slf4j
+public class TwoLevelCache<V> implements MeterBinder {
+
+    /**
+     * 失效消息字段分隔符，消息格式为 缓存名|来源实例|键
+     */
+    private static final char SEPARATOR = '|';
+
+    /**
+     * 共享层中值的编解码
+     */
+    public interface Codec<V> {
+
+        byte[] encode(V value) throws IOException;
+
+        V decode(byte[] bytes) throws IOException;
+    }
+
+    private final String name;
+
+    private final String origin = UUID.randomUUID().toString();
+
+    private final SharedCacheTier tier;
+
+    private final String channel;
+
+    private final Cache<String, V> near;
+
+    private final Duration ttl;
+
+    private final Codec<V> codec;
+
+    private final List<Consumer<String>> invalidationListeners = new CopyOnWriteArrayList<>();
+
+    private final LongAdder sharedHits = new LongAdder();
+
+    private final LongAdder sharedMisses = new LongAdder();
+
+    public TwoLevelCache(String name, SharedCacheTier tier, String channel,
+                         Cache<String, V> near, Duration ttl, Codec<V> codec) {
+        this.name = name;
+        this.tier = tier;
+        this.channel = channel;
+        this.near = near;
+        this.ttl = ttl;
+        this.codec = codec;
+        try {
+            tier.subscribe(channel, this::onMessage);
+        } catch (RuntimeException e) {
+            log.warn("订阅缓存失效频道失败, 缓存: {}, 原因: {}", name, e.getMessage());
+        }
+    }
+
+    /**
+     * 读取缓存值，两级都未命中时返回null
+     */
+    public V get(String key) {
+        V value = near.getIfPresent(key);
+        if (value != null) {
+            return value;
+        }
+        byte[] bytes;
+        try {
+            bytes = tier.get(sharedKey(key));
+        } catch (RuntimeException e) {
+            log.warn("读取共享缓存失败, 缓存: {}, 原因: {}", name, e.getMessage());
+            return null;
+        }
+        if (bytes == null) {
+            sharedMisses.increment();
+            return null;
+        }
+        try {
+            value = codec.decode(bytes);
+        } catch (IOException | RuntimeException e) {
+            log.warn("共享缓存条目无法解码, 缓存: {}, 键: {}, 原因: {}", name, key, e.getMessage());
+            sharedMisses.increment();
+            return null;
+        }
+        sharedHits.increment();
+        near.put(key, value);
+        return value;
+    }
+
+    /**
+     * 写入两级缓存，不广播失效（适用于相同键的值不会变化的缓存）
+     */
+    public void put(String key, V value) {
+        near.put(key, value);
+        try {
+            tier.put(sharedKey(key), codec.encode(value), ttl);
+        } catch (IOException | RuntimeException e) {
+            log.warn("写入共享缓存失败, 缓存: {}, 原因: {}", name, e.getMessage());
+        }
+    }
+
+    /**
+     * 写入新值并通知其他实例丢弃旧的近端副本
+     */
+    public void update(String key, V value) {
+        put(key, value);
+        publish(key);
+    }
+
+    /**
+     * 删除两级缓存中的值并通知其他实例
+     */
+    public void invalidate(String key) {
+        near.invalidate(key);
+        try {
+            tier.delete(sharedKey(key));
+        } catch (RuntimeException e) {
+            log.warn("删除共享缓存失败, 缓存: {}, 原因: {}", name, e.getMessage());
+        }
+        publish(key);
+    }
+
+    /**
+     * 只通知其他实例键对应的数据已变化，不读写本缓存中的值
+     */
+    public void broadcast(String key) {
+        publish(key);
+    }
+
+    /**
+     * 注册其他实例发来失效通知时的回调，参数为失效的键
+     */
+    public void addInvalidationListener(Consumer<String> listener) {
+        invalidationListeners.add(listener);
+    }
+
+    public Cache<String, V> near() {
+        return near;
+    }
+
+    public long getSharedHitCount() {
+        return sharedHits.sum();
+    }
+
+    public long getSharedMissCount() {
+        return sharedMisses.sum();
+    }
+
+    /**
+     * 近端缓存指标（cache.gets 等，需要近端缓存开启 recordStats）与共享层命中次数（cache.shared.gets）
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, near, name);
+        FunctionCounter.builder("cache.shared.gets", sharedHits, LongAdder::sum)
+                .description("近端未命中后查询共享缓存层的次数")
+                .tags("cache", name, "result", "hit")
+                .register(registry);
+        FunctionCounter.builder("cache.shared.gets", sharedMisses, LongAdder::sum)
+                .description("近端未命中后查询共享缓存层的次数")
+                .tags("cache", name, "result", "miss")
+                .register(registry);
+    }
+
+    private String sharedKey(String key) {
+        return name + ":" + key;
+    }
+
+    private void publish(String key) {
+        try {
+            tier.publish(channel, name + SEPARATOR + origin + SEPARATOR + key);
+        } catch (RuntimeException e) {
+            log.warn("发布缓存失效通知失败, 缓存: {}, 原因: {}", name, e.getMessage());
+        }
+    }
+
+    private void onMessage(String message) {
+        int first = message.indexOf(SEPARATOR);
+        int second = first < 0 ? -1 : message.indexOf(SEPARATOR, first + 1);
+        if (second < 0 || !name.equals(message.substring(0, first))
+                || origin.equals(message.substring(first + 1, second))) {
+            // 其他缓存的消息或本实例自己发出的消息
+            return;
+        }
+        String key = message.substring(second + 1);
+        near.invalidate(key);
+        log.debug("收到缓存失效通知, 缓存: {}, 键: {}", name, key);
+        for (Consumer<String> listener : invalidationListeners) {
+            listener.accept(key);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.company.pythonlearning.catalog;
+
+/**
+ * 课程目录变更事件
+ *
+ * <p>模块或课程被创建、修改、删除、发布或取消发布时由服务层发布，
+ * 事务提交后触发目录快照重建。</p>
+ *
+ * @author Company
+ * @version 1.0.0
+ */
+public record CatalogChangedEvent(String source, Long id) {
+
+    public static final String MODULE = "module";
+
+    public static final String LESSON = "lesson";
+}
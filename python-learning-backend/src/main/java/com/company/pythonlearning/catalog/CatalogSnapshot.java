@@ -0,0 +1,54 @@
+package com.company.pythonlearning.catalog;
+
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * 已发布课程目录的不可变快照
+ *
+ * <p>保存预先序列化好的JSON字节及其gzip压缩结果，读请求直接写出字节，不再查询数据库或序列化。
+ * ETag由内容摘要生成，两种编码各有独立的强ETag。</p>
+ *
+ * @author Company
+ * @version 1.0.0
+ */
+@Getter
+public class CatalogSnapshot {
+
+    private final long version;
+
+    private final String digest;
+
+    private final Instant builtAt;
+
+    private final byte[] json;
+
+    private final byte[] gzip;
+
+    CatalogSnapshot(long version, String digest, byte[] json, byte[] gzip) {
+        this(version, digest, Instant.now(), json, gzip);
+    }
+
+    CatalogSnapshot(long version, String digest, Instant builtAt, byte[] json, byte[] gzip) {
+        this.version = version;
+        this.digest = digest;
+        this.builtAt = builtAt;
+        this.json = json;
+        this.gzip = gzip;
+    }
+
+    /**
+     * 指定编码下的强ETag
+     */
+    public String etag(boolean gzipped) {
+        return "\"" + version + "-" + digest + (gzipped ? "-gz\"" : "\"");
+    }
+
+    /**
+     * 指定编码下的响应体，调用方不得修改返回的数组
+     */
+    public byte[] body(boolean gzipped) {
+        return gzipped ? gzip : json;
+    }
+}
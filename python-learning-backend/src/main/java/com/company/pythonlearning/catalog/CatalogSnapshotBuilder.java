@@ -0,0 +1,221 @@
+package com.company.pythonlearning.catalog;
+
+import com.company.pythonlearning.cache.SharedCacheTier;
+import com.company.pythonlearning.cache.TwoLevelCache;
+import com.company.pythonlearning.config.SharedCacheProperties;
+import com.company.pythonlearning.dto.response.ApiResponse;
+import com.company.pythonlearning.dto.response.ModuleTreeResponse;
+import com.company.pythonlearning.entity.CodeExample;
+import com.company.pythonlearning.entity.LearningModule;
+import com.company.pythonlearning.entity.Lesson;
+import com.company.pythonlearning.service.LearningModuleService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 课程目录快照构建器
+ *
+ * <p>目录变更提交后异步重建快照：查询一次已发布的目录树，序列化为JSON并压缩，
+ * 以 {@link CatalogVersionCounter} 取得的版本号替换当前快照。内容没有变化时保留原快照，客户端缓存继续有效。
+ * 首次读取时若尚无快照则同步构建。</p>
+ *
+ * <p>快照同时保存在多实例共享缓存层中：新启动的实例直接取用已有快照，不必查询数据库；
+ * 某个实例重建快照后广播失效通知，其他实例丢弃本地副本，下次读取时取得同一份快照，
+ * 各实例返回的ETag保持一致。</p>
+ *
+ * <p>快照摘要只覆盖已发布目录的摘要字段，课程正文或草稿的修改不会改变摘要，
+ * 因此每次目录变更另外广播变更的实体和ID，其他实例据此从Hibernate二级缓存中
+ * 移除对应的实体和集合，并清空查询缓存。</p>
+ *
+ * @author Company
+ * @version 1.0.0
+ */
+@Component
+@Slf4j
+public class CatalogSnapshotBuilder {
+
+    private static final int DIGEST_HEX_LENGTH = 16;
+
+    private static final String SNAPSHOT_KEY = "snapshot";
+
+    /**
+     * 实体变更通知的键：来源:ID
+     */
+    private static final char ENTITY_KEY_SEPARATOR = ':';
+
+    private static final String MODULE_EXAMPLES_ROLE = LearningModule.class.getName() + ".codeExamples";
+
+    private final LearningModuleService learningModuleService;
+
+    private final ObjectMapper objectMapper;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final CatalogVersionCounter catalogVersionCounter;
+
+    private final TwoLevelCache<CatalogSnapshot> snapshots;
+
+    public CatalogSnapshotBuilder(LearningModuleService learningModuleService, ObjectMapper objectMapper,
+                                  EntityManagerFactory entityManagerFactory, CatalogVersionCounter catalogVersionCounter,
+                                  SharedCacheTier sharedCacheTier, SharedCacheProperties sharedCacheProperties) {
+        this.learningModuleService = learningModuleService;
+        this.catalogVersionCounter = catalogVersionCounter;
+        this.objectMapper = objectMapper;
+        this.entityManagerFactory = entityManagerFactory;
+        this.snapshots = new TwoLevelCache<>("catalog", sharedCacheTier, sharedCacheProperties.getChannel(),
+                Caffeine.newBuilder().maximumSize(1).build(), sharedCacheProperties.getSnapshotTtl(), new Codec());
+        snapshots.addInvalidationListener(this::onRemoteChange);
+    }
+
+    /**
+     * 当前快照，本地和共享层都没有时同步构建
+     */
+    public CatalogSnapshot current() {
+        CatalogSnapshot snapshot = snapshots.get(SNAPSHOT_KEY);
+        return snapshot != null ? snapshot : rebuild();
+    }
+
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        log.debug("课程目录变更: {} {}", event.source(), event.id());
+        snapshots.broadcast(event.source() + ENTITY_KEY_SEPARATOR + event.id());
+        rebuild();
+    }
+
+    /**
+     * 重建快照；串行执行，保证后开始的重建读到的数据不早于先开始的
+     */
+    public synchronized CatalogSnapshot rebuild() {
+        List<ModuleTreeResponse> tree = learningModuleService.getPublishedModuleTree();
+        // 响应中的时间戳每次都不同，摘要只覆盖目录数据本身
+        String digest = digest(serialize(tree));
+        CatalogSnapshot previous = snapshots.get(SNAPSHOT_KEY);
+        if (previous != null && previous.getDigest().equals(digest)) {
+            return previous;
+        }
+        byte[] json = serialize(ApiResponse.success("获取成功", tree));
+        CatalogSnapshot snapshot = new CatalogSnapshot(catalogVersionCounter.next(), digest, json, gzip(json));
+        snapshots.update(SNAPSHOT_KEY, snapshot);
+        log.info("课程目录快照已更新: 版本 {}，{} 个模块，{} 字节（压缩后 {} 字节）",
+                snapshot.getVersion(), tree.size(), json.length, snapshot.getGzip().length);
+        return snapshot;
+    }
+
+    /**
+     * 其他实例的通知：快照更新时本地副本已由缓存丢弃；实体变更时移除二级缓存中的对应条目
+     */
+    private void onRemoteChange(String key) {
+        int separator = key.indexOf(ENTITY_KEY_SEPARATOR);
+        if (separator < 0) {
+            log.info("其他实例更新了课程目录快照, 已丢弃本地副本");
+            return;
+        }
+        String source = key.substring(0, separator);
+        long id;
+        try {
+            id = Long.parseLong(key.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            log.warn("无法识别的目录变更通知: {}", key);
+            return;
+        }
+        Cache cache = entityManagerFactory.getCache().unwrap(org.hibernate.Cache.class);
+        if (CatalogChangedEvent.MODULE.equals(source)) {
+            cache.evictEntityData(LearningModule.class, id);
+            cache.evictCollectionData(MODULE_EXAMPLES_ROLE, id);
+            // 代码示例随模块级联修改和删除，不单独发送变更通知
+            cache.evictEntityData(CodeExample.class);
+        } else if (CatalogChangedEvent.LESSON.equals(source)) {
+            cache.evictEntityData(Lesson.class, id);
+        }
+        cache.evictQueryRegions();
+        log.debug("其他实例修改了课程目录: {} {}, 已移除二级缓存中的对应条目", source, id);
+    }
+
+    private byte[] serialize(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("课程目录序列化失败", e);
+        }
+    }
+
+    private static String digest(byte[] data) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(data);
+            return HexFormat.of().formatHex(Arrays.copyOf(hash, DIGEST_HEX_LENGTH / 2));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(Math.max(64, data.length / 4));
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+            out.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+
+    /**
+     * 共享层中的编码：版本、摘要、构建时间、JSON与gzip字节
+     */
+    private static class Codec implements TwoLevelCache.Codec<CatalogSnapshot> {
+
+        @Override
+        public byte[] encode(CatalogSnapshot value) throws IOException {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream(
+                    value.getJson().length + value.getGzip().length + 64);
+            DataOutputStream out = new DataOutputStream(buffer);
+            out.writeLong(value.getVersion());
+            out.writeUTF(value.getDigest());
+            out.writeLong(value.getBuiltAt().toEpochMilli());
+            writeBytes(out, value.getJson());
+            writeBytes(out, value.getGzip());
+            return buffer.toByteArray();
+        }
+
+        @Override
+        public CatalogSnapshot decode(byte[] bytes) throws IOException {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+            long version = in.readLong();
+            String digest = in.readUTF();
+            Instant builtAt = Instant.ofEpochMilli(in.readLong());
+            return new CatalogSnapshot(version, digest, builtAt, readBytes(in), readBytes(in));
+        }
+
+        private static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+
+        private static byte[] readBytes(DataInputStream in) throws IOException {
+            byte[] bytes = new byte[in.readInt()];
+            in.readFully(bytes);
+            return bytes;
+        }
+    }
+}
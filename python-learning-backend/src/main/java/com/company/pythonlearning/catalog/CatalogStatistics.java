@@ -0,0 +1,295 @@
+package com.company.pythonlearning.catalog;
+
+import com.company.pythonlearning.dto.response.LessonStatisticsResponse;
+import com.company.pythonlearning.dto.response.ModuleStatisticsResponse;
+import com.company.pythonlearning.dto.response.ModuleStatisticsResponse.DifficultyCount;
+import com.company.pythonlearning.entity.LearningModule;
+import com.company.pythonlearning.entity.Lesson;
+import com.company.pythonlearning.enums.DifficultyLevel;
+import com.company.pythonlearning.repository.LearningModuleRepository;
+import com.company.pythonlearning.repository.LessonRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+/**
+ * 课程目录统计计数
+ *
+ * <p>管理后台的模块、课程统计不再每次执行 COUNT 和 GROUP BY 查询，而是由服务层在创建、修改、删除、
+ * 发布和取消发布时报告变更前后的状态，事务提交后把差值累加到内存中的计数上。
+ * 全部计数保存在一个不可变快照中并整体原子替换，读取时各项数字彼此一致。</p>
+ *
+ * <p>启动时及之后每隔 {@value #RECONCILE_INTERVAL_MINUTES} 分钟用数据库查询核对一次，
+ * 修正绕过服务层的数据变更造成的偏差。已报告但事务尚未结束的变更，其数据是否已被核对查询读到
+ * 与差值是否已经累加的先后无法确定，因此核对结束时仍有未结束的变更、或核对期间有变更报告或生效时，
+ * 放弃本次结果，等待下次核对，避免同一变更既体现在查询结果中又被再累加一次。</p>
+ *
+ * @author Company
+ * @version 1.0.0
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CatalogStatistics {
+
+    static final long RECONCILE_INTERVAL_MINUTES = 10;
+
+    private final LearningModuleRepository learningModuleRepository;
+
+    private final LessonRepository lessonRepository;
+
+    private final AtomicReference<Counts> counts = new AtomicReference<>();
+
+    /**
+     * 变更纪元，变更报告时和生效（或回滚）后各加一
+     */
+    private final AtomicLong changeEpoch = new AtomicLong();
+
+    /**
+     * 已报告、所在事务尚未结束的变更数
+     */
+    private final AtomicInteger pendingChanges = new AtomicInteger();
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "catalog-stats-reconcile");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        scheduler.scheduleWithFixedDelay(this::reconcileQuietly, 0, RECONCILE_INTERVAL_MINUTES, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * 报告模块变更，新建时 before 为null，删除时 after 为null
+     */
+    public void moduleChanged(ModuleState before, ModuleState after) {
+        if (!Objects.equals(before, after)) {
+            record(current -> current.withModule(before, after));
+        }
+    }
+
+    /**
+     * 报告课程变更，新建时 before 为null，删除时 after 为null
+     */
+    public void lessonChanged(LessonState before, LessonState after) {
+        if (!Objects.equals(before, after)) {
+            record(current -> current.withLesson(before, after));
+        }
+    }
+
+    public ModuleStatisticsResponse moduleStatistics() {
+        Counts current = current();
+        ModuleStatisticsResponse response = new ModuleStatisticsResponse();
+        response.setTotalModules(current.totalModules);
+        response.setPublishedModules(current.publishedModules);
+        current.publishedByDifficulty.entrySet().stream()
+                .filter(entry -> entry.getValue() > 0)
+                .sorted(Map.Entry.comparingByKey(Comparator.nullsLast(Comparator.naturalOrder())))
+                .forEach(entry -> response.getPublishedByDifficulty()
+                        .add(new DifficultyCount(entry.getKey(), entry.getValue())));
+        response.setReconciledAt(current.reconciledAt);
+        return response;
+    }
+
+    public LessonStatisticsResponse lessonStatistics() {
+        Counts current = current();
+        LessonStatisticsResponse response = new LessonStatisticsResponse();
+        response.setTotalLessons(current.totalLessons);
+        response.setFreeLessons(current.freeLessons);
+        response.setPublishedLessons(current.publishedLessons);
+        response.setReconciledAt(current.reconciledAt);
+        return response;
+    }
+
+    /**
+     * 用数据库查询结果核对计数，返回是否采用了本次结果
+     */
+    public boolean reconcile() {
+        long epoch = changeEpoch.get();
+        Counts seen = counts.get();
+        Counts fresh = query();
+        if (!adopt(seen, epoch, fresh)) {
+            log.debug("核对期间目录统计发生变化, 等待下次核对");
+            return false;
+        }
+        if (seen != null && !seen.sameNumbers(fresh)) {
+            log.warn("目录统计与数据库不一致, 已按数据库修正: {} -> {}", seen, fresh);
+        }
+        return true;
+    }
+
+    private void reconcileQuietly() {
+        try {
+            reconcile();
+        } catch (RuntimeException e) {
+            log.error("目录统计核对失败: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 没有未结束的变更、核对期间也没有变更报告或生效时，用查询结果替换计数
+     */
+    private boolean adopt(Counts seen, long epoch, Counts fresh) {
+        return pendingChanges.get() == 0 && changeEpoch.get() == epoch && counts.compareAndSet(seen, fresh);
+    }
+
+    private Counts query() {
+        Map<DifficultyLevel, Long> byDifficulty = new HashMap<>();
+        for (Object[] row : learningModuleRepository.countModulesByDifficulty()) {
+            byDifficulty.put((DifficultyLevel) row[0], (Long) row[1]);
+        }
+        return new Counts(learningModuleRepository.count(), learningModuleRepository.countPublishedModules(),
+                byDifficulty, lessonRepository.count(), lessonRepository.countByIsFreeTrue(),
+                lessonRepository.countByIsPublishedTrue(), Instant.now());
+    }
+
+    private Counts current() {
+        Counts current = counts.get();
+        if (current != null) {
+            return current;
+        }
+        // 启动后首次核对完成之前的请求直接查询一次；有变更未结束时只返回查询结果，不作为基准保存
+        long epoch = changeEpoch.get();
+        Counts fresh = query();
+        adopt(null, epoch, fresh);
+        return fresh;
+    }
+
+    /**
+     * 登记一次变更，所在事务提交后累加差值，回滚时丢弃
+     */
+    private void record(UnaryOperator<Counts> change) {
+        pendingChanges.incrementAndGet();
+        changeEpoch.incrementAndGet();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    complete(status == STATUS_COMMITTED ? change : null);
+                }
+            });
+        } else {
+            complete(change);
+        }
+    }
+
+    private void complete(UnaryOperator<Counts> change) {
+        try {
+            if (change != null) {
+                // 首次核对之前没有基准计数，变更会在核对结果中体现
+                counts.updateAndGet(current -> current == null ? null : change.apply(current));
+            }
+        } finally {
+            changeEpoch.incrementAndGet();
+            pendingChanges.decrementAndGet();
+        }
+    }
+
+    /**
+     * 影响模块统计的状态
+     */
+    public record ModuleState(boolean published, DifficultyLevel difficultyLevel) {
+
+        public static ModuleState of(LearningModule module) {
+            return new ModuleState(Boolean.TRUE.equals(module.getIsPublished()), module.getDifficultyLevel());
+        }
+    }
+
+    /**
+     * 影响课程统计的状态
+     */
+    public record LessonState(boolean published, boolean free) {
+
+        public static LessonState of(Lesson lesson) {
+            return new LessonState(Boolean.TRUE.equals(lesson.getIsPublished()), Boolean.TRUE.equals(lesson.getIsFree()));
+        }
+    }
+
+    /**
+     * 计数快照，修改时生成新对象
+     */
+    private record Counts(long totalModules, long publishedModules, Map<DifficultyLevel, Long> publishedByDifficulty,
+                          long totalLessons, long freeLessons, long publishedLessons, Instant reconciledAt) {
+
+        Counts {
+            publishedByDifficulty = Collections.unmodifiableMap(new HashMap<>(publishedByDifficulty));
+        }
+
+        Counts withModule(ModuleState before, ModuleState after) {
+            Map<DifficultyLevel, Long> byDifficulty = new HashMap<>(publishedByDifficulty);
+            long total = totalModules;
+            long published = publishedModules;
+            if (before != null) {
+                total--;
+                if (before.published()) {
+                    published--;
+                    byDifficulty.merge(before.difficultyLevel(), -1L, Long::sum);
+                }
+            }
+            if (after != null) {
+                total++;
+                if (after.published()) {
+                    published++;
+                    byDifficulty.merge(after.difficultyLevel(), 1L, Long::sum);
+                }
+            }
+            return new Counts(total, published, byDifficulty, totalLessons, freeLessons, publishedLessons, reconciledAt);
+        }
+
+        Counts withLesson(LessonState before, LessonState after) {
+            long total = totalLessons;
+            long free = freeLessons;
+            long published = publishedLessons;
+            if (before != null) {
+                total--;
+                free -= before.free() ? 1 : 0;
+                published -= before.published() ? 1 : 0;
+            }
+            if (after != null) {
+                total++;
+                free += after.free() ? 1 : 0;
+                published += after.published() ? 1 : 0;
+            }
+            return new Counts(totalModules, publishedModules, publishedByDifficulty, total, free, published, reconciledAt);
+        }
+
+        boolean sameNumbers(Counts other) {
+            return totalModules == other.totalModules && publishedModules == other.publishedModules
+                    && totalLessons == other.totalLessons && freeLessons == other.freeLessons
+                    && publishedLessons == other.publishedLessons
+                    && withoutZeros(publishedByDifficulty).equals(withoutZeros(other.publishedByDifficulty));
+        }
+
+        private static Map<DifficultyLevel, Long> withoutZeros(Map<DifficultyLevel, Long> counts) {
+            Map<DifficultyLevel, Long> result = new HashMap<>(counts);
+            result.values().removeIf(count -> count == 0);
+            return result;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.company.pythonlearning.catalog;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 课程目录快照版本号
+ *
+ * <p>版本号保存在 catalog_versions 表中，每次取号在同一事务中先 upsert 递增再读回，
+ * 递增持有的行锁保证读到的是本事务写入的值。所有实例共用同一行，
+ * 取到的版本号全局唯一且单调递增，共享缓存中的快照过期或全部实例重启后也不会回退。</p>
+ *
+ * @author Company
+ * @version 1.0.0
+ */
+@Component
+@RequiredArgsConstructor
+public class CatalogVersionCounter {
+
+    private static final String SNAPSHOT_COUNTER = "snapshot";
+
+    private static final String INCREMENT = """
+            INSERT INTO catalog_versions (name, version) VALUES (?, 1)
+            ON DUPLICATE KEY UPDATE version = version + 1""";
+
+    private static final String SELECT = "SELECT version FROM catalog_versions WHERE name = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 取下一个快照版本号
+     */
+    @Transactional
+    public long next() {
+        jdbcTemplate.update(INCREMENT, SNAPSHOT_COUNTER);
+        Long version = jdbcTemplate.queryForObject(SELECT, Long.class, SNAPSHOT_COUNTER);
+        if (version == null) {
+            throw new IllegalStateException("课程目录版本计数不存在");
+        }
+        return version;
+    }
+}
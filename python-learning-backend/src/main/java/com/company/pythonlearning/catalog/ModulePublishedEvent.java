@@ -0,0 +1,12 @@
+package com.company.pythonlearning.catalog;
+
+/**
+ * 模块内容发布事件
+ *
+ * <p>模块或其中的课程被发布时由服务层发布，事务提交后预先运行该模块的代码示例并缓存结果。</p>
+ *
+ * @author Company
+ * @version 1.0.0
+ */
+public record ModulePublishedEvent(Long moduleId) {
+}
@@ -0,0 +1,73 @@
+package com.company.pythonlearning.config;
+
+import com.company.pythonlearning.metrics.StatementCounter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 课程目录读取线程池配置
+ *
+ * @author Company
+ * @version 1.0.0
+ */
+@Configuration
+@Slf4j
+public class CatalogExecutorConfig {
+
+    /**
+     * 目录列表和搜索接口异步读取数据库使用的线程池
+     *
+     * <p>与代码转换线程池分开，转换排队时不影响目录读取。启用虚拟线程时每个任务使用一个虚拟线程，
+     * 否则使用固定数量的平台线程和有界队列，队列满时拒绝。提交的任务执行的SQL语句计入发起请求的语句数。</p>
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService catalogExecutor(LearningProperties learningProperties, StatementCounter statementCounter,
+                                           Environment environment) {
+        LearningProperties.Catalog catalog = learningProperties.getCatalog();
+        if (Threading.VIRTUAL.isActive(environment)) {
+            ThreadFactory threadFactory = new VirtualThreadTaskExecutor("catalog-read-").getVirtualThreadFactory();
+            log.info("目录读取线程池初始化完成, 使用虚拟线程");
+            return new CatalogExecutor(0, Integer.MAX_VALUE, new SynchronousQueue<>(), threadFactory,
+                    statementCounter);
+        }
+        int threads = catalog.getReadThreads();
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "catalog-read-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        log.info("目录读取线程池初始化完成, 线程数: {}, 排队上限: {}", threads, catalog.getQueueCapacity());
+        return new CatalogExecutor(threads, threads, new LinkedBlockingQueue<>(catalog.getQueueCapacity()),
+                threadFactory, statementCounter);
+    }
+
+    private static final class CatalogExecutor extends ThreadPoolExecutor {
+
+        private final StatementCounter statementCounter;
+
+        CatalogExecutor(int coreThreads, int maxThreads, BlockingQueue<Runnable> queue, ThreadFactory threadFactory,
+                        StatementCounter statementCounter) {
+            super(coreThreads, maxThreads, 60L, TimeUnit.SECONDS, queue, threadFactory);
+            this.statementCounter = statementCounter;
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            super.execute(statementCounter.propagate(command));
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.company.pythonlearning.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 代码转换线程池配置
+ * 
+ * @author Company
+ * @version 1.0.0
+ */
+@Configuration
+@Slf4j
+public class ConverterExecutorConfig {
+    
+    /**
+     * 代码转换（单个、流式和批量）使用的线程池
+     *
+     * <p>启用虚拟线程（spring.threads.virtual.enabled=true 且运行在Java 21及以上）时每个任务使用一个虚拟线程，
+     * 否则使用与解析器池大小一致的平台线程池。两种模式下实际并行度都受解析器池限制。</p>
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService conversionExecutor(ConverterProperties converterProperties, Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            ThreadFactory threadFactory = new VirtualThreadTaskExecutor("conversion-").getVirtualThreadFactory();
+            log.info("代码转换线程池初始化完成, 使用虚拟线程");
+            return new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60L, TimeUnit.SECONDS,
+                    new SynchronousQueue<>(), threadFactory);
+        }
+        int workers = converterProperties.resolveParserPoolSize();
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "conversion-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        log.info("代码转换线程池初始化完成, 线程数: {}", workers);
+        return new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), threadFactory);
+    }
+}
@@ -0,0 +1,184 @@
+package com.company.pythonlearning.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 代码转换配置属性
+ *
+ * @author Company
+ * @version 1.0.0
+ */
+@Component
+@ConfigurationProperties(prefix = "app.converter")
+@Data
+public class ConverterProperties {
+
+    /**
+     * 单次转换超时时间（毫秒）
+     */
+    private long timeout = 30000;
+
+    /**
+     * 源代码最大长度（字符数）
+     */
+    private int maxCodeLength = 10000;
+
+    /**
+     * 解析器池大小，0表示按CPU核数
+     */
+    private int parserPoolSize = 0;
+
+    /**
+     * 转换结果缓存配置
+     */
+    private Cache cache = new Cache();
+
+    /**
+     * 批量转换配置
+     */
+    private Batch batch = new Batch();
+
+    /**
+     * 限流与并发控制配置
+     */
+    private RateLimit rateLimit = new RateLimit();
+
+    /**
+     * 转换历史配置
+     */
+    private History history = new History();
+
+    /**
+     * 实际使用的解析器池大小
+     */
+    public int resolveParserPoolSize() {
+        return parserPoolSize > 0 ? parserPoolSize : Runtime.getRuntime().availableProcessors();
+    }
+
+    @Data
+    public static class Cache {
+
+        /**
+         * 是否启用转换结果缓存
+         */
+        private boolean enabled = true;
+
+        /**
+         * 缓存占用内存上限（字节），按转换结果的估算大小计重
+         */
+        private long maxBytes = 64L * 1024 * 1024;
+    }
+
+    @Data
+    public static class Batch {
+
+        /**
+         * 单次批量转换最多处理的Java文件数
+         */
+        private int maxFiles = 5000;
+    }
+
+    @Data
+    public static class RateLimit {
+
+        /**
+         * 是否启用限流
+         */
+        private boolean enabled = true;
+
+        /**
+         * 已登录用户的令牌桶容量（允许的突发请求数）
+         */
+        private int userCapacity = 30;
+
+        /**
+         * 已登录用户每分钟补充的令牌数
+         */
+        private int userRefillPerMinute = 60;
+
+        /**
+         * 匿名请求（按IP）的令牌桶容量
+         */
+        private int anonymousCapacity = 10;
+
+        /**
+         * 匿名请求（按IP）每分钟补充的令牌数
+         */
+        private int anonymousRefillPerMinute = 20;
+
+        /**
+         * 同时进行的转换请求数上限，超出后直接拒绝，0表示解析器池大小的两倍
+         */
+        private int maxConcurrent = 0;
+
+        /**
+         * 令牌桶分段数（2的幂）
+         */
+        private int stripes = 64;
+
+        /**
+         * 每个分段最多保存的令牌桶数
+         */
+        private int maxBucketsPerStripe = 4096;
+    }
+
+    @Data
+    public static class History {
+
+        /**
+         * 是否记录转换历史
+         */
+        private boolean enabled = true;
+
+        /**
+         * 历史日志段文件所在目录
+         */
+        private String directory = "data/conversion-history";
+
+        /**
+         * 单个段文件的容量（字节），写满后封存并创建新段
+         */
+        private int segmentBytes = 16 * 1024 * 1024;
+
+        /**
+         * 每个用户保留的历史条数，超出后最早的条目失效
+         */
+        private int maxEntriesPerUser = 200;
+
+        /**
+         * 历史条目的保留时间
+         */
+        private Duration retention = Duration.ofDays(90);
+
+        /**
+         * 全部段文件的总大小上限（字节），超出时淘汰最早的段
+         */
+        private long maxTotalBytes = 1024L * 1024 * 1024;
+
+        /**
+         * 最早的段中有效数据占比低于该值时压缩该段
+         */
+        private double compactLiveRatio = 0.5;
+
+        /**
+         * 后台压缩的执行间隔（毫秒）
+         */
+        private long compactInterval = 600_000;
+
+        /**
+         * 写入内容刷到磁盘的间隔（毫秒）
+         */
+        private long syncInterval = 1000;
+    }
+
+    /**
+     * 实际使用的转换并发上限
+     */
+    public int resolveMaxConcurrent() {
+        return rateLimit.maxConcurrent > 0 ? rateLimit.maxConcurrent : 2 * resolveParserPoolSize();
+    }
+}
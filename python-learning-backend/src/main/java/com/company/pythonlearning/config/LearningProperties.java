@@ -0,0 +1,80 @@
+package com.company.pythonlearning.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 学习模块配置属性
+ *
+ * @author Company
+ * @version 1.0.0
+ */
+@Component
+@ConfigurationProperties(prefix = "app.learning")
+@Data
+public class LearningProperties {
+
+    /**
+     * 进度上限，达到后视为完成
+     */
+    private int maxProgress = 100;
+
+    /**
+     * 测验及格分数
+     */
+    private int minQuizScore = 60;
+
+    /**
+     * 学习进度写缓冲配置
+     */
+    private Progress progress = new Progress();
+
+    /**
+     * 课程目录读取配置
+     */
+    private Catalog catalog = new Catalog();
+
+    @Data
+    public static class Progress {
+
+        /**
+         * 定时写入数据库的间隔（毫秒）
+         */
+        private long flushInterval = 5000;
+
+        /**
+         * 待写入条目达到该数量时提前写入
+         */
+        private int flushThreshold = 5000;
+
+        /**
+         * 每批写入的行数
+         */
+        private int batchSize = 500;
+
+        /**
+         * 单次上报的学习时长上限（秒）
+         */
+        private long maxHeartbeatSeconds = 600;
+    }
+
+    @Data
+    public static class Catalog {
+
+        /**
+         * 目录读取线程数（平台线程模式），不宜超过数据库连接池大小
+         */
+        private int readThreads = 10;
+
+        /**
+         * 等待目录读取线程的请求数上限，超出后返回503
+         */
+        private int queueCapacity = 1000;
+
+        /**
+         * 目录读取超时时间（毫秒），包括排队等待的时间
+         */
+        private long readTimeout = 10000;
+    }
+}
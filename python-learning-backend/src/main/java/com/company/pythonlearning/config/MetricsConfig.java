@@ -0,0 +1,110 @@
+package com.company.pythonlearning.config;
+
+import com.company.pythonlearning.metrics.RepositoryResultSizeInterceptor;
+import com.company.pythonlearning.metrics.StatementCountFilter;
+import com.company.pythonlearning.metrics.StatementCounter;
+import com.company.pythonlearning.progress.ProgressBuffer;
+import com.company.pythonlearning.sandbox.PythonWorkerPool;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * 指标采集配置
+ *
+ * <p>接口耗时（http.server.requests）、Repository方法耗时（spring.data.repository.invocations）、
+ * Hibernate统计和JVM指标由Spring Boot Actuator自动采集；这里补充每个请求的SQL语句数、
+ * Repository返回行数，以及线程池、工作进程池和进度写缓冲的排队情况。指标以Prometheus格式在
+ * /actuator/prometheus 暴露。</p>
+ *
+ * @author Company
+ * @version 1.0.0
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    StatementCounter statementCounter() {
+        return new StatementCounter();
+    }
+
+    @Bean
+    HibernatePropertiesCustomizer statementInspectorCustomizer(StatementCounter statementCounter) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, statementCounter);
+    }
+
+    /**
+     * 每个请求的SQL语句数，排在其他过滤器之前，统计范围覆盖整个请求
+     */
+    @Bean
+    FilterRegistrationBean<StatementCountFilter> statementCountFilter(StatementCounter statementCounter,
+                                                                      MeterRegistry meterRegistry) {
+        FilterRegistrationBean<StatementCountFilter> registration =
+                new FilterRegistrationBean<>(new StatementCountFilter(statementCounter, meterRegistry));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    /**
+     * 为每个Repository加上返回行数统计；BeanPostProcessor需要静态声明，注册表延迟获取
+     */
+    @Bean
+    static BeanPostProcessor repositoryResultSizePostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, information) -> proxyFactory.addAdvice(new RepositoryResultSizeInterceptor(
+                                    information.getRepositoryInterface().getSimpleName(), meterRegistry::getObject))));
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * 代码转换、代码运行与目录读取线程池的活动线程数、排队任务数和完成任务数
+     */
+    @Bean
+    MeterBinder executorMetrics(ExecutorService conversionExecutor, ExecutorService sandboxExecutor,
+                                ExecutorService catalogExecutor) {
+        return registry -> {
+            new ExecutorServiceMetrics(conversionExecutor, "conversion", Tags.empty()).bindTo(registry);
+            new ExecutorServiceMetrics(sandboxExecutor, "sandbox", Tags.empty()).bindTo(registry);
+            new ExecutorServiceMetrics(catalogExecutor, "catalog", Tags.empty()).bindTo(registry);
+        };
+    }
+
+    /**
+     * 工作进程池的空闲进程数与排队请求数，学习进度写缓冲中的待写条目数
+     */
+    @Bean
+    MeterBinder queueMetrics(PythonWorkerPool pythonWorkerPool, ProgressBuffer progressBuffer) {
+        return registry -> {
+            Gauge.builder("sandbox.workers.idle", pythonWorkerPool, PythonWorkerPool::idleWorkers)
+                    .description("空闲的Python工作进程数")
+                    .register(registry);
+            Gauge.builder("sandbox.queue.waiting", pythonWorkerPool, PythonWorkerPool::waitingRequests)
+                    .description("排队等待工作进程的运行请求数")
+                    .register(registry);
+            Gauge.builder("learning.progress.pending", progressBuffer, ProgressBuffer::size)
+                    .description("学习进度写缓冲中尚未写入数据库的条目数")
+                    .register(registry);
+        };
+    }
+}
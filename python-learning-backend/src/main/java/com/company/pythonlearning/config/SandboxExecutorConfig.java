@@ -0,0 +1,51 @@
+package com.company.pythonlearning.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 代码运行线程池配置
+ * 
+ * @author Company
+ * @version 1.0.0
+ */
+@Configuration
+@Slf4j
+public class SandboxExecutorConfig {
+    
+    /**
+     * 流式运行代码使用的线程池
+     *
+     * <p>每个流式运行在排队和运行期间各占用一个线程，线程数上限与工作进程池的准入上限
+     * （poolSize + queueCapacity）一致，超出时直接拒绝，不在线程池中再排一次队。</p>
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService sandboxExecutor(SandboxProperties sandboxProperties, Environment environment) {
+        int maxThreads = sandboxProperties.resolvePoolSize() + sandboxProperties.getQueueCapacity();
+        ThreadFactory threadFactory;
+        if (Threading.VIRTUAL.isActive(environment)) {
+            threadFactory = new VirtualThreadTaskExecutor("sandbox-run-").getVirtualThreadFactory();
+            log.info("代码运行线程池初始化完成, 使用虚拟线程, 并发上限: {}", maxThreads);
+        } else {
+            AtomicInteger counter = new AtomicInteger();
+            threadFactory = runnable -> {
+                Thread thread = new Thread(runnable, "sandbox-run-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            };
+            log.info("代码运行线程池初始化完成, 并发上限: {}", maxThreads);
+        }
+        return new ThreadPoolExecutor(0, maxThreads, 60L, TimeUnit.SECONDS, new SynchronousQueue<>(), threadFactory);
+    }
+}
@@ -0,0 +1,119 @@
+package com.company.pythonlearning.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 代码运行沙箱配置属性
+ *
+ * @author Company
+ * @version 1.0.0
+ */
+@Component
+@ConfigurationProperties(prefix = "app.sandbox")
+@Data
+public class SandboxProperties {
+
+    /**
+     * 是否启用代码运行
+     */
+    private boolean enabled = false;
+
+    /**
+     * Python 3 解释器命令，配置了隔离命令时应为隔离环境中的绝对路径
+     */
+    private String pythonCommand = "python3";
+
+    /**
+     * 启动工作进程时置于解释器命令之前的操作系统级隔离命令（如 bwrap、nsjail），
+     * 负责切换到非特权用户、断开网络并提供只读的文件系统视图
+     */
+    private List<String> isolationCommand = List.of();
+
+    /**
+     * 未配置隔离命令时是否仍然启动工作进程，仅用于本地开发
+     */
+    private boolean allowUnisolated = false;
+
+    /**
+     * 常驻工作进程数，0表示按CPU核数
+     */
+    private int poolSize = 0;
+
+    /**
+     * 等待空闲工作进程的请求数上限，超出后直接拒绝
+     */
+    private int queueCapacity = 200;
+
+    /**
+     * 排队等待空闲工作进程的最长时间（毫秒）
+     */
+    private long queueTimeout = 10000;
+
+    /**
+     * 单个工作进程最多运行次数，达到后替换为新进程
+     */
+    private int maxRunsPerWorker = 500;
+
+    /**
+     * 待运行代码最大长度（字符数）
+     */
+    private int maxCodeLength = 20000;
+
+    /**
+     * 单次运行的CPU时间上限（毫秒）
+     */
+    private long cpuTimeLimit = 2000;
+
+    /**
+     * 单次运行的墙钟时间上限（毫秒）
+     */
+    private long wallTimeLimit = 5000;
+
+    /**
+     * 工作进程地址空间上限（字节）
+     */
+    private long memoryLimit = 256L * 1024 * 1024;
+
+    /**
+     * 标准输出和标准错误各自的大小上限（字节）
+     */
+    private int maxOutputBytes = 64 * 1024;
+
+    /**
+     * 允许导入的标准库模块
+     */
+    private List<String> allowedModules = List.of(
+            "math", "cmath", "random", "statistics", "decimal", "fractions", "string", "re", "json",
+            "datetime", "time", "calendar", "collections", "itertools", "functools", "operator",
+            "heapq", "bisect", "array", "copy", "enum", "dataclasses", "typing", "abc", "textwrap");
+
+    /**
+     * 示例运行结果缓存配置
+     */
+    private ResultCache resultCache = new ResultCache();
+
+    /**
+     * 实际使用的工作进程数
+     */
+    public int resolvePoolSize() {
+        return poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+    }
+
+    @Data
+    public static class ResultCache {
+
+        /**
+         * 是否在发布时预先运行代码示例并缓存结果
+         */
+        private boolean enabled = true;
+
+        /**
+         * 缓存占用内存上限（字节），按输出的估算大小计重
+         */
+        private long maxBytes = 32L * 1024 * 1024;
+    }
+}
@@ -0,0 +1,51 @@
+package com.company.pythonlearning.config;
+
+import com.company.pythonlearning.cache.EmbeddedSharedCacheTier;
+import com.company.pythonlearning.cache.RedisSharedCacheTier;
+import com.company.pythonlearning.cache.SharedCacheTier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * 共享缓存层配置
+ *
+ * <p>app.shared-cache.type 为 redis 时使用Redis，否则使用进程内替身，
+ * 本地开发和单实例部署不需要Redis。</p>
+ *
+ * @author Company
+ * @version 1.0.0
+ */
+@Configuration
+@Slf4j
+public class SharedCacheConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.shared-cache", name = "type", havingValue = "embedded", matchIfMissing = true)
+    public SharedCacheTier embeddedSharedCacheTier(SharedCacheProperties properties) {
+        log.info("共享缓存层使用进程内替身, 容量上限: {} 字节", properties.getEmbeddedMaxBytes());
+        return new EmbeddedSharedCacheTier(properties.getEmbeddedMaxBytes());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.shared-cache", name = "type", havingValue = "redis")
+    public RedisMessageListenerContainer sharedCacheListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.shared-cache", name = "type", havingValue = "redis")
+    public SharedCacheTier redisSharedCacheTier(SharedCacheProperties properties,
+                                                RedisConnectionFactory connectionFactory,
+                                                RedisMessageListenerContainer sharedCacheListenerContainer) {
+        SharedCacheTier tier = new RedisSharedCacheTier(
+                connectionFactory, sharedCacheListenerContainer, properties.getKeyPrefix());
+        log.info("共享缓存层使用Redis: {}", tier.describe());
+        return tier;
+    }
+}
@@ -0,0 +1,60 @@
+package com.company.pythonlearning.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 多实例共享缓存层配置属性
+ *
+ * @author Company
+ * @version 1.0.0
+ */
+@Component
+@ConfigurationProperties(prefix = "app.shared-cache")
+@Data
+public class SharedCacheProperties {
+
+    /**
+     * 共享缓存层实现
+     */
+    private Type type = Type.EMBEDDED;
+
+    /**
+     * 共享缓存键前缀，多个应用共用一个Redis时用于区分
+     */
+    private String keyPrefix = "python-learning:";
+
+    /**
+     * 本地缓存失效通知使用的发布订阅频道
+     */
+    private String channel = "python-learning:cache-invalidation";
+
+    /**
+     * 转换结果在共享层的保留时间
+     */
+    private Duration conversionTtl = Duration.ofHours(24);
+
+    /**
+     * 课程目录快照在共享层的保留时间
+     */
+    private Duration snapshotTtl = Duration.ofHours(6);
+
+    /**
+     * 进程内替身的容量上限（字节）
+     */
+    private long embeddedMaxBytes = 64L * 1024 * 1024;
+
+    public enum Type {
+        /**
+         * 进程内替身，单实例部署和本地开发使用
+         */
+        EMBEDDED,
+        /**
+         * Redis，多实例部署使用
+         */
+        REDIS
+    }
+}
@@ -1,5 +1,9 @@
 package com.company.pythonlearning.config;
 
+import com.company.pythonlearning.ratelimit.AdmissionFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.cors.CorsConfiguration;
@@ -33,4 +37,19 @@ public class WebConfig implements WebMvcConfigurer {
         source.registerCorsConfiguration("/api/**", configuration);
         return source;
     }
+    
+    /**
+     * 代码转换与代码运行接口的限流和并发控制
+     *
+     * <p>使用默认顺序注册在Spring Security过滤器之后，能够取得已登录用户。</p>
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "app.converter.rate-limit", name = "enabled", matchIfMissing = true)
+    FilterRegistrationBean<AdmissionFilter> admissionFilter(ConverterProperties converterProperties,
+                                                            ObjectMapper objectMapper) {
+        FilterRegistrationBean<AdmissionFilter> registration =
+                new FilterRegistrationBean<>(new AdmissionFilter(converterProperties, objectMapper));
+        registration.addUrlPatterns("/api/v1/converter/*", "/api/v1/code-examples/*");
+        return registration;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,57 @@
+package com.company.pythonlearning.controller;
+
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Accept-Encoding 请求头解析
+ *
+ * <p>按 RFC 9110 逐项解析内容编码及其q值：{@code x-gzip} 视同 {@code gzip}，
+ * 没有单独列出gzip时取通配符 {@code *} 的q值，q为0表示明确拒绝；q值不合法的项按拒绝处理。</p>
+ *
+ * @author Company
+ * @version 1.0.0
+ */
+final class AcceptEncoding {
+
+    private static final Pattern QVALUE = Pattern.compile("0(\\.\\d{0,3})?|1(\\.0{0,3})?");
+
+    private AcceptEncoding() {
+    }
+
+    /**
+     * 客户端是否接受gzip编码的响应
+     */
+    static boolean allowsGzip(String header) {
+        if (header == null) {
+            return false;
+        }
+        double gzip = -1;
+        double any = -1;
+        for (String element : header.split(",")) {
+            String[] parts = element.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzip = Math.max(gzip, quality(parts));
+            } else if (coding.equals("*")) {
+                any = Math.max(any, quality(parts));
+            }
+        }
+        return (gzip >= 0 ? gzip : any) > 0;
+    }
+
+    /**
+     * 编码项的q值，未指定时为1
+     */
+    private static double quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            int separator = parameter.indexOf('=');
+            if (separator > 0 && parameter.substring(0, separator).trim().equalsIgnoreCase("q")) {
+                String value = parameter.substring(separator + 1).trim();
+                return QVALUE.matcher(value).matches() ? Double.parseDouble(value) : 0;
+            }
+        }
+        return 1;
+    }
+}
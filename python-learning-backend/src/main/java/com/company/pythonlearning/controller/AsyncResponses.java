@@ -0,0 +1,59 @@
+package com.company.pythonlearning.controller;
+
+import com.company.pythonlearning.dto.response.ApiResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * 在线程池中执行的异步响应
+ *
+ * <p>请求线程提交任务后立即返回，任务完成时再分派回容器写出响应。超时后取消任务并返回503；
+ * 线程池已满拒绝任务时同样返回503。任务中未处理的异常交给全局异常处理器。</p>
+ *
+ * @author Company
+ * @version 1.0.0
+ */
+final class AsyncResponses {
+
+    private static final String BUSY_MESSAGE = "服务繁忙，请稍后重试";
+
+    private AsyncResponses() {
+    }
+
+    /**
+     * 在指定线程池中执行任务，超时时间包括排队等待的时间
+     */
+    static <T> DeferredResult<ResponseEntity<ApiResponse<T>>> submit(
+            ExecutorService executor, long timeoutMillis, String timeoutMessage,
+            Supplier<ResponseEntity<ApiResponse<T>>> task) {
+        DeferredResult<ResponseEntity<ApiResponse<T>>> result =
+                new DeferredResult<>(timeoutMillis, () -> unavailable(timeoutMessage));
+        Future<?> future;
+        try {
+            future = executor.submit(() -> {
+                try {
+                    result.setResult(task.get());
+                } catch (RuntimeException e) {
+                    result.setErrorResult(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            result.setResult(unavailable(BUSY_MESSAGE));
+            return result;
+        }
+        result.onTimeout(() -> future.cancel(true));
+        result.onError(e -> future.cancel(true));
+        return result;
+    }
+
+    private static <T> ResponseEntity<ApiResponse<T>> unavailable(String message) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(ApiResponse.error(HttpStatus.SERVICE_UNAVAILABLE.value(), message));
+    }
+}
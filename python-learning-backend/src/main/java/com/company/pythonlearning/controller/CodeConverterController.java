@@ -0,0 +1,252 @@
+package com.company.pythonlearning.controller;
+
+import com.company.pythonlearning.config.ConverterProperties;
+import com.company.pythonlearning.converter.ConversionReport;
+import com.company.pythonlearning.converter.PreparedConversion;
+import com.company.pythonlearning.dto.request.CodeConversionRequest;
+import com.company.pythonlearning.dto.response.ApiResponse;
+import com.company.pythonlearning.dto.response.CodeConversionResponse;
+import com.company.pythonlearning.dto.response.ConversionCacheStatsResponse;
+import com.company.pythonlearning.exception.BusinessException;
+import com.company.pythonlearning.service.BatchConversionService;
+import com.company.pythonlearning.service.CodeConverterService;
+import com.company.pythonlearning.service.ConversionHistoryService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * 代码转换控制器
+ * 
+ * @author Company
+ * @version 1.0.0
+ */
+@RestController
+@RequestMapping("/api/v1/converter")
+@RequiredArgsConstructor
+@Slf4j
+public class CodeConverterController {
+    
+    private static final MediaType TEXT_PLAIN_UTF8 = new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8);
+    
+    private static final MediaType APPLICATION_ZIP = MediaType.parseMediaType("application/zip");
+    
+    /**
+     * 异步响应和事件流的超时时间在转换超时之外额外留出的时间（毫秒），覆盖等待转换线程的排队时间
+     */
+    private static final long ASYNC_TIMEOUT_MARGIN_MILLIS = 5000;
+    
+    private final CodeConverterService codeConverterService;
+    
+    private final BatchConversionService batchConversionService;
+    
+    private final ExecutorService conversionExecutor;
+    
+    private final ConverterProperties converterProperties;
+    
+    private final ConversionHistoryService conversionHistoryService;
+    
+    /**
+     * Java代码转换为Python代码，已登录用户的转换记入转换历史
+     *
+     * <p>转换在转换线程池中执行，等待期间不占用请求线程；
+     * 超过转换超时时间（含排队时间）仍未完成时取消转换并返回503。</p>
+     */
+    @PostMapping({"/java", "/java-to-python"})
+    public DeferredResult<ResponseEntity<ApiResponse<CodeConversionResponse>>> convertJavaToPython(
+            @Valid @RequestBody CodeConversionRequest request, Principal principal) {
+        String username = principal != null ? principal.getName() : null;
+        long timeout = converterProperties.getTimeout() + ASYNC_TIMEOUT_MARGIN_MILLIS;
+        return AsyncResponses.submit(conversionExecutor, timeout, "代码转换超时，请稍后重试", () -> {
+            try {
+                CodeConversionResponse response = codeConverterService.convert(request);
+                if (username != null) {
+                    conversionHistoryService.record(username, request, response);
+                }
+                return ResponseEntity.ok(ApiResponse.success("转换成功", response));
+            } catch (RuntimeException e) {
+                return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+            }
+        });
+    }
+    
+    /**
+     * Java代码转换为Python代码，以纯文本流式返回
+     *
+     * <p>解析和校验在返回响应之前完成，生成的代码边转换边写入响应流；
+     * 有告警时以注释形式追加在代码末尾。</p>
+     */
+    @PostMapping("/java/raw")
+    public ResponseEntity<StreamingResponseBody> convertJavaToPythonRaw(
+            @Valid @RequestBody CodeConversionRequest request) {
+        try {
+            PreparedConversion conversion = codeConverterService.prepare(request);
+            StreamingResponseBody body = outputStream -> {
+                Writer writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+                ConversionReport report = conversion.writeTo(writer);
+                if (!report.getWarnings().isEmpty()) {
+                    writer.write("\n# 转换告警:\n");
+                    for (String warning : report.getWarnings()) {
+                        writer.write("# - " + warning + "\n");
+                    }
+                }
+                writer.flush();
+            };
+            return ResponseEntity.ok().contentType(TEXT_PLAIN_UTF8).body(body);
+        } catch (RuntimeException e) {
+            String message = e.getMessage();
+            return ResponseEntity.badRequest().contentType(TEXT_PLAIN_UTF8)
+                    .body(outputStream -> outputStream.write(message.getBytes(StandardCharsets.UTF_8)));
+        }
+    }
+    
+    /**
+     * Java代码转换为Python代码，以 Server-Sent Events 逐行推送
+     *
+     * <p>事件依次为：warning（转换告警，产生后立即推送）、line（一行Python代码）、
+     * done（转换报告，不含代码）；失败时推送 error。客户端断开后在写出下一行时停止转换。</p>
+     */
+    @PostMapping("/java/stream")
+    public SseEmitter convertJavaToPythonStream(@Valid @RequestBody CodeConversionRequest request) {
+        SseEmitter emitter = new SseEmitter(converterProperties.getTimeout() + ASYNC_TIMEOUT_MARGIN_MILLIS);
+        PreparedConversion conversion;
+        try {
+            conversion = codeConverterService.prepare(request);
+        } catch (RuntimeException e) {
+            SseEvents.fail(emitter, e);
+            return emitter;
+        }
+        Future<?> task = conversionExecutor.submit(() -> {
+            long startNanos = System.nanoTime();
+            try {
+                SseLineWriter out = new SseLineWriter(emitter);
+                ConversionReport report = conversion.writeTo(out,
+                        warning -> SseEvents.sendText(emitter, SseEvents.WARNING, warning));
+                out.close();
+                CodeConversionResponse summary = new CodeConversionResponse();
+                summary.setSuccess(report.isSuccess());
+                summary.setConversionScore(report.getScore());
+                summary.setWarnings(report.getWarnings());
+                summary.setErrors(report.getErrors());
+                summary.setExecutionTime((System.nanoTime() - startNanos) / 1_000_000);
+                SseEvents.send(emitter, SseEvents.DONE, summary);
+                emitter.complete();
+            } catch (UncheckedIOException e) {
+                log.debug("客户端已断开, 停止流式转换");
+            } catch (RuntimeException e) {
+                SseEvents.fail(emitter, e);
+            }
+        });
+        emitter.onTimeout(() -> task.cancel(true));
+        emitter.onError(e -> task.cancel(true));
+        return emitter;
+    }
+    
+    /**
+     * 批量转换：上传ZIP压缩包（file）或多个Java文件（files），以ZIP格式流式返回Python文件
+     */
+    @PostMapping(value = "/batch", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<StreamingResponseBody> convertBatch(
+            @RequestPart(value = "file", required = false) MultipartFile archive,
+            @RequestPart(value = "files", required = false) List<MultipartFile> files,
+            @RequestPart(value = "options", required = false) CodeConversionRequest.ConversionOptions options) {
+        try {
+            StreamingResponseBody body;
+            if (archive != null && !archive.isEmpty()) {
+                InputStream in = archive.getInputStream();
+                body = outputStream -> {
+                    try (in) {
+                        batchConversionService.convertArchive(in, options, outputStream);
+                    }
+                };
+            } else if (files != null && !files.isEmpty()) {
+                body = outputStream -> batchConversionService.convertFiles(files, options, outputStream);
+            } else {
+                throw new BusinessException("请上传ZIP压缩包或Java源文件");
+            }
+            return ResponseEntity.ok()
+                    .contentType(APPLICATION_ZIP)
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"converted-python.zip\"")
+                    .body(body);
+        } catch (IOException | RuntimeException e) {
+            String message = e.getMessage();
+            return ResponseEntity.badRequest().contentType(TEXT_PLAIN_UTF8)
+                    .body(outputStream -> outputStream.write(message.getBytes(StandardCharsets.UTF_8)));
+        }
+    }
+    
+    /**
+     * 获取转换缓存统计（仅管理员）
+     */
+    @GetMapping("/cache/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<ConversionCacheStatsResponse>> getCacheStats() {
+        try {
+            ConversionCacheStatsResponse stats = codeConverterService.getCacheStats();
+            return ResponseEntity.ok(ApiResponse.success("获取成功", stats));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+    
+    /**
+     * 把写入的文本按行作为 line 事件发送
+     */
+    private static class SseLineWriter extends Writer {
+        
+        private final SseEmitter emitter;
+        
+        private final StringBuilder line = new StringBuilder();
+        
+        SseLineWriter(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+        
+        @Override
+        public void write(char[] buffer, int offset, int length) {
+            for (int i = offset; i < offset + length; i++) {
+                if (buffer[i] == '\n') {
+                    SseEvents.sendText(emitter, SseEvents.LINE, line.toString());
+                    line.setLength(0);
+                } else {
+                    line.append(buffer[i]);
+                }
+            }
+        }
+        
+        @Override
+        public void flush() {
+        }
+        
+        /**
+         * 发送最后一行不以换行结尾的内容
+         */
+        @Override
+        public void close() {
+            if (!line.isEmpty()) {
+                SseEvents.sendText(emitter, SseEvents.LINE, line.toString());
+                line.setLength(0);
+            }
+        }
+    }
+}
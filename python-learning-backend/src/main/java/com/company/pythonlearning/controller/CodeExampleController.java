@@ -0,0 +1,178 @@
+package com.company.pythonlearning.controller;
+
+import com.company.pythonlearning.config.SandboxProperties;
+import com.company.pythonlearning.dto.request.CodeRunRequest;
+import com.company.pythonlearning.dto.response.ApiResponse;
+import com.company.pythonlearning.dto.response.CodeExampleResponse;
+import com.company.pythonlearning.dto.response.CodeExampleSummaryResponse;
+import com.company.pythonlearning.dto.response.CodeRunResponse;
+import com.company.pythonlearning.dto.response.CursorPageResponse;
+import com.company.pythonlearning.enums.DifficultyLevel;
+import com.company.pythonlearning.exception.BusinessException;
+import com.company.pythonlearning.sandbox.PreparedRun;
+import com.company.pythonlearning.sandbox.RunListener;
+import com.company.pythonlearning.service.CodeExampleService;
+import com.company.pythonlearning.service.CodeRunService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.UncheckedIOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 代码示例控制器
+ * 
+ * @author Company
+ * @version 1.0.0
+ */
+@RestController
+@RequestMapping("/api/v1/code-examples")
+@RequiredArgsConstructor
+@Slf4j
+public class CodeExampleController {
+    
+    /**
+     * 运行服务繁忙时建议客户端重试的间隔（秒）
+     */
+    private static final String RUN_RETRY_AFTER_SECONDS = "1";
+    
+    /**
+     * 事件流超时时间在排队和运行时间上限之外额外留出的时间（毫秒）
+     */
+    private static final long STREAM_TIMEOUT_MARGIN_MILLIS = 5000;
+    
+    private final CodeExampleService codeExampleService;
+    
+    private final CodeRunService codeRunService;
+    
+    private final ExecutorService sandboxExecutor;
+    
+    private final SandboxProperties sandboxProperties;
+    
+    /**
+     * 分页获取代码示例，可按模块和难度级别过滤
+     */
+    @GetMapping
+    public ResponseEntity<ApiResponse<CursorPageResponse<CodeExampleSummaryResponse>>> getCodeExamples(
+            @RequestParam(required = false) Long moduleId,
+            @RequestParam(required = false) String difficulty,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        DifficultyLevel difficultyLevel;
+        try {
+            difficultyLevel = difficulty != null ? DifficultyLevel.valueOf(difficulty.toUpperCase()) : null;
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("无效的难度级别: " + difficulty));
+        }
+        try {
+            CursorPageResponse<CodeExampleSummaryResponse> page =
+                    codeExampleService.getCodeExamples(moduleId, difficultyLevel, cursor, size);
+            return ResponseEntity.ok(ApiResponse.success("获取成功", page));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+    
+    /**
+     * 根据ID获取代码示例
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<ApiResponse<CodeExampleResponse>> getCodeExampleById(@PathVariable Long id) {
+        try {
+            CodeExampleResponse example = codeExampleService.getCodeExampleById(id);
+            return ResponseEntity.ok(ApiResponse.success("获取成功", example));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+    
+    /**
+     * 在沙箱中运行代码示例，请求体中带有代码时运行修改后的代码
+     *
+     * <p>运行请求过多时返回429，排队超时或运行环境不可用时返回503，并带有 Retry-After 响应头。</p>
+     */
+    @PostMapping("/{id}/run")
+    public ResponseEntity<ApiResponse<CodeRunResponse>> runCodeExample(
+            @PathVariable Long id,
+            @Valid @RequestBody(required = false) CodeRunRequest request) {
+        try {
+            CodeRunResponse response = codeRunService.runCodeExample(id, request);
+            return ResponseEntity.ok(ApiResponse.success("运行完成", response));
+        } catch (BusinessException e) {
+            HttpStatus status = HttpStatus.resolve(e.getCode());
+            if (status == HttpStatus.TOO_MANY_REQUESTS || status == HttpStatus.SERVICE_UNAVAILABLE) {
+                return ResponseEntity.status(status)
+                        .header(HttpHeaders.RETRY_AFTER, RUN_RETRY_AFTER_SECONDS)
+                        .body(ApiResponse.error(e.getCode(), e.getMessage()));
+            }
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+    
+    /**
+     * 在沙箱中运行代码示例，以 Server-Sent Events 推送输出
+     *
+     * <p>事件：stdout / stderr（输出片段，产生后立即推送）、done（运行结果）、error（错误信息）。
+     * 客户端断开或事件流超时后结束工作进程，释放运行资源。</p>
+     */
+    @PostMapping("/{id}/run/stream")
+    public SseEmitter streamCodeExample(
+            @PathVariable Long id,
+            @Valid @RequestBody(required = false) CodeRunRequest request) {
+        SseEmitter emitter = new SseEmitter(sandboxProperties.getQueueTimeout()
+                + sandboxProperties.getWallTimeLimit() + STREAM_TIMEOUT_MARGIN_MILLIS);
+        PreparedRun run;
+        try {
+            run = codeRunService.prepare(id, request);
+        } catch (RuntimeException e) {
+            SseEvents.fail(emitter, e);
+            return emitter;
+        }
+        AtomicReference<Runnable> cancel = new AtomicReference<>(() -> { });
+        RunListener listener = new RunListener() {
+            @Override
+            public void onStart(Runnable cancelRun) {
+                cancel.set(cancelRun);
+            }
+            
+            @Override
+            public void onOutput(String stream, String text) {
+                SseEvents.sendText(emitter, stream, text);
+            }
+        };
+        Future<?> task;
+        try {
+            task = sandboxExecutor.submit(() -> {
+                try {
+                    CodeRunResponse response = run.run(listener);
+                    SseEvents.send(emitter, SseEvents.DONE, response);
+                    emitter.complete();
+                } catch (UncheckedIOException e) {
+                    log.debug("客户端已断开, 停止运行代码示例: {}", id);
+                } catch (RuntimeException e) {
+                    SseEvents.fail(emitter, e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            SseEvents.fail(emitter, new BusinessException(429, "当前运行请求过多，请稍后重试"));
+            return emitter;
+        }
+        Runnable abort = () -> {
+            cancel.get().run();
+            task.cancel(true);
+        };
+        emitter.onTimeout(abort);
+        emitter.onError(e -> abort.run());
+        emitter.onCompletion(abort);
+        return emitter;
+    }
+}
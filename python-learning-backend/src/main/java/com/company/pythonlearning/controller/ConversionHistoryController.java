@@ -0,0 +1,91 @@
+package com.company.pythonlearning.controller;
+
+import com.company.pythonlearning.dto.response.ApiResponse;
+import com.company.pythonlearning.dto.response.ConversionHistoryPageResponse;
+import com.company.pythonlearning.dto.response.ConversionHistoryResponse;
+import com.company.pythonlearning.exception.BusinessException;
+import com.company.pythonlearning.service.ConversionHistoryService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.security.Principal;
+
+/**
+ * 转换历史控制器
+ * 
+ * @author Company
+ * @version 1.0.0
+ */
+@RestController
+@RequestMapping("/api/v1/converter/history")
+@RequiredArgsConstructor
+@Slf4j
+public class ConversionHistoryController {
+    
+    private final ConversionHistoryService conversionHistoryService;
+    
+    /**
+     * 分页获取当前用户的转换历史，按时间倒序
+     */
+    @GetMapping
+    public ResponseEntity<ApiResponse<ConversionHistoryPageResponse>> getHistory(
+            @RequestParam(defaultValue = "1") int page,
+            @RequestParam(defaultValue = "10") int size,
+            Principal principal) {
+        try {
+            ConversionHistoryPageResponse history = conversionHistoryService.getHistory(username(principal), page, size);
+            return ResponseEntity.ok(ApiResponse.success("获取成功", history));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+    
+    /**
+     * 获取一条转换历史
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<ApiResponse<ConversionHistoryResponse>> getHistoryItem(@PathVariable Long id,
+                                                                                 Principal principal) {
+        try {
+            ConversionHistoryResponse item = conversionHistoryService.getHistoryItem(username(principal), id);
+            return ResponseEntity.ok(ApiResponse.success("获取成功", item));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+    
+    /**
+     * 删除一条转换历史
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<ApiResponse<Void>> deleteHistoryItem(@PathVariable Long id, Principal principal) {
+        try {
+            conversionHistoryService.deleteHistoryItem(username(principal), id);
+            return ResponseEntity.ok(ApiResponse.success("删除成功", null));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+    
+    /**
+     * 清空当前用户的转换历史
+     */
+    @DeleteMapping
+    public ResponseEntity<ApiResponse<Integer>> clearHistory(Principal principal) {
+        try {
+            int removed = conversionHistoryService.clearHistory(username(principal));
+            return ResponseEntity.ok(ApiResponse.success("清空成功", removed));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+    
+    private String username(Principal principal) {
+        if (principal == null) {
+            throw new BusinessException(401, "请先登录");
+        }
+        return principal.getName();
+    }
+}
@@ -1,16 +1,30 @@
 package com.company.pythonlearning.controller;
 
+import com.company.pythonlearning.catalog.CatalogSnapshot;
+import com.company.pythonlearning.catalog.CatalogSnapshotBuilder;
+import com.company.pythonlearning.config.LearningProperties;
 import com.company.pythonlearning.dto.response.ApiResponse;
+import com.company.pythonlearning.dto.response.CursorPageResponse;
+import com.company.pythonlearning.dto.response.ModuleStatisticsResponse;
+import com.company.pythonlearning.dto.response.ModuleSummaryResponse;
+import com.company.pythonlearning.dto.response.ModuleTreeResponse;
 import com.company.pythonlearning.entity.LearningModule;
 import com.company.pythonlearning.enums.DifficultyLevel;
 import com.company.pythonlearning.service.LearningModuleService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.DeferredResult;
 
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
 
 /**
  * 学习模块控制器
@@ -24,32 +38,72 @@ import java.util.List;
 @Slf4j
 public class LearningModuleController {
     
+    private static final String CATALOG_VERSION_HEADER = "X-Catalog-Version";
+    
     private final LearningModuleService learningModuleService;
     
+    private final CatalogSnapshotBuilder catalogSnapshotBuilder;
+    
+    private final ExecutorService catalogExecutor;
+    
+    private final LearningProperties learningProperties;
+    
     /**
-     * 获取所有学习模块
+     * 分页获取所有学习模块
      */
     @GetMapping
-    public ResponseEntity<ApiResponse<List<LearningModule>>> getAllModules() {
-        try {
-            List<LearningModule> modules = learningModuleService.getAllModules();
-            return ResponseEntity.ok(ApiResponse.success("获取成功", modules));
-        } catch (Exception e) {
-            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
-        }
+    public DeferredResult<ResponseEntity<ApiResponse<CursorPageResponse<ModuleSummaryResponse>>>> getAllModules(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return readAsync(() -> {
+            try {
+                CursorPageResponse<ModuleSummaryResponse> modules = learningModuleService.getAllModules(cursor, size);
+                return ResponseEntity.ok(ApiResponse.success("获取成功", modules));
+            } catch (Exception e) {
+                return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+            }
+        });
     }
     
     /**
      * 获取已发布的学习模块
+     *
+     * <p>直接写出预先生成的目录快照，Accept-Encoding 接受gzip（q值大于0）时返回压缩版本；
+     * 请求携带的If-None-Match与当前快照一致时返回304。</p>
      */
     @GetMapping("/published")
-    public ResponseEntity<ApiResponse<List<LearningModule>>> getPublishedModules() {
-        try {
-            List<LearningModule> modules = learningModuleService.getPublishedModules();
-            return ResponseEntity.ok(ApiResponse.success("获取成功", modules));
-        } catch (Exception e) {
-            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+    public ResponseEntity<byte[]> getPublishedModules(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest webRequest) {
+        CatalogSnapshot snapshot = catalogSnapshotBuilder.current();
+        boolean gzipped = AcceptEncoding.allowsGzip(acceptEncoding);
+        if (webRequest.checkNotModified(snapshot.etag(gzipped))) {
+            return null;
         }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.noCache())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .header(CATALOG_VERSION_HEADER, String.valueOf(snapshot.getVersion()));
+        if (gzipped) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(snapshot.body(gzipped));
+    }
+    
+    /**
+     * 获取已发布模块的课程目录树
+     */
+    @GetMapping("/tree")
+    public DeferredResult<ResponseEntity<ApiResponse<List<ModuleTreeResponse>>>> getModuleTree() {
+        return readAsync(() -> {
+            try {
+                List<ModuleTreeResponse> tree = learningModuleService.getPublishedModuleTree();
+                return ResponseEntity.ok(ApiResponse.success("获取成功", tree));
+            } catch (Exception e) {
+                return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+            }
+        });
     }
     
     /**
@@ -139,29 +193,35 @@ public class LearningModuleController {
      * 根据难度级别获取学习模块
      */
     @GetMapping("/difficulty/{difficulty}")
-    public ResponseEntity<ApiResponse<List<LearningModule>>> getModulesByDifficulty(@PathVariable String difficulty) {
-        try {
-            DifficultyLevel difficultyLevel = DifficultyLevel.valueOf(difficulty.toUpperCase());
-            List<LearningModule> modules = learningModuleService.getModulesByDifficulty(difficultyLevel);
-            return ResponseEntity.ok(ApiResponse.success("获取成功", modules));
-        } catch (IllegalArgumentException e) {
-            return ResponseEntity.badRequest().body(ApiResponse.error("无效的难度级别: " + difficulty));
-        } catch (Exception e) {
-            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
-        }
+    public DeferredResult<ResponseEntity<ApiResponse<List<ModuleSummaryResponse>>>> getModulesByDifficulty(
+            @PathVariable String difficulty) {
+        return readAsync(() -> {
+            try {
+                DifficultyLevel difficultyLevel = DifficultyLevel.valueOf(difficulty.toUpperCase());
+                List<ModuleSummaryResponse> modules = learningModuleService.getModulesByDifficulty(difficultyLevel);
+                return ResponseEntity.ok(ApiResponse.success("获取成功", modules));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(ApiResponse.error("无效的难度级别: " + difficulty));
+            } catch (Exception e) {
+                return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+            }
+        });
     }
     
     /**
      * 搜索学习模块
      */
     @GetMapping("/search")
-    public ResponseEntity<ApiResponse<List<LearningModule>>> searchModules(@RequestParam String keyword) {
-        try {
-            List<LearningModule> modules = learningModuleService.searchModules(keyword);
-            return ResponseEntity.ok(ApiResponse.success("搜索成功", modules));
-        } catch (Exception e) {
-            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
-        }
+    public DeferredResult<ResponseEntity<ApiResponse<List<ModuleSummaryResponse>>>> searchModules(
+            @RequestParam String keyword) {
+        return readAsync(() -> {
+            try {
+                List<ModuleSummaryResponse> modules = learningModuleService.searchModules(keyword);
+                return ResponseEntity.ok(ApiResponse.success("搜索成功", modules));
+            } catch (Exception e) {
+                return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+            }
+        });
     }
     
     /**
@@ -169,12 +229,21 @@ public class LearningModuleController {
      */
     @GetMapping("/statistics")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<ApiResponse<Object[]>> getModuleStatistics() {
+    public ResponseEntity<ApiResponse<ModuleStatisticsResponse>> getModuleStatistics() {
         try {
-            Object[] statistics = learningModuleService.getModuleStatistics();
+            ModuleStatisticsResponse statistics = learningModuleService.getModuleStatistics();
             return ResponseEntity.ok(ApiResponse.success("获取成功", statistics));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
         }
     }
+    
+    /**
+     * 在目录读取线程池中执行，读取期间不占用请求线程
+     */
+    private <T> DeferredResult<ResponseEntity<ApiResponse<T>>> readAsync(
+            Supplier<ResponseEntity<ApiResponse<T>>> task) {
+        return AsyncResponses.submit(catalogExecutor, learningProperties.getCatalog().getReadTimeout(),
+                "读取课程目录超时，请稍后重试", task);
+    }
 }
\ No newline at end of file
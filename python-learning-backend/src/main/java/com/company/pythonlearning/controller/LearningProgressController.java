@@ -0,0 +1,143 @@
+package com.company.pythonlearning.controller;
+
+import com.company.pythonlearning.dto.request.ProgressUpdateRequest;
+import com.company.pythonlearning.dto.request.QuizSubmitRequest;
+import com.company.pythonlearning.dto.request.StudyTimeRequest;
+import com.company.pythonlearning.dto.response.ApiResponse;
+import com.company.pythonlearning.dto.response.LearningProgressResponse;
+import com.company.pythonlearning.dto.response.LearningStatsResponse;
+import com.company.pythonlearning.exception.BusinessException;
+import com.company.pythonlearning.service.LearningProgressService;
+import com.company.pythonlearning.service.LearningStatsService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.security.Principal;
+import java.util.List;
+
+/**
+ * 学习进度控制器
+ *
+ * <p>路径中的课程ID即学习模块ID。进度和学习时长的上报先写入内存缓冲，
+ * 批量写库后才持久化，接口立即返回。</p>
+ * 
+ * @author Company
+ * @version 1.0.0
+ */
+@RestController
+@RequestMapping("/api/v1/learning")
+@RequiredArgsConstructor
+@Slf4j
+public class LearningProgressController {
+    
+    private final LearningProgressService learningProgressService;
+    
+    private final LearningStatsService learningStatsService;
+    
+    /**
+     * 获取当前用户的学习进度
+     */
+    @GetMapping("/progress")
+    public ResponseEntity<ApiResponse<List<LearningProgressResponse>>> getProgress(Principal principal) {
+        try {
+            List<LearningProgressResponse> progress = learningProgressService.getProgress(username(principal));
+            return ResponseEntity.ok(ApiResponse.success("获取成功", progress));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+    
+    /**
+     * 上报学习进度
+     */
+    @PutMapping("/courses/{id}/progress")
+    public ResponseEntity<ApiResponse<Void>> updateProgress(@PathVariable Long id,
+                                                            @Valid @RequestBody ProgressUpdateRequest request,
+                                                            Principal principal) {
+        try {
+            learningProgressService.recordProgress(username(principal), id, request.getProgress());
+            return ResponseEntity.ok(ApiResponse.success("上报成功", null));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+    
+    /**
+     * 上报学习时长
+     */
+    @PostMapping("/courses/{id}/time")
+    public ResponseEntity<ApiResponse<Void>> recordStudyTime(@PathVariable Long id,
+                                                             @Valid @RequestBody StudyTimeRequest request,
+                                                             Principal principal) {
+        try {
+            learningProgressService.recordStudyTime(username(principal), id, request.getDuration());
+            return ResponseEntity.ok(ApiResponse.success("上报成功", null));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+    
+    /**
+     * 标记课程（模块）完成
+     */
+    @PostMapping("/courses/{id}/complete")
+    public ResponseEntity<ApiResponse<Void>> completeModule(@PathVariable Long id, Principal principal) {
+        try {
+            learningProgressService.completeModule(username(principal), id);
+            return ResponseEntity.ok(ApiResponse.success("操作成功", null));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+    
+    /**
+     * 提交测验成绩
+     */
+    @PostMapping("/courses/{id}/quiz")
+    public ResponseEntity<ApiResponse<Void>> submitQuiz(@PathVariable Long id,
+                                                        @Valid @RequestBody QuizSubmitRequest request,
+                                                        Principal principal) {
+        try {
+            learningProgressService.recordQuizScore(username(principal), id, request.getScore());
+            return ResponseEntity.ok(ApiResponse.success("提交成功", null));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+    
+    /**
+     * 标记课时完成
+     */
+    @PostMapping("/lessons/{id}/complete")
+    public ResponseEntity<ApiResponse<Void>> completeLesson(@PathVariable Long id, Principal principal) {
+        try {
+            learningProgressService.completeLesson(username(principal), id);
+            return ResponseEntity.ok(ApiResponse.success("操作成功", null));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+    
+    /**
+     * 获取学习面板统计
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<ApiResponse<LearningStatsResponse>> getStats(Principal principal) {
+        try {
+            LearningStatsResponse stats = learningStatsService.getStats(username(principal));
+            return ResponseEntity.ok(ApiResponse.success("获取成功", stats));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+    
+    private String username(Principal principal) {
+        if (principal == null) {
+            throw new BusinessException(401, "请先登录");
+        }
+        return principal.getName();
+    }
+}
@@ -1,6 +1,11 @@
 package com.company.pythonlearning.controller;
 
+import com.company.pythonlearning.config.LearningProperties;
 import com.company.pythonlearning.dto.response.ApiResponse;
+import com.company.pythonlearning.dto.response.CursorPageResponse;
+import com.company.pythonlearning.dto.response.LessonDetailResponse;
+import com.company.pythonlearning.dto.response.LessonStatisticsResponse;
+import com.company.pythonlearning.dto.response.LessonSummaryResponse;
 import com.company.pythonlearning.entity.Lesson;
 import com.company.pythonlearning.service.LessonService;
 import lombok.RequiredArgsConstructor;
@@ -8,8 +13,11 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
 
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
 
 /**
  * 课程控制器
@@ -25,30 +33,41 @@ public class LessonController {
     
     private final LessonService lessonService;
     
+    private final ExecutorService catalogExecutor;
+    
+    private final LearningProperties learningProperties;
+    
     /**
-     * 获取所有课程
+     * 分页获取所有课程
      */
     @GetMapping
-    public ResponseEntity<ApiResponse<List<Lesson>>> getAllLessons() {
-        try {
-            List<Lesson> lessons = lessonService.getAllLessons();
-            return ResponseEntity.ok(ApiResponse.success("获取成功", lessons));
-        } catch (Exception e) {
-            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
-        }
+    public DeferredResult<ResponseEntity<ApiResponse<CursorPageResponse<LessonSummaryResponse>>>> getAllLessons(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return readAsync(() -> {
+            try {
+                CursorPageResponse<LessonSummaryResponse> lessons = lessonService.getAllLessons(cursor, size);
+                return ResponseEntity.ok(ApiResponse.success("获取成功", lessons));
+            } catch (Exception e) {
+                return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+            }
+        });
     }
     
     /**
      * 根据模块ID获取课程
      */
     @GetMapping("/module/{moduleId}")
-    public ResponseEntity<ApiResponse<List<Lesson>>> getLessonsByModuleId(@PathVariable Long moduleId) {
-        try {
-            List<Lesson> lessons = lessonService.getLessonsByModuleId(moduleId);
-            return ResponseEntity.ok(ApiResponse.success("获取成功", lessons));
-        } catch (Exception e) {
-            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
-        }
+    public DeferredResult<ResponseEntity<ApiResponse<List<LessonSummaryResponse>>>> getLessonsByModuleId(
+            @PathVariable Long moduleId) {
+        return readAsync(() -> {
+            try {
+                List<LessonSummaryResponse> lessons = lessonService.getLessonsByModuleId(moduleId);
+                return ResponseEntity.ok(ApiResponse.success("获取成功", lessons));
+            } catch (Exception e) {
+                return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+            }
+        });
     }
     
     /**
@@ -107,29 +126,36 @@ public class LessonController {
     }
     
     /**
-     * 获取免费课程
+     * 分页获取免费课程
      */
     @GetMapping("/free")
-    public ResponseEntity<ApiResponse<List<Lesson>>> getFreeLessons() {
-        try {
-            List<Lesson> lessons = lessonService.getFreeLessons();
-            return ResponseEntity.ok(ApiResponse.success("获取成功", lessons));
-        } catch (Exception e) {
-            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
-        }
+    public DeferredResult<ResponseEntity<ApiResponse<CursorPageResponse<LessonSummaryResponse>>>> getFreeLessons(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return readAsync(() -> {
+            try {
+                CursorPageResponse<LessonSummaryResponse> lessons = lessonService.getFreeLessons(cursor, size);
+                return ResponseEntity.ok(ApiResponse.success("获取成功", lessons));
+            } catch (Exception e) {
+                return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+            }
+        });
     }
     
     /**
      * 搜索课程
      */
     @GetMapping("/search")
-    public ResponseEntity<ApiResponse<List<Lesson>>> searchLessons(@RequestParam String keyword) {
-        try {
-            List<Lesson> lessons = lessonService.searchLessons(keyword);
-            return ResponseEntity.ok(ApiResponse.success("搜索成功", lessons));
-        } catch (Exception e) {
-            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
-        }
+    public DeferredResult<ResponseEntity<ApiResponse<List<LessonSummaryResponse>>>> searchLessons(
+            @RequestParam String keyword) {
+        return readAsync(() -> {
+            try {
+                List<LessonSummaryResponse> lessons = lessonService.searchLessons(keyword);
+                return ResponseEntity.ok(ApiResponse.success("搜索成功", lessons));
+            } catch (Exception e) {
+                return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+            }
+        });
     }
     
     /**
@@ -137,9 +163,9 @@ public class LessonController {
      */
     @GetMapping("/statistics")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<ApiResponse<Object[]>> getLessonStatistics() {
+    public ResponseEntity<ApiResponse<LessonStatisticsResponse>> getLessonStatistics() {
         try {
-            Object[] statistics = lessonService.getLessonStatistics();
+            LessonStatisticsResponse statistics = lessonService.getLessonStatistics();
             return ResponseEntity.ok(ApiResponse.success("获取成功", statistics));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
@@ -147,12 +173,12 @@ public class LessonController {
     }
     
     /**
-     * 获取课程详情（包含代码示例）
+     * 获取课程详情（包含所属模块的代码示例）
      */
     @GetMapping("/{id}/detail")
-    public ResponseEntity<ApiResponse<Lesson>> getLessonDetail(@PathVariable Long id) {
+    public ResponseEntity<ApiResponse<LessonDetailResponse>> getLessonDetail(@PathVariable Long id) {
         try {
-            Lesson lesson = lessonService.getLessonDetail(id);
+            LessonDetailResponse lesson = lessonService.getLessonDetail(id);
             return ResponseEntity.ok(ApiResponse.success("获取成功", lesson));
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
@@ -186,4 +212,13 @@ public class LessonController {
             return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
         }
     }
+    
+    /**
+     * 在目录读取线程池中执行，读取期间不占用请求线程
+     */
+    private <T> DeferredResult<ResponseEntity<ApiResponse<T>>> readAsync(
+            Supplier<ResponseEntity<ApiResponse<T>>> task) {
+        return AsyncResponses.submit(catalogExecutor, learningProperties.getCatalog().getReadTimeout(),
+                "读取课程目录超时，请稍后重试", task);
+    }
 }
\ No newline at end of file
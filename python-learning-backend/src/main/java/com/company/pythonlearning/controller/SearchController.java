@@ -0,0 +1,65 @@
+package com.company.pythonlearning.controller;
+
+import com.company.pythonlearning.dto.response.ApiResponse;
+import com.company.pythonlearning.dto.response.SearchHitResponse;
+import com.company.pythonlearning.dto.response.SuggestionResponse;
+import com.company.pythonlearning.enums.SearchDocumentType;
+import com.company.pythonlearning.service.SearchService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * 全文搜索控制器
+ * 
+ * @author Company
+ * @version 1.0.0
+ */
+@RestController
+@RequestMapping("/api/v1/search")
+@RequiredArgsConstructor
+@Slf4j
+public class SearchController {
+    
+    private final SearchService searchService;
+    
+    /**
+     * 跨学习模块、课程和代码示例搜索
+     */
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<SearchHitResponse>>> search(
+            @RequestParam String keyword,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) Integer limit) {
+        SearchDocumentType documentType;
+        try {
+            documentType = type != null ? SearchDocumentType.valueOf(type.toUpperCase()) : null;
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("无效的搜索类型: " + type));
+        }
+        try {
+            List<SearchHitResponse> hits = searchService.search(keyword, documentType, limit);
+            return ResponseEntity.ok(ApiResponse.success("搜索成功", hits));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+    
+    /**
+     * 输入联想，按热度返回以prefix开头的标题、Java标识符和Python关键字
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<ApiResponse<List<SuggestionResponse>>> suggest(
+            @RequestParam String prefix,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            List<SuggestionResponse> suggestions = searchService.suggest(prefix, limit);
+            return ResponseEntity.ok(ApiResponse.success("获取成功", suggestions));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.company.pythonlearning.controller;
+
+import com.company.pythonlearning.dto.response.ApiResponse;
+import com.company.pythonlearning.exception.BusinessException;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Server-Sent Events 事件发送
+ *
+ * <p>事件数据统一序列化为JSON，文本内容包装在 {@code {"text": ...}} 中，
+ * 避免其中的换行符破坏事件流格式。</p>
+ *
+ * @author Company
+ * @version 1.0.0
+ */
+final class SseEvents {
+
+    static final String LINE = "line";
+
+    static final String WARNING = "warning";
+
+    static final String DONE = "done";
+
+    static final String ERROR = "error";
+
+    /**
+     * 文本事件的数据
+     */
+    record Text(String text) {
+    }
+
+    private SseEvents() {
+    }
+
+    /**
+     * 发送一个事件，客户端断开时抛出 {@link UncheckedIOException}
+     */
+    static void send(SseEmitter emitter, String name, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static void sendText(SseEmitter emitter, String name, String text) {
+        send(emitter, name, new Text(text));
+    }
+
+    /**
+     * 发送错误事件并结束事件流
+     */
+    static void fail(SseEmitter emitter, RuntimeException e) {
+        ApiResponse<Void> response = e instanceof BusinessException business
+                ? ApiResponse.error(business.getCode(), business.getMessage())
+                : ApiResponse.systemError();
+        try {
+            emitter.send(SseEmitter.event().name(ERROR).data(response, MediaType.APPLICATION_JSON));
+            emitter.complete();
+        } catch (IOException | IllegalStateException ignored) {
+            // 客户端已断开，无需再通知
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.company.pythonlearning.converter;
+
+import com.company.pythonlearning.cache.SharedCacheTier;
+import com.company.pythonlearning.cache.TwoLevelCache;
+import com.company.pythonlearning.config.ConverterProperties;
+import com.company.pythonlearning.config.SharedCacheProperties;
+import com.company.pythonlearning.dto.request.CodeConversionRequest.ConversionOptions;
+import com.company.pythonlearning.dto.response.ConversionCacheStatsResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * 转换结果缓存
+ *
+ * <p>以规范化源码与规范化转换选项的SHA-256摘要为键，相同的代码片段只转换一次。
+ * 底层使用Caffeine（W-TinyLFU淘汰策略），按结果的估算字节数计重，
+ * 避免少量超大结果挤占全部容量。</p>
+ *
+ * <p>本地缓存之后还有一层多实例共享缓存：某个实例转换过的代码，其他实例直接从共享层取得结果。
+ * 同一个键的转换结果不会变化，因此写入时不需要广播失效。</p>
+ *
+ * @author Company
+ * @version 1.0.0
+ */
+@Component
+@Slf4j
+public class ConversionCache implements MeterBinder {
+
+    /**
+     * 每个缓存条目除代码文本外的估算固定开销（字节）
+     */
+    private static final int ENTRY_OVERHEAD = 256;
+
+    /**
+     * 缓存的转换结果
+     */
+    public record CachedConversion(String pythonCode, ConversionReport report) {
+
+        /**
+         * 把缓存的代码写入out，复用原始转换的报告
+         */
+        public PreparedConversion replay() {
+            return out -> {
+                try {
+                    out.write(pythonCode);
+                    out.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return report;
+            };
+        }
+    }
+
+    private final boolean enabled;
+
+    private final Cache<String, CachedConversion> cache;
+
+    private final TwoLevelCache<CachedConversion> tiered;
+
+    public ConversionCache(ConverterProperties converterProperties, SharedCacheTier sharedCacheTier,
+                           SharedCacheProperties sharedCacheProperties) {
+        ConverterProperties.Cache config = converterProperties.getCache();
+        this.enabled = config.isEnabled();
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(config.getMaxBytes())
+                .weigher(ConversionCache::weigh)
+                .recordStats()
+                .build();
+        this.tiered = new TwoLevelCache<>("conversion", sharedCacheTier, sharedCacheProperties.getChannel(),
+                cache, sharedCacheProperties.getConversionTtl(), new Codec());
+        log.info("转换结果缓存初始化完成, 启用: {}, 容量上限: {} 字节, 共享层: {}",
+                enabled, config.getMaxBytes(), sharedCacheTier.describe());
+    }
+
+    /**
+     * 计算缓存键：规范化选项 + 规范化源码的SHA-256
+     */
+    public String key(String sourceCode, ConversionOptions options) {
+        MessageDigest digest = sha256();
+        digest.update(ConversionContext.optionsFingerprint(options).getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        digest.update(normalize(sourceCode).getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    public CachedConversion get(String key) {
+        return enabled ? tiered.get(key) : null;
+    }
+
+    public void put(String key, String pythonCode, ConversionReport report) {
+        if (enabled) {
+            tiered.put(key, new CachedConversion(pythonCode, report));
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 命中、未命中与淘汰统计
+     */
+    public ConversionCacheStatsResponse stats() {
+        CacheStats stats = cache.stats();
+        ConversionCacheStatsResponse response = new ConversionCacheStatsResponse();
+        response.setEnabled(enabled);
+        response.setHitCount(stats.hitCount());
+        response.setMissCount(stats.missCount());
+        response.setHitRate(stats.hitRate());
+        response.setEvictionCount(stats.evictionCount());
+        response.setEvictionWeight(stats.evictionWeight());
+        response.setEntryCount(cache.estimatedSize());
+        response.setWeightedSizeBytes(cache.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0L))
+                .orElse(0L));
+        response.setSharedHitCount(tiered.getSharedHitCount());
+        response.setSharedMissCount(tiered.getSharedMissCount());
+        return response;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        tiered.bindTo(registry);
+    }
+
+    /**
+     * 统一换行符并去除行尾空白和末尾空行，这些差异不影响转换结果
+     */
+    static String normalize(String sourceCode) {
+        StringBuilder sb = new StringBuilder(sourceCode.length());
+        sourceCode.lines().forEach(line -> sb.append(line.stripTrailing()).append('\n'));
+        int end = sb.length();
+        while (end > 0 && sb.charAt(end - 1) == '\n') {
+            end--;
+        }
+        sb.setLength(end);
+        return sb.toString();
+    }
+
+    private static int weigh(String key, CachedConversion value) {
+        long bytes = ENTRY_OVERHEAD + key.length() + 2L * value.pythonCode().length();
+        for (String warning : value.report().getWarnings()) {
+            bytes += 2L * warning.length() + 40;
+        }
+        return (int) Math.min(Integer.MAX_VALUE, bytes);
+    }
+
+    /**
+     * 共享层中的编码：代码文本、成功标志、告警、错误、评分、耗时、行数
+     */
+    private static class Codec implements TwoLevelCache.Codec<CachedConversion> {
+
+        @Override
+        public byte[] encode(CachedConversion value) throws IOException {
+            ConversionReport report = value.report();
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream(value.pythonCode().length() + 64);
+            DataOutputStream out = new DataOutputStream(buffer);
+            writeString(out, value.pythonCode());
+            out.writeBoolean(report.isSuccess());
+            writeStrings(out, report.getWarnings());
+            writeStrings(out, report.getErrors());
+            out.writeInt(report.getScore());
+            out.writeLong(report.getElapsedMillis());
+            out.writeLong(report.getLinesWritten());
+            return buffer.toByteArray();
+        }
+
+        @Override
+        public CachedConversion decode(byte[] bytes) throws IOException {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+            String pythonCode = readString(in);
+            ConversionReport report = new ConversionReport(in.readBoolean(), readStrings(in), readStrings(in),
+                    in.readInt(), in.readLong(), in.readLong());
+            return new CachedConversion(pythonCode, report);
+        }
+
+        private static void writeString(DataOutputStream out, String value) throws IOException {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+
+        private static String readString(DataInputStream in) throws IOException {
+            byte[] bytes = new byte[in.readInt()];
+            in.readFully(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        private static void writeStrings(DataOutputStream out, List<String> values) throws IOException {
+            out.writeInt(values.size());
+            for (String value : values) {
+                writeString(out, value);
+            }
+        }
+
+        private static List<String> readStrings(DataInputStream in) throws IOException {
+            int count = in.readInt();
+            List<String> values = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                values.add(readString(in));
+            }
+            return values;
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("JVM不支持SHA-256", e);
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package com.company.pythonlearning.converter;
+
+import com.company.pythonlearning.dto.request.CodeConversionRequest.ConversionOptions;
+import com.company.pythonlearning.exception.BusinessException;
+import com.github.javaparser.ast.Node;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * 单次转换的上下文
+ *
+ * <p>保存规范化后的转换选项、各转换阶段收集的符号信息、告警以及截止时间。
+ * 转换流水线在每个语句和表达式处调用 {@link #checkpoint()}，超时或线程被中断时协作式终止。</p>
+ *
+ * @author Company
+ * @version 1.0.0
+ */
+public class ConversionContext {
+
+    /**
+     * 每隔多少次检查点读取一次时钟
+     */
+    private static final int CLOCK_CHECK_MASK = 0x3F;
+
+    private final int indentSize;
+    private final boolean snakeCase;
+    private final boolean includeComments;
+    private final boolean handleExceptions;
+    private final boolean optimizeImports;
+    private final long deadlineNanos;
+
+    private final Set<String> pythonImports = new TreeSet<>();
+    private final Set<String> javaImports = new LinkedHashSet<>();
+    private final Map<String, String> renames = new HashMap<>();
+    private final Map<String, String> declaredTypes = new HashMap<>();
+    private final Set<String> declaredMethods = new HashSet<>();
+    private final Map<String, String> declaredClasses = new HashMap<>();
+    private final Set<String> declaredEnums = new HashSet<>();
+    private final Map<String, String> enumConstants = new HashMap<>();
+    private final Set<String> recordComponents = new HashSet<>();
+    // 告警按出现顺序存入列表，集合只用于去重；流式输出按下标读取新增的告警，不必复制
+    private final List<String> warnings = new ArrayList<>();
+    private final Set<String> distinctWarnings = new HashSet<>();
+    private int unsupportedCount;
+    private int checkpoints;
+
+    public ConversionContext(ConversionOptions options, long deadlineNanos) {
+        ConversionOptions resolved = options != null ? options : new ConversionOptions();
+        this.indentSize = resolveIndentSize(resolved);
+        this.snakeCase = resolveSnakeCase(resolved);
+        this.includeComments = !Boolean.FALSE.equals(resolved.getIncludeComments());
+        this.handleExceptions = !Boolean.FALSE.equals(resolved.getHandleExceptions());
+        this.optimizeImports = !Boolean.FALSE.equals(resolved.getOptimizeImports());
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    /**
+     * 规范化后的转换选项摘要，取值不同但效果相同的选项（如null与默认值）得到相同结果
+     */
+    public static String optionsFingerprint(ConversionOptions options) {
+        ConversionOptions resolved = options != null ? options : new ConversionOptions();
+        return "indent=" + resolveIndentSize(resolved)
+                + ";snake=" + resolveSnakeCase(resolved)
+                + ";comments=" + !Boolean.FALSE.equals(resolved.getIncludeComments())
+                + ";exceptions=" + !Boolean.FALSE.equals(resolved.getHandleExceptions())
+                + ";imports=" + !Boolean.FALSE.equals(resolved.getOptimizeImports());
+    }
+
+    private static int resolveIndentSize(ConversionOptions options) {
+        return options.getIndentSize() == null ? 4 : Math.max(1, Math.min(8, options.getIndentSize()));
+    }
+
+    private static boolean resolveSnakeCase(ConversionOptions options) {
+        return !"camelCase".equalsIgnoreCase(options.getNamingConvention());
+    }
+
+    /**
+     * 协作式检查点：超时或线程中断时抛出异常终止转换
+     */
+    public void checkpoint() {
+        if ((++checkpoints & CLOCK_CHECK_MASK) != 0) {
+            return;
+        }
+        checkDeadline();
+    }
+
+    /**
+     * 立即检查是否超时或线程中断，用于两次耗时较长的操作之间，不按检查点计数跳过
+     */
+    public void checkDeadline() {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new BusinessException(499, "代码转换已取消");
+        }
+        if (System.nanoTime() - deadlineNanos > 0) {
+            throw new BusinessException(408, "代码转换超时");
+        }
+    }
+
+    /**
+     * 距离截止时间的剩余纳秒数
+     */
+    public long remainingNanos() {
+        return deadlineNanos - System.nanoTime();
+    }
+
+    public void warn(Node node, String message) {
+        String line = node == null ? "" : node.getBegin().map(p -> "第" + p.line + "行: ").orElse("");
+        String warning = line + message;
+        if (distinctWarnings.add(warning)) {
+            warnings.add(warning);
+        }
+    }
+
+    public void unsupported(Node node, String what) {
+        unsupportedCount++;
+        warn(node, "暂不支持转换" + what);
+    }
+
+    public void addImport(String importLine) {
+        pythonImports.add(importLine);
+    }
+
+    public void addJavaImport(String importLine) {
+        javaImports.add(importLine);
+    }
+
+    public void rename(String javaName, String pythonName) {
+        renames.put(javaName, pythonName);
+    }
+
+    /**
+     * 获取标识符在Python中的名称，未声明的标识符保持原样
+     */
+    public String pythonName(String javaName) {
+        return renames.getOrDefault(javaName, javaName);
+    }
+
+    public void declareType(String name, String simpleTypeName) {
+        declaredTypes.put(name, simpleTypeName);
+    }
+
+    /**
+     * 变量或字段声明时的类型（简单类名，不含泛型），未知时返回null
+     */
+    public String declaredType(String name) {
+        return declaredTypes.get(name);
+    }
+
+    public void declareMethod(String name) {
+        declaredMethods.add(name);
+    }
+
+    public boolean isDeclaredMethod(String name) {
+        return declaredMethods.contains(name);
+    }
+
+    public void declareClass(String simpleName, String qualifiedName, boolean isEnum) {
+        declaredClasses.put(simpleName, qualifiedName);
+        if (isEnum) {
+            declaredEnums.add(simpleName);
+        }
+    }
+
+    /**
+     * 源码中声明的类在Python中的限定名（嵌套类为 Outer.Inner），未声明时返回null
+     */
+    public String qualifiedClassName(String simpleName) {
+        return declaredClasses.get(simpleName);
+    }
+
+    public boolean isDeclaredClass(String simpleName) {
+        return declaredClasses.containsKey(simpleName);
+    }
+
+    public boolean isDeclaredEnum(String simpleName) {
+        return declaredEnums.contains(simpleName);
+    }
+
+    public void declareEnumConstant(String constant, String ownerQualifiedName) {
+        enumConstants.put(constant, ownerQualifiedName);
+    }
+
+    /**
+     * 枚举常量所属枚举的限定名，不是枚举常量时返回null
+     */
+    public String enumOwner(String constant) {
+        return enumConstants.get(constant);
+    }
+
+    public void declareRecordComponent(String name) {
+        recordComponents.add(name);
+    }
+
+    public boolean isRecordComponent(String name) {
+        return recordComponents.contains(name);
+    }
+
+    public int getIndentSize() {
+        return indentSize;
+    }
+
+    public boolean isSnakeCase() {
+        return snakeCase;
+    }
+
+    public boolean isIncludeComments() {
+        return includeComments;
+    }
+
+    public boolean isHandleExceptions() {
+        return handleExceptions;
+    }
+
+    public boolean isOptimizeImports() {
+        return optimizeImports;
+    }
+
+    public Set<String> getPythonImports() {
+        return Collections.unmodifiableSet(pythonImports);
+    }
+
+    public Set<String> getJavaImports() {
+        return Collections.unmodifiableSet(javaImports);
+    }
+
+    public List<String> getWarnings() {
+        return new ArrayList<>(warnings);
+    }
+
+    public int getWarningCount() {
+        return warnings.size();
+    }
+
+    /**
+     * 按出现顺序的第index条告警
+     */
+    public String warningAt(int index) {
+        return warnings.get(index);
+    }
+
+    public int getUnsupportedCount() {
+        return unsupportedCount;
+    }
+}
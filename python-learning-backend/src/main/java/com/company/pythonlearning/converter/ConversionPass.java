@@ -0,0 +1,18 @@
+package com.company.pythonlearning.converter;
+
+/**
+ * 代码生成前对语法树执行的分析阶段
+ *
+ * <p>各阶段只读取语法树并把结论写入 {@link ConversionContext}，
+ * 使代码生成阶段可以一次遍历、边生成边输出。</p>
+ *
+ * @author Company
+ * @version 1.0.0
+ */
+public interface ConversionPass {
+
+    /**
+     * 执行分析
+     */
+    void apply(ParsedSource source, ConversionContext context);
+}
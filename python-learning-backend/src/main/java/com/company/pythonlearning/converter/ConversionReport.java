@@ -0,0 +1,60 @@
+package com.company.pythonlearning.converter;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 单次转换的结果摘要
+ *
+ * <p>转换后的代码已经流式写出，这里只保留告警、评分和耗时等元数据。</p>
+ *
+ * @author Company
+ * @version 1.0.0
+ */
+@Getter
+public class ConversionReport {
+
+    private static final int WARNING_PENALTY = 3;
+
+    private static final int UNSUPPORTED_PENALTY = 10;
+
+    private final boolean success;
+
+    private final List<String> warnings;
+
+    private final List<String> errors;
+
+    /**
+     * 转换质量评分（0-100），每条告警扣3分，每个无法转换的语法结构扣10分
+     */
+    private final int score;
+
+    private final long elapsedMillis;
+
+    private final long linesWritten;
+
+    public ConversionReport(ConversionContext context, long elapsedMillis, long linesWritten) {
+        this.success = true;
+        this.warnings = context.getWarnings();
+        this.errors = List.of();
+        int plainWarnings = Math.max(0, warnings.size() - context.getUnsupportedCount());
+        this.score = Math.max(0, 100 - plainWarnings * WARNING_PENALTY
+                - context.getUnsupportedCount() * UNSUPPORTED_PENALTY);
+        this.elapsedMillis = elapsedMillis;
+        this.linesWritten = linesWritten;
+    }
+
+    /**
+     * 按已有字段还原报告，用于从共享缓存中读出的转换结果
+     */
+    public ConversionReport(boolean success, List<String> warnings, List<String> errors,
+                            int score, long elapsedMillis, long linesWritten) {
+        this.success = success;
+        this.warnings = warnings;
+        this.errors = errors;
+        this.score = score;
+        this.elapsedMillis = elapsedMillis;
+        this.linesWritten = linesWritten;
+    }
+}
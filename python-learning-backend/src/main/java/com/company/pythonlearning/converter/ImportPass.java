@@ -0,0 +1,88 @@
+package com.company.pythonlearning.converter;
+
+import com.github.javaparser.ast.ImportDeclaration;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.EnumDeclaration;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.body.RecordDeclaration;
+import com.github.javaparser.ast.expr.Expression;
+import com.github.javaparser.ast.expr.FieldAccessExpr;
+import com.github.javaparser.ast.expr.MethodCallExpr;
+import com.github.javaparser.ast.expr.NameExpr;
+import com.github.javaparser.ast.expr.ObjectCreationExpr;
+
+/**
+ * 导入分析阶段
+ *
+ * <p>Python的import必须出现在使用之前，而代码生成是流式输出的，
+ * 因此在生成之前先扫描一遍语法树，确定需要的Python模块。
+ * 判断规则与 {@link PythonEmitter} 共用 {@link PythonMappings} 中的映射表。</p>
+ *
+ * @author Company
+ * @version 1.0.0
+ */
+public class ImportPass implements ConversionPass {
+
+    @Override
+    public void apply(ParsedSource source, ConversionContext context) {
+        source.getCompilationUnit().walk(node -> {
+            context.checkpoint();
+            if (node instanceof ImportDeclaration importDeclaration) {
+                context.addJavaImport(importDeclaration.toString().trim());
+            } else if (node instanceof MethodCallExpr call) {
+                visitCall(call, context);
+            } else if (node instanceof FieldAccessExpr field && isClassName(field.getScope(), context)) {
+                addIfPresent(context, PythonMappings.importForStaticField(
+                        field.getScope().asNameExpr().getNameAsString(), field.getNameAsString()));
+            } else if (node instanceof ObjectCreationExpr creation) {
+                addIfPresent(context, PythonMappings.importForCreation(creation.getType().getNameAsString()));
+            } else if (node instanceof ClassOrInterfaceDeclaration type
+                    && (type.isInterface() || type.isAbstract())) {
+                context.addImport("from abc import ABC, abstractmethod");
+            } else if (node instanceof EnumDeclaration) {
+                context.addImport("from enum import Enum, auto");
+            } else if (node instanceof RecordDeclaration) {
+                context.addImport("from dataclasses import dataclass");
+            } else if (node instanceof MethodDeclaration method && isMainMethod(method)) {
+                context.addImport("import sys");
+            }
+        });
+    }
+
+    private void visitCall(MethodCallExpr call, ConversionContext context) {
+        String name = call.getNameAsString();
+        addIfPresent(context, PythonMappings.importForInstanceCall(name, call.getArguments().size()));
+        call.getScope().ifPresent(scope -> {
+            if (isClassName(scope, context)) {
+                addIfPresent(context, PythonMappings.importForStaticCall(scope.asNameExpr().getNameAsString(), name));
+            } else if (scope instanceof FieldAccessExpr field && isClassName(field.getScope(), context)) {
+                addIfPresent(context, PythonMappings.importForStaticField(
+                        field.getScope().asNameExpr().getNameAsString(), field.getNameAsString()));
+            }
+        });
+    }
+
+    private boolean isClassName(Expression expression, ConversionContext context) {
+        if (!(expression instanceof NameExpr nameExpr)) {
+            return false;
+        }
+        String name = nameExpr.getNameAsString();
+        return Character.isUpperCase(name.charAt(0)) && context.declaredType(name) == null;
+    }
+
+    private void addIfPresent(ConversionContext context, String importLine) {
+        if (importLine != null) {
+            context.addImport(importLine);
+        }
+    }
+
+    /**
+     * 是否为 public static void main(String[] args) 入口方法
+     */
+    static boolean isMainMethod(MethodDeclaration method) {
+        return "main".equals(method.getNameAsString())
+                && method.isStatic()
+                && method.getParameters().size() == 1
+                && method.getBody().isPresent();
+    }
+}
@@ -0,0 +1,96 @@
+package com.company.pythonlearning.converter;
+
+import com.company.pythonlearning.config.ConverterProperties;
+import com.company.pythonlearning.exception.BusinessException;
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ParserConfiguration;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Java解析器池
+ *
+ * <p>{@link JavaParser} 实例不是线程安全的，这里在启动时预先创建并预热固定数量的实例，
+ * 请求之间复用，避免每次转换都重新加载解析器和触发冷启动。</p>
+ *
+ * @author Company
+ * @version 1.0.0
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class JavaParserPool {
+
+    private static final String WARMUP_SOURCE = """
+            import java.util.*;
+            public class Warmup {
+                private final Map<String, Integer> counts = new HashMap<>();
+                public int sum(List<Integer> values) {
+                    int total = 0;
+                    for (int v : values) {
+                        total += v > 0 ? v : -v;
+                    }
+                    try {
+                        System.out.println("total=" + total);
+                    } catch (RuntimeException e) {
+                        throw new IllegalStateException(e);
+                    }
+                    return total;
+                }
+            }
+            """;
+
+    private final ConverterProperties converterProperties;
+
+    private BlockingQueue<JavaParser> parsers;
+
+    @PostConstruct
+    public void init() {
+        int size = converterProperties.resolveParserPoolSize();
+        parsers = new ArrayBlockingQueue<>(size);
+        for (int i = 0; i < size; i++) {
+            JavaParser parser = new JavaParser(new ParserConfiguration()
+                    .setLanguageLevel(ParserConfiguration.LanguageLevel.JAVA_17)
+                    .setStoreTokens(false));
+            parser.parse(WARMUP_SOURCE);
+            parsers.add(parser);
+        }
+        log.info("Java解析器池初始化完成, 大小: {}", size);
+    }
+
+    /**
+     * 借出一个解析器，最多等待到转换截止时间
+     */
+    public JavaParser borrow(ConversionContext context) {
+        try {
+            JavaParser parser = parsers.poll(Math.max(0, context.remainingNanos()), TimeUnit.NANOSECONDS);
+            if (parser == null) {
+                throw new BusinessException(503, "代码转换服务繁忙，请稍后重试");
+            }
+            return parser;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException(499, "代码转换已取消");
+        }
+    }
+
+    /**
+     * 归还解析器
+     */
+    public void release(JavaParser parser) {
+        parsers.offer(parser);
+    }
+
+    /**
+     * 当前空闲的解析器数量
+     */
+    public int available() {
+        return parsers.size();
+    }
+}
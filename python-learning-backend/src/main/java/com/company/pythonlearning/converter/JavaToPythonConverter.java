@@ -0,0 +1,257 @@
+package com.company.pythonlearning.converter;
+
+import com.company.pythonlearning.config.ConverterProperties;
+import com.company.pythonlearning.dto.request.CodeConversionRequest.ConversionOptions;
+import com.company.pythonlearning.exception.BusinessException;
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ParseException;
+import com.github.javaparser.ParseResult;
+import com.github.javaparser.Problem;
+import com.github.javaparser.ast.CompilationUnit;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.FilterWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Java到Python代码转换器
+ *
+ * <p>转换分两步：{@link #prepare} 借用池中的解析器把源码解析为语法树一次，并依次执行各分析阶段；
+ * {@link PreparedConversion#writeTo} 遍历语法树，边生成边写出Python代码。
+ * 解析失败、超长或超时等问题都在第一步以 {@link BusinessException} 抛出，
+ * 因此调用方可以在开始输出响应之前拿到明确的错误。</p>
+ *
+ * <p>解析、各分析阶段和代码生成分别计时，记录在 converter.phase 计时器中（phase 标签区分）；
+ * 代码生成边生成边写出，其耗时包含写出到响应流的时间。</p>
+ *
+ * @author Company
+ * @version 1.0.0
+ */
+@Component
+@Slf4j
+public class JavaToPythonConverter {
+
+    private static final Pattern TYPE_DECLARATION =
+            Pattern.compile("\\b(class|interface|enum|record)\\s+[A-Za-z_$][\\w$]*");
+
+    private static final Pattern LEADING_DECLARATIONS =
+            Pattern.compile("\\A(\\s*(package|import)\\s[^;]*;)*");
+
+    private static final List<ConversionPass> PASSES = List.of(new SymbolPass(), new ImportPass());
+
+    private final JavaParserPool parserPool;
+
+    private final ConverterProperties converterProperties;
+
+    private final Timer parseTimer;
+
+    private final List<Timer> passTimers;
+
+    private final Timer emitTimer;
+
+    public JavaToPythonConverter(JavaParserPool parserPool, ConverterProperties converterProperties,
+                                 MeterRegistry meterRegistry) {
+        this.parserPool = parserPool;
+        this.converterProperties = converterProperties;
+        this.parseTimer = phaseTimer(meterRegistry, "parse");
+        this.passTimers = PASSES.stream()
+                .map(pass -> phaseTimer(meterRegistry, phaseName(pass)))
+                .toList();
+        this.emitTimer = phaseTimer(meterRegistry, "emit");
+    }
+
+    /**
+     * 解析并分析源码，返回可写出结果的转换任务
+     */
+    public PreparedConversion prepare(String sourceCode, ConversionOptions options) {
+        long startNanos = System.nanoTime();
+        if (sourceCode == null || sourceCode.isBlank()) {
+            throw new BusinessException("源代码不能为空");
+        }
+        if (sourceCode.length() > converterProperties.getMaxCodeLength()) {
+            throw new BusinessException("源代码长度超过限制（最多" + converterProperties.getMaxCodeLength() + "个字符）");
+        }
+        long deadline = startNanos + TimeUnit.MILLISECONDS.toNanos(converterProperties.getTimeout());
+        ConversionContext context = new ConversionContext(options, deadline);
+        ParsedSource source = parse(sourceCode, context);
+        try {
+            for (int i = 0; i < PASSES.size(); i++) {
+                long passStart = System.nanoTime();
+                try {
+                    PASSES.get(i).apply(source, context);
+                } finally {
+                    passTimers.get(i).record(System.nanoTime() - passStart, TimeUnit.NANOSECONDS);
+                }
+            }
+        } catch (StackOverflowError e) {
+            throw new BusinessException("代码嵌套层级过深，无法转换");
+        }
+        return new ParsedConversion(source, context, startNanos, emitTimer);
+    }
+
+    /**
+     * 转换源码并把Python代码写入out
+     */
+    public ConversionReport convert(String sourceCode, ConversionOptions options, Writer out) {
+        return prepare(sourceCode, options).writeTo(out);
+    }
+
+    /**
+     * 依次按完整编译单元、类成员片段和语句片段解析，最多解析三次
+     *
+     * <p>JavaParser 的单次解析内部没有检查点，无法在中途终止，耗时由源码长度上限约束；
+     * 每次改用下一种包装重新解析之前检查截止时间，超时后不再尝试。</p>
+     */
+    private ParsedSource parse(String sourceCode, ConversionContext context) {
+        JavaParser parser = parserPool.borrow(context);
+        long parseStart = System.nanoTime();
+        try {
+            ParseResult<CompilationUnit> unit = parser.parse(sourceCode);
+            if (unit.isSuccessful()) {
+                return new ParsedSource(ParsedSource.Kind.COMPILATION_UNIT, unit.getResult().orElseThrow());
+            }
+            context.checkDeadline();
+
+            // 片段包装在同一行内，保证解析出的行号与原始代码一致
+            Matcher header = LEADING_DECLARATIONS.matcher(sourceCode);
+            int split = header.lookingAt() ? header.end() : 0;
+            String head = sourceCode.substring(0, split);
+            String body = sourceCode.substring(split);
+
+            ParseResult<CompilationUnit> members = parser.parse(
+                    head + "class " + ParsedSource.WRAPPER_CLASS + " { " + body + "\n}");
+            if (members.isSuccessful()) {
+                return new ParsedSource(ParsedSource.Kind.MEMBERS, members.getResult().orElseThrow());
+            }
+            context.checkDeadline();
+
+            ParseResult<CompilationUnit> statements = parser.parse(head + "class " + ParsedSource.WRAPPER_CLASS
+                    + " { void " + ParsedSource.WRAPPER_METHOD + "() { " + body + "\n}}");
+            if (statements.isSuccessful()) {
+                return new ParsedSource(ParsedSource.Kind.STATEMENTS, statements.getResult().orElseThrow());
+            }
+
+            List<Problem> problems = TYPE_DECLARATION.matcher(sourceCode).find()
+                    ? unit.getProblems() : statements.getProblems();
+            throw new BusinessException("Java代码解析失败: " + describe(problems));
+        } catch (StackOverflowError e) {
+            throw new BusinessException("代码嵌套层级过深，无法转换");
+        } finally {
+            parseTimer.record(System.nanoTime() - parseStart, TimeUnit.NANOSECONDS);
+            parserPool.release(parser);
+        }
+    }
+
+    private static Timer phaseTimer(MeterRegistry meterRegistry, String phase) {
+        return Timer.builder("converter.phase")
+                .description("代码转换各阶段耗时")
+                .tag("phase", phase)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 分析阶段的指标名称，如 SymbolPass 对应 symbol
+     */
+    private static String phaseName(ConversionPass pass) {
+        String name = pass.getClass().getSimpleName();
+        return (name.endsWith("Pass") ? name.substring(0, name.length() - 4) : name).toLowerCase();
+    }
+
+    private String describe(List<Problem> problems) {
+        if (problems.isEmpty()) {
+            return "未知错误";
+        }
+        Problem problem = problems.get(0);
+        String message = problem.getMessage().lines().findFirst().orElse("").trim();
+        int expected = message.indexOf(", expected");
+        if (expected > 0) {
+            message = message.substring(0, expected);
+        }
+        // 解析器不保存token，行号从解析异常的当前token中获取
+        if (problem.getCause().orElse(null) instanceof ParseException e
+                && e.currentToken != null && e.currentToken.next != null) {
+            return "第" + e.currentToken.next.beginLine + "行: " + message;
+        }
+        return message;
+    }
+
+    /**
+     * 已完成解析与分析、等待写出的转换任务
+     */
+    private static class ParsedConversion implements PreparedConversion {
+
+        private final ParsedSource source;
+        private final ConversionContext context;
+        private final long startNanos;
+        private final Timer emitTimer;
+
+        ParsedConversion(ParsedSource source, ConversionContext context, long startNanos, Timer emitTimer) {
+            this.source = source;
+            this.context = context;
+            this.startNanos = startNanos;
+            this.emitTimer = emitTimer;
+        }
+
+        @Override
+        public ConversionReport writeTo(Writer out) {
+            PythonWriter writer = new PythonWriter(out, context.getIndentSize());
+            long emitStart = System.nanoTime();
+            try {
+                new PythonEmitter(context, writer).emitModule(source);
+            } catch (StackOverflowError e) {
+                throw new BusinessException("代码嵌套层级过深，无法转换");
+            } finally {
+                emitTimer.record(System.nanoTime() - emitStart, TimeUnit.NANOSECONDS);
+            }
+            long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+            return new ConversionReport(context, elapsed, writer.getLinesWritten());
+        }
+
+        @Override
+        public ConversionReport writeTo(Writer out, Consumer<String> warnings) {
+            WarningDrain drain = new WarningDrain(warnings);
+            drain.run();
+            ConversionReport report = writeTo(new FilterWriter(out) {
+                @Override
+                public void write(int c) throws IOException {
+                    super.write(c);
+                    if (c == '\n') {
+                        drain.run();
+                    }
+                }
+            });
+            drain.run();
+            return report;
+        }
+
+        /**
+         * 把上次之后新增的告警交给监听方
+         */
+        private class WarningDrain implements Runnable {
+
+            private final Consumer<String> listener;
+            private int reported;
+
+            WarningDrain(Consumer<String> listener) {
+                this.listener = listener;
+            }
+
+            @Override
+            public void run() {
+                int count = context.getWarningCount();
+                for (; reported < count; reported++) {
+                    listener.accept(context.warningAt(reported));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.company.pythonlearning.converter;
+
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.stmt.BlockStmt;
+
+/**
+ * 解析后的Java源码
+ *
+ * <p>学生粘贴的代码往往不是完整的编译单元，解析时会依次尝试完整文件、类成员片段和语句片段，
+ * 后两者会被包装进 {@link #WRAPPER_CLASS} 中解析，生成代码时再展开到模块顶层。</p>
+ *
+ * @author Company
+ * @version 1.0.0
+ */
+public class ParsedSource {
+
+    /**
+     * 包装代码片段时使用的类名
+     */
+    public static final String WRAPPER_CLASS = "__Snippet__";
+
+    /**
+     * 包装语句片段时使用的方法名
+     */
+    public static final String WRAPPER_METHOD = "__snippet__";
+
+    /**
+     * 源码形态
+     */
+    public enum Kind {
+        /**
+         * 完整的编译单元（包含类型声明）
+         */
+        COMPILATION_UNIT,
+        /**
+         * 方法、字段等类成员片段
+         */
+        MEMBERS,
+        /**
+         * 语句片段
+         */
+        STATEMENTS
+    }
+
+    private final Kind kind;
+    private final CompilationUnit compilationUnit;
+
+    public ParsedSource(Kind kind, CompilationUnit compilationUnit) {
+        this.kind = kind;
+        this.compilationUnit = compilationUnit;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public CompilationUnit getCompilationUnit() {
+        return compilationUnit;
+    }
+
+    /**
+     * 片段模式下的包装类
+     */
+    public ClassOrInterfaceDeclaration wrapperClass() {
+        return compilationUnit.getClassByName(WRAPPER_CLASS).orElseThrow();
+    }
+
+    /**
+     * 语句片段模式下的语句块
+     */
+    public BlockStmt wrapperBody() {
+        return wrapperClass().getMethodsByName(WRAPPER_METHOD).stream()
+                .findFirst()
+                .flatMap(MethodDeclaration::getBody)
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,30 @@
+package com.company.pythonlearning.converter;
+
+import java.io.Writer;
+import java.util.function.Consumer;
+
+/**
+ * 已通过校验、可以写出结果的转换任务
+ *
+ * <p>解析错误等问题在得到该对象之前就已抛出，写出阶段只会因超时或取消失败。
+ * 每个任务只能写出一次。</p>
+ *
+ * @author Company
+ * @version 1.0.0
+ */
+public interface PreparedConversion {
+
+    /**
+     * 生成Python代码并逐行写入out
+     */
+    ConversionReport writeTo(Writer out);
+
+    /**
+     * 生成Python代码并逐行写入out，转换过程中新产生的告警在写出所在行之后立即交给warnings
+     *
+     * <p>默认实现只在报告中返回告警，例如直接重放缓存结果时。</p>
+     */
+    default ConversionReport writeTo(Writer out, Consumer<String> warnings) {
+        return writeTo(out);
+    }
+}
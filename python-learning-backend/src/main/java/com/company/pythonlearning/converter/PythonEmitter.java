@@ -0,0 +1,2387 @@
+package com.company.pythonlearning.converter;
+
+import com.company.pythonlearning.converter.PythonMappings.ReceiverKind;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.NodeList;
+import com.github.javaparser.ast.body.BodyDeclaration;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.ConstructorDeclaration;
+import com.github.javaparser.ast.body.EnumConstantDeclaration;
+import com.github.javaparser.ast.body.EnumDeclaration;
+import com.github.javaparser.ast.body.FieldDeclaration;
+import com.github.javaparser.ast.body.InitializerDeclaration;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.body.Parameter;
+import com.github.javaparser.ast.body.RecordDeclaration;
+import com.github.javaparser.ast.body.TypeDeclaration;
+import com.github.javaparser.ast.body.VariableDeclarator;
+import com.github.javaparser.ast.comments.Comment;
+import com.github.javaparser.ast.comments.JavadocComment;
+import com.github.javaparser.ast.expr.*;
+import com.github.javaparser.ast.stmt.*;
+import com.github.javaparser.ast.type.ClassOrInterfaceType;
+import com.github.javaparser.ast.type.Type;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.stream.Collectors;
+
+/**
+ * Python代码生成器
+ *
+ * <p>对分析阶段处理过的语法树做一次深度优先遍历，语句级节点每生成一行就写入 {@link PythonWriter}。
+ * 表达式先在内存中拼接为单行字符串，拼接过程中需要的辅助定义（多语句lambda、匿名类）
+ * 会在当前语句之前输出。</p>
+ *
+ * @author Company
+ * @version 1.0.0
+ */
+public class PythonEmitter {
+
+    private static final int PREC_LAMBDA = 0;
+    private static final int PREC_TERNARY = 1;
+    private static final int PREC_OR = 2;
+    private static final int PREC_AND = 3;
+    private static final int PREC_NOT = 4;
+    private static final int PREC_COMPARE = 5;
+    private static final int PREC_BIT_OR = 6;
+    private static final int PREC_BIT_XOR = 7;
+    private static final int PREC_BIT_AND = 8;
+    private static final int PREC_SHIFT = 9;
+    private static final int PREC_ADD = 10;
+    private static final int PREC_MUL = 11;
+    private static final int PREC_UNARY = 12;
+    private static final int PREC_POWER = 13;
+    private static final int PREC_ATOM = 14;
+
+    /**
+     * 生成的Python表达式及其优先级
+     */
+    private record Py(String code, int prec) {
+    }
+
+    /**
+     * 正在生成的类的成员信息
+     */
+    private static final class ClassScope {
+        private final String qualifiedName;
+        private final boolean module;
+        private final Set<String> instanceFields = new HashSet<>();
+        private final Set<String> staticFields = new HashSet<>();
+        private final Set<String> instanceMethods = new HashSet<>();
+        private final Set<String> staticMethods = new HashSet<>();
+
+        private ClassScope(String qualifiedName, boolean module) {
+            this.qualifiedName = qualifiedName;
+            this.module = module;
+        }
+    }
+
+    private enum BreakTarget {
+        LOOP, SWITCH
+    }
+
+    private static final Set<String> STREAM_TERMINALS = Set.of("toList", "collect", "count", "sum", "anyMatch",
+            "allMatch", "noneMatch", "reduce", "forEach", "max", "min", "average", "findFirst", "findAny");
+
+    private final ConversionContext ctx;
+    private final PythonWriter out;
+    private final Deque<ClassScope> classes = new ArrayDeque<>();
+    private final Deque<BreakTarget> breakTargets = new ArrayDeque<>();
+    private Set<String> locals = new HashSet<>();
+    private boolean staticContext;
+    private boolean classBody;
+    private boolean hoistAllowed = true;
+    private int helperCounter;
+
+    public PythonEmitter(ConversionContext ctx, PythonWriter out) {
+        this.ctx = ctx;
+        this.out = out;
+    }
+
+    /**
+     * 生成整个Python模块
+     */
+    public void emitModule(ParsedSource source) {
+        emitHeader();
+        switch (source.getKind()) {
+            case COMPILATION_UNIT -> {
+                String mainOwner = null;
+                for (TypeDeclaration<?> type : source.getCompilationUnit().getTypes()) {
+                    out.blankLines(2);
+                    emitType(type, null);
+                    if (mainOwner == null && type.getMethods().stream().anyMatch(ImportPass::isMainMethod)) {
+                        mainOwner = type.getNameAsString();
+                    }
+                }
+                if (mainOwner != null) {
+                    emitMainGuard(mainOwner + ".main(sys.argv[1:])");
+                }
+            }
+            case MEMBERS -> {
+                ClassOrInterfaceDeclaration wrapper = source.wrapperClass();
+                classes.push(scopeOf(wrapper, null, true));
+                emitMembers(wrapper.getMembers(), true);
+                classes.pop();
+                if (wrapper.getMethods().stream().anyMatch(ImportPass::isMainMethod)) {
+                    emitMainGuard("main(sys.argv[1:])");
+                }
+            }
+            case STATEMENTS -> emitStatements(source.wrapperBody().getStatements());
+            default -> throw new IllegalStateException("未知的源码形态: " + source.getKind());
+        }
+        out.flush();
+    }
+
+    private void emitHeader() {
+        if (ctx.isIncludeComments()) {
+            out.comment("由 Java 代码自动转换生成");
+        }
+        if (!ctx.isOptimizeImports()) {
+            for (String javaImport : ctx.getJavaImports()) {
+                out.comment("Java: " + javaImport);
+            }
+        }
+        for (String pythonImport : ctx.getPythonImports()) {
+            out.line(pythonImport);
+        }
+    }
+
+    private void emitMainGuard(String call) {
+        out.blankLines(2);
+        out.openBlock("if __name__ == \"__main__\":");
+        out.line(call);
+        out.closeBlock();
+    }
+
+    // ------------------------------------------------------------------ 类型声明
+
+    private void emitType(TypeDeclaration<?> type, ClassScope outer) {
+        ctx.checkpoint();
+        emitComment(type);
+        String name = type.getNameAsString();
+        String qualified = outer == null || outer.module ? name : outer.qualifiedName + "." + name;
+        List<String> bases = new ArrayList<>();
+        if (type instanceof ClassOrInterfaceDeclaration declaration) {
+            NodeList<ClassOrInterfaceType> extended = declaration.getExtendedTypes();
+            for (ClassOrInterfaceType base : extended) {
+                bases.add(baseName(base, declaration.isInterface()));
+            }
+            for (ClassOrInterfaceType base : declaration.getImplementedTypes()) {
+                if (ctx.isDeclaredClass(base.getNameAsString())) {
+                    bases.add(ctx.qualifiedClassName(base.getNameAsString()));
+                }
+            }
+            bases.removeIf(b -> b == null);
+            if ((declaration.isInterface() || declaration.isAbstract()) && bases.isEmpty()) {
+                bases.add("ABC");
+            }
+        } else if (type instanceof EnumDeclaration) {
+            bases.add("Enum");
+        } else if (type instanceof RecordDeclaration) {
+            out.line("@dataclass");
+        } else {
+            ctx.unsupported(type, "注解类型声明");
+            return;
+        }
+        String header = "class " + name + (bases.isEmpty() ? "" : "(" + String.join(", ", bases) + ")") + ":";
+        out.openBlock(header);
+        emitDocstring(type);
+        classes.push(scopeOf(type, qualified, false));
+        if (type instanceof EnumDeclaration enumDeclaration) {
+            emitEnumEntries(enumDeclaration);
+        }
+        if (type instanceof RecordDeclaration record) {
+            for (Parameter component : record.getParameters()) {
+                out.line(ctx.pythonName(component.getNameAsString()) + ": " + pythonType(component.getType()));
+            }
+        }
+        emitMembers(type.getMembers(), false);
+        classes.pop();
+        out.closeBlock();
+    }
+
+    private String baseName(ClassOrInterfaceType base, boolean fromInterface) {
+        String name = base.getNameAsString();
+        if (ctx.isDeclaredClass(name)) {
+            return ctx.qualifiedClassName(name);
+        }
+        if (PythonMappings.isJdkException(name)) {
+            return PythonMappings.exceptionName(name);
+        }
+        if (!fromInterface) {
+            ctx.warn(base, "父类 " + name + " 不是源码中声明的类，已保留原名");
+            return name;
+        }
+        return null;
+    }
+
+    private ClassScope scopeOf(TypeDeclaration<?> type, String qualifiedName, boolean module) {
+        ClassScope scope = new ClassScope(qualifiedName, module);
+        boolean isInterface = type instanceof ClassOrInterfaceDeclaration declaration && declaration.isInterface();
+        for (BodyDeclaration<?> member : type.getMembers()) {
+            if (member instanceof FieldDeclaration field) {
+                Set<String> target = field.isStatic() || isInterface ? scope.staticFields : scope.instanceFields;
+                field.getVariables().forEach(v -> target.add(v.getNameAsString()));
+            } else if (member instanceof MethodDeclaration method) {
+                (method.isStatic() ? scope.staticMethods : scope.instanceMethods).add(method.getNameAsString());
+            }
+        }
+        if (type instanceof RecordDeclaration record) {
+            record.getParameters().forEach(p -> scope.instanceFields.add(p.getNameAsString()));
+        }
+        return scope;
+    }
+
+    private void emitEnumEntries(EnumDeclaration enumDeclaration) {
+        for (EnumConstantDeclaration entry : enumDeclaration.getEntries()) {
+            emitComment(entry);
+            String value;
+            if (entry.getArguments().isEmpty()) {
+                value = "auto()";
+            } else if (entry.getArguments().size() == 1) {
+                value = expr(entry.getArguments().get(0)).code();
+            } else {
+                value = "(" + joinArgs(entry.getArguments()) + ")";
+            }
+            if (!entry.getClassBody().isEmpty()) {
+                ctx.unsupported(entry, "带类体的枚举常量 " + entry.getNameAsString());
+            }
+            out.line(entry.getNameAsString() + " = " + value);
+        }
+    }
+
+    /**
+     * 生成类成员；module为true时成员直接输出到模块顶层
+     */
+    private void emitMembers(NodeList<BodyDeclaration<?>> members, boolean module) {
+        ClassScope scope = classes.peek();
+        boolean isInterface = members.getParentNode()
+                .filter(p -> p instanceof ClassOrInterfaceDeclaration c && c.isInterface()).isPresent();
+        List<FieldDeclaration> instanceFields = new ArrayList<>();
+        List<InitializerDeclaration> instanceInitializers = new ArrayList<>();
+        List<ConstructorDeclaration> constructors = new ArrayList<>();
+        for (BodyDeclaration<?> member : members) {
+            if (member instanceof FieldDeclaration field && !field.isStatic() && !isInterface && !module) {
+                instanceFields.add(field);
+            } else if (member instanceof InitializerDeclaration initializer && !initializer.isStatic()) {
+                instanceInitializers.add(initializer);
+            } else if (member instanceof ConstructorDeclaration constructor) {
+                constructors.add(constructor);
+            }
+        }
+
+        // 静态字段作为类属性（或模块变量）
+        classBody = true;
+        for (BodyDeclaration<?> member : members) {
+            if (member instanceof FieldDeclaration field && !instanceFields.contains(field)) {
+                emitComment(field);
+                for (VariableDeclarator variable : field.getVariables()) {
+                    out.line(ctx.pythonName(variable.getNameAsString()) + " = " + initializerOf(variable));
+                }
+            } else if (member instanceof InitializerDeclaration initializer && initializer.isStatic()) {
+                ctx.warn(initializer, "静态初始化块已展开到类定义体中");
+                emitStatements(initializer.getBody().getStatements());
+            }
+        }
+        classBody = false;
+
+        if (!constructors.isEmpty() || !instanceFields.isEmpty() || !instanceInitializers.isEmpty()) {
+            ConstructorDeclaration constructor = null;
+            for (ConstructorDeclaration candidate : constructors) {
+                if (constructor == null || candidate.getParameters().size() > constructor.getParameters().size()) {
+                    constructor = candidate;
+                }
+            }
+            if (constructors.size() > 1) {
+                ctx.warn(constructor, "Python不支持构造方法重载，仅保留参数最多的构造方法");
+            }
+            emitConstructor(constructor, instanceFields, instanceInitializers);
+        }
+
+        Set<String> emittedMethods = new HashSet<>();
+        for (BodyDeclaration<?> member : members) {
+            if (member instanceof MethodDeclaration method) {
+                if (!emittedMethods.add(method.getNameAsString())) {
+                    ctx.warn(method, "方法 " + method.getNameAsString() + " 存在重载，Python中后定义的同名方法会覆盖前者");
+                }
+                emitMethod(method, module, isInterface);
+            } else if (member instanceof TypeDeclaration<?> nested) {
+                out.blankLines(1);
+                emitType(nested, scope);
+            } else if (member instanceof ConstructorDeclaration constructor && !constructors.isEmpty()
+                    && constructor != constructors.get(0) && constructors.size() > 1) {
+                // 已在构造方法重载告警中说明
+                continue;
+            }
+        }
+    }
+
+    private void emitConstructor(ConstructorDeclaration constructor, List<FieldDeclaration> fields,
+                                 List<InitializerDeclaration> initializers) {
+        out.blankLines(1);
+        Set<String> savedLocals = locals;
+        locals = new HashSet<>();
+        staticContext = false;
+        List<String> params = new ArrayList<>();
+        params.add("self");
+        if (constructor != null) {
+            emitComment(constructor);
+            params.addAll(parameters(constructor.getParameters()));
+        }
+        out.openBlock("def __init__(" + String.join(", ", params) + "):");
+        if (constructor != null) {
+            emitDocstring(constructor);
+        }
+        NodeList<Statement> body = constructor == null ? new NodeList<>() : constructor.getBody().getStatements();
+        int start = 0;
+        if (!body.isEmpty() && body.get(0) instanceof ExplicitConstructorInvocationStmt) {
+            emitStatement(body.get(0));
+            start = 1;
+        } else if (hasDeclaredSuperclass(constructor == null ? null : constructor.getParentNode().orElse(null))) {
+            out.line("super().__init__()");
+        }
+        for (FieldDeclaration field : fields) {
+            emitComment(field);
+            for (VariableDeclarator variable : field.getVariables()) {
+                out.line("self." + ctx.pythonName(variable.getNameAsString()) + " = " + initializerOf(variable));
+            }
+        }
+        for (InitializerDeclaration initializer : initializers) {
+            emitStatements(initializer.getBody().getStatements());
+        }
+        for (int i = start; i < body.size(); i++) {
+            emitStatement(body.get(i));
+        }
+        out.closeBlock();
+        locals = savedLocals;
+    }
+
+    private boolean hasDeclaredSuperclass(Node type) {
+        return type instanceof ClassOrInterfaceDeclaration declaration
+                && !declaration.isInterface()
+                && !declaration.getExtendedTypes().isEmpty();
+    }
+
+    private void emitMethod(MethodDeclaration method, boolean module, boolean isInterface) {
+        ctx.checkpoint();
+        out.blankLines(module ? 2 : 1);
+        emitComment(method);
+        Set<String> savedLocals = locals;
+        boolean savedStatic = staticContext;
+        locals = new HashSet<>();
+        staticContext = method.isStatic();
+        List<String> params = new ArrayList<>();
+        if (!module) {
+            if (method.isStatic()) {
+                out.line("@staticmethod");
+            } else {
+                params.add("self");
+            }
+            if (method.isAbstract() || (isInterface && method.getBody().isEmpty())) {
+                out.line("@abstractmethod");
+            }
+        }
+        params.addAll(parameters(method.getParameters()));
+        out.openBlock("def " + ctx.pythonName(method.getNameAsString()) + "(" + String.join(", ", params) + "):");
+        emitDocstring(method);
+        method.getBody().ifPresent(body -> {
+            if (module) {
+                emitGlobalDeclaration(body);
+            }
+            emitStatements(body.getStatements());
+        });
+        out.closeBlock();
+        locals = savedLocals;
+        staticContext = savedStatic;
+    }
+
+    /**
+     * 模块级函数中给模块变量赋值时需要声明global
+     */
+    private void emitGlobalDeclaration(BlockStmt body) {
+        ClassScope module = classes.peek();
+        if (module == null || !module.module) {
+            return;
+        }
+        Set<String> assigned = new LinkedHashSet<>();
+        body.walk(node -> {
+            Expression target = null;
+            if (node instanceof AssignExpr assign) {
+                target = assign.getTarget();
+            } else if (node instanceof UnaryExpr unary && isIncrementOrDecrement(unary)) {
+                target = unary.getExpression();
+            }
+            if (target instanceof NameExpr name && module.staticFields.contains(name.getNameAsString())
+                    && !locals.contains(name.getNameAsString())) {
+                assigned.add(ctx.pythonName(name.getNameAsString()));
+            }
+        });
+        if (!assigned.isEmpty()) {
+            out.line("global " + String.join(", ", assigned));
+        }
+    }
+
+    private List<String> parameters(NodeList<Parameter> parameters) {
+        List<String> result = new ArrayList<>();
+        for (Parameter parameter : parameters) {
+            locals.add(parameter.getNameAsString());
+            String name = ctx.pythonName(parameter.getNameAsString());
+            result.add(parameter.isVarArgs() ? "*" + name : name);
+        }
+        return result;
+    }
+
+    private String initializerOf(VariableDeclarator variable) {
+        return variable.getInitializer()
+                .map(init -> expr(init).code())
+                .orElseGet(() -> PythonMappings.defaultValue(SymbolPass.typeName(variable.getType())));
+    }
+
+    private String pythonType(Type type) {
+        if (type.isArrayType()) {
+            return "list";
+        }
+        String name = SymbolPass.typeName(type);
+        String qualified = ctx.qualifiedClassName(name);
+        return qualified != null ? qualified : PythonMappings.typeName(name);
+    }
+
+    // ------------------------------------------------------------------ 注释
+
+    private void emitComment(Node node) {
+        if (!ctx.isIncludeComments()) {
+            return;
+        }
+        node.getComment()
+                .filter(c -> !(c instanceof JavadocComment) || !(node instanceof BodyDeclaration<?>))
+                .ifPresent(this::writeComment);
+    }
+
+    private void writeComment(Comment comment) {
+        for (String line : commentLines(comment)) {
+            out.comment(line);
+        }
+    }
+
+    private void emitDocstring(Node node) {
+        if (!ctx.isIncludeComments()) {
+            return;
+        }
+        node.getComment().filter(JavadocComment.class::isInstance).ifPresent(comment -> {
+            List<String> lines = commentLines(comment);
+            if (lines.isEmpty()) {
+                return;
+            }
+            if (lines.size() == 1) {
+                out.line("\"\"\"" + escapeDocstring(lines.get(0)) + "\"\"\"");
+                return;
+            }
+            out.line("\"\"\"" + escapeDocstring(lines.get(0)));
+            for (int i = 1; i < lines.size(); i++) {
+                out.line(escapeDocstring(lines.get(i)));
+            }
+            out.line("\"\"\"");
+        });
+    }
+
+    private List<String> commentLines(Comment comment) {
+        List<String> lines = new ArrayList<>();
+        for (String raw : comment.getContent().split("\\R")) {
+            String line = raw.strip();
+            if (line.startsWith("*")) {
+                line = line.substring(1).strip();
+            }
+            if (!line.isEmpty() || (!lines.isEmpty())) {
+                lines.add(line);
+            }
+        }
+        while (!lines.isEmpty() && lines.get(lines.size() - 1).isEmpty()) {
+            lines.remove(lines.size() - 1);
+        }
+        return lines;
+    }
+
+    private String escapeDocstring(String text) {
+        return text.replace("\\", "\\\\").replace("\"\"\"", "\\\"\\\"\\\"");
+    }
+
+    // ------------------------------------------------------------------ 语句
+
+    private void emitStatements(NodeList<Statement> statements) {
+        for (Statement statement : statements) {
+            emitStatement(statement);
+        }
+    }
+
+    private void emitBody(Statement body) {
+        if (body instanceof BlockStmt block) {
+            emitStatements(block.getStatements());
+        } else {
+            emitStatement(body);
+        }
+    }
+
+    private void emitStatement(Statement statement) {
+        ctx.checkpoint();
+        emitComment(statement);
+        if (statement instanceof ExpressionStmt expressionStmt) {
+            emitExpressionStatement(expressionStmt.getExpression());
+        } else if (statement instanceof BlockStmt block) {
+            emitStatements(block.getStatements());
+        } else if (statement instanceof IfStmt ifStmt) {
+            emitIf(ifStmt);
+        } else if (statement instanceof WhileStmt whileStmt) {
+            out.openBlock("while " + expr(whileStmt.getCondition()).code() + ":");
+            emitLoopBody(whileStmt.getBody());
+            out.closeBlock();
+        } else if (statement instanceof DoStmt doStmt) {
+            out.openBlock("while True:");
+            emitLoopBody(doStmt.getBody());
+            out.openBlock("if " + negate(doStmt.getCondition()) + ":");
+            out.line("break");
+            out.closeBlock();
+            out.closeBlock();
+        } else if (statement instanceof ForStmt forStmt) {
+            emitFor(forStmt);
+        } else if (statement instanceof ForEachStmt forEach) {
+            String variable = ctx.pythonName(forEach.getVariableDeclarator().getNameAsString());
+            locals.add(forEach.getVariableDeclarator().getNameAsString());
+            out.openBlock("for " + variable + " in " + iterable(forEach.getIterable()) + ":");
+            emitLoopBody(forEach.getBody());
+            out.closeBlock();
+        } else if (statement instanceof ReturnStmt returnStmt) {
+            out.line(returnStmt.getExpression().map(e -> "return " + expr(e).code()).orElse("return"));
+        } else if (statement instanceof BreakStmt breakStmt) {
+            emitBreak(breakStmt);
+        } else if (statement instanceof ContinueStmt continueStmt) {
+            if (continueStmt.getLabel().isPresent()) {
+                ctx.unsupported(continueStmt, "带标签的continue");
+            }
+            out.line("continue");
+        } else if (statement instanceof ThrowStmt throwStmt) {
+            out.line("raise " + expr(throwStmt.getExpression()).code());
+        } else if (statement instanceof TryStmt tryStmt) {
+            emitTry(tryStmt);
+        } else if (statement instanceof SwitchStmt switchStmt) {
+            emitSwitch(switchStmt);
+        } else if (statement instanceof SynchronizedStmt synchronizedStmt) {
+            ctx.warn(synchronizedStmt, "synchronized 代码块已去除同步语义");
+            emitStatements(synchronizedStmt.getBody().getStatements());
+        } else if (statement instanceof AssertStmt assertStmt) {
+            out.line("assert " + expr(assertStmt.getCheck()).code()
+                    + assertStmt.getMessage().map(m -> ", " + expr(m).code()).orElse(""));
+        } else if (statement instanceof LabeledStmt labeled) {
+            ctx.warn(labeled, "Python不支持语句标签 " + labeled.getLabel());
+            emitStatement(labeled.getStatement());
+        } else if (statement instanceof LocalClassDeclarationStmt localClass) {
+            emitType(localClass.getClassDeclaration(), null);
+        } else if (statement instanceof LocalRecordDeclarationStmt localRecord) {
+            emitType(localRecord.getRecordDeclaration(), null);
+        } else if (statement instanceof ExplicitConstructorInvocationStmt invocation) {
+            if (invocation.isThis()) {
+                ctx.unsupported(invocation, "构造方法中的 this(...) 调用");
+            } else {
+                out.line("super().__init__(" + joinArgs(invocation.getArguments()) + ")");
+            }
+        } else if (!(statement instanceof EmptyStmt)) {
+            ctx.unsupported(statement, "语句 " + statement.getClass().getSimpleName());
+        }
+    }
+
+    private void emitLoopBody(Statement body) {
+        breakTargets.push(BreakTarget.LOOP);
+        emitBody(body);
+        breakTargets.pop();
+    }
+
+    private void emitBreak(BreakStmt breakStmt) {
+        if (breakStmt.getLabel().isPresent()) {
+            ctx.unsupported(breakStmt, "带标签的break");
+        }
+        if (breakTargets.peek() == BreakTarget.SWITCH) {
+            ctx.warn(breakStmt, "switch 分支中间的 break 无法直接对应到 Python，已忽略");
+            return;
+        }
+        out.line("break");
+    }
+
+    private void emitIf(IfStmt ifStmt) {
+        out.openBlock("if " + expr(ifStmt.getCondition()).code() + ":");
+        emitBody(ifStmt.getThenStmt());
+        out.closeBlock();
+        Optional<Statement> elseStmt = ifStmt.getElseStmt();
+        while (elseStmt.isPresent()) {
+            Statement branch = elseStmt.get();
+            if (branch instanceof IfStmt elseIf) {
+                boolean saved = hoistAllowed;
+                hoistAllowed = false;
+                String condition = expr(elseIf.getCondition()).code();
+                hoistAllowed = saved;
+                out.openBlock("elif " + condition + ":");
+                emitBody(elseIf.getThenStmt());
+                out.closeBlock();
+                elseStmt = elseIf.getElseStmt();
+            } else {
+                out.openBlock("else:");
+                emitBody(branch);
+                out.closeBlock();
+                elseStmt = Optional.empty();
+            }
+        }
+    }
+
+    private void emitFor(ForStmt forStmt) {
+        String range = rangeOf(forStmt);
+        if (range != null) {
+            VariableDeclarator variable = loopVariable(forStmt);
+            String name = variable != null ? variable.getNameAsString()
+                    : forStmt.getInitialization().get(0).asAssignExpr().getTarget().asNameExpr().getNameAsString();
+            locals.add(name);
+            out.openBlock("for " + ctx.pythonName(name) + " in " + range + ":");
+            emitLoopBody(forStmt.getBody());
+            out.closeBlock();
+            return;
+        }
+        for (Expression init : forStmt.getInitialization()) {
+            emitExpressionStatement(init);
+        }
+        String condition = forStmt.getCompare().map(c -> expr(c).code()).orElse("True");
+        if (!forStmt.getUpdate().isEmpty() && containsLoopContinue(forStmt.getBody())) {
+            ctx.warn(forStmt, "for 循环体中的 continue 会跳过更新语句，请检查转换结果");
+        }
+        out.openBlock("while " + condition + ":");
+        emitLoopBody(forStmt.getBody());
+        for (Expression update : forStmt.getUpdate()) {
+            emitExpressionStatement(update);
+        }
+        out.closeBlock();
+    }
+
+    private VariableDeclarator loopVariable(ForStmt forStmt) {
+        if (forStmt.getInitialization().size() == 1
+                && forStmt.getInitialization().get(0) instanceof VariableDeclarationExpr declaration
+                && declaration.getVariables().size() == 1) {
+            return declaration.getVariable(0);
+        }
+        return null;
+    }
+
+    /**
+     * 识别 for (int i = a; i < b; i++) 形式的计数循环并转换为range，无法识别时返回null
+     */
+    private String rangeOf(ForStmt forStmt) {
+        if (forStmt.getInitialization().size() != 1 || forStmt.getUpdate().size() != 1
+                || forStmt.getCompare().isEmpty()) {
+            return null;
+        }
+        String name;
+        Expression start;
+        VariableDeclarator variable = loopVariable(forStmt);
+        Expression init = forStmt.getInitialization().get(0);
+        if (variable != null && variable.getInitializer().isPresent()) {
+            name = variable.getNameAsString();
+            start = variable.getInitializer().get();
+        } else if (init instanceof AssignExpr assign && assign.getOperator() == AssignExpr.Operator.ASSIGN
+                && assign.getTarget() instanceof NameExpr target) {
+            name = target.getNameAsString();
+            start = assign.getValue();
+        } else {
+            return null;
+        }
+        if (!(forStmt.getCompare().get() instanceof BinaryExpr compare)
+                || !(compare.getLeft() instanceof NameExpr left) || !left.getNameAsString().equals(name)) {
+            return null;
+        }
+        Integer step = stepOf(forStmt.getUpdate().get(0), name);
+        if (step == null || step == 0 || assignsVariable(forStmt.getBody(), name)) {
+            return null;
+        }
+        BinaryExpr.Operator operator = compare.getOperator();
+        Expression bound = compare.getRight();
+        String end;
+        if (operator == BinaryExpr.Operator.LESS && step > 0 || operator == BinaryExpr.Operator.GREATER && step < 0) {
+            end = expr(bound).code();
+        } else if (operator == BinaryExpr.Operator.LESS_EQUALS && step > 0) {
+            end = offset(bound, 1);
+        } else if (operator == BinaryExpr.Operator.GREATER_EQUALS && step < 0) {
+            end = offset(bound, -1);
+        } else {
+            return null;
+        }
+        String startCode = expr(start).code();
+        if (step == 1) {
+            return "0".equals(startCode) ? "range(" + end + ")" : "range(" + startCode + ", " + end + ")";
+        }
+        return "range(" + startCode + ", " + end + ", " + step + ")";
+    }
+
+    private Integer stepOf(Expression update, String name) {
+        if (update instanceof UnaryExpr unary && unary.getExpression() instanceof NameExpr target
+                && target.getNameAsString().equals(name)) {
+            return switch (unary.getOperator()) {
+                case POSTFIX_INCREMENT, PREFIX_INCREMENT -> 1;
+                case POSTFIX_DECREMENT, PREFIX_DECREMENT -> -1;
+                default -> null;
+            };
+        }
+        if (update instanceof AssignExpr assign && assign.getTarget() instanceof NameExpr target
+                && target.getNameAsString().equals(name) && assign.getValue() instanceof IntegerLiteralExpr literal) {
+            int value = literal.asNumber().intValue();
+            return switch (assign.getOperator()) {
+                case PLUS -> value;
+                case MINUS -> -value;
+                default -> null;
+            };
+        }
+        return null;
+    }
+
+    private String offset(Expression bound, int delta) {
+        if (bound instanceof IntegerLiteralExpr literal) {
+            return String.valueOf(literal.asNumber().longValue() + delta);
+        }
+        return operand(bound, PREC_ADD, false) + (delta > 0 ? " + " : " - ") + Math.abs(delta);
+    }
+
+    private boolean assignsVariable(Statement body, String name) {
+        return body.findFirst(Node.class, node -> {
+            Expression target = null;
+            if (node instanceof AssignExpr assign) {
+                target = assign.getTarget();
+            } else if (node instanceof UnaryExpr unary && isIncrementOrDecrement(unary)) {
+                target = unary.getExpression();
+            }
+            return target instanceof NameExpr n && n.getNameAsString().equals(name);
+        }).isPresent();
+    }
+
+    private boolean containsLoopContinue(Statement body) {
+        return body.findFirst(ContinueStmt.class, c -> c.getLabel().isEmpty()
+                && c.findAncestor(s -> s instanceof ForStmt || s instanceof WhileStmt
+                        || s instanceof DoStmt || s instanceof ForEachStmt, Statement.class)
+                .map(loop -> loop == body.getParentNode().orElse(null)).orElse(false)).isPresent();
+    }
+
+    private void emitTry(TryStmt tryStmt) {
+        if (!ctx.isHandleExceptions()) {
+            if (!tryStmt.getCatchClauses().isEmpty()) {
+                ctx.warn(tryStmt, "已按选项省略异常处理分支");
+            }
+            emitWithResources(tryStmt);
+            tryStmt.getFinallyBlock().ifPresent(f -> emitStatements(f.getStatements()));
+            return;
+        }
+        boolean needsTry = !tryStmt.getCatchClauses().isEmpty() || tryStmt.getFinallyBlock().isPresent();
+        if (needsTry) {
+            out.openBlock("try:");
+        }
+        emitWithResources(tryStmt);
+        if (!needsTry) {
+            return;
+        }
+        out.closeBlock();
+        for (CatchClause clause : tryStmt.getCatchClauses()) {
+            Parameter parameter = clause.getParameter();
+            List<String> types = new ArrayList<>();
+            if (parameter.getType().isUnionType()) {
+                parameter.getType().asUnionType().getElements()
+                        .forEach(t -> types.add(PythonMappings.exceptionName(SymbolPass.typeName(t))));
+            } else {
+                types.add(PythonMappings.exceptionName(SymbolPass.typeName(parameter.getType())));
+            }
+            List<String> distinct = types.stream().distinct().collect(Collectors.toList());
+            String typeCode = distinct.size() == 1 ? distinct.get(0) : "(" + String.join(", ", distinct) + ")";
+            locals.add(parameter.getNameAsString());
+            out.openBlock("except " + typeCode + " as " + ctx.pythonName(parameter.getNameAsString()) + ":");
+            emitStatements(clause.getBody().getStatements());
+            out.closeBlock();
+        }
+        tryStmt.getFinallyBlock().ifPresent(finallyBlock -> {
+            out.openBlock("finally:");
+            emitStatements(finallyBlock.getStatements());
+            out.closeBlock();
+        });
+    }
+
+    private void emitWithResources(TryStmt tryStmt) {
+        int opened = 0;
+        for (Expression resource : tryStmt.getResources()) {
+            if (resource instanceof VariableDeclarationExpr declaration) {
+                for (VariableDeclarator variable : declaration.getVariables()) {
+                    locals.add(variable.getNameAsString());
+                    out.openBlock("with " + variable.getInitializer().map(i -> expr(i).code()).orElse("None")
+                            + " as " + ctx.pythonName(variable.getNameAsString()) + ":");
+                    opened++;
+                }
+            } else {
+                out.openBlock("with " + expr(resource).code() + ":");
+                opened++;
+            }
+        }
+        emitStatements(tryStmt.getTryBlock().getStatements());
+        for (int i = 0; i < opened; i++) {
+            out.closeBlock();
+        }
+    }
+
+    private void emitSwitch(SwitchStmt switchStmt) {
+        String selector;
+        if (switchStmt.getSelector() instanceof NameExpr) {
+            selector = expr(switchStmt.getSelector()).code();
+        } else {
+            selector = "_switch_" + (++helperCounter);
+            out.line(selector + " = " + expr(switchStmt.getSelector()).code());
+        }
+        List<Expression> pendingLabels = new ArrayList<>();
+        boolean pendingDefault = false;
+        boolean first = true;
+        NodeList<SwitchEntry> entries = switchStmt.getEntries();
+        breakTargets.push(BreakTarget.SWITCH);
+        for (int i = 0; i < entries.size(); i++) {
+            SwitchEntry entry = entries.get(i);
+            pendingLabels.addAll(entry.getLabels());
+            pendingDefault |= entry.getLabels().isEmpty();
+            if (entry.getStatements().isEmpty() && i < entries.size() - 1) {
+                continue;
+            }
+            String header;
+            if (pendingDefault) {
+                header = first ? "if True:" : "else:";
+            } else {
+                String condition = pendingLabels.size() == 1
+                        ? selector + " == " + expr(pendingLabels.get(0)).code()
+                        : selector + " in (" + joinArgs(pendingLabels) + ")";
+                header = (first ? "if " : "elif ") + condition + ":";
+            }
+            out.openBlock(header);
+            NodeList<Statement> statements = entry.getStatements();
+            int end = statements.size();
+            if (end > 0 && statements.get(end - 1) instanceof BreakStmt last && last.getLabel().isEmpty()) {
+                end--;
+            } else if (end > 0 && entry.getType() == SwitchEntry.Type.STATEMENT_GROUP && i < entries.size() - 1
+                    && !endsAbruptly(statements.get(end - 1))) {
+                ctx.warn(entry, "switch 分支穿透（缺少 break）在 Python 中不会继续执行下一分支");
+            }
+            for (int s = 0; s < end; s++) {
+                emitStatement(statements.get(s));
+            }
+            out.closeBlock();
+            if (pendingDefault && i < entries.size() - 1) {
+                ctx.warn(entry, "default 分支不在最后，之后的分支已被忽略");
+                break;
+            }
+            pendingLabels.clear();
+            pendingDefault = false;
+            first = false;
+        }
+        breakTargets.pop();
+    }
+
+    private boolean endsAbruptly(Statement statement) {
+        return statement instanceof ReturnStmt || statement instanceof ThrowStmt
+                || statement instanceof ContinueStmt || statement instanceof BreakStmt;
+    }
+
+    private void emitExpressionStatement(Expression expression) {
+        if (expression instanceof VariableDeclarationExpr declaration) {
+            for (VariableDeclarator variable : declaration.getVariables()) {
+                locals.add(variable.getNameAsString());
+                out.line(ctx.pythonName(variable.getNameAsString()) + " = " + initializerOf(variable));
+            }
+        } else if (expression instanceof UnaryExpr unary && isIncrementOrDecrement(unary)) {
+            boolean increment = unary.getOperator() == UnaryExpr.Operator.POSTFIX_INCREMENT
+                    || unary.getOperator() == UnaryExpr.Operator.PREFIX_INCREMENT;
+            out.line(expr(unary.getExpression()).code() + (increment ? " += 1" : " -= 1"));
+        } else if (expression instanceof AssignExpr assign) {
+            emitAssignment(assign);
+        } else if (expression instanceof MethodCallExpr call && emitCallStatement(call)) {
+            return;
+        } else {
+            out.line(expr(expression).code());
+        }
+    }
+
+    private void emitAssignment(AssignExpr assign) {
+        List<String> targets = new ArrayList<>();
+        Expression value = assign;
+        while (value instanceof AssignExpr chained && chained.getOperator() == AssignExpr.Operator.ASSIGN) {
+            targets.add(expr(chained.getTarget()).code());
+            value = chained.getValue();
+        }
+        if (!targets.isEmpty()) {
+            out.line(String.join(" = ", targets) + " = " + expr(value).code());
+            return;
+        }
+        String target = expr(assign.getTarget()).code();
+        String valueCode = expr(assign.getValue()).code();
+        String operator = assign.getOperator().asString();
+        switch (assign.getOperator()) {
+            case UNSIGNED_RIGHT_SHIFT -> {
+                ctx.warn(assign, "Python没有无符号右移，已按 >>= 转换");
+                operator = ">>=";
+            }
+            case DIVIDE -> {
+                if (isIntegral(assign.getTarget()) && isIntegral(assign.getValue())) {
+                    operator = "//=";
+                }
+            }
+            case PLUS -> {
+                if (isStringy(assign.getTarget()) && !isStringy(assign.getValue())) {
+                    valueCode = "str(" + valueCode + ")";
+                }
+            }
+            default -> {
+            }
+        }
+        out.line(target + " " + operator + " " + valueCode);
+    }
+
+    /**
+     * 只能以语句形式表达的方法调用（字典赋值、StringBuilder拼接、forEach等），已处理时返回true
+     */
+    private boolean emitCallStatement(MethodCallExpr call) {
+        String name = call.getNameAsString();
+        NodeList<Expression> args = call.getArguments();
+        Expression scope = call.getScope().orElse(null);
+        if (scope == null) {
+            return false;
+        }
+        ReceiverKind kind = receiverKind(scope);
+        if ("forEach".equals(name) && args.size() == 1 && args.get(0) instanceof LambdaExpr lambda) {
+            return emitForEach(scope, lambda);
+        }
+        if (kind == ReceiverKind.MAP && "put".equals(name) && args.size() == 2) {
+            out.line(operand(scope, PREC_ATOM, false) + "[" + expr(args.get(0)).code() + "] = " + expr(args.get(1)).code());
+            return true;
+        }
+        if ((kind == ReceiverKind.LIST || kind == ReceiverKind.ARRAY) && "set".equals(name) && args.size() == 2) {
+            out.line(operand(scope, PREC_ATOM, false) + "[" + expr(args.get(0)).code() + "] = " + expr(args.get(1)).code());
+            return true;
+        }
+        if (kind == ReceiverKind.SCANNER && "close".equals(name)) {
+            return true;
+        }
+        Expression root = scope;
+        List<MethodCallExpr> chain = new ArrayList<>();
+        chain.add(call);
+        while (root instanceof MethodCallExpr inner && inner.getScope().isPresent()) {
+            chain.add(0, inner);
+            root = inner.getScope().get();
+        }
+        if (receiverKind(root) == ReceiverKind.BUILDER && root instanceof NameExpr) {
+            String target = expr(root).code();
+            if (chain.stream().allMatch(c -> "append".equals(c.getNameAsString()) && c.getArguments().size() == 1)) {
+                StringJoiner parts = new StringJoiner(" + ");
+                chain.forEach(c -> parts.add(stringOperand(c.getArgument(0))));
+                out.line(target + " += " + parts);
+                return true;
+            }
+            if (chain.size() == 1 && "setLength".equals(name) && args.size() == 1) {
+                out.line(target + " = " + target + "[:" + expr(args.get(0)).code() + "]");
+                return true;
+            }
+            if (chain.size() == 1 && "reverse".equals(name) && args.isEmpty()) {
+                out.line(target + " = " + target + "[::-1]");
+                return true;
+            }
+            if (chain.size() == 1 && "insert".equals(name) && args.size() == 2) {
+                String index = expr(args.get(0)).code();
+                out.line(target + " = " + target + "[:" + index + "] + " + stringOperand(args.get(1))
+                        + " + " + target + "[" + index + ":]");
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean emitForEach(Expression scope, LambdaExpr lambda) {
+        Set<String> savedLocals = locals;
+        locals = new HashSet<>(locals);
+        List<String> params = new ArrayList<>();
+        for (Parameter parameter : lambda.getParameters()) {
+            locals.add(parameter.getNameAsString());
+            params.add(ctx.pythonName(parameter.getNameAsString()));
+        }
+        String iterable;
+        if (receiverKind(scope) == ReceiverKind.MAP && params.size() == 2) {
+            iterable = operand(scope, PREC_ATOM, false) + ".items()";
+        } else if (params.size() == 1) {
+            iterable = iterable(scope);
+        } else {
+            locals = savedLocals;
+            return false;
+        }
+        out.openBlock("for " + String.join(", ", params) + " in " + iterable + ":");
+        breakTargets.push(BreakTarget.LOOP);
+        emitBody(lambda.getBody());
+        breakTargets.pop();
+        out.closeBlock();
+        locals = savedLocals;
+        return true;
+    }
+
+    /**
+     * for-each 循环的可迭代对象，Stream流水线会被展开为Python迭代器
+     */
+    private String iterable(Expression expression) {
+        if (expression instanceof MethodCallExpr call && "stream".equals(call.getNameAsString())
+                && call.getArguments().isEmpty() && call.getScope().isPresent()) {
+            return expr(call.getScope().get()).code();
+        }
+        Py stream = expression instanceof MethodCallExpr call ? streamPipeline(call) : null;
+        return stream != null ? stream.code() : expr(expression).code();
+    }
+
+    private String negate(Expression condition) {
+        Py py = expr(condition);
+        return "not " + (py.prec() < PREC_NOT ? "(" + py.code() + ")" : py.code());
+    }
+
+    // ------------------------------------------------------------------ 表达式
+
+    private Py expr(Expression e) {
+        ctx.checkpoint();
+        if (e instanceof NameExpr name) {
+            return atom(resolveName(name));
+        } else if (e instanceof LiteralExpr literal) {
+            return literal(literal);
+        } else if (e instanceof BinaryExpr binary) {
+            return binary(binary);
+        } else if (e instanceof UnaryExpr unary) {
+            return unary(unary);
+        } else if (e instanceof EnclosedExpr enclosed) {
+            return atom("(" + expr(enclosed.getInner()).code() + ")");
+        } else if (e instanceof MethodCallExpr call) {
+            return call(call);
+        } else if (e instanceof FieldAccessExpr field) {
+            return fieldAccess(field);
+        } else if (e instanceof ObjectCreationExpr creation) {
+            return creation(creation);
+        } else if (e instanceof ConditionalExpr conditional) {
+            return new Py(operand(conditional.getThenExpr(), PREC_TERNARY + 1, false)
+                    + " if " + operand(conditional.getCondition(), PREC_TERNARY + 1, false)
+                    + " else " + operand(conditional.getElseExpr(), PREC_TERNARY, false), PREC_TERNARY);
+        } else if (e instanceof AssignExpr assign) {
+            if (assign.getOperator() == AssignExpr.Operator.ASSIGN && assign.getTarget() instanceof NameExpr) {
+                return atom("(" + expr(assign.getTarget()).code() + " := " + expr(assign.getValue()).code() + ")");
+            }
+            return unsupported(assign, "表达式中的赋值");
+        } else if (e instanceof ThisExpr) {
+            return atom("self");
+        } else if (e instanceof SuperExpr) {
+            return atom("super()");
+        } else if (e instanceof ArrayAccessExpr access) {
+            return atom(operand(access.getName(), PREC_ATOM, false) + "[" + expr(access.getIndex()).code() + "]");
+        } else if (e instanceof ArrayCreationExpr creation) {
+            return arrayCreation(creation);
+        } else if (e instanceof ArrayInitializerExpr initializer) {
+            return atom("[" + joinArgs(initializer.getValues()) + "]");
+        } else if (e instanceof CastExpr cast) {
+            return cast(cast);
+        } else if (e instanceof InstanceOfExpr instanceOf) {
+            String subject = expr(instanceOf.getExpression()).code();
+            if (instanceOf.getPattern().isPresent()) {
+                PatternExpr pattern = instanceOf.getPattern().get();
+                locals.add(pattern.getNameAsString());
+                subject = "(" + ctx.pythonName(pattern.getNameAsString()) + " := " + subject + ")";
+            }
+            return atom("isinstance(" + subject + ", " + pythonType(instanceOf.getType()) + ")");
+        } else if (e instanceof LambdaExpr lambda) {
+            return lambda(lambda);
+        } else if (e instanceof MethodReferenceExpr reference) {
+            return methodReference(reference);
+        } else if (e instanceof ClassExpr classExpr) {
+            return atom(pythonType(classExpr.getType()));
+        } else if (e instanceof TypeExpr typeExpr) {
+            return atom(pythonType(typeExpr.getType()));
+        } else if (e instanceof VariableDeclarationExpr declaration) {
+            return unsupported(declaration, "表达式中的变量声明");
+        }
+        return unsupported(e, "表达式 " + e.getClass().getSimpleName());
+    }
+
+    private Py unsupported(Node node, String what) {
+        ctx.unsupported(node, what);
+        return atom("None");
+    }
+
+    private static Py atom(String code) {
+        return new Py(code, PREC_ATOM);
+    }
+
+    /**
+     * 按优先级生成子表达式，必要时加括号
+     */
+    private String operand(Expression e, int minPrec, boolean strict) {
+        Py py = expr(e);
+        return wrap(py, minPrec, strict);
+    }
+
+    private String wrap(Py py, int minPrec, boolean strict) {
+        boolean needsParens = strict ? py.prec() <= minPrec : py.prec() < minPrec;
+        return needsParens ? "(" + py.code() + ")" : py.code();
+    }
+
+    private String joinArgs(List<? extends Expression> args) {
+        StringJoiner joiner = new StringJoiner(", ");
+        for (Expression arg : args) {
+            joiner.add(expr(arg).code());
+        }
+        return joiner.toString();
+    }
+
+    private String resolveName(NameExpr nameExpr) {
+        String name = nameExpr.getNameAsString();
+        if (locals.contains(name)) {
+            return ctx.pythonName(name);
+        }
+        boolean innermost = true;
+        for (ClassScope scope : classes) {
+            if (scope.instanceFields.contains(name) && !scope.module) {
+                if (!innermost) {
+                    ctx.warn(nameExpr, "Python内部类无法直接访问外部类实例字段 " + name);
+                }
+                return "self." + ctx.pythonName(name);
+            }
+            if (scope.staticFields.contains(name)) {
+                if (scope.module || (classBody && innermost)) {
+                    return ctx.pythonName(name);
+                }
+                return scope.qualifiedName + "." + ctx.pythonName(name);
+            }
+            innermost = false;
+        }
+        String owner = ctx.enumOwner(name);
+        if (owner != null && !classBody) {
+            return owner + "." + name;
+        }
+        String qualified = ctx.qualifiedClassName(name);
+        if (qualified != null) {
+            return qualified;
+        }
+        return ctx.pythonName(name);
+    }
+
+    private boolean isClassReference(Expression e) {
+        if (!(e instanceof NameExpr nameExpr)) {
+            return false;
+        }
+        String name = nameExpr.getNameAsString();
+        return Character.isUpperCase(name.charAt(0)) && !locals.contains(name) && ctx.declaredType(name) == null
+                && ctx.enumOwner(name) == null;
+    }
+
+    private Py literal(LiteralExpr literal) {
+        if (literal instanceof NullLiteralExpr) {
+            return atom("None");
+        } else if (literal instanceof BooleanLiteralExpr bool) {
+            return atom(bool.getValue() ? "True" : "False");
+        } else if (literal instanceof TextBlockLiteralExpr textBlock) {
+            return atom("\"\"\"" + escapeDocstring(textBlock.asString()) + "\"\"\"");
+        } else if (literal instanceof StringLiteralExpr string) {
+            return atom("\"" + string.getValue() + "\"");
+        } else if (literal instanceof CharLiteralExpr character) {
+            return atom("\"".equals(character.getValue()) ? "'\"'" : "\"" + character.getValue() + "\"");
+        } else if (literal instanceof IntegerLiteralExpr || literal instanceof LongLiteralExpr) {
+            return atom(integerLiteral(((LiteralStringValueExpr) literal).getValue()));
+        } else if (literal instanceof DoubleLiteralExpr number) {
+            return atom(doubleLiteral(number.getValue()));
+        }
+        return unsupported(literal, "字面量 " + literal);
+    }
+
+    private String integerLiteral(String value) {
+        String v = value.replace("_", "");
+        if (v.endsWith("L") || v.endsWith("l")) {
+            v = v.substring(0, v.length() - 1);
+        }
+        if (v.length() > 1 && v.charAt(0) == '0' && Character.isDigit(v.charAt(1))) {
+            v = "0o" + v.substring(1);
+        }
+        return v;
+    }
+
+    private String doubleLiteral(String value) {
+        String v = value.replace("_", "");
+        boolean hex = v.startsWith("0x") || v.startsWith("0X");
+        if (hex) {
+            return "float.fromhex(\"" + v.replaceAll("[fFdD]$", "") + "\")";
+        }
+        v = v.replaceAll("[fFdD]$", "");
+        if (v.indexOf('.') < 0 && v.indexOf('e') < 0 && v.indexOf('E') < 0) {
+            v = v + ".0";
+        }
+        return v;
+    }
+
+    private Py binary(BinaryExpr binary) {
+        BinaryExpr.Operator operator = binary.getOperator();
+        Expression left = binary.getLeft();
+        Expression right = binary.getRight();
+        switch (operator) {
+            case OR:
+                return infix(binary, "or", PREC_OR);
+            case AND:
+                return infix(binary, "and", PREC_AND);
+            case BINARY_OR:
+                return infix(binary, "|", PREC_BIT_OR);
+            case XOR:
+                return infix(binary, "^", PREC_BIT_XOR);
+            case BINARY_AND:
+                return infix(binary, "&", PREC_BIT_AND);
+            case EQUALS:
+            case NOT_EQUALS:
+                boolean equals = operator == BinaryExpr.Operator.EQUALS;
+                if (right instanceof NullLiteralExpr || left instanceof NullLiteralExpr) {
+                    Expression subject = right instanceof NullLiteralExpr ? left : right;
+                    return new Py(operand(subject, PREC_COMPARE, true) + (equals ? " is None" : " is not None"),
+                            PREC_COMPARE);
+                }
+                return compare(binary, equals ? "==" : "!=");
+            case LESS:
+                return compare(binary, "<");
+            case GREATER:
+                return compare(binary, ">");
+            case LESS_EQUALS:
+                return compare(binary, "<=");
+            case GREATER_EQUALS:
+                return compare(binary, ">=");
+            case LEFT_SHIFT:
+                return infix(binary, "<<", PREC_SHIFT);
+            case SIGNED_RIGHT_SHIFT:
+                return infix(binary, ">>", PREC_SHIFT);
+            case UNSIGNED_RIGHT_SHIFT:
+                ctx.warn(binary, "Python没有无符号右移，已按 >> 转换");
+                return infix(binary, ">>", PREC_SHIFT);
+            case PLUS:
+                if (isStringy(binary)) {
+                    return concatenation(binary);
+                }
+                return infix(binary, "+", PREC_ADD);
+            case MINUS:
+                return infix(binary, "-", PREC_ADD);
+            case MULTIPLY:
+                return infix(binary, "*", PREC_MUL);
+            case DIVIDE:
+                return infix(binary, isIntegral(left) && isIntegral(right) ? "//" : "/", PREC_MUL);
+            case REMAINDER:
+                return infix(binary, "%", PREC_MUL);
+            default:
+                return unsupported(binary, "运算符 " + operator.asString());
+        }
+    }
+
+    private Py infix(BinaryExpr binary, String operator, int prec) {
+        return new Py(operand(binary.getLeft(), prec, false) + " " + operator + " "
+                + operand(binary.getRight(), prec, true), prec);
+    }
+
+    private Py compare(BinaryExpr binary, String operator) {
+        return new Py(operand(binary.getLeft(), PREC_COMPARE, true) + " " + operator + " "
+                + operand(binary.getRight(), PREC_COMPARE, true), PREC_COMPARE);
+    }
+
+    /**
+     * 字符串拼接转换为f-string；表达式中含引号或反斜杠时退化为str()拼接
+     */
+    private Py concatenation(BinaryExpr binary) {
+        List<Expression> operands = new ArrayList<>();
+        Expression current = binary;
+        while (current instanceof BinaryExpr b && b.getOperator() == BinaryExpr.Operator.PLUS) {
+            operands.add(0, b.getRight());
+            current = b.getLeft();
+        }
+        operands.add(0, current);
+        int firstString = 0;
+        while (firstString < operands.size() && !isStringy(operands.get(firstString))) {
+            firstString++;
+        }
+        List<Py> parts = new ArrayList<>();
+        List<Boolean> literalParts = new ArrayList<>();
+        if (firstString > 1) {
+            StringJoiner sum = new StringJoiner(" + ");
+            for (int i = 0; i < firstString; i++) {
+                sum.add(operand(operands.get(i), PREC_ADD, i > 0));
+            }
+            parts.add(new Py(sum.toString(), PREC_ADD));
+            literalParts.add(false);
+        }
+        for (int i = firstString > 1 ? firstString : 0; i < operands.size(); i++) {
+            Expression operand = operands.get(i);
+            parts.add(expr(operand));
+            literalParts.add(operand instanceof StringLiteralExpr && !(operand instanceof TextBlockLiteralExpr));
+        }
+        boolean fstring = true;
+        for (int i = 0; i < parts.size(); i++) {
+            if (!literalParts.get(i) && (parts.get(i).code().contains("\"") || parts.get(i).code().contains("\\"))) {
+                fstring = false;
+            }
+        }
+        if (fstring) {
+            StringBuilder sb = new StringBuilder("f\"");
+            for (int i = 0; i < parts.size(); i++) {
+                String code = parts.get(i).code();
+                if (literalParts.get(i)) {
+                    sb.append(code, 1, code.length() - 1);
+                    int start = sb.length() - (code.length() - 2);
+                    escapeBraces(sb, start);
+                } else {
+                    sb.append('{').append(code).append('}');
+                }
+            }
+            return atom(sb.append('"').toString());
+        }
+        StringJoiner joiner = new StringJoiner(" + ");
+        for (int i = 0; i < parts.size(); i++) {
+            Expression source = i == 0 && firstString > 1 ? null : operands.get(i + (firstString > 1 ? firstString - 1 : 0));
+            boolean stringy = source != null && isStringy(source);
+            joiner.add(stringy ? wrap(parts.get(i), PREC_ADD, i > 0) : "str(" + parts.get(i).code() + ")");
+        }
+        return new Py(joiner.toString(), PREC_ADD);
+    }
+
+    private void escapeBraces(StringBuilder sb, int start) {
+        for (int i = sb.length() - 1; i >= start; i--) {
+            char c = sb.charAt(i);
+            if (c == '{' || c == '}') {
+                sb.insert(i, c);
+            }
+        }
+    }
+
+    private String stringOperand(Expression e) {
+        Py py = expr(e);
+        return isStringy(e) ? wrap(py, PREC_ADD, true) : "str(" + py.code() + ")";
+    }
+
+    private Py unary(UnaryExpr unary) {
+        Expression operand = unary.getExpression();
+        switch (unary.getOperator()) {
+            case LOGICAL_COMPLEMENT:
+                return new Py("not " + operand(operand, PREC_NOT, false), PREC_NOT);
+            case MINUS:
+                return new Py("-" + operand(operand, PREC_UNARY, false), PREC_UNARY);
+            case PLUS:
+                return new Py("+" + operand(operand, PREC_UNARY, false), PREC_UNARY);
+            case BITWISE_COMPLEMENT:
+                return new Py("~" + operand(operand, PREC_UNARY, false), PREC_UNARY);
+            default:
+                ctx.unsupported(unary, "表达式中的自增/自减，请改写为单独的语句");
+                return expr(operand);
+        }
+    }
+
+    private boolean isIncrementOrDecrement(UnaryExpr unary) {
+        return switch (unary.getOperator()) {
+            case POSTFIX_INCREMENT, PREFIX_INCREMENT, POSTFIX_DECREMENT, PREFIX_DECREMENT -> true;
+            default -> false;
+        };
+    }
+
+    private Py cast(CastExpr cast) {
+        String type = SymbolPass.typeName(cast.getType());
+        Expression inner = cast.getExpression();
+        if (PythonMappings.isIntegralType(type)) {
+            boolean fromChar = inner instanceof CharLiteralExpr
+                    || (inner instanceof NameExpr n && "char".equals(ctx.declaredType(n.getNameAsString())));
+            return atom((fromChar ? "ord(" : "int(") + expr(inner).code() + ")");
+        }
+        if (PythonMappings.isFloatingType(type)) {
+            return atom("float(" + expr(inner).code() + ")");
+        }
+        if ("char".equals(type)) {
+            return atom("chr(" + expr(inner).code() + ")");
+        }
+        return expr(inner);
+    }
+
+    private Py arrayCreation(ArrayCreationExpr creation) {
+        if (creation.getInitializer().isPresent()) {
+            return expr(creation.getInitializer().get());
+        }
+        String element = PythonMappings.defaultValue(SymbolPass.typeName(creation.getElementType()));
+        List<String> dimensions = new ArrayList<>();
+        creation.getLevels().forEach(level -> level.getDimension().ifPresent(d -> dimensions.add(expr(d).code())));
+        if (dimensions.isEmpty()) {
+            return atom("[]");
+        }
+        String code = "[" + element + "] * " + wrapDimension(dimensions.get(dimensions.size() - 1));
+        for (int i = dimensions.size() - 2; i >= 0; i--) {
+            code = "[" + code + " for _ in range(" + dimensions.get(i) + ")]";
+        }
+        return dimensions.size() == 1 ? new Py(code, PREC_MUL) : atom(code);
+    }
+
+    private String wrapDimension(String dimension) {
+        return dimension.matches("[\\w.]+(\\(.*\\))?") ? dimension : "(" + dimension + ")";
+    }
+
+    private Py lambda(LambdaExpr lambda) {
+        Set<String> savedLocals = locals;
+        locals = new HashSet<>(locals);
+        List<String> params = new ArrayList<>();
+        for (Parameter parameter : lambda.getParameters()) {
+            locals.add(parameter.getNameAsString());
+            params.add(ctx.pythonName(parameter.getNameAsString()));
+        }
+        try {
+            Optional<Expression> body = lambda.getExpressionBody();
+            if (body.isEmpty() && lambda.getBody() instanceof BlockStmt block && block.getStatements().size() == 1
+                    && block.getStatement(0) instanceof ReturnStmt ret && ret.getExpression().isPresent()) {
+                body = ret.getExpression();
+            }
+            if (body.isPresent()) {
+                String code = expr(body.get()).code();
+                return new Py("lambda" + (params.isEmpty() ? "" : " " + String.join(", ", params)) + ": " + code,
+                        PREC_LAMBDA);
+            }
+            if (!hoistAllowed) {
+                return unsupported(lambda, "此处的多语句 lambda");
+            }
+            String helper = "_lambda_" + (++helperCounter);
+            out.openBlock("def " + helper + "(" + String.join(", ", params) + "):");
+            breakTargets.push(BreakTarget.LOOP);
+            emitBody(lambda.getBody());
+            breakTargets.pop();
+            out.closeBlock();
+            return atom(helper);
+        } finally {
+            locals = savedLocals;
+        }
+    }
+
+    private Py methodReference(MethodReferenceExpr reference) {
+        Expression scope = reference.getScope();
+        String method = reference.getIdentifier();
+        String scopeText = scope.toString();
+        if ("System.out".equals(scopeText) && "println".equals(method)) {
+            return atom("print");
+        }
+        if ("new".equals(method)) {
+            return atom(scope instanceof TypeExpr type ? pythonType(type.getType()) : expr(scope).code());
+        }
+        switch (scopeText + "::" + method) {
+            case "String::valueOf":
+            case "Object::toString":
+            case "String::toString":
+                return atom("str");
+            case "Integer::parseInt":
+            case "Integer::valueOf":
+            case "Long::parseLong":
+                return atom("int");
+            case "Double::parseDouble":
+            case "Double::valueOf":
+                return atom("float");
+            case "String::length":
+            case "List::size":
+            case "Collection::size":
+                return atom("len");
+            case "String::toUpperCase":
+                return atom("str.upper");
+            case "String::toLowerCase":
+                return atom("str.lower");
+            case "String::trim":
+                return atom("str.strip");
+            case "Integer::sum":
+                return atom("lambda a, b: a + b");
+            case "Integer::max":
+            case "Integer::min":
+            case "Math::max":
+            case "Math::min":
+            case "Math::abs":
+                return atom(method);
+            default:
+                break;
+        }
+        if (scope instanceof ThisExpr) {
+            return atom("self." + ctx.pythonName(method));
+        }
+        if (scope instanceof TypeExpr type) {
+            return atom(pythonType(type.getType()) + "." + ctx.pythonName(method));
+        }
+        return atom(operand(scope, PREC_ATOM, false) + "." + ctx.pythonName(method));
+    }
+
+    private Py fieldAccess(FieldAccessExpr field) {
+        Expression scope = field.getScope();
+        String name = field.getNameAsString();
+        if (scope instanceof ThisExpr) {
+            return atom("self." + ctx.pythonName(name));
+        }
+        if (isClassReference(scope)) {
+            String owner = ((NameExpr) scope).getNameAsString();
+            Py constant = staticField(owner, name);
+            if (constant != null) {
+                return constant;
+            }
+            String qualified = ctx.qualifiedClassName(owner);
+            return atom((qualified != null ? qualified : owner) + "." + ctx.pythonName(name));
+        }
+        if ("length".equals(name)) {
+            return atom("len(" + expr(scope).code() + ")");
+        }
+        return atom(operand(scope, PREC_ATOM, false) + "." + ctx.pythonName(name));
+    }
+
+    private Py staticField(String owner, String name) {
+        switch (owner + "." + name) {
+            case "Math.PI":
+                return atom("math.pi");
+            case "Math.E":
+                return atom("math.e");
+            case "Integer.MAX_VALUE":
+                return atom("2147483647");
+            case "Integer.MIN_VALUE":
+                return new Py("-2147483648", PREC_UNARY);
+            case "Long.MAX_VALUE":
+                return atom("9223372036854775807");
+            case "Long.MIN_VALUE":
+                return new Py("-9223372036854775808", PREC_UNARY);
+            case "Double.MAX_VALUE":
+                return atom("1.7976931348623157e308");
+            case "Double.MIN_VALUE":
+                return atom("5e-324");
+            case "Double.POSITIVE_INFINITY":
+                return atom("float(\"inf\")");
+            case "Double.NEGATIVE_INFINITY":
+                return atom("float(\"-inf\")");
+            case "Double.NaN":
+                return atom("float(\"nan\")");
+            case "System.out":
+                return atom("sys.stdout");
+            case "System.err":
+                return atom("sys.stderr");
+            case "System.in":
+                return atom("sys.stdin");
+            default:
+                return null;
+        }
+    }
+
+    private Py creation(ObjectCreationExpr creation) {
+        String type = creation.getType().getNameAsString();
+        NodeList<Expression> args = creation.getArguments();
+        if (creation.getAnonymousClassBody().isPresent()) {
+            return anonymousClass(creation);
+        }
+        switch (type) {
+            case "ArrayList":
+            case "LinkedList":
+            case "ArrayDeque":
+            case "Vector":
+                return atom(args.isEmpty() || isIntegral(args.get(0)) ? "[]" : "list(" + expr(args.get(0)).code() + ")");
+            case "HashMap":
+            case "TreeMap":
+            case "LinkedHashMap":
+            case "Hashtable":
+                return atom(args.isEmpty() || isIntegral(args.get(0)) ? "{}" : "dict(" + expr(args.get(0)).code() + ")");
+            case "HashSet":
+            case "TreeSet":
+            case "LinkedHashSet":
+                return atom(args.isEmpty() || isIntegral(args.get(0)) ? "set()" : "set(" + expr(args.get(0)).code() + ")");
+            case "StringBuilder":
+            case "StringBuffer":
+                return atom(args.isEmpty() || isIntegral(args.get(0)) ? "\"\"" : "str(" + expr(args.get(0)).code() + ")");
+            case "String":
+                return atom(args.isEmpty() ? "\"\"" : "str(" + expr(args.get(0)).code() + ")");
+            case "Object":
+                return atom("object()");
+            case "Scanner":
+                return atom("None");
+            case "Random":
+                return atom("random.Random(" + joinArgs(args) + ")");
+            case "Integer":
+            case "Long":
+                return atom("int(" + joinArgs(args) + ")");
+            case "Double":
+                return atom("float(" + joinArgs(args) + ")");
+            default:
+                break;
+        }
+        String qualified = ctx.qualifiedClassName(type);
+        String name = qualified != null ? qualified : PythonMappings.exceptionName(type);
+        return atom(name + "(" + joinArgs(args) + ")");
+    }
+
+    private Py anonymousClass(ObjectCreationExpr creation) {
+        if (!hoistAllowed) {
+            return unsupported(creation, "此处的匿名类");
+        }
+        String base = creation.getType().getNameAsString();
+        String helper = "_Anonymous" + (++helperCounter);
+        String baseCode = ctx.isDeclaredClass(base) ? "(" + ctx.qualifiedClassName(base) + ")" : "";
+        out.openBlock("class " + helper + baseCode + ":");
+        ClassScope scope = new ClassScope(helper, false);
+        creation.getAnonymousClassBody().get().forEach(member -> {
+            if (member instanceof FieldDeclaration field) {
+                field.getVariables().forEach(v -> scope.instanceFields.add(v.getNameAsString()));
+            } else if (member instanceof MethodDeclaration method) {
+                scope.instanceMethods.add(method.getNameAsString());
+            }
+        });
+        classes.push(scope);
+        emitMembers(creation.getAnonymousClassBody().get(), false);
+        classes.pop();
+        out.closeBlock();
+        return atom(helper + "(" + joinArgs(creation.getArguments()) + ")");
+    }
+
+    // ------------------------------------------------------------------ 方法调用
+
+    private Py call(MethodCallExpr call) {
+        String name = call.getNameAsString();
+        NodeList<Expression> args = call.getArguments();
+        Optional<Expression> scopeOptional = call.getScope();
+        if (scopeOptional.isEmpty()) {
+            return atom(resolveMethod(name) + "(" + joinArgs(args) + ")");
+        }
+        Expression scope = scopeOptional.get();
+        if (scope instanceof FieldAccessExpr field && field.getScope() instanceof NameExpr system
+                && "System".equals(system.getNameAsString())) {
+            Py print = print(field.getNameAsString(), name, args);
+            if (print != null) {
+                return print;
+            }
+        }
+        Py stream = streamPipeline(call);
+        if (stream != null) {
+            return stream;
+        }
+        if (isClassReference(scope)) {
+            Py staticCall = staticCall(((NameExpr) scope).getNameAsString(), name, args);
+            if (staticCall != null) {
+                return staticCall;
+            }
+        }
+        if (scope instanceof SuperExpr) {
+            return atom("super()." + ctx.pythonName(name) + "(" + joinArgs(args) + ")");
+        }
+        Py instanceCall = instanceCall(scope, name, args);
+        if (instanceCall != null) {
+            return instanceCall;
+        }
+        return atom(operand(scope, PREC_ATOM, false) + "." + ctx.pythonName(name) + "(" + joinArgs(args) + ")");
+    }
+
+    private String resolveMethod(String name) {
+        for (ClassScope scope : classes) {
+            if (scope.instanceMethods.contains(name)) {
+                return scope.module ? ctx.pythonName(name) : "self." + ctx.pythonName(name);
+            }
+            if (scope.staticMethods.contains(name)) {
+                return scope.module ? ctx.pythonName(name) : scope.qualifiedName + "." + ctx.pythonName(name);
+            }
+        }
+        return ctx.pythonName(name);
+    }
+
+    private Py print(String stream, String method, NodeList<Expression> args) {
+        String file = "err".equals(stream) ? ", file=sys.stderr" : "";
+        switch (method) {
+            case "println":
+                if (args.isEmpty()) {
+                    return atom(file.isEmpty() ? "print()" : "print(" + file.substring(2) + ")");
+                }
+                return atom("print(" + expr(args.get(0)).code() + file + ")");
+            case "print":
+                return atom("print(" + (args.isEmpty() ? "" : expr(args.get(0)).code() + ", ") + "end=\"\"" + file + ")");
+            case "printf":
+            case "format":
+                return atom("print(" + format(args) + ", end=\"\"" + file + ")");
+            case "flush":
+                return atom(("err".equals(stream) ? "sys.stderr" : "sys.stdout") + ".flush()");
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * String.format / printf 转换为 % 格式化
+     */
+    private String format(NodeList<Expression> args) {
+        if (args.isEmpty()) {
+            return "\"\"";
+        }
+        Expression pattern = args.get(0);
+        String patternCode = pattern instanceof StringLiteralExpr literal
+                ? "\"" + literal.getValue().replace("%n", "\\n") + "\""
+                : operand(pattern, PREC_MUL, false);
+        if (args.size() == 1) {
+            return patternCode;
+        }
+        List<Expression> values = args.subList(1, args.size());
+        String tuple = values.size() == 1 ? "(" + expr(values.get(0)).code() + ",)" : "(" + joinArgs(values) + ")";
+        return patternCode + " % " + tuple;
+    }
+
+    private Py staticCall(String owner, String method, NodeList<Expression> args) {
+        int argc = args.size();
+        switch (owner) {
+            case "Math":
+                switch (method) {
+                    case "max", "min", "abs":
+                        return atom(method + "(" + joinArgs(args) + ")");
+                    case "pow":
+                        if (argc == 2) {
+                            return new Py(operand(args.get(0), PREC_POWER, true) + " ** "
+                                    + operand(args.get(1), PREC_UNARY, false), PREC_POWER);
+                        }
+                        break;
+                    case "round":
+                        return atom("round(" + joinArgs(args) + ")");
+                    case "random":
+                        return atom("random.random()");
+                    case "toRadians":
+                        return atom("math.radians(" + joinArgs(args) + ")");
+                    case "toDegrees":
+                        return atom("math.degrees(" + joinArgs(args) + ")");
+                    case "cbrt":
+                        return new Py(operand(args.get(0), PREC_POWER, true) + " ** (1 / 3)", PREC_POWER);
+                    default:
+                        if (PythonMappings.importForStaticCall(owner, method) != null) {
+                            return atom("math." + method + "(" + joinArgs(args) + ")");
+                        }
+                }
+                break;
+            case "Integer":
+            case "Long":
+            case "Short":
+            case "Byte":
+                switch (method) {
+                    case "parseInt", "parseLong", "valueOf", "parseShort", "parseByte":
+                        return atom("int(" + joinArgs(args) + ")");
+                    case "toString":
+                        return atom(argc == 1 ? "str(" + expr(args.get(0)).code() + ")" : "str(" + joinArgs(args) + ")");
+                    case "toBinaryString":
+                        return atom("bin(" + expr(args.get(0)).code() + ")[2:]");
+                    case "toHexString":
+                        return atom("hex(" + expr(args.get(0)).code() + ")[2:]");
+                    case "max", "min":
+                        return atom(method + "(" + joinArgs(args) + ")");
+                    case "sum":
+                        return new Py(operand(args.get(0), PREC_ADD, false) + " + " + operand(args.get(1), PREC_ADD, true), PREC_ADD);
+                    case "compare":
+                        return compareCall(args.get(0), args.get(1));
+                    default:
+                        break;
+                }
+                break;
+            case "Double":
+            case "Float":
+                switch (method) {
+                    case "parseDouble", "parseFloat", "valueOf":
+                        return atom("float(" + joinArgs(args) + ")");
+                    case "toString":
+                        return atom("str(" + joinArgs(args) + ")");
+                    case "compare":
+                        return compareCall(args.get(0), args.get(1));
+                    case "isNaN":
+                        return atom("math.isnan(" + joinArgs(args) + ")");
+                    default:
+                        break;
+                }
+                break;
+            case "Boolean":
+                if ("parseBoolean".equals(method) && argc == 1) {
+                    return new Py(operand(args.get(0), PREC_ATOM, false) + ".lower() == \"true\"", PREC_COMPARE);
+                }
+                break;
+            case "String":
+                switch (method) {
+                    case "valueOf":
+                        return atom("str(" + joinArgs(args) + ")");
+                    case "format":
+                        Py formatted = new Py(format(args), argc > 1 ? PREC_MUL : PREC_ATOM);
+                        return formatted;
+                    case "join":
+                        if (argc == 2 && !isStringy(args.get(1))) {
+                            return atom(operand(args.get(0), PREC_ATOM, false) + ".join(" + expr(args.get(1)).code() + ")");
+                        }
+                        return atom(operand(args.get(0), PREC_ATOM, false) + ".join(["
+                                + joinArgs(args.subList(1, argc)) + "])");
+                    default:
+                        break;
+                }
+                break;
+            case "Character":
+                String characterMethod = switch (method) {
+                    case "isDigit" -> "isdigit";
+                    case "isLetter", "isAlphabetic" -> "isalpha";
+                    case "isLetterOrDigit" -> "isalnum";
+                    case "isUpperCase" -> "isupper";
+                    case "isLowerCase" -> "islower";
+                    case "isWhitespace" -> "isspace";
+                    case "toUpperCase" -> "upper";
+                    case "toLowerCase" -> "lower";
+                    default -> null;
+                };
+                if (characterMethod != null && argc == 1) {
+                    return atom(operand(args.get(0), PREC_ATOM, false) + "." + characterMethod + "()");
+                }
+                if ("getNumericValue".equals(method) && argc == 1) {
+                    return atom("int(" + expr(args.get(0)).code() + ")");
+                }
+                break;
+            case "Arrays":
+                switch (method) {
+                    case "asList":
+                        return atom("[" + joinArgs(args) + "]");
+                    case "sort":
+                        if (argc == 1) {
+                            return atom(operand(args.get(0), PREC_ATOM, false) + ".sort()");
+                        }
+                        break;
+                    case "toString", "deepToString":
+                        return atom("str(" + joinArgs(args) + ")");
+                    case "copyOf":
+                        if (argc == 2) {
+                            return atom(operand(args.get(0), PREC_ATOM, false) + "[:" + expr(args.get(1)).code() + "]");
+                        }
+                        break;
+                    case "copyOfRange":
+                        if (argc == 3) {
+                            return atom(operand(args.get(0), PREC_ATOM, false) + "[" + expr(args.get(1)).code() + ":"
+                                    + expr(args.get(2)).code() + "]");
+                        }
+                        break;
+                    case "equals":
+                        return compareCall("==", args);
+                    case "fill":
+                        if (argc == 2) {
+                            String array = operand(args.get(0), PREC_ATOM, false);
+                            return atom(array + ".__setitem__(slice(None), [" + expr(args.get(1)).code() + "] * len("
+                                    + array + "))");
+                        }
+                        break;
+                    default:
+                        break;
+                }
+                break;
+            case "Collections":
+                switch (method) {
+                    case "sort":
+                        if (argc == 1) {
+                            return atom(operand(args.get(0), PREC_ATOM, false) + ".sort()");
+                        }
+                        break;
+                    case "reverse":
+                        return atom(operand(args.get(0), PREC_ATOM, false) + ".reverse()");
+                    case "shuffle":
+                        return atom("random.shuffle(" + expr(args.get(0)).code() + ")");
+                    case "max", "min":
+                        if (argc == 1) {
+                            return atom(method + "(" + expr(args.get(0)).code() + ")");
+                        }
+                        break;
+                    case "emptyList":
+                        return atom("[]");
+                    case "emptyMap":
+                        return atom("{}");
+                    case "emptySet":
+                        return atom("set()");
+                    case "unmodifiableList", "unmodifiableSet", "unmodifiableMap":
+                        return expr(args.get(0));
+                    default:
+                        break;
+                }
+                break;
+            case "List":
+                if ("of".equals(method) || "copyOf".equals(method) && argc == 1) {
+                    return atom("of".equals(method) ? "[" + joinArgs(args) + "]" : "list(" + expr(args.get(0)).code() + ")");
+                }
+                break;
+            case "Set":
+                if ("of".equals(method)) {
+                    return atom(argc == 0 ? "set()" : "{" + joinArgs(args) + "}");
+                }
+                break;
+            case "Map":
+                if ("of".equals(method) && argc % 2 == 0) {
+                    StringJoiner entries = new StringJoiner(", ", "{", "}");
+                    for (int i = 0; i < argc; i += 2) {
+                        entries.add(expr(args.get(i)).code() + ": " + expr(args.get(i + 1)).code());
+                    }
+                    return atom(entries.toString());
+                }
+                break;
+            case "Objects":
+                switch (method) {
+                    case "equals":
+                        return compareCall("==", args);
+                    case "isNull":
+                        return new Py(operand(args.get(0), PREC_COMPARE, true) + " is None", PREC_COMPARE);
+                    case "nonNull":
+                        return new Py(operand(args.get(0), PREC_COMPARE, true) + " is not None", PREC_COMPARE);
+                    case "requireNonNull":
+                        return expr(args.get(0));
+                    case "hash":
+                        return atom("hash((" + joinArgs(args) + (argc == 1 ? ",))" : "))"));
+                    case "toString":
+                        return atom("str(" + expr(args.get(0)).code() + ")");
+                    default:
+                        break;
+                }
+                break;
+            case "Thread":
+                if ("sleep".equals(method) && argc == 1) {
+                    return atom("time.sleep(" + operand(args.get(0), PREC_MUL, false) + " / 1000)");
+                }
+                break;
+            case "System":
+                switch (method) {
+                    case "currentTimeMillis":
+                        return atom("int(time.time() * 1000)");
+                    case "nanoTime":
+                        return atom("time.perf_counter_ns()");
+                    case "exit":
+                        return atom("sys.exit(" + joinArgs(args) + ")");
+                    case "lineSeparator":
+                        return atom("\"\\n\"");
+                    default:
+                        break;
+                }
+                break;
+            default:
+                if (ctx.isDeclaredEnum(owner)) {
+                    String qualified = ctx.qualifiedClassName(owner);
+                    if ("values".equals(method) && argc == 0) {
+                        return atom("list(" + qualified + ")");
+                    }
+                    if ("valueOf".equals(method) && argc == 1) {
+                        return atom(qualified + "[" + expr(args.get(0)).code() + "]");
+                    }
+                }
+                if (ctx.isDeclaredClass(owner)) {
+                    return atom(ctx.qualifiedClassName(owner) + "." + ctx.pythonName(method) + "(" + joinArgs(args) + ")");
+                }
+                break;
+        }
+        return null;
+    }
+
+    private Py compareCall(Expression left, Expression right) {
+        String l = operand(left, PREC_COMPARE, true);
+        String r = operand(right, PREC_COMPARE, true);
+        return atom("((" + l + " > " + r + ") - (" + l + " < " + r + "))");
+    }
+
+    private Py compareCall(String operator, NodeList<Expression> args) {
+        if (args.size() != 2) {
+            return null;
+        }
+        return new Py(operand(args.get(0), PREC_COMPARE, true) + " " + operator + " "
+                + operand(args.get(1), PREC_COMPARE, true), PREC_COMPARE);
+    }
+
+    /**
+     * 按接收者类型映射实例方法调用，无需映射时返回null
+     */
+    private Py instanceCall(Expression scope, String name, NodeList<Expression> args) {
+        ReceiverKind kind = receiverKind(scope);
+        int argc = args.size();
+        boolean userMethod = kind == null && ctx.isDeclaredMethod(name);
+        if (userMethod) {
+            return null;
+        }
+        String target = operand(scope, PREC_ATOM, false);
+        if (argc == 0 && ctx.isRecordComponent(name)) {
+            return atom(target + "." + ctx.pythonName(name));
+        }
+        if (kind == ReceiverKind.SCANNER) {
+            return switch (name) {
+                case "nextLine", "next" -> atom("input()");
+                case "nextInt", "nextLong" -> atom("int(input())");
+                case "nextDouble", "nextFloat" -> atom("float(input())");
+                case "nextBoolean" -> new Py("input().lower() == \"true\"", PREC_COMPARE);
+                default -> unsupported(scope, "Scanner." + name);
+            };
+        }
+        if (kind == ReceiverKind.RANDOM) {
+            switch (name) {
+                case "nextInt":
+                    return atom(argc == 0 ? target + ".getrandbits(32)" : target + ".randrange(" + joinArgs(args) + ")");
+                case "nextDouble":
+                case "nextFloat":
+                    return atom(target + ".random()");
+                case "nextBoolean":
+                    return new Py(target + ".random() < 0.5", PREC_COMPARE);
+                default:
+                    return null;
+            }
+        }
+        if (kind == ReceiverKind.BUILDER) {
+            switch (name) {
+                case "toString":
+                    return expr(scope);
+                case "length":
+                    return atom("len(" + expr(scope).code() + ")");
+                case "reverse":
+                    return atom(target + "[::-1]");
+                case "charAt":
+                    return atom(target + "[" + expr(args.get(0)).code() + "]");
+                case "append":
+                    ctx.warn(scope, "StringBuilder.append 的返回值在Python中不可用，请改写为单独的语句");
+                    return new Py(target + " + " + stringOperand(args.get(0)), PREC_ADD);
+                default:
+                    return null;
+            }
+        }
+        switch (name) {
+            case "length":
+            case "size":
+                if (argc == 0) {
+                    return atom("len(" + expr(scope).code() + ")");
+                }
+                break;
+            case "isEmpty":
+                if (argc == 0) {
+                    return new Py("len(" + expr(scope).code() + ") == 0", PREC_COMPARE);
+                }
+                break;
+            case "isBlank":
+                return new Py(target + ".strip() == \"\"", PREC_COMPARE);
+            case "equals":
+                if (argc == 1) {
+                    return new Py(operand(scope, PREC_COMPARE, true) + " == " + operand(args.get(0), PREC_COMPARE, true),
+                            PREC_COMPARE);
+                }
+                break;
+            case "equalsIgnoreCase":
+                return new Py(target + ".lower() == " + operand(args.get(0), PREC_ATOM, false) + ".lower()", PREC_COMPARE);
+            case "toString":
+                if (argc == 0) {
+                    return atom("str(" + expr(scope).code() + ")");
+                }
+                break;
+            case "hashCode":
+                return atom("hash(" + expr(scope).code() + ")");
+            case "compareTo":
+                if (argc == 1) {
+                    return compareCall(scope, args.get(0));
+                }
+                break;
+            case "charAt":
+                return atom(target + "[" + expr(args.get(0)).code() + "]");
+            case "substring":
+            case "subList":
+                if (argc == 1) {
+                    return atom(target + "[" + expr(args.get(0)).code() + ":]");
+                }
+                return atom(target + "[" + expr(args.get(0)).code() + ":" + expr(args.get(1)).code() + "]");
+            case "toUpperCase":
+                return atom(target + ".upper()");
+            case "toLowerCase":
+                return atom(target + ".lower()");
+            case "trim":
+            case "strip":
+                return atom(target + ".strip()");
+            case "startsWith":
+                return atom(target + ".startswith(" + joinArgs(args) + ")");
+            case "endsWith":
+                return atom(target + ".endswith(" + joinArgs(args) + ")");
+            case "toCharArray":
+                return atom("list(" + expr(scope).code() + ")");
+            case "repeat":
+                return new Py(operand(scope, PREC_MUL, false) + " * " + operand(args.get(0), PREC_MUL, true), PREC_MUL);
+            case "matches":
+                return new Py("re.fullmatch(" + expr(args.get(0)).code() + ", " + expr(scope).code() + ") is not None",
+                        PREC_COMPARE);
+            case "replaceAll":
+                return atom("re.sub(" + expr(args.get(0)).code() + ", " + expr(args.get(1)).code() + ", "
+                        + expr(scope).code() + ")");
+            case "lastIndexOf":
+                if (kind != ReceiverKind.LIST) {
+                    return atom(target + ".rfind(" + joinArgs(args) + ")");
+                }
+                break;
+            case "indexOf":
+                return atom(target + (kind == ReceiverKind.LIST ? ".index(" : ".find(") + joinArgs(args) + ")");
+            case "contains":
+                if (argc == 1 && kind != ReceiverKind.MAP) {
+                    return new Py(operand(args.get(0), PREC_COMPARE, true) + " in " + operand(scope, PREC_COMPARE, true),
+                            PREC_COMPARE);
+                }
+                break;
+            case "containsKey":
+                return new Py(operand(args.get(0), PREC_COMPARE, true) + " in " + operand(scope, PREC_COMPARE, true),
+                        PREC_COMPARE);
+            case "containsValue":
+                return new Py(operand(args.get(0), PREC_COMPARE, true) + " in " + target + ".values()", PREC_COMPARE);
+            case "getMessage":
+            case "getLocalizedMessage":
+                return atom("str(" + expr(scope).code() + ")");
+            case "printStackTrace":
+                return atom("traceback.print_exc()");
+            case "getClass":
+                return atom("type(" + expr(scope).code() + ")");
+            case "getSimpleName":
+            case "getName":
+                if (scope instanceof MethodCallExpr inner && "getClass".equals(inner.getNameAsString())) {
+                    return atom(target + ".__name__");
+                }
+                break;
+            case "getKey":
+                if (argc == 0 && (kind == ReceiverKind.ENTRY || kind == null)) {
+                    return atom(target + "[0]");
+                }
+                break;
+            case "getValue":
+                if (argc == 0 && (kind == ReceiverKind.ENTRY || kind == null)) {
+                    return atom(target + "[1]");
+                }
+                break;
+            case "name":
+                if (argc == 0) {
+                    return atom(target + ".name");
+                }
+                break;
+            case "add":
+                if (kind == ReceiverKind.SET) {
+                    return atom(target + ".add(" + joinArgs(args) + ")");
+                }
+                return atom(target + (argc == 2 ? ".insert(" : ".append(") + joinArgs(args) + ")");
+            case "addAll":
+                return atom(target + (kind == ReceiverKind.SET ? ".update(" : ".extend(") + joinArgs(args) + ")");
+            case "get":
+                if (kind == ReceiverKind.MAP) {
+                    return atom(target + ".get(" + joinArgs(args) + ")");
+                }
+                if (argc == 1) {
+                    return atom(target + "[" + expr(args.get(0)).code() + "]");
+                }
+                break;
+            case "put":
+                if (argc == 2) {
+                    return atom(target + ".update({" + expr(args.get(0)).code() + ": " + expr(args.get(1)).code() + "})");
+                }
+                break;
+            case "putIfAbsent":
+                return atom(target + ".setdefault(" + joinArgs(args) + ")");
+            case "getOrDefault":
+                return atom(target + ".get(" + joinArgs(args) + ")");
+            case "keySet":
+                return atom(target + ".keys()");
+            case "values":
+                if (argc == 0 && kind != null) {
+                    return atom(target + ".values()");
+                }
+                break;
+            case "entrySet":
+                return atom(target + ".items()");
+            case "remove":
+                if (kind == ReceiverKind.MAP) {
+                    return atom(target + ".pop(" + expr(args.get(0)).code() + ", None)");
+                }
+                if (kind == ReceiverKind.SET) {
+                    return atom(target + ".discard(" + joinArgs(args) + ")");
+                }
+                if (argc == 1 && isIntegral(args.get(0))) {
+                    return atom(target + ".pop(" + expr(args.get(0)).code() + ")");
+                }
+                break;
+            case "clone":
+                return atom(target + ".copy()");
+            default:
+                break;
+        }
+        return null;
+    }
+
+    /**
+     * 将常见的Stream流水线转换为Python内置函数组合，不是Stream流水线时返回null
+     */
+    private Py streamPipeline(MethodCallExpr terminal) {
+        List<MethodCallExpr> operations = new ArrayList<>();
+        Expression current = terminal;
+        String source = null;
+        while (current instanceof MethodCallExpr call) {
+            String name = call.getNameAsString();
+            Expression scope = call.getScope().orElse(null);
+            if ("stream".equals(name) && call.getArguments().isEmpty() && scope != null && !isClassReference(scope)) {
+                source = expr(scope).code();
+                break;
+            }
+            if (scope instanceof NameExpr owner && isClassReference(owner)) {
+                String ownerName = owner.getNameAsString();
+                if ("Arrays".equals(ownerName) && "stream".equals(name) && call.getArguments().size() == 1) {
+                    source = expr(call.getArgument(0)).code();
+                } else if ("Stream".equals(ownerName) && "of".equals(name)) {
+                    source = "[" + joinArgs(call.getArguments()) + "]";
+                } else if ("IntStream".equals(ownerName) && "range".equals(name) && call.getArguments().size() == 2) {
+                    source = "range(" + joinArgs(call.getArguments()) + ")";
+                } else if ("IntStream".equals(ownerName) && "rangeClosed".equals(name) && call.getArguments().size() == 2) {
+                    source = "range(" + expr(call.getArgument(0)).code() + ", " + offset(call.getArgument(1), 1) + ")";
+                }
+                break;
+            }
+            if (call != terminal && STREAM_TERMINALS.contains(name)) {
+                // 外层调用作用在终止操作的结果上，交给普通方法映射处理
+                return null;
+            }
+            operations.add(0, call);
+            current = scope;
+        }
+        if (source == null || operations.isEmpty() && terminal != current) {
+            return null;
+        }
+        String pipeline = source;
+        MethodCallExpr last = operations.isEmpty() ? null : operations.get(operations.size() - 1);
+        List<MethodCallExpr> intermediate = last == terminal ? operations.subList(0, operations.size() - 1) : operations;
+        for (MethodCallExpr op : intermediate) {
+            String name = op.getNameAsString();
+            NodeList<Expression> args = op.getArguments();
+            switch (name) {
+                case "filter" -> pipeline = "filter(" + expr(args.get(0)).code() + ", " + pipeline + ")";
+                case "map", "mapToInt", "mapToLong", "mapToDouble", "mapToObj" ->
+                        pipeline = "map(" + expr(args.get(0)).code() + ", " + pipeline + ")";
+                case "sorted" -> pipeline = args.isEmpty() ? "sorted(" + pipeline + ")" : pipeline;
+                case "distinct" -> pipeline = "dict.fromkeys(" + pipeline + ")";
+                case "limit" -> pipeline = "list(" + pipeline + ")[:" + expr(args.get(0)).code() + "]";
+                case "skip" -> pipeline = "list(" + pipeline + ")[" + expr(args.get(0)).code() + ":]";
+                case "boxed", "parallel", "sequential" -> {
+                }
+                default -> {
+                    return unsupported(op, "Stream 操作 " + name);
+                }
+            }
+        }
+        if (last != terminal) {
+            return atom(pipeline);
+        }
+        NodeList<Expression> args = terminal.getArguments();
+        switch (terminal.getNameAsString()) {
+            case "toList":
+                return atom("list(" + pipeline + ")");
+            case "collect":
+                String collector = args.isEmpty() ? "" : args.get(0).toString();
+                if (collector.endsWith("toSet()")) {
+                    return atom("set(" + pipeline + ")");
+                }
+                if (collector.contains("joining(") && args.get(0) instanceof MethodCallExpr joining) {
+                    String separator = joining.getArguments().isEmpty() ? "\"\"" : expr(joining.getArgument(0)).code();
+                    return atom(separator + ".join(" + pipeline + ")");
+                }
+                return atom("list(" + pipeline + ")");
+            case "count":
+                return atom("len(list(" + pipeline + "))");
+            case "sum":
+                return atom("sum(" + pipeline + ")");
+            case "anyMatch":
+                return atom("any(map(" + expr(args.get(0)).code() + ", " + pipeline + "))");
+            case "allMatch":
+                return atom("all(map(" + expr(args.get(0)).code() + ", " + pipeline + "))");
+            case "noneMatch":
+                return new Py("not any(map(" + expr(args.get(0)).code() + ", " + pipeline + "))", PREC_NOT);
+            case "reduce":
+                if (args.size() == 2) {
+                    return atom("functools.reduce(" + expr(args.get(1)).code() + ", " + pipeline + ", "
+                            + expr(args.get(0)).code() + ")");
+                }
+                return unsupported(terminal, "不带初始值的 reduce");
+            case "forEach":
+                return atom("list(map(" + expr(args.get(0)).code() + ", " + pipeline + "))");
+            case "max", "min", "average", "findFirst", "findAny":
+                return unsupported(terminal, "返回 Optional 的 Stream 操作 " + terminal.getNameAsString());
+            default:
+                return unsupported(terminal, "Stream 操作 " + terminal.getNameAsString());
+        }
+    }
+
+    // ------------------------------------------------------------------ 类型推断辅助
+
+    private ReceiverKind receiverKind(Expression scope) {
+        if (scope instanceof NameExpr name) {
+            return PythonMappings.receiverKind(ctx.declaredType(name.getNameAsString()));
+        }
+        if (scope instanceof FieldAccessExpr field && field.getScope() instanceof ThisExpr) {
+            return PythonMappings.receiverKind(ctx.declaredType(field.getNameAsString()));
+        }
+        if (scope instanceof StringLiteralExpr || scope instanceof TextBlockLiteralExpr) {
+            return ReceiverKind.STRING;
+        }
+        if (scope instanceof ObjectCreationExpr creation) {
+            return PythonMappings.receiverKind(creation.getType().getNameAsString());
+        }
+        if (scope instanceof EnclosedExpr enclosed) {
+            return receiverKind(enclosed.getInner());
+        }
+        return isStringy(scope) ? ReceiverKind.STRING : null;
+    }
+
+    private boolean isStringy(Expression e) {
+        if (e instanceof StringLiteralExpr || e instanceof TextBlockLiteralExpr) {
+            return true;
+        }
+        if (e instanceof NameExpr name) {
+            return "String".equals(ctx.declaredType(name.getNameAsString()));
+        }
+        if (e instanceof FieldAccessExpr field && field.getScope() instanceof ThisExpr) {
+            return "String".equals(ctx.declaredType(field.getNameAsString()));
+        }
+        if (e instanceof EnclosedExpr enclosed) {
+            return isStringy(enclosed.getInner());
+        }
+        if (e instanceof BinaryExpr binary && binary.getOperator() == BinaryExpr.Operator.PLUS) {
+            return isStringy(binary.getLeft()) || isStringy(binary.getRight());
+        }
+        if (e instanceof MethodCallExpr call) {
+            return switch (call.getNameAsString()) {
+                case "toString", "substring", "toUpperCase", "toLowerCase", "trim", "strip", "repeat",
+                     "replace", "replaceAll", "format", "join", "valueOf", "nextLine", "getMessage" ->
+                        !"valueOf".equals(call.getNameAsString())
+                                || call.getScope().map(s -> "String".equals(s.toString())).orElse(false);
+                default -> false;
+            };
+        }
+        return false;
+    }
+
+    private boolean isIntegral(Expression e) {
+        if (e instanceof IntegerLiteralExpr || e instanceof LongLiteralExpr) {
+            return true;
+        }
+        if (e instanceof NameExpr name) {
+            return PythonMappings.isIntegralType(ctx.declaredType(name.getNameAsString()));
+        }
+        if (e instanceof FieldAccessExpr field) {
+            return field.getScope() instanceof ThisExpr
+                    ? PythonMappings.isIntegralType(ctx.declaredType(field.getNameAsString()))
+                    : "length".equals(field.getNameAsString());
+        }
+        if (e instanceof EnclosedExpr enclosed) {
+            return isIntegral(enclosed.getInner());
+        }
+        if (e instanceof ArrayAccessExpr access && access.getName() instanceof NameExpr array) {
+            String type = ctx.declaredType(array.getNameAsString());
+            return type != null && type.endsWith("[]")
+                    && PythonMappings.isIntegralType(type.substring(0, type.indexOf('[')));
+        }
+        if (e instanceof UnaryExpr unary) {
+            return isIntegral(unary.getExpression());
+        }
+        if (e instanceof CastExpr cast) {
+            return PythonMappings.isIntegralType(SymbolPass.typeName(cast.getType()));
+        }
+        if (e instanceof BinaryExpr binary) {
+            return switch (binary.getOperator()) {
+                case PLUS, MINUS, MULTIPLY, DIVIDE, REMAINDER -> isIntegral(binary.getLeft()) && isIntegral(binary.getRight());
+                default -> false;
+            };
+        }
+        if (e instanceof MethodCallExpr call) {
+            return switch (call.getNameAsString()) {
+                case "length", "size", "indexOf", "parseInt", "nextInt" -> true;
+                default -> false;
+            };
+        }
+        return false;
+    }
+}
@@ -0,0 +1,264 @@
+package com.company.pythonlearning.converter;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Java到Python的映射表
+ *
+ * <p>集中维护关键字、内置函数、异常类型、类型名以及静态调用所需的导入，
+ * 供导入分析阶段和代码生成阶段共同使用，保证两者结论一致。</p>
+ *
+ * @author Company
+ * @version 1.0.0
+ */
+public final class PythonMappings {
+
+    /**
+     * 接收者的集合/工具类别
+     */
+    public enum ReceiverKind {
+        STRING, LIST, MAP, SET, BUILDER, ENTRY, SCANNER, RANDOM, ARRAY
+    }
+
+    public static final Set<String> PYTHON_KEYWORDS = Set.of(
+            "False", "None", "True", "and", "as", "assert", "async", "await", "break", "class",
+            "continue", "def", "del", "elif", "else", "except", "finally", "for", "from", "global",
+            "if", "import", "in", "is", "lambda", "nonlocal", "not", "or", "pass", "raise",
+            "return", "try", "while", "with", "yield", "match", "case");
+
+    /**
+     * 转换结果中会用到的内置名称，用户标识符与之同名时需要改名避免遮蔽
+     */
+    public static final Set<String> PYTHON_BUILTINS = Set.of(
+            "abs", "all", "any", "bool", "chr", "dict", "float", "hash", "input", "int", "isinstance",
+            "len", "list", "map", "max", "min", "next", "ord", "print", "range", "round", "self",
+            "set", "sorted", "str", "sum", "super", "tuple", "type", "filter", "iter", "object");
+
+    private static final Map<String, String> EXCEPTIONS = Map.ofEntries(
+            Map.entry("Throwable", "Exception"),
+            Map.entry("Exception", "Exception"),
+            Map.entry("RuntimeException", "Exception"),
+            Map.entry("Error", "Exception"),
+            Map.entry("ArithmeticException", "ZeroDivisionError"),
+            Map.entry("NullPointerException", "AttributeError"),
+            Map.entry("ArrayIndexOutOfBoundsException", "IndexError"),
+            Map.entry("IndexOutOfBoundsException", "IndexError"),
+            Map.entry("StringIndexOutOfBoundsException", "IndexError"),
+            Map.entry("NumberFormatException", "ValueError"),
+            Map.entry("IllegalArgumentException", "ValueError"),
+            Map.entry("IllegalStateException", "RuntimeError"),
+            Map.entry("UnsupportedOperationException", "NotImplementedError"),
+            Map.entry("ClassCastException", "TypeError"),
+            Map.entry("IOException", "OSError"),
+            Map.entry("UncheckedIOException", "OSError"),
+            Map.entry("FileNotFoundException", "FileNotFoundError"),
+            Map.entry("NoSuchElementException", "StopIteration"),
+            Map.entry("InterruptedException", "InterruptedError"),
+            Map.entry("StackOverflowError", "RecursionError"),
+            Map.entry("OutOfMemoryError", "MemoryError"));
+
+    private static final Map<String, String> TYPE_NAMES = Map.ofEntries(
+            Map.entry("int", "int"), Map.entry("long", "int"), Map.entry("short", "int"), Map.entry("byte", "int"),
+            Map.entry("Integer", "int"), Map.entry("Long", "int"), Map.entry("Short", "int"), Map.entry("Byte", "int"),
+            Map.entry("BigInteger", "int"),
+            Map.entry("double", "float"), Map.entry("float", "float"), Map.entry("Double", "float"),
+            Map.entry("Float", "float"),
+            Map.entry("boolean", "bool"), Map.entry("Boolean", "bool"),
+            Map.entry("char", "str"), Map.entry("Character", "str"), Map.entry("String", "str"),
+            Map.entry("CharSequence", "str"),
+            Map.entry("Object", "object"),
+            Map.entry("List", "list"), Map.entry("ArrayList", "list"), Map.entry("LinkedList", "list"),
+            Map.entry("Collection", "list"),
+            Map.entry("Map", "dict"), Map.entry("HashMap", "dict"), Map.entry("TreeMap", "dict"),
+            Map.entry("LinkedHashMap", "dict"),
+            Map.entry("Set", "set"), Map.entry("HashSet", "set"), Map.entry("TreeSet", "set"),
+            Map.entry("LinkedHashSet", "set"));
+
+    private static final Map<String, ReceiverKind> RECEIVER_KINDS = Map.ofEntries(
+            Map.entry("String", ReceiverKind.STRING), Map.entry("CharSequence", ReceiverKind.STRING),
+            Map.entry("List", ReceiverKind.LIST), Map.entry("ArrayList", ReceiverKind.LIST),
+            Map.entry("LinkedList", ReceiverKind.LIST), Map.entry("Collection", ReceiverKind.LIST),
+            Map.entry("Deque", ReceiverKind.LIST), Map.entry("ArrayDeque", ReceiverKind.LIST),
+            Map.entry("Map", ReceiverKind.MAP), Map.entry("HashMap", ReceiverKind.MAP),
+            Map.entry("TreeMap", ReceiverKind.MAP), Map.entry("LinkedHashMap", ReceiverKind.MAP),
+            Map.entry("Set", ReceiverKind.SET), Map.entry("HashSet", ReceiverKind.SET),
+            Map.entry("TreeSet", ReceiverKind.SET), Map.entry("LinkedHashSet", ReceiverKind.SET),
+            Map.entry("StringBuilder", ReceiverKind.BUILDER), Map.entry("StringBuffer", ReceiverKind.BUILDER),
+            Map.entry("Entry", ReceiverKind.ENTRY),
+            Map.entry("Scanner", ReceiverKind.SCANNER),
+            Map.entry("Random", ReceiverKind.RANDOM));
+
+    private static final Set<String> INTEGRAL_TYPES = Set.of(
+            "int", "long", "short", "byte", "Integer", "Long", "Short", "Byte");
+
+    private static final Set<String> FLOATING_TYPES = Set.of("double", "float", "Double", "Float");
+
+    private static final Set<String> MATH_FUNCTIONS = Set.of(
+            "sqrt", "cbrt", "floor", "ceil", "log", "log10", "exp", "sin", "cos", "tan",
+            "asin", "acos", "atan", "atan2", "hypot", "toRadians", "toDegrees");
+
+    private PythonMappings() {
+    }
+
+    /**
+     * Java异常类型对应的Python异常，非JDK异常保持原名
+     */
+    public static String exceptionName(String javaName) {
+        return EXCEPTIONS.getOrDefault(javaName, javaName);
+    }
+
+    public static boolean isJdkException(String javaName) {
+        return EXCEPTIONS.containsKey(javaName);
+    }
+
+    /**
+     * Java类型对应的Python类型名，未知类型保持原名
+     */
+    public static String typeName(String javaName) {
+        String mapped = TYPE_NAMES.get(javaName);
+        if (mapped != null) {
+            return mapped;
+        }
+        return exceptionName(javaName);
+    }
+
+    public static ReceiverKind receiverKind(String declaredType) {
+        if (declaredType == null) {
+            return null;
+        }
+        if (declaredType.endsWith("[]")) {
+            return ReceiverKind.ARRAY;
+        }
+        return RECEIVER_KINDS.get(declaredType);
+    }
+
+    public static boolean isIntegralType(String declaredType) {
+        return declaredType != null && INTEGRAL_TYPES.contains(declaredType);
+    }
+
+    public static boolean isFloatingType(String declaredType) {
+        return declaredType != null && FLOATING_TYPES.contains(declaredType);
+    }
+
+    /**
+     * 声明变量但未初始化时在Python中使用的默认值
+     */
+    public static String defaultValue(String declaredType) {
+        if (isIntegralType(declaredType)) {
+            return "0";
+        }
+        if (isFloatingType(declaredType)) {
+            return "0.0";
+        }
+        if ("boolean".equals(declaredType)) {
+            return "False";
+        }
+        return "None";
+    }
+
+    /**
+     * 静态方法调用需要的Python导入，不需要时返回null
+     */
+    public static String importForStaticCall(String scope, String method) {
+        switch (scope) {
+            case "Math":
+                if (MATH_FUNCTIONS.contains(method)) {
+                    return "import math";
+                }
+                return "random".equals(method) ? "import random" : null;
+            case "Thread":
+            case "System":
+                if ("sleep".equals(method) || "currentTimeMillis".equals(method) || "nanoTime".equals(method)) {
+                    return "import time";
+                }
+                return "exit".equals(method) ? "import sys" : null;
+            case "Collections":
+                return "shuffle".equals(method) ? "import random" : null;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * 静态字段访问需要的Python导入，不需要时返回null
+     */
+    public static String importForStaticField(String scope, String field) {
+        if ("Math".equals(scope) && ("PI".equals(field) || "E".equals(field))) {
+            return "import math";
+        }
+        if ("System".equals(scope) && ("err".equals(field) || "in".equals(field))) {
+            return "import sys";
+        }
+        return null;
+    }
+
+    /**
+     * 实例方法调用（与接收者类型无关的映射）需要的Python导入
+     */
+    public static String importForInstanceCall(String method, int argumentCount) {
+        if (("matches".equals(method) && argumentCount == 1) || ("replaceAll".equals(method) && argumentCount == 2)) {
+            return "import re";
+        }
+        if ("printStackTrace".equals(method) && argumentCount == 0) {
+            return "import traceback";
+        }
+        if ("reduce".equals(method) && argumentCount == 2) {
+            return "import functools";
+        }
+        return null;
+    }
+
+    /**
+     * 对象创建需要的Python导入
+     */
+    public static String importForCreation(String type) {
+        return "Random".equals(type) ? "import random" : null;
+    }
+
+    /**
+     * 将Java标识符转换为合法且不遮蔽内置名称的Python标识符
+     */
+    public static String pythonIdentifier(String javaName, boolean snakeCase) {
+        String name = snakeCase && !isConstantName(javaName) ? toSnakeCase(javaName) : javaName;
+        if (PYTHON_KEYWORDS.contains(name) || PYTHON_BUILTINS.contains(name)) {
+            return name + "_";
+        }
+        return name;
+    }
+
+    public static boolean isConstantName(String name) {
+        boolean hasLetter = false;
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (Character.isLowerCase(c)) {
+                return false;
+            }
+            hasLetter |= Character.isLetter(c);
+        }
+        return hasLetter;
+    }
+
+    /**
+     * camelCase转snake_case，连续大写视为缩写（如 parseHTTPResponse -> parse_http_response）
+     */
+    public static String toSnakeCase(String name) {
+        StringBuilder sb = new StringBuilder(name.length() + 4);
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (Character.isUpperCase(c)) {
+                boolean prevLowerOrDigit = i > 0
+                        && (Character.isLowerCase(name.charAt(i - 1)) || Character.isDigit(name.charAt(i - 1)));
+                boolean acronymEnd = i > 0 && Character.isUpperCase(name.charAt(i - 1))
+                        && i + 1 < name.length() && Character.isLowerCase(name.charAt(i + 1));
+                if ((prevLowerOrDigit || acronymEnd) && sb.length() > 0 && sb.charAt(sb.length() - 1) != '_') {
+                    sb.append('_');
+                }
+                sb.append(Character.toLowerCase(c));
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,110 @@
+package com.company.pythonlearning.converter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * 按行输出Python代码的写入器
+ *
+ * <p>每生成一行即写入底层 {@link Writer}，不在内存中累积整个结果；
+ * 负责缩进管理，并在代码块为空时自动补充 {@code pass}。</p>
+ *
+ * @author Company
+ * @version 1.0.0
+ */
+public class PythonWriter {
+
+    private final Writer out;
+    private final String indentUnit;
+    private final Deque<Long> blockMarks = new ArrayDeque<>();
+    private int level;
+    private long linesWritten;
+    private long codeLines;
+    private int trailingBlankLines;
+
+    public PythonWriter(Writer out, int indentSize) {
+        this.out = out;
+        this.indentUnit = " ".repeat(indentSize);
+    }
+
+    /**
+     * 以当前缩进输出一行
+     */
+    public void line(String text) {
+        write(text);
+        codeLines++;
+    }
+
+    /**
+     * 以当前缩进输出一行注释，注释行不计入代码块内容
+     */
+    public void comment(String text) {
+        write(text.isEmpty() ? "#" : "# " + text);
+    }
+
+    private void write(String text) {
+        try {
+            for (int i = 0; i < level; i++) {
+                out.write(indentUnit);
+            }
+            out.write(text);
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        linesWritten++;
+        trailingBlankLines = 0;
+    }
+
+    /**
+     * 确保上一行之后至少有count个空行；文件开头和块的第一行之前不输出空行
+     */
+    public void blankLines(int count) {
+        if (linesWritten == 0 || (!blockMarks.isEmpty() && codeLines == blockMarks.peek())) {
+            return;
+        }
+        try {
+            while (trailingBlankLines < count) {
+                out.write('\n');
+                trailingBlankLines++;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 输出以冒号结尾的块头并进入新缩进层级
+     */
+    public void openBlock(String header) {
+        line(header);
+        level++;
+        blockMarks.push(codeLines);
+    }
+
+    /**
+     * 结束当前代码块，块内没有任何语句时补充pass
+     */
+    public void closeBlock() {
+        long mark = blockMarks.pop();
+        if (codeLines == mark) {
+            line("pass");
+        }
+        level--;
+    }
+
+    public void flush() {
+        try {
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public long getLinesWritten() {
+        return linesWritten;
+    }
+}
@@ -0,0 +1,120 @@
+package com.company.pythonlearning.converter;
+
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.body.EnumConstantDeclaration;
+import com.github.javaparser.ast.body.EnumDeclaration;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.body.Parameter;
+import com.github.javaparser.ast.body.RecordDeclaration;
+import com.github.javaparser.ast.body.TypeDeclaration;
+import com.github.javaparser.ast.body.VariableDeclarator;
+import com.github.javaparser.ast.stmt.Statement;
+import com.github.javaparser.ast.type.ClassOrInterfaceType;
+import com.github.javaparser.ast.type.Type;
+
+/**
+ * 符号分析阶段
+ *
+ * <p>收集源码中声明的类、方法、字段、变量及其声明类型，并按命名约定计算Python中的名称。
+ * 变量类型按名称记录、不区分作用域，用于集合类方法映射这类启发式判断已经足够。</p>
+ *
+ * @author Company
+ * @version 1.0.0
+ */
+public class SymbolPass implements ConversionPass {
+
+    @Override
+    public void apply(ParsedSource source, ConversionContext context) {
+        source.getCompilationUnit().walk(node -> {
+            context.checkpoint();
+            if (node instanceof TypeDeclaration<?> type) {
+                declareType(type, context);
+            } else if (node instanceof VariableDeclarator variable) {
+                declareVariable(variable.getNameAsString(), variable.getType(), context);
+            } else if (node instanceof Parameter parameter) {
+                declareVariable(parameter.getNameAsString(), parameter.getType(), context);
+                if (parameter.isVarArgs()) {
+                    context.declareType(parameter.getNameAsString(), typeName(parameter.getType()) + "[]");
+                }
+            } else if (node instanceof MethodDeclaration method) {
+                declareMethod(method, context);
+            } else if (node instanceof EnumConstantDeclaration constant) {
+                constant.getParentNode()
+                        .filter(EnumDeclaration.class::isInstance)
+                        .map(parent -> qualifiedName((EnumDeclaration) parent))
+                        .ifPresent(owner -> context.declareEnumConstant(constant.getNameAsString(), owner));
+            }
+        });
+    }
+
+    private void declareType(TypeDeclaration<?> type, ConversionContext context) {
+        String name = type.getNameAsString();
+        if (ParsedSource.WRAPPER_CLASS.equals(name)) {
+            return;
+        }
+        context.declareClass(name, qualifiedName(type), type instanceof EnumDeclaration);
+        if (type instanceof RecordDeclaration record) {
+            record.getParameters().forEach(p -> context.declareRecordComponent(p.getNameAsString()));
+        }
+    }
+
+    private void declareVariable(String name, Type type, ConversionContext context) {
+        rename(name, context);
+        if (!type.isUnknownType() && !type.isVarType()) {
+            context.declareType(name, typeName(type));
+        }
+    }
+
+    private void declareMethod(MethodDeclaration method, ConversionContext context) {
+        String name = method.getNameAsString();
+        if (ParsedSource.WRAPPER_METHOD.equals(name)) {
+            return;
+        }
+        context.declareMethod(name);
+        int parameters = method.getParameters().size();
+        if ("toString".equals(name) && parameters == 0) {
+            context.rename(name, "__str__");
+        } else if ("equals".equals(name) && parameters == 1) {
+            context.rename(name, "__eq__");
+        } else if ("hashCode".equals(name) && parameters == 0) {
+            context.rename(name, "__hash__");
+        } else {
+            rename(name, context);
+        }
+    }
+
+    private void rename(String name, ConversionContext context) {
+        String pythonName = PythonMappings.pythonIdentifier(name, context.isSnakeCase());
+        if (!pythonName.equals(name)) {
+            context.rename(name, pythonName);
+        }
+    }
+
+    /**
+     * 类型的简单名称，数组类型追加[]，泛型参数被忽略
+     */
+    static String typeName(Type type) {
+        if (type.isArrayType()) {
+            return typeName(type.asArrayType().getComponentType()) + "[]";
+        }
+        if (type instanceof ClassOrInterfaceType classType) {
+            return classType.getNameAsString();
+        }
+        return type.asString();
+    }
+
+    /**
+     * 类型在Python中的限定名，片段包装类不参与限定，局部类只使用简单名称
+     */
+    static String qualifiedName(TypeDeclaration<?> type) {
+        StringBuilder name = new StringBuilder(type.getNameAsString());
+        Node parent = type.getParentNode().orElse(null);
+        while (parent != null && !(parent instanceof Statement)) {
+            if (parent instanceof TypeDeclaration<?> outer && !ParsedSource.WRAPPER_CLASS.equals(outer.getNameAsString())) {
+                name.insert(0, outer.getNameAsString() + ".");
+            }
+            parent = parent.getParentNode().orElse(null);
+        }
+        return name.toString();
+    }
+}
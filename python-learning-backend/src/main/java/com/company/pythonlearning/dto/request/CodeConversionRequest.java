@@ -1,5 +1,6 @@
 package com.company.pythonlearning.dto.request;
 
+import com.fasterxml.jackson.annotation.JsonAlias;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Data;
 
@@ -19,6 +20,7 @@ public class CodeConversionRequest {
     
     private String targetLanguage = "python";
     
+    @JsonAlias("options")
     private ConversionOptions conversionOptions;
     
     @Data
@@ -0,0 +1,25 @@
+package com.company.pythonlearning.dto.request;
+
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+/**
+ * 代码运行请求DTO
+ * 
+ * @author Company
+ * @version 1.0.0
+ */
+@Data
+public class CodeRunRequest {
+    
+    /**
+     * 修改后的Python代码，为空时运行示例中保存的代码
+     */
+    private String code;
+    
+    /**
+     * 提供给 input() 读取的标准输入
+     */
+    @Size(max = 10000, message = "标准输入不能超过10000个字符")
+    private String stdin;
+}
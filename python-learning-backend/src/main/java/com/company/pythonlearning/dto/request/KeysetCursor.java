@@ -0,0 +1,66 @@
+package com.company.pythonlearning.dto.request;
+
+import com.company.pythonlearning.exception.BusinessException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 键集分页游标
+ *
+ * <p>记录上一页最后一条记录的 (sortOrder, id)，下一页从该位置之后继续读取，
+ * 查询代价与翻页深度无关。对外以Base64编码的不透明字符串传递。</p>
+ *
+ * @author Company
+ * @version 1.0.0
+ */
+public record KeysetCursor(int sortOrder, long id) {
+    
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    
+    public static final int MAX_PAGE_SIZE = 100;
+    
+    /**
+     * 第一页的起始位置
+     */
+    public static final KeysetCursor FIRST = new KeysetCursor(Integer.MIN_VALUE, 0L);
+    
+    public static KeysetCursor of(Integer sortOrder, Long id) {
+        return new KeysetCursor(sortOrder != null ? sortOrder : 0, id);
+    }
+    
+    /**
+     * 解析游标，为空时从第一页开始
+     */
+    public static KeysetCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return FIRST;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.indexOf(':');
+            return new KeysetCursor(Integer.parseInt(value.substring(0, separator)),
+                    Long.parseLong(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new BusinessException("无效的分页游标");
+        }
+    }
+    
+    /**
+     * 规范化每页条数，未指定时取默认值，超过上限时取上限
+     */
+    public static int pageSize(Integer size) {
+        if (size == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (size < 1) {
+            throw new BusinessException("每页条数必须大于0");
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+    
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((sortOrder + ":" + id).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,21 @@
+package com.company.pythonlearning.dto.request;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+/**
+ * 学习进度上报请求DTO
+ * 
+ * @author Company
+ * @version 1.0.0
+ */
+@Data
+public class ProgressUpdateRequest {
+    
+    @NotNull(message = "学习进度不能为空")
+    @Min(value = 0, message = "学习进度不能小于0")
+    @Max(value = 100, message = "学习进度不能大于100")
+    private Integer progress;
+}
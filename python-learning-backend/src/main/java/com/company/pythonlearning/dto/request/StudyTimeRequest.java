@@ -0,0 +1,22 @@
+package com.company.pythonlearning.dto.request;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+/**
+ * 学习时长上报请求DTO
+ * 
+ * @author Company
+ * @version 1.0.0
+ */
+@Data
+public class StudyTimeRequest {
+    
+    /**
+     * 自上次上报以来的学习时长（秒）
+     */
+    @NotNull(message = "学习时长不能为空")
+    @Min(value = 1, message = "学习时长必须大于0")
+    private Long duration;
+}
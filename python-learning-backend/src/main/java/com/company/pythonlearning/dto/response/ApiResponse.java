@@ -1,58 +1,103 @@
 package com.company.pythonlearning.dto.response;
 
-import lombok.Data;
+import com.company.pythonlearning.json.CoarseClock;
+import lombok.Getter;
 
 import java.time.LocalDateTime;
+import java.util.Map;
 
 /**
  * 统一API响应DTO
- * 
+ *
+ * <p>响应对象不可变，不带数据的常用响应（默认成功、系统异常等）使用共享实例。
+ * 时间戳不随对象保存，序列化时取 {@link CoarseClock} 的当前时间，
+ * 由 {@link com.company.pythonlearning.json.ApiJsonModule} 直接写出。</p>
+ *
  * @author Company
  * @version 1.0.0
  */
-@Data
-public class ApiResponse<T> {
-    
-    private Integer code;
-    
-    private String message;
-    
-    private T data;
-    
-    private LocalDateTime timestamp;
-    
-    public ApiResponse() {
-        this.timestamp = LocalDateTime.now();
-    }
-    
-    public ApiResponse(Integer code, String message) {
-        this();
+@Getter
+public final class ApiResponse<T> {
+
+    public static final String SYSTEM_ERROR_MESSAGE = "系统异常，请稍后重试";
+
+    private static final ApiResponse<?> SUCCESS = new ApiResponse<>(200, "操作成功", null);
+
+    private static final ApiResponse<?> SYSTEM_ERROR = new ApiResponse<>(500, SYSTEM_ERROR_MESSAGE, null);
+
+    /**
+     * 控制器中常用的不带数据的成功响应
+     */
+    private static final Map<String, ApiResponse<?>> SHARED_SUCCESS = Map.of(
+            "操作成功", SUCCESS,
+            "删除成功", new ApiResponse<>(200, "删除成功", null),
+            "提交成功", new ApiResponse<>(200, "提交成功", null),
+            "上报成功", new ApiResponse<>(200, "上报成功", null));
+
+    private final Integer code;
+
+    private final String message;
+
+    private final T data;
+
+    private ApiResponse(Integer code, String message, T data) {
         this.code = code;
         this.message = message;
-    }
-    
-    public ApiResponse(Integer code, String message, T data) {
-        this(code, message);
         this.data = data;
     }
-    
+
+    /**
+     * 响应时间戳，精度见 {@link CoarseClock#RESOLUTION_MILLIS}
+     */
+    public LocalDateTime getTimestamp() {
+        return CoarseClock.now();
+    }
+
     public static <T> ApiResponse<T> success() {
-        return new ApiResponse<>(200, "操作成功");
+        return shared(SUCCESS);
     }
-    
+
     public static <T> ApiResponse<T> success(T data) {
-        return new ApiResponse<>(200, "操作成功", data);
+        return data == null ? success() : new ApiResponse<>(200, "操作成功", data);
     }
-    
+
     public static <T> ApiResponse<T> success(String message, T data) {
+        if (data == null) {
+            ApiResponse<?> response = message == null ? null : SHARED_SUCCESS.get(message);
+            if (response != null) {
+                return shared(response);
+            }
+        }
         return new ApiResponse<>(200, message, data);
     }
-    
+
     public static <T> ApiResponse<T> error(Integer code, String message) {
-        return new ApiResponse<>(code, message);
+        if (Integer.valueOf(500).equals(code) && SYSTEM_ERROR_MESSAGE.equals(message)) {
+            return systemError();
+        }
+        return new ApiResponse<>(code, message, null);
+    }
+
+    public static <T> ApiResponse<T> error(Integer code, String message, T data) {
+        return new ApiResponse<>(code, message, data);
     }
-    
+
     public static <T> ApiResponse<T> error(String message) {
-        return new ApiResponse<>(500, message);
+        return error(500, message);
+    }
+
+    /**
+     * 系统异常响应，不暴露异常详情
+     */
+    public static <T> ApiResponse<T> systemError() {
+        return shared(SYSTEM_ERROR);
+    }
+
+    /**
+     * 共享实例不带数据，可安全地按任意数据类型返回
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> ApiResponse<T> shared(ApiResponse<?> response) {
+        return (ApiResponse<T>) response;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,30 @@
+package com.company.pythonlearning.dto.response;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 代码转换响应DTO
+ * 
+ * @author Company
+ * @version 1.0.0
+ */
+@Data
+public class CodeConversionResponse {
+    
+    private Boolean success;
+    
+    private String convertedCode;
+    
+    private Integer conversionScore;
+    
+    private List<String> warnings;
+    
+    private List<String> errors;
+    
+    /**
+     * 转换耗时（毫秒）
+     */
+    private Long executionTime;
+}
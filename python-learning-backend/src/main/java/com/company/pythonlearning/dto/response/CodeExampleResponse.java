@@ -0,0 +1,44 @@
+package com.company.pythonlearning.dto.response;
+
+import com.company.pythonlearning.entity.CodeExample;
+import com.company.pythonlearning.enums.DifficultyLevel;
+import lombok.Data;
+
+/**
+ * 代码示例详情响应DTO
+ * 
+ * @author Company
+ * @version 1.0.0
+ */
+@Data
+public class CodeExampleResponse {
+    
+    private Long id;
+    
+    private Long moduleId;
+    
+    private String title;
+    
+    private String javaCode;
+    
+    private String pythonCode;
+    
+    private String explanation;
+    
+    private DifficultyLevel difficultyLevel;
+    
+    private Integer sortOrder;
+    
+    public static CodeExampleResponse from(CodeExample example) {
+        CodeExampleResponse response = new CodeExampleResponse();
+        response.setId(example.getId());
+        response.setModuleId(example.getLearningModule().getId());
+        response.setTitle(example.getTitle());
+        response.setJavaCode(example.getJavaCode());
+        response.setPythonCode(example.getPythonCode());
+        response.setExplanation(example.getExplanation());
+        response.setDifficultyLevel(example.getDifficultyLevel());
+        response.setSortOrder(example.getSortOrder());
+        return response;
+    }
+}
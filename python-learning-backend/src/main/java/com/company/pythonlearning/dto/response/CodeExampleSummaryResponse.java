@@ -0,0 +1,39 @@
+package com.company.pythonlearning.dto.response;
+
+import com.company.pythonlearning.enums.DifficultyLevel;
+import com.company.pythonlearning.entity.CodeExample;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 代码示例摘要响应DTO（不含代码正文）
+ * 
+ * @author Company
+ * @version 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CodeExampleSummaryResponse {
+    
+    private Long id;
+    
+    private Long moduleId;
+    
+    private String title;
+    
+    private DifficultyLevel difficultyLevel;
+    
+    private Integer sortOrder;
+    
+    public static CodeExampleSummaryResponse from(CodeExample example) {
+        CodeExampleSummaryResponse summary = new CodeExampleSummaryResponse();
+        summary.setId(example.getId());
+        summary.setModuleId(example.getLearningModule().getId());
+        summary.setTitle(example.getTitle());
+        summary.setDifficultyLevel(example.getDifficultyLevel());
+        summary.setSortOrder(example.getSortOrder());
+        return summary;
+    }
+}
@@ -0,0 +1,59 @@
+package com.company.pythonlearning.dto.response;
+
+import com.company.pythonlearning.enums.RunStatus;
+import com.company.pythonlearning.sandbox.SandboxResult;
+import lombok.Data;
+
+/**
+ * 代码运行响应DTO
+ * 
+ * @author Company
+ * @version 1.0.0
+ */
+@Data
+public class CodeRunResponse {
+    
+    private RunStatus status;
+    
+    private String stdout;
+    
+    private String stderr;
+    
+    /**
+     * 未捕获异常的回溯信息
+     */
+    private String error;
+    
+    /**
+     * CPU耗时（毫秒）
+     */
+    private Long cpuTime;
+    
+    /**
+     * 运行耗时（毫秒）
+     */
+    private Long executionTime;
+    
+    /**
+     * 输出是否被截断
+     */
+    private Boolean truncated;
+    
+    /**
+     * 是否为发布时预先运行的缓存结果
+     */
+    private Boolean cached;
+    
+    public static CodeRunResponse from(SandboxResult result, boolean cached) {
+        CodeRunResponse response = new CodeRunResponse();
+        response.setStatus(result.status());
+        response.setStdout(result.stdout());
+        response.setStderr(result.stderr());
+        response.setError(result.error());
+        response.setCpuTime(result.cpuMillis());
+        response.setExecutionTime(result.wallMillis());
+        response.setTruncated(result.truncated());
+        response.setCached(cached);
+        return response;
+    }
+}
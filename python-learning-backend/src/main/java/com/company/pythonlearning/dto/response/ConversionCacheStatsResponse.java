@@ -0,0 +1,45 @@
+package com.company.pythonlearning.dto.response;
+
+import lombok.Data;
+
+/**
+ * 转换缓存统计响应DTO
+ * 
+ * @author Company
+ * @version 1.0.0
+ */
+@Data
+public class ConversionCacheStatsResponse {
+    
+    private Boolean enabled;
+    
+    private Long hitCount;
+    
+    private Long missCount;
+    
+    private Double hitRate;
+    
+    private Long evictionCount;
+    
+    /**
+     * 被淘汰条目的累计估算字节数
+     */
+    private Long evictionWeight;
+    
+    private Long entryCount;
+    
+    /**
+     * 当前缓存占用的估算字节数
+     */
+    private Long weightedSizeBytes;
+    
+    /**
+     * 本地未命中、从共享缓存层取得结果的次数
+     */
+    private Long sharedHitCount;
+    
+    /**
+     * 本地与共享缓存层均未命中的次数
+     */
+    private Long sharedMissCount;
+}
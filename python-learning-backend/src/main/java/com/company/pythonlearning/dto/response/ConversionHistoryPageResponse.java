@@ -0,0 +1,26 @@
+package com.company.pythonlearning.dto.response;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 转换历史分页响应DTO，按转换时间倒序
+ * 
+ * @author Company
+ * @version 1.0.0
+ */
+@Data
+public class ConversionHistoryPageResponse {
+    
+    private List<ConversionHistoryResponse> items;
+    
+    private Integer total;
+    
+    /**
+     * 页码，从1开始
+     */
+    private Integer page;
+    
+    private Integer size;
+}
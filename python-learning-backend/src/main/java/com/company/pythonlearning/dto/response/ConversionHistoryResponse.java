@@ -0,0 +1,30 @@
+package com.company.pythonlearning.dto.response;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 转换历史响应DTO
+ * 
+ * @author Company
+ * @version 1.0.0
+ */
+@Data
+public class ConversionHistoryResponse {
+    
+    private Long id;
+    
+    private String javaCode;
+    
+    private String pythonCode;
+    
+    /**
+     * 转换耗时（毫秒）
+     */
+    private Long conversionTime;
+    
+    private Integer conversionScore;
+    
+    private LocalDateTime createdAt;
+}
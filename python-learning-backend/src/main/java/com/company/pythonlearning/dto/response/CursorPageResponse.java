@@ -0,0 +1,49 @@
+package com.company.pythonlearning.dto.response;
+
+import com.company.pythonlearning.dto.request.KeysetCursor;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 键集分页响应DTO
+ * 
+ * @author Company
+ * @version 1.0.0
+ */
+@Data
+public class CursorPageResponse<T> {
+    
+    private List<T> items;
+    
+    private Integer size;
+    
+    private Boolean hasMore;
+    
+    /**
+     * 下一页游标，没有更多数据时为null
+     */
+    private String nextCursor;
+    
+    /**
+     * 由多查询一条的结果构建分页：rows最多为size+1条，多出的一条只用于判断是否还有下一页
+     */
+    public static <E, T> CursorPageResponse<T> of(List<E> rows, int size,
+                                                  Function<E, KeysetCursor> keyOf, Function<E, T> mapper) {
+        boolean hasMore = rows.size() > size;
+        List<E> page = hasMore ? rows.subList(0, size) : rows;
+        List<T> items = new ArrayList<>(page.size());
+        for (E row : page) {
+            items.add(mapper.apply(row));
+        }
+        
+        CursorPageResponse<T> response = new CursorPageResponse<>();
+        response.setItems(items);
+        response.setSize(items.size());
+        response.setHasMore(hasMore);
+        response.setNextCursor(hasMore ? keyOf.apply(page.get(page.size() - 1)).encode() : null);
+        return response;
+    }
+}
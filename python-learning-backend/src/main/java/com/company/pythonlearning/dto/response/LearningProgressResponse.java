@@ -0,0 +1,28 @@
+package com.company.pythonlearning.dto.response;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 学习进度响应DTO
+ * 
+ * @author Company
+ * @version 1.0.0
+ */
+@Data
+public class LearningProgressResponse {
+    
+    private Long moduleId;
+    
+    private Integer progress;
+    
+    private Boolean completed;
+    
+    /**
+     * 累计学习时长（秒）
+     */
+    private Long timeSpent;
+    
+    private LocalDateTime lastStudyTime;
+}
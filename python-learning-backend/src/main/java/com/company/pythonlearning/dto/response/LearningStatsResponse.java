@@ -0,0 +1,102 @@
+package com.company.pythonlearning.dto.response;
+
+import com.company.pythonlearning.entity.LearningModule.ModuleType;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 学习面板统计响应DTO
+ * 
+ * @author Company
+ * @version 1.0.0
+ */
+@Data
+public class LearningStatsResponse {
+    
+    /**
+     * 累计学习时长（分钟）
+     */
+    private Long totalMinutes;
+    
+    private Integer completedModules;
+    
+    private Integer completedLessons;
+    
+    private Integer quizAttempts;
+    
+    /**
+     * 测验平均分，未参加测验时为null
+     */
+    private Double averageQuizScore;
+    
+    /**
+     * 达到及格分数的测验比例（百分比），未参加测验时为null
+     */
+    private Double quizPassRate;
+    
+    /**
+     * 当前连续学习天数，昨天和今天都没有学习时为0
+     */
+    private Integer streakDays;
+    
+    private Integer longestStreak;
+    
+    private LocalDate lastActiveDate;
+    
+    /**
+     * 已发布模块的完成情况，按模块排序
+     */
+    private List<ModuleStats> modules = new ArrayList<>();
+    
+    /**
+     * 技能雷达图：每种模块类型的平均完成度
+     */
+    private List<SkillScore> skills = new ArrayList<>();
+    
+    @Data
+    public static class ModuleStats {
+        
+        private Long moduleId;
+        
+        private String title;
+        
+        private ModuleType moduleType;
+        
+        private Long lessonCount;
+        
+        private Integer completedLessons;
+        
+        /**
+         * 上报的学习进度（百分比）
+         */
+        private Integer progress;
+        
+        /**
+         * 完成度（百分比）：上报进度与已完成课程比例中的较大值
+         */
+        private Integer completionRate;
+        
+        private Boolean completed;
+        
+        /**
+         * 学习时长（分钟）
+         */
+        private Long minutes;
+        
+        private Double averageQuizScore;
+    }
+    
+    @Data
+    public static class SkillScore {
+        
+        private ModuleType skill;
+        
+        /**
+         * 该类型模块的平均完成度（0-100）
+         */
+        private Integer score;
+    }
+}
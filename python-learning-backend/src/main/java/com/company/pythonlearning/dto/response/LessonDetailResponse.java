@@ -0,0 +1,69 @@
+package com.company.pythonlearning.dto.response;
+
+import com.company.pythonlearning.enums.DifficultyLevel;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 课程详情响应DTO（课程正文 + 所属模块的代码示例）
+ *
+ * @author Company
+ * @version 1.0.0
+ */
+@Data
+@NoArgsConstructor
+public class LessonDetailResponse {
+
+    private Long id;
+
+    private Long moduleId;
+
+    private String moduleTitle;
+
+    private String title;
+
+    private String description;
+
+    private String content;
+
+    private String videoUrl;
+
+    private Integer durationMinutes;
+
+    private DifficultyLevel difficultyLevel;
+
+    private Integer sortOrder;
+
+    private Boolean isFree;
+
+    private String prerequisites;
+
+    private String learningObjectives;
+
+    private List<CodeExampleSummaryResponse> codeExamples = new ArrayList<>();
+
+    /**
+     * 供查询投影使用，代码示例由调用方挂载
+     */
+    public LessonDetailResponse(Long id, Long moduleId, String moduleTitle, String title, String description,
+                                String content, String videoUrl, Integer durationMinutes,
+                                DifficultyLevel difficultyLevel, Integer sortOrder, Boolean isFree,
+                                String prerequisites, String learningObjectives) {
+        this.id = id;
+        this.moduleId = moduleId;
+        this.moduleTitle = moduleTitle;
+        this.title = title;
+        this.description = description;
+        this.content = content;
+        this.videoUrl = videoUrl;
+        this.durationMinutes = durationMinutes;
+        this.difficultyLevel = difficultyLevel;
+        this.sortOrder = sortOrder;
+        this.isFree = isFree;
+        this.prerequisites = prerequisites;
+        this.learningObjectives = learningObjectives;
+    }
+}
@@ -0,0 +1,26 @@
+package com.company.pythonlearning.dto.response;
+
+import lombok.Data;
+
+import java.time.Instant;
+
+/**
+ * 课程统计响应DTO
+ * 
+ * @author Company
+ * @version 1.0.0
+ */
+@Data
+public class LessonStatisticsResponse {
+    
+    private Long totalLessons;
+    
+    private Long freeLessons;
+    
+    private Long publishedLessons;
+    
+    /**
+     * 最近一次与数据库核对计数的时间
+     */
+    private Instant reconciledAt;
+}
@@ -0,0 +1,49 @@
+package com.company.pythonlearning.dto.response;
+
+import com.company.pythonlearning.enums.DifficultyLevel;
+import com.company.pythonlearning.entity.Lesson;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 课程摘要响应DTO（不含正文）
+ * 
+ * @author Company
+ * @version 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LessonSummaryResponse {
+    
+    private Long id;
+    
+    private Long moduleId;
+    
+    private String title;
+    
+    private String description;
+    
+    private Integer durationMinutes;
+    
+    private DifficultyLevel difficultyLevel;
+    
+    private Integer sortOrder;
+    
+    private Boolean isFree;
+    
+    public static LessonSummaryResponse from(Lesson lesson) {
+        LessonSummaryResponse summary = new LessonSummaryResponse();
+        summary.setId(lesson.getId());
+        // 读取代理对象的ID不会触发关联模块的加载
+        summary.setModuleId(lesson.getLearningModule().getId());
+        summary.setTitle(lesson.getTitle());
+        summary.setDescription(lesson.getDescription());
+        summary.setDurationMinutes(lesson.getDurationMinutes());
+        summary.setDifficultyLevel(lesson.getDifficultyLevel());
+        summary.setSortOrder(lesson.getSortOrder());
+        summary.setIsFree(lesson.getIsFree());
+        return summary;
+    }
+}
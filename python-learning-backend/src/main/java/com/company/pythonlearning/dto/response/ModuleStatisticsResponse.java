@@ -0,0 +1,44 @@
+package com.company.pythonlearning.dto.response;
+
+import com.company.pythonlearning.enums.DifficultyLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 学习模块统计响应DTO
+ * 
+ * @author Company
+ * @version 1.0.0
+ */
+@Data
+public class ModuleStatisticsResponse {
+    
+    private Long totalModules;
+    
+    private Long publishedModules;
+    
+    /**
+     * 已发布模块按难度级别的数量，未设置难度的模块难度级别为null
+     */
+    private List<DifficultyCount> publishedByDifficulty = new ArrayList<>();
+    
+    /**
+     * 最近一次与数据库核对计数的时间
+     */
+    private Instant reconciledAt;
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class DifficultyCount {
+        
+        private DifficultyLevel difficultyLevel;
+        
+        private Long count;
+    }
+}
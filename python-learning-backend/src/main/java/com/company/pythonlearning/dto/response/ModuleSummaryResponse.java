@@ -0,0 +1,52 @@
+package com.company.pythonlearning.dto.response;
+
+import com.company.pythonlearning.entity.LearningModule;
+import com.company.pythonlearning.entity.LearningModule.ModuleType;
+import com.company.pythonlearning.enums.DifficultyLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 学习模块摘要响应DTO（不含课程和代码示例）
+ * 
+ * @author Company
+ * @version 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ModuleSummaryResponse {
+    
+    private Long id;
+    
+    private String title;
+    
+    private String description;
+    
+    private ModuleType moduleType;
+    
+    private DifficultyLevel difficultyLevel;
+    
+    private Integer estimatedDuration;
+    
+    private String thumbnailUrl;
+    
+    private Boolean isPublished;
+    
+    private Integer sortOrder;
+    
+    public static ModuleSummaryResponse from(LearningModule module) {
+        ModuleSummaryResponse summary = new ModuleSummaryResponse();
+        summary.setId(module.getId());
+        summary.setTitle(module.getTitle());
+        summary.setDescription(module.getDescription());
+        summary.setModuleType(module.getModuleType());
+        summary.setDifficultyLevel(module.getDifficultyLevel());
+        summary.setEstimatedDuration(module.getEstimatedDuration());
+        summary.setThumbnailUrl(module.getThumbnailUrl());
+        summary.setIsPublished(module.getIsPublished());
+        summary.setSortOrder(module.getSortOrder());
+        return summary;
+    }
+}
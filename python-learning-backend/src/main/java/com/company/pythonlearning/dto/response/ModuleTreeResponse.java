@@ -0,0 +1,74 @@
+package com.company.pythonlearning.dto.response;
+
+import com.company.pythonlearning.entity.LearningModule;
+import com.company.pythonlearning.entity.LearningModule.ModuleType;
+import com.company.pythonlearning.enums.DifficultyLevel;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 课程目录树响应DTO（模块 → 课程 / 代码示例）
+ * 
+ * @author Company
+ * @version 1.0.0
+ */
+@Data
+@NoArgsConstructor
+public class ModuleTreeResponse {
+    
+    private Long id;
+    
+    private String title;
+    
+    private String description;
+    
+    private ModuleType moduleType;
+    
+    private DifficultyLevel difficultyLevel;
+    
+    private Integer estimatedDuration;
+    
+    private String iconUrl;
+    
+    private String thumbnailUrl;
+    
+    private Integer sortOrder;
+    
+    private List<LessonSummaryResponse> lessons = new ArrayList<>();
+    
+    private List<CodeExampleSummaryResponse> codeExamples = new ArrayList<>();
+    
+    /**
+     * 供查询投影使用，课程和代码示例由调用方挂载
+     */
+    public ModuleTreeResponse(Long id, String title, String description, ModuleType moduleType,
+                              DifficultyLevel difficultyLevel, Integer estimatedDuration, String iconUrl,
+                              String thumbnailUrl, Integer sortOrder) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.moduleType = moduleType;
+        this.difficultyLevel = difficultyLevel;
+        this.estimatedDuration = estimatedDuration;
+        this.iconUrl = iconUrl;
+        this.thumbnailUrl = thumbnailUrl;
+        this.sortOrder = sortOrder;
+    }
+    
+    public static ModuleTreeResponse from(LearningModule module) {
+        ModuleTreeResponse node = new ModuleTreeResponse();
+        node.setId(module.getId());
+        node.setTitle(module.getTitle());
+        node.setDescription(module.getDescription());
+        node.setModuleType(module.getModuleType());
+        node.setDifficultyLevel(module.getDifficultyLevel());
+        node.setEstimatedDuration(module.getEstimatedDuration());
+        node.setIconUrl(module.getIconUrl());
+        node.setThumbnailUrl(module.getThumbnailUrl());
+        node.setSortOrder(module.getSortOrder());
+        return node;
+    }
+}
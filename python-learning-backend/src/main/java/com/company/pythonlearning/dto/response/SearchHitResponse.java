@@ -0,0 +1,27 @@
+package com.company.pythonlearning.dto.response;
+
+import com.company.pythonlearning.enums.SearchDocumentType;
+import lombok.Data;
+
+/**
+ * 搜索结果响应DTO
+ * 
+ * @author Company
+ * @version 1.0.0
+ */
+@Data
+public class SearchHitResponse {
+    
+    private SearchDocumentType type;
+    
+    private Long id;
+    
+    private Long moduleId;
+    
+    private String title;
+    
+    /**
+     * BM25相关度得分
+     */
+    private Double score;
+}
@@ -0,0 +1,23 @@
+package com.company.pythonlearning.dto.response;
+
+import com.company.pythonlearning.enums.SuggestionType;
+import lombok.Data;
+
+/**
+ * 搜索建议响应DTO
+ * 
+ * @author Company
+ * @version 1.0.0
+ */
+@Data
+public class SuggestionResponse {
+    
+    private String text;
+    
+    private SuggestionType type;
+    
+    /**
+     * 热度权重
+     */
+    private Integer weight;
+}
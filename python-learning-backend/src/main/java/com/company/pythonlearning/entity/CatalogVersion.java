@@ -0,0 +1,31 @@
+package com.company.pythonlearning.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import org.hibernate.annotations.ColumnDefault;
+
+/**
+ * 课程目录快照版本计数实体类
+ *
+ * <p>每个计数器一行，由 {@link com.company.pythonlearning.catalog.CatalogVersionCounter}
+ * 以 upsert 原子递增。计数保存在数据库中，不随共享缓存过期或实例重启而重置。</p>
+ *
+ * @author Company
+ * @version 1.0.0
+ */
+@Entity
+@Table(name = "catalog_versions")
+@Data
+public class CatalogVersion {
+    
+    @Id
+    @Column(length = 64)
+    private String name;
+    
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version = 0L;
+}
@@ -3,6 +3,10 @@ package com.company.pythonlearning.entity;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import com.company.pythonlearning.enums.DifficultyLevel;
 
 /**
@@ -12,7 +16,13 @@ import com.company.pythonlearning.enums.DifficultyLevel;
  * @version 1.0.0
  */
 @Entity
-@Table(name = "code_examples")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "catalog")
+@Table(name = "code_examples", indexes = {
+        @Index(name = "idx_code_examples_order_id", columnList = "execution_order, id"),
+        @Index(name = "idx_code_examples_module_order_id", columnList = "module_id, execution_order, id"),
+        @Index(name = "idx_code_examples_difficulty_order_id", columnList = "difficulty_level, execution_order, id")
+})
 @Data
 @EqualsAndHashCode(callSuper = false)
 public class CodeExample {
@@ -28,19 +38,35 @@ public class CodeExample {
     @Column(nullable = false)
     private String title;
     
-    @Column(name = "java_code", columnDefinition = "TEXT", nullable = false)
+    /**
+     * 代码正文和讲解压缩存储，作为同一延迟加载组在首次访问其中任一字段时一起加载
+     */
+    @Basic(fetch = FetchType.LAZY)
+    @Convert(converter = CompressedTextConverter.class)
+    @Column(name = "java_code", columnDefinition = "LONGBLOB", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private String javaCode;
     
-    @Column(name = "python_code", columnDefinition = "TEXT", nullable = false)
+    @Basic(fetch = FetchType.LAZY)
+    @Convert(converter = CompressedTextConverter.class)
+    @Column(name = "python_code", columnDefinition = "LONGBLOB", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private String pythonCode;
     
-    @Column(columnDefinition = "TEXT")
+    @Basic(fetch = FetchType.LAZY)
+    @Convert(converter = CompressedTextConverter.class)
+    @Column(columnDefinition = "LONGBLOB")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private String explanation;
     
     @Column(name = "difficulty_level")
     @Enumerated(EnumType.STRING)
     private DifficultyLevel difficultyLevel;
     
-    @Column(name = "execution_order")
+    @ColumnDefault("0")
+    @Column(name = "execution_order", nullable = false)
     private Integer sortOrder = 0;
 }
\ No newline at end of file
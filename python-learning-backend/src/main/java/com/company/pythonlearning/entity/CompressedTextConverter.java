@@ -0,0 +1,140 @@
+package com.company.pythonlearning.entity;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 大文本字段压缩存储转换器
+ *
+ * <p>课程正文、示例代码等字段以预置字典的Deflate格式存入二进制列。字典取自课程内容中常见的
+ * HTML标签、Java/Python代码片段和讲解用语，短文本也能得到可观的压缩率。</p>
+ *
+ * <p>存储格式以一个字节标记开头：{@code 0x00} 后接UTF-8原文（文本过短或压缩后不变小时使用），
+ * {@code 0x01} 后接4字节原文长度和使用 v1 字典压缩的数据。首字节不是这两个标记的值按UTF-8原文读取，
+ * 兼容通过SQL脚本直接写入的数据。字典内容一经使用不能修改，需要调整时新增字典版本和对应标记。</p>
+ *
+ * @author Company
+ * @version 1.0.0
+ */
+@Converter
+public class CompressedTextConverter implements AttributeConverter<String, byte[]> {
+
+    private static final byte PLAIN = 0x00;
+
+    private static final byte DEFLATE_V1 = 0x01;
+
+    /**
+     * 短于该字节数的文本不压缩
+     */
+    private static final int MIN_COMPRESS_BYTES = 64;
+
+    private static final int HEADER_BYTES = 1 + Integer.BYTES;
+
+    private static final byte[] DICTIONARY_V1 = loadDictionary("compression/catalog-text-v1.dict");
+
+    @Override
+    public byte[] convertToDatabaseColumn(String text) {
+        if (text == null) {
+            return null;
+        }
+        byte[] utf8 = text.getBytes(StandardCharsets.UTF_8);
+        if (utf8.length >= MIN_COMPRESS_BYTES) {
+            byte[] compressed = deflate(utf8);
+            if (compressed != null) {
+                return compressed;
+            }
+        }
+        byte[] column = new byte[utf8.length + 1];
+        column[0] = PLAIN;
+        System.arraycopy(utf8, 0, column, 1, utf8.length);
+        return column;
+    }
+
+    @Override
+    public String convertToEntityAttribute(byte[] column) {
+        if (column == null) {
+            return null;
+        }
+        if (column.length == 0) {
+            return "";
+        }
+        return switch (column[0]) {
+            case PLAIN -> new String(column, 1, column.length - 1, StandardCharsets.UTF_8);
+            case DEFLATE_V1 -> inflate(column);
+            default -> new String(column, StandardCharsets.UTF_8);
+        };
+    }
+
+    /**
+     * 压缩为带标记和原文长度的列值，压缩后不比原文小时返回null
+     */
+    private static byte[] deflate(byte[] utf8) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION, true);
+        try {
+            deflater.setDictionary(DICTIONARY_V1);
+            deflater.setInput(utf8);
+            deflater.finish();
+            // 输出超过原文长度即放弃压缩，缓冲区不必更大
+            byte[] column = new byte[utf8.length + 1];
+            int length = HEADER_BYTES;
+            while (!deflater.finished() && length < column.length) {
+                length += deflater.deflate(column, length, column.length - length);
+            }
+            if (!deflater.finished() || length >= utf8.length + 1) {
+                return null;
+            }
+            column[0] = DEFLATE_V1;
+            ByteBuffer.wrap(column, 1, Integer.BYTES).putInt(utf8.length);
+            return Arrays.copyOf(column, length);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static String inflate(byte[] column) {
+        int length = ByteBuffer.wrap(column, 1, Integer.BYTES).getInt();
+        byte[] utf8 = new byte[length];
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setDictionary(DICTIONARY_V1);
+            inflater.setInput(column, HEADER_BYTES, column.length - HEADER_BYTES);
+            int read = 0;
+            while (read < length && !inflater.finished()) {
+                int n = inflater.inflate(utf8, read, length - read);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                read += n;
+            }
+            if (read != length) {
+                throw new IllegalStateException("压缩文本已损坏: 期望 " + length + " 字节, 实际 " + read + " 字节");
+            }
+            return new String(utf8, StandardCharsets.UTF_8);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("压缩文本已损坏: " + e.getMessage(), e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static byte[] loadDictionary(String resource) {
+        try (InputStream in = CompressedTextConverter.class.getClassLoader().getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalStateException("缺少压缩字典: " + resource);
+            }
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -4,6 +4,9 @@ import com.company.pythonlearning.enums.DifficultyLevel;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDateTime;
@@ -17,7 +20,9 @@ import java.util.List;
  * @version 1.0.0
  */
 @Entity
-@Table(name = "learning_modules")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "catalog")
+@Table(name = "learning_modules", indexes = @Index(name = "idx_learning_modules_order_id", columnList = "sort_order, id"))
 @Data
 @EqualsAndHashCode(callSuper = false)
 public class LearningModule {
@@ -61,14 +66,16 @@ public class LearningModule {
     @Column(name = "is_published")
     private Boolean isPublished = false;
     
-    @Column(name = "sort_order")
-    private Integer sortOrder;
+    @ColumnDefault("0")
+    @Column(name = "sort_order", nullable = false)
+    private Integer sortOrder = 0;
     
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
     
     @OneToMany(mappedBy = "learningModule", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "catalog")
     private List<CodeExample> codeExamples = new ArrayList<>();
     
     public enum ModuleType {
@@ -0,0 +1,85 @@
+package com.company.pythonlearning.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * 学习进度实体类
+ *
+ * <p>每个用户在每个学习模块上一行，以 (用户名, 模块ID) 为主键，
+ * 同时保存该模块上随事件增量更新的计数（完成课程数、测验次数与分数合计）。
+ * 不使用自增主键，写入由 {@link com.company.pythonlearning.progress.ProgressBuffer}
+ * 合并后以批量 upsert 完成，不经过实体的持久化流程。</p>
+ *
+ * @author Company
+ * @version 1.0.0
+ */
+@Entity
+@Table(name = "learning_progress", indexes = @Index(name = "idx_learning_progress_module", columnList = "module_id"))
+@IdClass(LearningProgress.Key.class)
+@Data
+public class LearningProgress {
+    
+    @Id
+    @Column(length = 64)
+    private String username;
+    
+    @Id
+    @Column(name = "module_id")
+    private Long moduleId;
+    
+    /**
+     * 学习进度（百分比）
+     */
+    @Column(nullable = false)
+    private Integer progress = 0;
+    
+    /**
+     * 累计学习时长（秒）
+     */
+    @Column(name = "time_spent", nullable = false)
+    private Long timeSpent = 0L;
+    
+    @Column(nullable = false)
+    private Boolean completed = false;
+    
+    @Column(name = "last_study_time")
+    private LocalDateTime lastStudyTime;
+    
+    /**
+     * 已完成的课程数
+     */
+    @ColumnDefault("0")
+    @Column(name = "completed_lessons", nullable = false)
+    private Integer completedLessons = 0;
+    
+    /**
+     * 测验次数与分数合计，平均分由两者相除得到
+     */
+    @ColumnDefault("0")
+    @Column(name = "quiz_attempts", nullable = false)
+    private Integer quizAttempts = 0;
+    
+    @ColumnDefault("0")
+    @Column(name = "quiz_score_sum", nullable = false)
+    private Long quizScoreSum = 0L;
+    
+    /**
+     * 复合主键
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        
+        private String username;
+        
+        private Long moduleId;
+    }
+}
@@ -4,6 +4,10 @@ import com.company.pythonlearning.enums.DifficultyLevel;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
 /**
  * 课程实体类
@@ -12,7 +16,9 @@ import lombok.EqualsAndHashCode;
  * @version 1.0.0
  */
 @Entity
-@Table(name = "lessons")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "catalog")
+@Table(name = "lessons", indexes = @Index(name = "idx_lessons_order_id", columnList = "execution_order, id"))
 @Data
 @EqualsAndHashCode(callSuper = false)
 public class Lesson {
@@ -31,7 +37,14 @@ public class Lesson {
     @Column(columnDefinition = "TEXT")
     private String description;
     
-    @Column(name = "content", columnDefinition = "TEXT")
+    /**
+     * 课程正文（HTML），压缩存储，仅详情接口访问时加载
+     */
+    @Basic(fetch = FetchType.LAZY)
+    @Convert(converter = CompressedTextConverter.class)
+    @Column(name = "content", columnDefinition = "LONGBLOB")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private String content;
     
     @Column(name = "video_url")
@@ -44,7 +57,8 @@ public class Lesson {
     @Column(name = "difficulty_level")
     private DifficultyLevel difficultyLevel;
     
-    @Column(name = "execution_order")
+    @ColumnDefault("0")
+    @Column(name = "execution_order", nullable = false)
     private Integer sortOrder = 0;
     
     @Column(name = "is_active")
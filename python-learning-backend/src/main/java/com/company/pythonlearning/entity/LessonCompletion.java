@@ -0,0 +1,51 @@
+package com.company.pythonlearning.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * 课程完成记录实体类
+ *
+ * <p>用于课程完成事件去重：同一用户重复完成同一课程时不重复计数。</p>
+ *
+ * @author Company
+ * @version 1.0.0
+ */
+@Entity
+@Table(name = "lesson_completions")
+@IdClass(LessonCompletion.Key.class)
+@Data
+public class LessonCompletion {
+    
+    @Id
+    @Column(length = 64)
+    private String username;
+    
+    @Id
+    @Column(name = "lesson_id")
+    private Long lessonId;
+    
+    @Column(name = "module_id", nullable = false)
+    private Long moduleId;
+    
+    @Column(name = "completed_at", nullable = false)
+    private LocalDateTime completedAt;
+    
+    /**
+     * 复合主键
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        
+        private String username;
+        
+        private Long lessonId;
+    }
+}
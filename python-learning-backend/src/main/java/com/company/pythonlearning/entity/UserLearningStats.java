@@ -0,0 +1,73 @@
+package com.company.pythonlearning.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.time.LocalDate;
+
+/**
+ * 用户学习统计实体类
+ *
+ * <p>每个用户一行的物化汇总，由 {@link com.company.pythonlearning.progress.LearningStatsWriter}
+ * 在进度写入、测验提交和课程完成时增量更新，学习面板按主键读取一行即可。</p>
+ *
+ * @author Company
+ * @version 1.0.0
+ */
+@Entity
+@Table(name = "user_learning_stats")
+@Data
+public class UserLearningStats {
+    
+    @Id
+    @Column(length = 64)
+    private String username;
+    
+    /**
+     * 累计学习时长（秒）
+     */
+    @ColumnDefault("0")
+    @Column(name = "time_spent", nullable = false)
+    private Long timeSpent = 0L;
+    
+    @ColumnDefault("0")
+    @Column(name = "completed_modules", nullable = false)
+    private Integer completedModules = 0;
+    
+    @ColumnDefault("0")
+    @Column(name = "completed_lessons", nullable = false)
+    private Integer completedLessons = 0;
+    
+    @ColumnDefault("0")
+    @Column(name = "quiz_attempts", nullable = false)
+    private Integer quizAttempts = 0;
+    
+    @ColumnDefault("0")
+    @Column(name = "quiz_score_sum", nullable = false)
+    private Long quizScoreSum = 0L;
+    
+    /**
+     * 达到及格分数的测验次数
+     */
+    @ColumnDefault("0")
+    @Column(name = "quizzes_passed", nullable = false)
+    private Integer quizzesPassed = 0;
+    
+    /**
+     * 截至最后学习日期的连续学习天数
+     */
+    @ColumnDefault("0")
+    @Column(name = "current_streak", nullable = false)
+    private Integer currentStreak = 0;
+    
+    @ColumnDefault("0")
+    @Column(name = "longest_streak", nullable = false)
+    private Integer longestStreak = 0;
+    
+    @Column(name = "last_active_date")
+    private LocalDate lastActiveDate;
+}
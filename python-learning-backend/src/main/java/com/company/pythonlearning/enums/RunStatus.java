@@ -0,0 +1,28 @@
+package com.company.pythonlearning.enums;
+
+/**
+ * 代码运行结果状态枚举
+ * 
+ * @author Company
+ * @version 1.0.0
+ */
+public enum RunStatus {
+    SUCCESS("运行成功"),
+    ERROR("运行出错"),
+    TIMEOUT("运行超时"),
+    CPU_LIMIT("超出CPU时间限制"),
+    MEMORY_LIMIT("超出内存限制"),
+    OUTPUT_LIMIT("超出输出大小限制"),
+    ABORTED("运行环境异常退出"),
+    CANCELLED("运行已取消");
+    
+    private final String description;
+    
+    RunStatus(String description) {
+        this.description = description;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+}
@@ -0,0 +1,23 @@
+package com.company.pythonlearning.enums;
+
+/**
+ * 搜索文档类型枚举
+ * 
+ * @author Company
+ * @version 1.0.0
+ */
+public enum SearchDocumentType {
+    MODULE("学习模块"),
+    LESSON("课程"),
+    CODE_EXAMPLE("代码示例");
+    
+    private final String description;
+    
+    SearchDocumentType(String description) {
+        this.description = description;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+}
@@ -0,0 +1,25 @@
+package com.company.pythonlearning.enums;
+
+/**
+ * 搜索建议来源枚举
+ * 
+ * @author Company
+ * @version 1.0.0
+ */
+public enum SuggestionType {
+    MODULE("学习模块标题"),
+    LESSON("课程标题"),
+    CODE_EXAMPLE("代码示例标题"),
+    JAVA_IDENTIFIER("Java标识符"),
+    PYTHON_KEYWORD("Python关键字");
+    
+    private final String description;
+    
+    SuggestionType(String description) {
+        this.description = description;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+}
@@ -34,9 +34,7 @@ public class GlobalExceptionHandler {
             errors.put(fieldName, errorMessage);
         });
         
-        ApiResponse<Map<String, String>> response = ApiResponse.error(400, "参数验证失败");
-        response.setData(errors);
-        
+        ApiResponse<Map<String, String>> response = ApiResponse.error(400, "参数验证失败", errors);
         return ResponseEntity.badRequest().body(response);
     }
     
@@ -56,7 +54,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<ApiResponse<Void>> handleRuntimeException(RuntimeException ex) {
         log.error("运行时异常: {}", ex.getMessage(), ex);
-        ApiResponse<Void> response = ApiResponse.error(500, "系统异常，请稍后重试");
+        ApiResponse<Void> response = ApiResponse.systemError();
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
     }
     
@@ -66,7 +64,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiResponse<Void>> handleAllExceptions(Exception ex) {
         log.error("系统异常: {}", ex.getMessage(), ex);
-        ApiResponse<Void> response = ApiResponse.error(500, "系统异常，请稍后重试");
+        ApiResponse<Void> response = ApiResponse.systemError();
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
     }
 }
\ No newline at end of file
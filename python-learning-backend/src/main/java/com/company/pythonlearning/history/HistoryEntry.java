@@ -0,0 +1,15 @@
+package com.company.pythonlearning.history;
+
+import java.time.Instant;
+
+/**
+ * 一条转换历史
+ *
+ * @param conversionTime 转换耗时（毫秒）
+ * @param score          转换质量评分
+ * @author Company
+ * @version 1.0.0
+ */
+public record HistoryEntry(long id, String username, Instant createdAt, long conversionTime, int score,
+                           String javaCode, String pythonCode) {
+}
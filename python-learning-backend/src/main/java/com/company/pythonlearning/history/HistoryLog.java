@@ -0,0 +1,533 @@
+package com.company.pythonlearning.history;
+
+import com.company.pythonlearning.config.ConverterProperties;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 转换历史日志
+ *
+ * <p>历史只追加写入本地磁盘上的分段日志（见 {@link HistorySegment}），不写数据库。记录分以下几类：</p>
+ * <ul>
+ *     <li>正文：Java源码与生成的Python代码，压缩后保存，以转换缓存使用的内容摘要去重，
+ *     同一段代码被多次转换只保存一份</li>
+ *     <li>条目：ID、用户、时间、耗时、评分和正文摘要</li>
+ *     <li>删除与清空：按ID删除单个条目或删除某用户不大于某ID的全部条目</li>
+ *     <li>序号：已分配的最大条目ID，压缩删除段后写入当前段，保证重启后ID不会复用</li>
+ * </ul>
+ *
+ * <p>内存中只保存索引：正文摘要到记录位置的映射，以及每个用户按ID排序的条目位置数组。
+ * 启动时按段序号依次回放全部记录重建索引。超出每用户条数上限或保留时间的条目从索引中移除，
+ * 回放时按同样的规则处理，结果一致。</p>
+ *
+ * <p>压缩总是从最早的段开始：最早段中仍有效的正文和条目复制到当前段末尾后删除整个段。
+ * 删除记录指向的条目只可能在同一段或更早的段中，因此删除最早的段时丢弃其中的删除记录是安全的。
+ * 段文件总大小超过上限时，最早段中的条目直接淘汰，只保留仍被其他条目引用的正文。</p>
+ *
+ * <p>追加、删除和压缩持有写锁，读取持有读锁。</p>
+ *
+ * @author Company
+ * @version 1.0.0
+ */
+@Slf4j
+public class HistoryLog implements Closeable {
+
+    private static final byte BODY = 1;
+
+    private static final byte ENTRY = 2;
+
+    private static final byte DELETE = 3;
+
+    private static final byte CLEAR = 4;
+
+    private static final byte SEQUENCE = 5;
+
+    private static final int HASH_BYTES = 32;
+
+    /**
+     * 某一页的条目与该用户的条目总数
+     */
+    public record Page(List<HistoryEntry> items, int total) {
+    }
+
+    private final Path directory;
+
+    private final ConverterProperties.History config;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final TreeMap<Integer, HistorySegment> segments = new TreeMap<>();
+
+    private final Map<String, Long> bodies = new HashMap<>();
+
+    private final Map<String, UserHistoryIndex> users = new HashMap<>();
+
+    private HistorySegment active;
+
+    private long nextId = 1;
+
+    private HistoryLog(Path directory, ConverterProperties.History config) {
+        this.directory = directory;
+        this.config = config;
+    }
+
+    /**
+     * 打开目录下的历史日志，回放已有段文件重建索引
+     */
+    public static HistoryLog open(Path directory, ConverterProperties.History config) throws IOException {
+        Files.createDirectories(directory);
+        HistoryLog historyLog = new HistoryLog(directory, config);
+        historyLog.recover();
+        return historyLog;
+    }
+
+    /**
+     * 追加一条历史，返回条目ID
+     *
+     * @param hash 正文的内容摘要（64位十六进制），与转换缓存的键相同
+     */
+    public long append(String username, String hash, String javaCode, String pythonCode,
+                       long conversionTime, int score) {
+        byte[] hashBytes = HexFormat.of().parseHex(hash);
+        ByteBuffer body = null;
+        lock.readLock().lock();
+        try {
+            if (!bodies.containsKey(hash)) {
+                // 压缩在写锁之外完成
+                body = encodeBody(hashBytes, javaCode, pythonCode);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        long now = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            if (!bodies.containsKey(hash)) {
+                if (body == null) {
+                    body = encodeBody(hashBytes, javaCode, pythonCode);
+                }
+                bodies.put(hash, appendRecord(BODY, body));
+            }
+            long id = nextId++;
+            long position = appendRecord(ENTRY, encodeEntry(id, now, conversionTime, score, hashBytes, username));
+            UserHistoryIndex index = users.computeIfAbsent(username, u -> new UserHistoryIndex());
+            index.put(id, position, now);
+            index.trimTo(config.getMaxEntriesPerUser());
+            return id;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 按时间倒序分页读取某用户的历史，page从1开始
+     */
+    public Page page(String username, int page, int size) {
+        lock.readLock().lock();
+        try {
+            UserHistoryIndex index = users.get(username);
+            if (index == null) {
+                return new Page(List.of(), 0);
+            }
+            int total = index.size();
+            int from = total - 1 - (page - 1) * size;
+            int to = Math.max(-1, from - size);
+            List<HistoryEntry> items = new ArrayList<>(Math.max(0, from - to));
+            for (int i = from; i > to; i--) {
+                HistoryEntry entry = readEntry(index.positionAt(i));
+                if (entry != null) {
+                    items.add(entry);
+                }
+            }
+            return new Page(items, total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 读取某用户的一条历史，不存在时返回null
+     */
+    public HistoryEntry get(String username, long id) {
+        lock.readLock().lock();
+        try {
+            UserHistoryIndex index = users.get(username);
+            long position = index != null ? index.position(id) : -1;
+            return position >= 0 ? readEntry(position) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean delete(String username, long id) {
+        lock.writeLock().lock();
+        try {
+            UserHistoryIndex index = users.get(username);
+            if (index == null || !index.remove(id)) {
+                return false;
+            }
+            appendRecord(DELETE, encodeUserRecord(id, username));
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 清空某用户的全部历史，返回删除的条数
+     */
+    public int clear(String username) {
+        lock.writeLock().lock();
+        try {
+            UserHistoryIndex index = users.remove(username);
+            if (index == null || index.size() == 0) {
+                return 0;
+            }
+            appendRecord(CLEAR, encodeUserRecord(index.idAt(index.size() - 1), username));
+            return index.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 把当前段已写入的内容刷到磁盘
+     */
+    public void sync() {
+        lock.readLock().lock();
+        try {
+            active.force();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 移除过期条目并压缩最早的段，返回删除的段数
+     */
+    public int compact() throws IOException {
+        lock.writeLock().lock();
+        try {
+            long cutoff = System.currentTimeMillis() - config.getRetention().toMillis();
+            users.values().forEach(index -> index.removeCreatedBefore(cutoff));
+            users.values().removeIf(index -> index.size() == 0);
+            int removed = 0;
+            while (segments.size() > 1 && compactOldest()) {
+                removed++;
+            }
+            if (removed > 0) {
+                // 被删除的段中可能有唯一记录着最大ID的条目或删除记录
+                appendRecord(SEQUENCE, ByteBuffer.allocate(8).putLong(nextId - 1).flip());
+            }
+            return removed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int segmentCount() {
+        lock.readLock().lock();
+        try {
+            return segments.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long totalBytes() {
+        lock.readLock().lock();
+        try {
+            return segmentBytes();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            if (active != null) {
+                active.force();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void recover() throws IOException {
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(path -> HistorySegment.parseNumber(path) >= 0).sorted().toList();
+        }
+        for (Path file : files) {
+            HistorySegment segment = HistorySegment.open(file, HistorySegment.parseNumber(file));
+            segments.put(segment.number(), segment);
+            segment.replay((offset, type, payload) -> replay(position(segment.number(), offset), type, payload));
+        }
+        long cutoff = System.currentTimeMillis() - config.getRetention().toMillis();
+        users.values().forEach(index -> index.removeCreatedBefore(cutoff));
+        users.values().removeIf(index -> index.size() == 0);
+
+        // 最后一段是预分配的可写段时继续追加，其余段封存
+        HistorySegment last = segments.isEmpty() ? null : segments.lastEntry().getValue();
+        for (HistorySegment segment : segments.values()) {
+            if (segment != last || !segment.hasRoom(0)) {
+                segment.seal();
+            }
+        }
+        active = last != null && !last.isSealed() ? last : newSegment();
+        log.info("转换历史日志已打开: {} 个段, {} 字节, {} 个用户, {} 份正文",
+                segments.size(), segmentBytes(), users.size(), bodies.size());
+    }
+
+    private void replay(long position, byte type, ByteBuffer payload) {
+        switch (type) {
+            case BODY -> bodies.put(readHash(payload, 0), position);
+            case ENTRY -> {
+                long id = payload.getLong(0);
+                String username = readUsername(payload, 28 + HASH_BYTES);
+                UserHistoryIndex index = users.computeIfAbsent(username, u -> new UserHistoryIndex());
+                index.put(id, position, payload.getLong(8));
+                index.trimTo(config.getMaxEntriesPerUser());
+                nextId = Math.max(nextId, id + 1);
+            }
+            case DELETE -> {
+                UserHistoryIndex index = users.get(readUsername(payload, 8));
+                if (index != null) {
+                    index.remove(payload.getLong(0));
+                }
+                nextId = Math.max(nextId, payload.getLong(0) + 1);
+            }
+            case CLEAR -> {
+                UserHistoryIndex index = users.get(readUsername(payload, 8));
+                if (index != null) {
+                    index.removeUpTo(payload.getLong(0));
+                }
+                nextId = Math.max(nextId, payload.getLong(0) + 1);
+            }
+            case SEQUENCE -> nextId = Math.max(nextId, payload.getLong(0) + 1);
+            default -> log.warn("转换历史日志中有未知类型的记录: {}", type);
+        }
+    }
+
+    /**
+     * 压缩最早的段；该段有效数据足够多且总大小未超限时不处理，返回false
+     */
+    private boolean compactOldest() throws IOException {
+        HistorySegment oldest = segments.firstEntry().getValue();
+        int number = oldest.number();
+        boolean overBudget = segmentBytes() > config.getMaxTotalBytes();
+        if (overBudget) {
+            users.values().forEach(index -> index.removeByPosition(position -> segmentOf(position) == number));
+            users.values().removeIf(index -> index.size() == 0);
+        }
+
+        // 最早段中仍有效的条目，以及所有有效条目引用的、位于最早段中的正文
+        List<long[]> liveEntries = new ArrayList<>();
+        Set<String> liveHashes = new HashSet<>();
+        long liveBytes = 0;
+        for (UserHistoryIndex index : users.values()) {
+            for (int i = 0; i < index.size(); i++) {
+                long position = index.positionAt(i);
+                String hash = readHash(payload(position), 28);
+                Long bodyPosition = bodies.get(hash);
+                if (bodyPosition != null && segmentOf(bodyPosition) == number && liveHashes.add(hash)) {
+                    liveBytes += oldest.recordBytes(offsetOf(bodyPosition));
+                }
+                if (segmentOf(position) == number) {
+                    liveEntries.add(new long[]{index.idAt(i), position});
+                    liveBytes += oldest.recordBytes(offsetOf(position));
+                }
+            }
+        }
+        if (!overBudget && liveBytes >= config.getCompactLiveRatio() * oldest.size()) {
+            return false;
+        }
+
+        for (String hash : liveHashes) {
+            bodies.put(hash, appendRecord(BODY, payload(bodies.get(hash))));
+        }
+        for (long[] entry : liveEntries) {
+            ByteBuffer payload = payload(entry[1]);
+            long copied = appendRecord(ENTRY, payload);
+            users.get(readUsername(payload, 28 + HASH_BYTES)).put(entry[0], copied, payload.getLong(8));
+        }
+        Iterator<Long> positions = bodies.values().iterator();
+        while (positions.hasNext()) {
+            if (segmentOf(positions.next()) == number) {
+                positions.remove();
+            }
+        }
+        segments.remove(number);
+        oldest.delete();
+        log.info("转换历史段 {} 已压缩: 复制 {} 份正文, {} 个条目, 原大小 {} 字节, 有效数据 {} 字节{}",
+                number, liveHashes.size(), liveEntries.size(), oldest.size(), liveBytes,
+                overBudget ? "（超出总大小上限, 段内条目已淘汰）" : "");
+        return true;
+    }
+
+    private long appendRecord(byte type, ByteBuffer payload) {
+        int length = payload.remaining();
+        if (HistorySegment.HEADER_BYTES + length > config.getSegmentBytes()) {
+            throw new IllegalArgumentException("转换历史记录过大: " + length + " 字节");
+        }
+        if (!active.hasRoom(length)) {
+            try {
+                active.seal();
+                active = newSegment();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return position(active.number(), active.append(type, payload));
+    }
+
+    private HistorySegment newSegment() throws IOException {
+        int number = segments.isEmpty() ? 0 : segments.lastKey() + 1;
+        HistorySegment segment = HistorySegment.create(directory, number, config.getSegmentBytes());
+        segments.put(number, segment);
+        return segment;
+    }
+
+    private HistoryEntry readEntry(long position) {
+        ByteBuffer entry = payload(position);
+        String hash = readHash(entry, 28);
+        Long bodyPosition = bodies.get(hash);
+        if (bodyPosition == null) {
+            log.warn("转换历史条目 {} 的正文缺失", entry.getLong(0));
+            return null;
+        }
+        ByteBuffer body = payload(bodyPosition);
+        int javaBytes = body.getInt(HASH_BYTES);
+        int pythonBytes = body.getInt(HASH_BYTES + 4);
+        byte[] text = inflate(body.slice(HASH_BYTES + 8, body.limit() - HASH_BYTES - 8), javaBytes + pythonBytes);
+        return new HistoryEntry(entry.getLong(0), readUsername(entry, 28 + HASH_BYTES),
+                Instant.ofEpochMilli(entry.getLong(8)), entry.getLong(16), entry.getInt(24),
+                new String(text, 0, javaBytes, StandardCharsets.UTF_8),
+                new String(text, javaBytes, pythonBytes, StandardCharsets.UTF_8));
+    }
+
+    private ByteBuffer payload(long position) {
+        return segments.get(segmentOf(position)).payload(offsetOf(position));
+    }
+
+    private long segmentBytes() {
+        long total = 0;
+        for (HistorySegment segment : segments.values()) {
+            total += segment.size();
+        }
+        return total;
+    }
+
+    /**
+     * 正文：摘要、Java与Python文本的UTF-8字节数、两段文本拼接后的压缩数据
+     */
+    private static ByteBuffer encodeBody(byte[] hash, String javaCode, String pythonCode) {
+        byte[] java = javaCode.getBytes(StandardCharsets.UTF_8);
+        byte[] python = pythonCode.getBytes(StandardCharsets.UTF_8);
+        Deflater deflater = new Deflater();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64 + (java.length + python.length) / 3);
+        out.writeBytes(hash);
+        out.writeBytes(ByteBuffer.allocate(8).putInt(java.length).putInt(python.length).array());
+        try {
+            deflater.setInput(ByteBuffer.allocate(java.length + python.length).put(java).put(python).flip());
+            deflater.finish();
+            byte[] chunk = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(chunk, 0, deflater.deflate(chunk));
+            }
+        } finally {
+            deflater.end();
+        }
+        return ByteBuffer.wrap(out.toByteArray());
+    }
+
+    /**
+     * 条目：ID、创建时间、耗时、评分、正文摘要、用户名
+     */
+    private static ByteBuffer encodeEntry(long id, long createdAt, long conversionTime, int score,
+                                          byte[] hash, String username) {
+        byte[] name = username.getBytes(StandardCharsets.UTF_8);
+        return ByteBuffer.allocate(28 + HASH_BYTES + 2 + name.length)
+                .putLong(id).putLong(createdAt).putLong(conversionTime).putInt(score)
+                .put(hash).putShort((short) name.length).put(name)
+                .flip();
+    }
+
+    /**
+     * 删除与清空：条目ID、用户名
+     */
+    private static ByteBuffer encodeUserRecord(long id, String username) {
+        byte[] name = username.getBytes(StandardCharsets.UTF_8);
+        return ByteBuffer.allocate(8 + 2 + name.length).putLong(id).putShort((short) name.length).put(name).flip();
+    }
+
+    private static String readHash(ByteBuffer payload, int offset) {
+        byte[] hash = new byte[HASH_BYTES];
+        payload.get(offset, hash);
+        return HexFormat.of().formatHex(hash);
+    }
+
+    private static String readUsername(ByteBuffer payload, int offset) {
+        byte[] name = new byte[Short.toUnsignedInt(payload.getShort(offset))];
+        payload.get(offset + 2, name);
+        return new String(name, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] inflate(ByteBuffer compressed, int length) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            byte[] text = new byte[length];
+            int read = 0;
+            while (read < length && !inflater.finished()) {
+                int inflated = inflater.inflate(text, read, length - read);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new DataFormatException("压缩数据不完整");
+                }
+                read += inflated;
+            }
+            return text;
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("转换历史正文已损坏", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static long position(int segment, int offset) {
+        return ((long) segment << 32) | (offset & 0xFFFFFFFFL);
+    }
+
+    private static int segmentOf(long position) {
+        return (int) (position >>> 32);
+    }
+
+    private static int offsetOf(long position) {
+        return (int) position;
+    }
+}
@@ -0,0 +1,204 @@
+package com.company.pythonlearning.history;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * 转换历史日志的一个段文件
+ *
+ * <p>段文件按固定容量预先分配并整体映射到内存，记录依次追加，格式为：
+ * 4字节负载长度、1字节类型、4字节CRC32（覆盖类型与负载）、负载。
+ * 预分配区域全为0，长度为0即表示段的结尾；进程异常退出时写到一半的记录校验失败，回放时丢弃。
+ * 写满后封存：截断到实际长度并改为只读映射。</p>
+ *
+ * <p>追加只在日志的写锁下进行；读取使用绝对位置的get方法，不改变缓冲区状态，可以并发执行。</p>
+ *
+ * @author Company
+ * @version 1.0.0
+ */
+final class HistorySegment {
+
+    static final int HEADER_BYTES = 9;
+
+    private final int number;
+
+    private final Path path;
+
+    private MappedByteBuffer buffer;
+
+    private int end;
+
+    private boolean sealed;
+
+    private HistorySegment(int number, Path path, MappedByteBuffer buffer, int end, boolean sealed) {
+        this.number = number;
+        this.path = path;
+        this.buffer = buffer;
+        this.end = end;
+        this.sealed = sealed;
+    }
+
+    /**
+     * 创建并预分配新的可写段
+     */
+    static HistorySegment create(Path directory, int number, int capacity) throws IOException {
+        Path path = directory.resolve(fileName(number));
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return new HistorySegment(number, path, channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity), 0, false);
+        }
+    }
+
+    /**
+     * 打开已有的段文件；回放后由调用方决定继续追加还是封存
+     */
+    static HistorySegment open(Path path, int number) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return new HistorySegment(number, path, channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size()),
+                    0, false);
+        }
+    }
+
+    static String fileName(int number) {
+        return String.format("%010d.log", number);
+    }
+
+    /**
+     * 从文件名解析段序号，不是段文件时返回-1
+     */
+    static int parseNumber(Path path) {
+        String name = path.getFileName().toString();
+        if (!name.endsWith(".log") || name.length() != 14) {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(name.substring(0, 10));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * 记录访问器，回放时依次回调
+     */
+    interface RecordVisitor {
+
+        void visit(int offset, byte type, ByteBuffer payload) throws IOException;
+    }
+
+    /**
+     * 从头依次校验并回放记录，返回最后一条有效记录之后的位置
+     */
+    int replay(RecordVisitor visitor) throws IOException {
+        int offset = 0;
+        int capacity = buffer.capacity();
+        while (offset + HEADER_BYTES <= capacity) {
+            int length = buffer.getInt(offset);
+            if (length <= 0 || offset + HEADER_BYTES + length > capacity) {
+                break;
+            }
+            byte type = buffer.get(offset + 4);
+            if (crc(type, offset + HEADER_BYTES, length) != buffer.getInt(offset + 5)) {
+                break;
+            }
+            visitor.visit(offset, type, payload(offset));
+            offset += HEADER_BYTES + length;
+        }
+        end = offset;
+        return offset;
+    }
+
+    boolean hasRoom(int payloadBytes) {
+        return !sealed && end + HEADER_BYTES + payloadBytes <= buffer.capacity();
+    }
+
+    /**
+     * 追加一条记录，返回记录在段内的偏移量；调用方需先用 {@link #hasRoom} 检查空间
+     */
+    int append(byte type, ByteBuffer payload) {
+        int offset = end;
+        int length = payload.remaining();
+        buffer.put(offset + HEADER_BYTES, payload, payload.position(), length);
+        buffer.put(offset + 4, type);
+        buffer.putInt(offset + 5, crc(type, offset + HEADER_BYTES, length));
+        // 长度最后写入，写到一半时长度仍为0，回放在此处结束
+        buffer.putInt(offset, length);
+        end = offset + HEADER_BYTES + length;
+        return offset;
+    }
+
+    /**
+     * 指定偏移量处记录的类型
+     */
+    byte type(int offset) {
+        return buffer.get(offset + 4);
+    }
+
+    /**
+     * 指定偏移量处记录的负载（只读视图）
+     */
+    ByteBuffer payload(int offset) {
+        int length = buffer.getInt(offset);
+        return buffer.slice(offset + HEADER_BYTES, length).asReadOnlyBuffer();
+    }
+
+    /**
+     * 记录占用的总字节数（含记录头）
+     */
+    int recordBytes(int offset) {
+        return HEADER_BYTES + buffer.getInt(offset);
+    }
+
+    /**
+     * 把已写入的内容刷到磁盘
+     */
+    void force() {
+        if (!sealed) {
+            buffer.force(0, end);
+        }
+    }
+
+    /**
+     * 封存：刷盘、截断预分配的空余部分并改为只读映射
+     */
+    void seal() throws IOException {
+        if (sealed) {
+            return;
+        }
+        buffer.force(0, end);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            channel.truncate(end);
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, end);
+        }
+        sealed = true;
+    }
+
+    void delete() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    int number() {
+        return number;
+    }
+
+    int size() {
+        return end;
+    }
+
+    boolean isSealed() {
+        return sealed;
+    }
+
+    private int crc(byte type, int from, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(type);
+        crc.update(buffer.slice(from, length));
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,140 @@
+package com.company.pythonlearning.history;
+
+import java.util.Arrays;
+import java.util.function.LongPredicate;
+
+/**
+ * 单个用户的历史索引
+ *
+ * <p>用三个并行的long数组按条目ID升序保存 (ID, 记录位置, 创建时间)，每个条目24字节，
+ * 不为条目创建对象。按时间倒序分页直接从数组尾部取下标，按ID查找使用二分查找。</p>
+ *
+ * @author Company
+ * @version 1.0.0
+ */
+final class UserHistoryIndex {
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    private long[] ids = new long[INITIAL_CAPACITY];
+
+    private long[] positions = new long[INITIAL_CAPACITY];
+
+    private long[] createdAt = new long[INITIAL_CAPACITY];
+
+    private int size;
+
+    /**
+     * 加入条目；ID已存在时（压缩复制的记录）只更新位置
+     */
+    void put(long id, long position, long createdAtMillis) {
+        int index = Arrays.binarySearch(ids, 0, size, id);
+        if (index >= 0) {
+            positions[index] = position;
+            return;
+        }
+        int insertAt = -index - 1;
+        if (size == ids.length) {
+            int capacity = size * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            positions = Arrays.copyOf(positions, capacity);
+            createdAt = Arrays.copyOf(createdAt, capacity);
+        }
+        int moved = size - insertAt;
+        System.arraycopy(ids, insertAt, ids, insertAt + 1, moved);
+        System.arraycopy(positions, insertAt, positions, insertAt + 1, moved);
+        System.arraycopy(createdAt, insertAt, createdAt, insertAt + 1, moved);
+        ids[insertAt] = id;
+        positions[insertAt] = position;
+        createdAt[insertAt] = createdAtMillis;
+        size++;
+    }
+
+    /**
+     * 条目的记录位置，不存在时返回-1
+     */
+    long position(long id) {
+        int index = Arrays.binarySearch(ids, 0, size, id);
+        return index >= 0 ? positions[index] : -1;
+    }
+
+    boolean remove(long id) {
+        int index = Arrays.binarySearch(ids, 0, size, id);
+        if (index < 0) {
+            return false;
+        }
+        removeAt(index, 1);
+        return true;
+    }
+
+    /**
+     * 删除ID不大于maxId的条目
+     */
+    int removeUpTo(long maxId) {
+        int index = Arrays.binarySearch(ids, 0, size, maxId);
+        int count = index >= 0 ? index + 1 : -index - 1;
+        removeAt(0, count);
+        return count;
+    }
+
+    /**
+     * 只保留ID最大的max个条目
+     */
+    int trimTo(int max) {
+        int count = Math.max(0, size - max);
+        removeAt(0, count);
+        return count;
+    }
+
+    /**
+     * 删除创建时间早于cutoff的条目
+     */
+    int removeCreatedBefore(long cutoffMillis) {
+        return removeIf(i -> createdAt[(int) i] < cutoffMillis);
+    }
+
+    /**
+     * 删除记录位置满足条件的条目
+     */
+    int removeByPosition(LongPredicate predicate) {
+        return removeIf(i -> predicate.test(positions[(int) i]));
+    }
+
+    int size() {
+        return size;
+    }
+
+    long idAt(int index) {
+        return ids[index];
+    }
+
+    long positionAt(int index) {
+        return positions[index];
+    }
+
+    private int removeIf(LongPredicate predicate) {
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            if (!predicate.test(i)) {
+                ids[kept] = ids[i];
+                positions[kept] = positions[i];
+                createdAt[kept] = createdAt[i];
+                kept++;
+            }
+        }
+        int removed = size - kept;
+        size = kept;
+        return removed;
+    }
+
+    private void removeAt(int from, int count) {
+        if (count <= 0) {
+            return;
+        }
+        int moved = size - from - count;
+        System.arraycopy(ids, from + count, ids, from, moved);
+        System.arraycopy(positions, from + count, positions, from, moved);
+        System.arraycopy(createdAt, from + count, createdAt, from, moved);
+        size -= count;
+    }
+}
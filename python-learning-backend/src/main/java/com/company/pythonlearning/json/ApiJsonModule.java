@@ -0,0 +1,68 @@
+package com.company.pythonlearning.json;
+
+import com.company.pythonlearning.dto.response.ApiResponse;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * 统一响应外层的手写序列化器
+ *
+ * <p>按 code、message、data、timestamp 的顺序直接写出，字段名预先编码；
+ * 数据部分交给全局 ObjectMapper 按运行时类型序列化，时间戳写出 {@link CoarseClock}
+ * 缓存的ISO字符串，不再为每个响应创建和格式化 {@code LocalDateTime}。
+ * 输出格式与默认的Bean序列化一致。</p>
+ *
+ * @author Company
+ * @version 1.0.0
+ */
+@Component
+public class ApiJsonModule extends SimpleModule {
+
+    private static final SerializableString CODE = new SerializedString("code");
+    private static final SerializableString MESSAGE = new SerializedString("message");
+    private static final SerializableString DATA = new SerializedString("data");
+    private static final SerializableString TIMESTAMP = new SerializedString("timestamp");
+
+    public ApiJsonModule() {
+        super("api-json");
+        addSerializer(new ApiResponseSerializer());
+    }
+
+    @SuppressWarnings("rawtypes")
+    static final class ApiResponseSerializer extends StdSerializer<ApiResponse> {
+
+        ApiResponseSerializer() {
+            super(ApiResponse.class);
+        }
+
+        @Override
+        public void serialize(ApiResponse response, JsonGenerator out, SerializerProvider provider)
+                throws IOException {
+            out.writeStartObject(response);
+            out.writeFieldName(CODE);
+            if (response.getCode() == null) {
+                out.writeNull();
+            } else {
+                out.writeNumber(response.getCode());
+            }
+            out.writeFieldName(MESSAGE);
+            if (response.getMessage() == null) {
+                out.writeNull();
+            } else {
+                out.writeString(response.getMessage());
+            }
+            out.writeFieldName(DATA);
+            provider.defaultSerializeValue(response.getData(), out);
+            out.writeFieldName(TIMESTAMP);
+            out.writeString(CoarseClock.isoString());
+            out.writeEndObject();
+        }
+    }
+}
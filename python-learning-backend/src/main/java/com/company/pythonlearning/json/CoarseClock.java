@@ -0,0 +1,74 @@
+package com.company.pythonlearning.json;
+
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * 粗粒度时钟，供响应时间戳使用
+ *
+ * <p>每个响应都带时间戳，逐个调用 {@code LocalDateTime.now()} 并格式化会在高频接口上产生
+ * 大量短命对象。这里按 {@value #RESOLUTION_MILLIS} 毫秒的精度缓存当前时间及其ISO格式的
+ * 预编码JSON字符串，同一时间片内的请求共享同一份。时间片过期后由首个读取的线程刷新，
+ * 并发刷新只会多算几次，不需要加锁。</p>
+ *
+ * @author Company
+ * @version 1.0.0
+ */
+public final class CoarseClock {
+
+    /**
+     * 时间戳精度（毫秒）
+     */
+    public static final long RESOLUTION_MILLIS = 10;
+
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    private static volatile Tick tick = new Tick(System.currentTimeMillis());
+
+    private CoarseClock() {
+    }
+
+    /**
+     * 当前时间，精度为 {@value #RESOLUTION_MILLIS} 毫秒
+     */
+    public static LocalDateTime now() {
+        return current().time;
+    }
+
+    /**
+     * 当前时间的ISO格式JSON字符串，与 {@code JavaTimeModule} 默认输出的格式一致
+     */
+    public static SerializableString isoString() {
+        return current().iso;
+    }
+
+    private static Tick current() {
+        Tick current = tick;
+        long millis = System.currentTimeMillis();
+        if (millis - current.millis >= RESOLUTION_MILLIS || millis < current.millis) {
+            current = new Tick(millis);
+            tick = current;
+        }
+        return current;
+    }
+
+    private static final class Tick {
+
+        private final long millis;
+
+        private final LocalDateTime time;
+
+        private final SerializableString iso;
+
+        Tick(long millis) {
+            this.millis = millis;
+            this.time = LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZONE);
+            this.iso = new SerializedString(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(time));
+        }
+    }
+}
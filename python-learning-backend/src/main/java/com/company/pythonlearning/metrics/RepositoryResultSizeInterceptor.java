@@ -0,0 +1,75 @@
+package com.company.pythonlearning.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.data.domain.Slice;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * 记录Repository查询方法返回的行数
+ *
+ * <p>集合按元素数、分页按当前页元素数、Optional按是否有值、单个实体按1计；
+ * 返回计数、布尔值、流或没有返回值的方法不记录。查询耗时由Spring Data自带的
+ * spring.data.repository.invocations 计时器记录，两者使用相同的 repository、method 标签。</p>
+ *
+ * @author Company
+ * @version 1.0.0
+ */
+public class RepositoryResultSizeInterceptor implements MethodInterceptor {
+
+    private static final String METRIC = "spring.data.repository.results";
+
+    private final String repository;
+
+    private final Supplier<MeterRegistry> meterRegistry;
+
+    private final Map<Method, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+    public RepositoryResultSizeInterceptor(String repository, Supplier<MeterRegistry> meterRegistry) {
+        this.repository = repository;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Object result = invocation.proceed();
+        long rows = rows(result);
+        if (rows >= 0) {
+            summaries.computeIfAbsent(invocation.getMethod(), method -> DistributionSummary.builder(METRIC)
+                    .description("Repository查询方法返回的行数")
+                    .tag("repository", repository)
+                    .tag("method", method.getName())
+                    .register(meterRegistry.get()))
+                    .record(rows);
+        }
+        return result;
+    }
+
+    /**
+     * 结果行数，不是查询结果时返回-1
+     */
+    private static long rows(Object result) {
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        if (result == null || result instanceof Number || result instanceof Boolean || result instanceof Stream) {
+            return -1;
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,87 @@
+package com.company.pythonlearning.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * 记录每个请求执行的Hibernate语句数
+ *
+ * <p>按接口路径模板（与 http.server.requests 的 uri 标签一致）和请求方法记录分布，
+ * 用于发现N+1查询等单个请求语句数异常的接口。异步响应在结束时记录，
+ * 通过 {@link StatementCounter#propagate(Runnable)} 提交的任务执行的语句一并计入；
+ * 流式响应在其他线程中执行的语句不计入。</p>
+ *
+ * @author Company
+ * @version 1.0.0
+ */
+public class StatementCountFilter extends OncePerRequestFilter {
+
+    private static final String METRIC = "hibernate.statements.per.request";
+
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    private final StatementCounter statementCounter;
+
+    private final MeterRegistry meterRegistry;
+
+    public StatementCountFilter(StatementCounter statementCounter, MeterRegistry meterRegistry) {
+        this.statementCounter = statementCounter;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        int[] count = statementCounter.begin();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            int statements = statementCounter.end();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            DistributionSummary summary = DistributionSummary.builder(METRIC)
+                    .description("单个请求执行的Hibernate SQL语句数")
+                    .tag("uri", pattern != null ? pattern.toString() : UNKNOWN_URI)
+                    .tag("method", request.getMethod())
+                    .register(meterRegistry);
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new RecordListener(summary, count));
+            } else {
+                summary.record(statements);
+            }
+        }
+    }
+
+    /**
+     * 异步响应结束时记录语句数，超时或出错的异步请求最终同样以完成事件结束
+     */
+    private record RecordListener(DistributionSummary summary, int[] count) implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            summary.record(count[0]);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.company.pythonlearning.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * 按线程统计Hibernate执行的SQL语句数
+ *
+ * <p>注册为Hibernate的 {@link StatementInspector}，每条语句准备执行时计数一次，不修改SQL。
+ * 只在 {@link #begin()} 与 {@link #end()} 之间计数，请求之外（定时任务、启动初始化）的语句不受影响。
+ * 通过JdbcTemplate直接执行的语句不经过Hibernate，不在统计范围内。</p>
+ *
+ * @author Company
+ * @version 1.0.0
+ */
+public class StatementCounter implements StatementInspector {
+
+    private final ThreadLocal<int[]> counts = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        int[] count = counts.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+
+    /**
+     * 开始为当前线程计数，返回的计数器在异步响应结束时仍可读取
+     */
+    public int[] begin() {
+        int[] count = new int[1];
+        counts.set(count);
+        return count;
+    }
+
+    /**
+     * 结束计数，返回 {@link #begin()} 之后当前线程执行的语句数
+     */
+    public int end() {
+        int[] count = counts.get();
+        counts.remove();
+        return count != null ? count[0] : 0;
+    }
+
+    /**
+     * 包装提交到其他线程的任务，任务执行的语句计入提交时当前线程的计数
+     */
+    public Runnable propagate(Runnable task) {
+        int[] count = counts.get();
+        if (count == null) {
+            return task;
+        }
+        return () -> {
+            int[] previous = counts.get();
+            counts.set(count);
+            try {
+                task.run();
+            } finally {
+                if (previous != null) {
+                    counts.set(previous);
+                } else {
+                    counts.remove();
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,133 @@
+package com.company.pythonlearning.progress;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 学习统计增量写入
+ *
+ * <p>学习面板需要的汇总（学习时长、完成数、测验平均分、连续学习天数）不在读取时扫描进度行计算，
+ * 而是在事件写入的同一事务中以 upsert 增量更新：模块级计数保存在 learning_progress 上，
+ * 用户级汇总保存在 user_learning_stats 的一行中。</p>
+ *
+ * <p>连续天数的更新依赖赋值的求值顺序：longest_streak 写在 current_streak 之前、
+ * last_active_date 最后更新，MySQL 按顺序使用新值时各表达式读到的仍是旧值。</p>
+ *
+ * @author Company
+ * @version 1.0.0
+ */
+@Component
+@RequiredArgsConstructor
+public class LearningStatsWriter {
+
+    /**
+     * 连续天数：活跃日期不晚于已记录日期时不变，恰好是次日时加一，否则从1重新开始
+     */
+    private static final String NEXT_STREAK = "CASE WHEN last_active_date >= VALUES(last_active_date) THEN current_streak "
+            + "WHEN last_active_date = ? THEN current_streak + 1 ELSE 1 END";
+
+    private static final String UPSERT_USER_STATS = """
+            INSERT INTO user_learning_stats (username, time_spent, completed_modules, completed_lessons, quiz_attempts,
+                quiz_score_sum, quizzes_passed, current_streak, longest_streak, last_active_date)
+            VALUES (?, ?, 0, ?, ?, ?, ?, 1, 1, ?)
+            ON DUPLICATE KEY UPDATE time_spent = time_spent + VALUES(time_spent),
+                completed_lessons = completed_lessons + VALUES(completed_lessons),
+                quiz_attempts = quiz_attempts + VALUES(quiz_attempts),
+                quiz_score_sum = quiz_score_sum + VALUES(quiz_score_sum),
+                quizzes_passed = quizzes_passed + VALUES(quizzes_passed),
+                longest_streak = GREATEST(longest_streak, %1$s),
+                current_streak = %1$s,
+                last_active_date = GREATEST(last_active_date, VALUES(last_active_date))""".formatted(NEXT_STREAK);
+
+    /**
+     * 已完成模块数按用户的进度行重新计数，只在本批有模块达到完成时执行，范围限于该用户的主键前缀
+     */
+    private static final String REFRESH_COMPLETED_MODULES = """
+            UPDATE user_learning_stats SET completed_modules =
+                (SELECT COUNT(*) FROM learning_progress p WHERE p.username = ? AND p.completed = TRUE)
+            WHERE username = ?""";
+
+    private static final String UPSERT_MODULE_QUIZ = """
+            INSERT INTO learning_progress (username, module_id, progress, time_spent, completed, last_study_time,
+                quiz_attempts, quiz_score_sum)
+            VALUES (?, ?, 0, 0, FALSE, ?, 1, ?)
+            ON DUPLICATE KEY UPDATE quiz_attempts = quiz_attempts + 1,
+                quiz_score_sum = quiz_score_sum + VALUES(quiz_score_sum),
+                last_study_time = VALUES(last_study_time)""";
+
+    private static final String INSERT_LESSON_COMPLETION =
+            "INSERT IGNORE INTO lesson_completions (username, lesson_id, module_id, completed_at) VALUES (?, ?, ?, ?)";
+
+    private static final String UPSERT_MODULE_LESSON = """
+            INSERT INTO learning_progress (username, module_id, progress, time_spent, completed, last_study_time,
+                completed_lessons)
+            VALUES (?, ?, 0, 0, FALSE, ?, 1)
+            ON DUPLICATE KEY UPDATE completed_lessons = completed_lessons + 1,
+                last_study_time = VALUES(last_study_time)""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 累加用户级汇总，每个用户一条增量；需在调用方的事务中执行
+     */
+    public void apply(Collection<StatsDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        List<Object[]> args = new ArrayList<>(deltas.size());
+        for (StatsDelta delta : deltas) {
+            Date yesterday = Date.valueOf(delta.activeDate().minusDays(1));
+            args.add(new Object[] {delta.username(), delta.seconds(), delta.lessons(), delta.quizAttempts(),
+                    delta.quizScoreSum(), delta.quizzesPassed(), Date.valueOf(delta.activeDate()), yesterday, yesterday});
+        }
+        jdbcTemplate.batchUpdate(UPSERT_USER_STATS, args);
+    }
+
+    /**
+     * 重新计算用户的已完成模块数；需在调用方的事务中、进度行写入之后执行
+     */
+    public void refreshCompletedModules(Collection<String> usernames) {
+        if (usernames.isEmpty()) {
+            return;
+        }
+        List<Object[]> args = new ArrayList<>(usernames.size());
+        for (String username : usernames) {
+            args.add(new Object[] {username, username});
+        }
+        jdbcTemplate.batchUpdate(REFRESH_COMPLETED_MODULES, args);
+    }
+
+    /**
+     * 记录一次测验成绩
+     */
+    @Transactional
+    public void recordQuiz(String username, Long moduleId, int score, boolean passed) {
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.update(UPSERT_MODULE_QUIZ, username, moduleId, Timestamp.valueOf(now), score);
+        apply(List.of(StatsDelta.ofQuiz(username, score, passed, now.toLocalDate())));
+    }
+
+    /**
+     * 记录课程完成，返回是否首次完成；重复完成不再计数
+     */
+    @Transactional
+    public boolean recordLessonCompletion(String username, Long lessonId, Long moduleId) {
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp timestamp = Timestamp.valueOf(now);
+        if (jdbcTemplate.update(INSERT_LESSON_COMPLETION, username, lessonId, moduleId, timestamp) == 0) {
+            return false;
+        }
+        jdbcTemplate.update(UPSERT_MODULE_LESSON, username, moduleId, timestamp);
+        apply(List.of(StatsDelta.ofLesson(username, now.toLocalDate())));
+        return true;
+    }
+}
@@ -0,0 +1,106 @@
+package com.company.pythonlearning.progress;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 学习进度批量写入
+ *
+ * <p>合并后的进度变化以 JDBC 批量 upsert 写入，同一批在一个事务中提交。
+ * 更新子句只引用 VALUES()，不含参数占位符，MySQL 驱动开启 rewriteBatchedStatements 后
+ * 可以把整批改写为一条多行 INSERT。</p>
+ *
+ * @author Company
+ * @version 1.0.0
+ */
+@Component
+@RequiredArgsConstructor
+public class ProgressBatchWriter {
+
+    private static final String UPSERT_PROGRESS = """
+            INSERT INTO learning_progress (username, module_id, progress, time_spent, completed, last_study_time)
+            VALUES (?, ?, ?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE progress = VALUES(progress),
+                time_spent = time_spent + VALUES(time_spent),
+                completed = completed OR VALUES(completed),
+                last_study_time = VALUES(last_study_time)""";
+
+    /**
+     * 只有学习时长的变化：不覆盖已保存的进度和完成状态
+     */
+    private static final String UPSERT_TIME = """
+            INSERT INTO learning_progress (username, module_id, progress, time_spent, completed, last_study_time)
+            VALUES (?, ?, ?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE time_spent = time_spent + VALUES(time_spent),
+                last_study_time = VALUES(last_study_time)""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final LearningStatsWriter learningStatsWriter;
+
+    /**
+     * 写入一批进度变化，并在同一事务中累加相关用户的学习统计
+     */
+    @Transactional
+    public void write(List<Map.Entry<ProgressKey, ProgressDelta>> rows) {
+        List<Map.Entry<ProgressKey, ProgressDelta>> withProgress = new ArrayList<>(rows.size());
+        List<Map.Entry<ProgressKey, ProgressDelta>> timeOnly = new ArrayList<>();
+        for (Map.Entry<ProgressKey, ProgressDelta> row : rows) {
+            (row.getValue().hasProgress() ? withProgress : timeOnly).add(row);
+        }
+        if (!withProgress.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_PROGRESS, new UpsertSetter(withProgress));
+        }
+        if (!timeOnly.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_TIME, new UpsertSetter(timeOnly));
+        }
+
+        Map<String, StatsDelta> stats = new HashMap<>();
+        Set<String> completed = new HashSet<>();
+        for (Map.Entry<ProgressKey, ProgressDelta> row : rows) {
+            String username = row.getKey().username();
+            ProgressDelta delta = row.getValue();
+            stats.merge(username, StatsDelta.ofTime(username, delta.seconds(), delta.lastStudyTime().toLocalDate()),
+                    StatsDelta::merge);
+            if (delta.completed()) {
+                completed.add(username);
+            }
+        }
+        learningStatsWriter.apply(stats.values());
+        learningStatsWriter.refreshCompletedModules(completed);
+    }
+
+    private record UpsertSetter(List<Map.Entry<ProgressKey, ProgressDelta>> rows)
+            implements BatchPreparedStatementSetter {
+
+        @Override
+        public void setValues(PreparedStatement ps, int i) throws SQLException {
+            ProgressKey key = rows.get(i).getKey();
+            ProgressDelta delta = rows.get(i).getValue();
+            ps.setString(1, key.username());
+            ps.setLong(2, key.moduleId());
+            ps.setInt(3, delta.hasProgress() ? delta.progress() : 0);
+            ps.setLong(4, delta.seconds());
+            ps.setBoolean(5, delta.completed());
+            ps.setTimestamp(6, Timestamp.valueOf(delta.lastStudyTime()));
+        }
+
+        @Override
+        public int getBatchSize() {
+            return rows.size();
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.company.pythonlearning.progress;
+
+import com.company.pythonlearning.config.LearningProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 学习进度写缓冲
+ *
+ * <p>前端每隔几秒上报一次进度和学习时长。上报先按 (用户, 模块) 合并在内存中，
+ * 进度以最后一次为准、时长累加，再定时或在条目数达到阈值时分批写入数据库，
+ * 同一用户在一个写入周期内的多次上报只产生一行写入。</p>
+ *
+ * <p>写入失败的条目合并回缓冲，下个周期重试；应用关闭前写入剩余条目。
+ * 进程异常退出时最多丢失一个写入周期内的上报。</p>
+ *
+ * @author Company
+ * @version 1.0.0
+ */
+@Component
+@Slf4j
+public class ProgressBuffer {
+
+    private final ProgressBatchWriter writer;
+
+    private final LearningProperties.Progress config;
+
+    private final ConcurrentHashMap<ProgressKey, ProgressDelta> pending = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "progress-flush");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+    public ProgressBuffer(ProgressBatchWriter writer, LearningProperties learningProperties) {
+        this.writer = writer;
+        this.config = learningProperties.getProgress();
+    }
+
+    @PostConstruct
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::flushQuietly,
+                config.getFlushInterval(), config.getFlushInterval(), TimeUnit.MILLISECONDS);
+        log.info("学习进度写缓冲启动, 写入间隔: {} ms, 提前写入阈值: {}, 批大小: {}",
+                config.getFlushInterval(), config.getFlushThreshold(), config.getBatchSize());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        flush();
+    }
+
+    /**
+     * 记录一次进度变化，与尚未写入的变化合并
+     */
+    public void record(ProgressKey key, ProgressDelta delta) {
+        pending.merge(key, delta, ProgressDelta::merge);
+        if (pending.size() >= config.getFlushThreshold() && flushRequested.compareAndSet(false, true)) {
+            scheduler.execute(this::flushQuietly);
+        }
+    }
+
+    /**
+     * 用户尚未写入数据库的进度变化
+     */
+    public Map<Long, ProgressDelta> pendingFor(String username) {
+        Map<Long, ProgressDelta> result = new HashMap<>();
+        pending.forEach((key, delta) -> {
+            if (key.username().equals(username)) {
+                result.put(key.moduleId(), delta);
+            }
+        });
+        return result;
+    }
+
+    public int size() {
+        return pending.size();
+    }
+
+    /**
+     * 把当前缓冲中的全部条目分批写入数据库，返回写入的条目数
+     */
+    public synchronized int flush() {
+        flushRequested.set(false);
+        int written = 0;
+        List<Map.Entry<ProgressKey, ProgressDelta>> batch = new ArrayList<>(config.getBatchSize());
+        for (ProgressKey key : pending.keySet()) {
+            ProgressDelta delta = pending.remove(key);
+            if (delta == null) {
+                continue;
+            }
+            batch.add(new AbstractMap.SimpleImmutableEntry<>(key, delta));
+            if (batch.size() >= config.getBatchSize()) {
+                if (!writeBatch(batch)) {
+                    return written;
+                }
+                written += batch.size();
+                batch = new ArrayList<>(config.getBatchSize());
+            }
+        }
+        if (!batch.isEmpty() && writeBatch(batch)) {
+            written += batch.size();
+        }
+        return written;
+    }
+
+    private void flushQuietly() {
+        long start = System.currentTimeMillis();
+        try {
+            int written = flush();
+            if (written > 0) {
+                log.debug("学习进度写入 {} 条, 耗时 {} ms", written, System.currentTimeMillis() - start);
+            }
+        } catch (RuntimeException e) {
+            log.error("学习进度写入失败: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 写入一批，失败时把这批条目合并回缓冲，保留期间到达的新变化
+     */
+    private boolean writeBatch(List<Map.Entry<ProgressKey, ProgressDelta>> batch) {
+        try {
+            writer.write(batch);
+            return true;
+        } catch (DataAccessException e) {
+            log.warn("学习进度写入失败, {} 条将在下个周期重试: {}", batch.size(), e.getMessage());
+            for (Map.Entry<ProgressKey, ProgressDelta> entry : batch) {
+                pending.merge(entry.getKey(), entry.getValue(), (newer, failed) -> failed.merge(newer));
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.company.pythonlearning.progress;
+
+import java.time.LocalDateTime;
+
+/**
+ * 尚未写入数据库的学习进度变化
+ *
+ * <p>progress 为null表示这段时间内只上报了学习时长，写入时保留数据库中的进度；
+ * seconds 是新增的学习时长，写入时累加到数据库中的值上。</p>
+ *
+ * @author Company
+ * @version 1.0.0
+ */
+public record ProgressDelta(Integer progress, long seconds, boolean completed, LocalDateTime lastStudyTime) {
+
+    public static ProgressDelta ofProgress(int progress, boolean completed) {
+        return new ProgressDelta(progress, 0, completed, LocalDateTime.now());
+    }
+
+    public static ProgressDelta ofTime(long seconds) {
+        return new ProgressDelta(null, seconds, false, LocalDateTime.now());
+    }
+
+    /**
+     * 与之后的变化合并：进度以后者为准，时长累加，完成状态一经设置不再撤销
+     */
+    public ProgressDelta merge(ProgressDelta later) {
+        return new ProgressDelta(
+                later.progress != null ? later.progress : progress,
+                seconds + later.seconds,
+                completed || later.completed,
+                later.lastStudyTime.isAfter(lastStudyTime) ? later.lastStudyTime : lastStudyTime);
+    }
+
+    public boolean hasProgress() {
+        return progress != null;
+    }
+}
@@ -0,0 +1,10 @@
+package com.company.pythonlearning.progress;
+
+/**
+ * 写缓冲中的合并键：同一用户在同一模块上的上报合并为一条
+ *
+ * @author Company
+ * @version 1.0.0
+ */
+public record ProgressKey(String username, Long moduleId) {
+}
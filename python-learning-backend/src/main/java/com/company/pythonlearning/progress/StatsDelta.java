@@ -0,0 +1,35 @@
+package com.company.pythonlearning.progress;
+
+import java.time.LocalDate;
+
+/**
+ * 用户学习统计的增量
+ *
+ * @author Company
+ * @version 1.0.0
+ */
+public record StatsDelta(String username, long seconds, int lessons, int quizAttempts, long quizScoreSum,
+                         int quizzesPassed, LocalDate activeDate) {
+
+    public static StatsDelta ofTime(String username, long seconds, LocalDate activeDate) {
+        return new StatsDelta(username, seconds, 0, 0, 0, 0, activeDate);
+    }
+
+    public static StatsDelta ofLesson(String username, LocalDate activeDate) {
+        return new StatsDelta(username, 0, 1, 0, 0, 0, activeDate);
+    }
+
+    public static StatsDelta ofQuiz(String username, int score, boolean passed, LocalDate activeDate) {
+        return new StatsDelta(username, 0, 0, 1, score, passed ? 1 : 0, activeDate);
+    }
+
+    /**
+     * 与同一用户的另一增量合并，活跃日期取较晚者
+     */
+    public StatsDelta merge(StatsDelta other) {
+        return new StatsDelta(username, seconds + other.seconds, lessons + other.lessons,
+                quizAttempts + other.quizAttempts, quizScoreSum + other.quizScoreSum,
+                quizzesPassed + other.quizzesPassed,
+                other.activeDate.isAfter(activeDate) ? other.activeDate : activeDate);
+    }
+}
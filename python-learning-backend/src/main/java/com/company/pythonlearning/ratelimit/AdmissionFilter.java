@@ -0,0 +1,158 @@
+package com.company.pythonlearning.ratelimit;
+
+import com.company.pythonlearning.config.ConverterProperties;
+import com.company.pythonlearning.dto.response.ApiResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.security.Principal;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 代码转换与代码运行接口的准入控制
+ *
+ * <p>两层检查：先按客户端取令牌（已登录用户按用户名，匿名请求按IP，转换与运行各自计数），
+ * 再对转换请求做全局并发限制。任一检查不通过都立即返回429和 Retry-After，不排队。
+ * 并发许可在响应真正结束时归还，流式响应（事件流、流式下载）在异步处理完成后才归还。</p>
+ *
+ * <p>代码运行的并发由工作进程池自身的有界排队控制，这里只做限流。
+ * 客户端IP取 {@link HttpServletRequest#getRemoteAddr()}，部署在反向代理之后时需配置
+ * server.forward-headers-strategy，不直接信任请求头。</p>
+ *
+ * @author Company
+ * @version 1.0.0
+ */
+@Slf4j
+public class AdmissionFilter extends OncePerRequestFilter {
+
+    private static final String CONVERTER_PATH = "/api/v1/converter/";
+
+    private static final String CODE_EXAMPLE_PATH = "/api/v1/code-examples/";
+
+    /**
+     * 并发已满时建议客户端重试的间隔（秒）
+     */
+    private static final long GATE_RETRY_AFTER_SECONDS = 1;
+
+    private final TokenBucketLimiter userLimiter;
+
+    private final TokenBucketLimiter anonymousLimiter;
+
+    private final ConcurrencyGate conversionGate;
+
+    private final ObjectMapper objectMapper;
+
+    public AdmissionFilter(ConverterProperties converterProperties, ObjectMapper objectMapper) {
+        ConverterProperties.RateLimit config = converterProperties.getRateLimit();
+        this.userLimiter = new TokenBucketLimiter(config.getUserCapacity(), config.getUserRefillPerMinute(),
+                config.getStripes(), config.getMaxBucketsPerStripe());
+        this.anonymousLimiter = new TokenBucketLimiter(config.getAnonymousCapacity(),
+                config.getAnonymousRefillPerMinute(), config.getStripes(), config.getMaxBucketsPerStripe());
+        this.conversionGate = new ConcurrencyGate(converterProperties.resolveMaxConcurrent());
+        this.objectMapper = objectMapper;
+        log.info("接口限流初始化完成, 用户: {}/{}每分钟, 匿名: {}/{}每分钟, 转换并发上限: {}",
+                config.getUserCapacity(), config.getUserRefillPerMinute(), config.getAnonymousCapacity(),
+                config.getAnonymousRefillPerMinute(), conversionGate.getLimit());
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod()) || family(request.getRequestURI()) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String family = family(request.getRequestURI());
+        Principal principal = request.getUserPrincipal();
+        long waitNanos = principal != null
+                ? userLimiter.tryAcquire(family + ":user:" + principal.getName())
+                : anonymousLimiter.tryAcquire(family + ":ip:" + request.getRemoteAddr());
+        if (waitNanos > 0) {
+            reject(response, TimeUnit.NANOSECONDS.toSeconds(waitNanos - 1) + 1, "请求过于频繁，请稍后重试");
+            return;
+        }
+        if (!CONVERTER_PATH.equals(family)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        if (!conversionGate.tryEnter()) {
+            reject(response, GATE_RETRY_AFTER_SECONDS, "代码转换服务繁忙，请稍后重试");
+            return;
+        }
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable release = () -> {
+            if (released.compareAndSet(false, true)) {
+                conversionGate.exit();
+            }
+        };
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleaseListener(release));
+            } else {
+                release.run();
+            }
+        }
+    }
+
+    /**
+     * 请求所属的接口族，不需要准入控制时返回null
+     */
+    private static String family(String uri) {
+        if (uri.startsWith(CONVERTER_PATH)) {
+            return CONVERTER_PATH;
+        }
+        if (uri.startsWith(CODE_EXAMPLE_PATH) && (uri.endsWith("/run") || uri.endsWith("/run/stream"))) {
+            return CODE_EXAMPLE_PATH;
+        }
+        return null;
+    }
+
+    private void reject(HttpServletResponse response, long retryAfterSeconds, String message) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getOutputStream(),
+                ApiResponse.error(HttpStatus.TOO_MANY_REQUESTS.value(), message));
+    }
+
+    /**
+     * 异步响应结束（完成、超时或出错）时归还并发许可
+     */
+    private record ReleaseListener(Runnable release) implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.company.pythonlearning.ratelimit;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * 并发闸门：同时进行的请求数达到上限时立即拒绝，不排队
+ *
+ * @author Company
+ * @version 1.0.0
+ */
+public class ConcurrencyGate {
+
+    private final int limit;
+
+    private final Semaphore permits;
+
+    public ConcurrencyGate(int limit) {
+        this.limit = limit;
+        this.permits = new Semaphore(limit);
+    }
+
+    public boolean tryEnter() {
+        return permits.tryAcquire();
+    }
+
+    public void exit() {
+        permits.release();
+    }
+
+    public int inFlight() {
+        return limit - permits.availablePermits();
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+}
@@ -0,0 +1,111 @@
+package com.company.pythonlearning.ratelimit;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 无锁令牌桶限流器
+ *
+ * <p>每个键一个令牌桶，状态只有一个 long：下一个令牌的理论到达时间（GCRA 形式的令牌桶），
+ * 取令牌是对它的一次CAS，不加锁。桶按键的哈希分布在多个分段中，
+ * 分段内桶数超过上限时只清理该分段中已经回满的桶——回满的桶与新建的桶等价，删除不影响限流结果。
+ * 清理后仍然没有空位时，新键共用该分段的溢出桶，不会因为键太多而放行。</p>
+ *
+ * @author Company
+ * @version 1.0.0
+ */
+public class TokenBucketLimiter {
+
+    /**
+     * 补充一个令牌的间隔（纳秒）
+     */
+    private final long intervalNanos;
+
+    /**
+     * 允许的突发量折算的时间（纳秒）：容量为 n 时可以连续取 n 个令牌
+     */
+    private final long burstNanos;
+
+    private final int maxBucketsPerStripe;
+
+    private final ConcurrentHashMap<String, AtomicLong>[] stripes;
+
+    /**
+     * 每个分段一个溢出桶，分段已满时该分段中没有自己的桶的键共用
+     */
+    private final AtomicLong[] overflow;
+
+    @SuppressWarnings("unchecked")
+    public TokenBucketLimiter(int capacity, int refillPerMinute, int stripeCount, int maxBucketsPerStripe) {
+        if (capacity < 1 || refillPerMinute < 1) {
+            throw new IllegalArgumentException("令牌桶容量和补充速率必须大于0");
+        }
+        this.intervalNanos = TimeUnit.MINUTES.toNanos(1) / refillPerMinute;
+        this.burstNanos = intervalNanos * (capacity - 1);
+        this.maxBucketsPerStripe = maxBucketsPerStripe;
+        int size = Integer.highestOneBit(Math.max(1, stripeCount));
+        if (size < stripeCount) {
+            size <<= 1;
+        }
+        this.stripes = new ConcurrentHashMap[size];
+        this.overflow = new AtomicLong[size];
+        long now = System.nanoTime();
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ConcurrentHashMap<>();
+            overflow[i] = new AtomicLong(now);
+        }
+    }
+
+    /**
+     * 为键取一个令牌，成功返回0，否则返回需要等待的纳秒数
+     */
+    public long tryAcquire(String key) {
+        AtomicLong bucket = bucket(key);
+        while (true) {
+            long now = System.nanoTime();
+            long arrival = bucket.get();
+            long start = arrival - now > 0 ? arrival : now;
+            long ahead = start - now;
+            if (ahead > burstNanos) {
+                return ahead - burstNanos;
+            }
+            if (bucket.compareAndSet(arrival, start + intervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * 当前保存的令牌桶数
+     */
+    public int size() {
+        int size = 0;
+        for (ConcurrentHashMap<String, AtomicLong> stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    private AtomicLong bucket(String key) {
+        int index = spread(key.hashCode()) & (stripes.length - 1);
+        ConcurrentHashMap<String, AtomicLong> stripe = stripes[index];
+        AtomicLong bucket = stripe.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (stripe.size() >= maxBucketsPerStripe) {
+            long now = System.nanoTime();
+            stripe.values().removeIf(idle -> idle.get() - now <= 0);
+            if (stripe.size() >= maxBucketsPerStripe) {
+                // 分段已满且都在使用中，不再为新键建桶
+                return overflow[index];
+            }
+        }
+        return stripe.computeIfAbsent(key, k -> new AtomicLong(System.nanoTime()));
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -1,9 +1,15 @@
 package com.company.pythonlearning.repository;
 
+import com.company.pythonlearning.dto.response.CodeExampleSummaryResponse;
 import com.company.pythonlearning.entity.CodeExample;
 import com.company.pythonlearning.enums.DifficultyLevel;
+import com.company.pythonlearning.repository.projection.CodeExampleText;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -13,24 +19,24 @@ import java.util.List;
 public interface CodeExampleRepository extends JpaRepository<CodeExample, Long> {
     
     /**
-     * 根据模块ID查找代码示例
+     * 代码示例摘要投影，不读取代码正文和讲解
      */
-    List<CodeExample> findByLearningModuleId(Long moduleId);
+    String SUMMARY_SELECT = "SELECT new com.company.pythonlearning.dto.response.CodeExampleSummaryResponse(ce.id, "
+            + "ce.learningModule.id, ce.title, ce.difficultyLevel, ce.sortOrder) FROM CodeExample ce ";
     
     /**
-     * 根据模块ID和难度级别查找代码示例
+     * 代码示例全文投影，包含代码正文和讲解
      */
-    List<CodeExample> findByLearningModuleIdAndDifficultyLevel(Long moduleId, DifficultyLevel difficultyLevel);
+    String TEXT_SELECT = "SELECT new com.company.pythonlearning.repository.projection.CodeExampleText(ce.id, "
+            + "ce.learningModule.id, ce.title, ce.javaCode, ce.pythonCode, ce.explanation, ce.sortOrder) "
+            + "FROM CodeExample ce ";
     
     /**
-     * 根据模块ID和排序索引升序查找代码示例
+     * 键集分页的游标条件与排序；每种过滤组合各用一条查询，由对应的 (过滤列, execution_order, id) 索引支撑
      */
-    List<CodeExample> findByLearningModuleIdOrderBySortOrderAsc(Long moduleId);
+    String AFTER_CURSOR = "(ce.sortOrder > :sortOrder OR (ce.sortOrder = :sortOrder AND ce.id > :id)) ";
     
-    /**
-     * 根据难度级别查找代码示例
-     */
-    List<CodeExample> findByDifficultyLevel(DifficultyLevel difficultyLevel);
+    String ORDER_BY_CURSOR = "ORDER BY ce.sortOrder, ce.id";
     
     /**
      * 统计模块下的代码示例数量
@@ -51,8 +57,64 @@ public interface CodeExampleRepository extends JpaRepository<CodeExample, Long>
     int findNextSortOrder(@Param("moduleId") Long moduleId);
     
     /**
-     * 根据模块ID列表查找代码示例
+     * 根据模块ID列表查找代码示例摘要
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(SUMMARY_SELECT + "WHERE ce.learningModule.id IN :moduleIds ORDER BY ce.learningModule.id, ce.sortOrder")
+    List<CodeExampleSummaryResponse> findSummariesByModuleIds(@Param("moduleIds") List<Long> moduleIds);
+    
+    /**
+     * 根据模块ID列表查找代码示例的Python代码
+     */
+    @Query("SELECT ce.pythonCode FROM CodeExample ce WHERE ce.learningModule.id IN :moduleIds "
+            + "ORDER BY ce.learningModule.id, ce.sortOrder")
+    List<String> findPythonCodeByModuleIds(@Param("moduleIds") List<Long> moduleIds);
+    
+    /**
+     * 键集分页：按 (sortOrder, id) 读取游标之后的代码示例摘要
+     */
+    @Query(SUMMARY_SELECT + "WHERE " + AFTER_CURSOR + ORDER_BY_CURSOR)
+    List<CodeExampleSummaryResponse> findSummaryPageAfter(@Param("sortOrder") int sortOrder, @Param("id") long id,
+                                                          Limit limit);
+    
+    /**
+     * 键集分页：按 (sortOrder, id) 读取游标之后某模块下的代码示例摘要
+     */
+    @Query(SUMMARY_SELECT + "WHERE ce.learningModule.id = :moduleId AND " + AFTER_CURSOR + ORDER_BY_CURSOR)
+    List<CodeExampleSummaryResponse> findSummaryPageAfterByModuleId(@Param("moduleId") Long moduleId,
+                                                                    @Param("sortOrder") int sortOrder,
+                                                                    @Param("id") long id, Limit limit);
+    
+    /**
+     * 键集分页：按 (sortOrder, id) 读取游标之后某难度级别的代码示例摘要
+     */
+    @Query(SUMMARY_SELECT + "WHERE ce.difficultyLevel = :difficultyLevel AND " + AFTER_CURSOR + ORDER_BY_CURSOR)
+    List<CodeExampleSummaryResponse> findSummaryPageAfterByDifficultyLevel(
+            @Param("difficultyLevel") DifficultyLevel difficultyLevel, @Param("sortOrder") int sortOrder,
+            @Param("id") long id, Limit limit);
+    
+    /**
+     * 键集分页：按 (sortOrder, id) 读取游标之后某模块下某难度级别的代码示例摘要
+     */
+    @Query(SUMMARY_SELECT + "WHERE ce.learningModule.id = :moduleId AND ce.difficultyLevel = :difficultyLevel "
+            + "AND " + AFTER_CURSOR + ORDER_BY_CURSOR)
+    List<CodeExampleSummaryResponse> findSummaryPageAfterByModuleIdAndDifficultyLevel(
+            @Param("moduleId") Long moduleId, @Param("difficultyLevel") DifficultyLevel difficultyLevel,
+            @Param("sortOrder") int sortOrder, @Param("id") long id, Limit limit);
+    
+    /**
+     * 键集分页：按 (sortOrder, id) 读取游标之后已发布模块下的代码示例全文，供索引构建使用
+     */
+    @Query(TEXT_SELECT + "WHERE ce.learningModule.isPublished = true "
+            + "AND (ce.sortOrder > :sortOrder OR (ce.sortOrder = :sortOrder AND ce.id > :id)) "
+            + "ORDER BY ce.sortOrder, ce.id")
+    List<CodeExampleText> findPublishedTextPageAfter(@Param("sortOrder") int sortOrder, @Param("id") long id,
+                                                     Limit limit);
+    
+    /**
+     * 根据模块ID查找已发布模块下代码示例的全文
      */
-    @Query("SELECT ce FROM CodeExample ce WHERE ce.learningModule.id IN :moduleIds ORDER BY ce.learningModule.id, ce.sortOrder")
-    List<CodeExample> findByLearningModuleIds(@Param("moduleIds") List<Long> moduleIds);
+    @Query(TEXT_SELECT + "WHERE ce.learningModule.id = :moduleId AND ce.learningModule.isPublished = true "
+            + "ORDER BY ce.sortOrder, ce.id")
+    List<CodeExampleText> findPublishedTextByModuleId(@Param("moduleId") Long moduleId);
 }
\ No newline at end of file
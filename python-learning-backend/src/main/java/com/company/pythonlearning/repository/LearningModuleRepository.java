@@ -1,41 +1,79 @@
 package com.company.pythonlearning.repository;
 
+import com.company.pythonlearning.dto.response.ModuleSummaryResponse;
+import com.company.pythonlearning.dto.response.ModuleTreeResponse;
 import com.company.pythonlearning.entity.LearningModule;
 import com.company.pythonlearning.enums.DifficultyLevel;
+import com.company.pythonlearning.repository.projection.ModuleText;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface LearningModuleRepository extends JpaRepository<LearningModule, Long> {
     
     /**
-     * 查找已发布的学习模块
+     * 模块摘要投影，不加载实体及其关联
      */
-    List<LearningModule> findByIsPublishedTrue();
+    String SUMMARY_SELECT = "SELECT new com.company.pythonlearning.dto.response.ModuleSummaryResponse(m.id, m.title, "
+            + "m.description, m.moduleType, m.difficultyLevel, m.estimatedDuration, m.thumbnailUrl, m.isPublished, "
+            + "m.sortOrder) FROM LearningModule m ";
     
     /**
-     * 根据难度级别查找模块
+     * 目录树节点投影，课程和代码示例由调用方挂载
      */
-    List<LearningModule> findByDifficultyLevel(DifficultyLevel difficultyLevel);
+    String TREE_SELECT = "SELECT new com.company.pythonlearning.dto.response.ModuleTreeResponse(m.id, m.title, "
+            + "m.description, m.moduleType, m.difficultyLevel, m.estimatedDuration, m.iconUrl, m.thumbnailUrl, "
+            + "m.sortOrder) FROM LearningModule m ";
     
     /**
-     * 根据难度级别和发布状态查找模块
+     * 模块全文投影，包含学习目标和前置要求
      */
-    List<LearningModule> findByDifficultyLevelAndIsPublished(DifficultyLevel difficultyLevel, Boolean isPublished);
+    String TEXT_SELECT = "SELECT new com.company.pythonlearning.repository.projection.ModuleText(m.id, m.title, "
+            + "m.description, m.learningObjectives, m.prerequisites, m.sortOrder) FROM LearningModule m ";
     
     /**
-     * 根据排序索引升序查找模块
+     * 查找已发布模块的ID
      */
-    List<LearningModule> findByIsPublishedTrueOrderBySortOrderAsc();
+    @Query("SELECT m.id FROM LearningModule m WHERE m.isPublished = true")
+    List<Long> findPublishedIds();
     
     /**
-     * 根据标题模糊搜索模块
+     * 根据难度级别查找已发布模块的摘要
      */
-    List<LearningModule> findByTitleContainingIgnoreCase(String title);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(SUMMARY_SELECT + "WHERE m.difficultyLevel = :difficultyLevel AND m.isPublished = true "
+            + "ORDER BY m.sortOrder, m.id")
+    List<ModuleSummaryResponse> findPublishedSummariesByDifficulty(
+            @Param("difficultyLevel") DifficultyLevel difficultyLevel);
+    
+    /**
+     * 按排序索引升序查找已发布模块的摘要
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(SUMMARY_SELECT + "WHERE m.isPublished = true ORDER BY m.sortOrder, m.id")
+    List<ModuleSummaryResponse> findPublishedSummaries();
+    
+    /**
+     * 按排序索引升序查找已发布模块的目录树节点
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(TREE_SELECT + "WHERE m.isPublished = true ORDER BY m.sortOrder, m.id")
+    List<ModuleTreeResponse> findPublishedTreeNodes();
+    
+    /**
+     * 根据ID列表查找模块摘要
+     */
+    @Query(SUMMARY_SELECT + "WHERE m.id IN :ids")
+    List<ModuleSummaryResponse> findSummariesByIds(@Param("ids") List<Long> ids);
     
     /**
      * 统计已发布模块数量
@@ -54,4 +92,25 @@ public interface LearningModuleRepository extends JpaRepository<LearningModule,
      */
     @Query("SELECT m.difficultyLevel, COUNT(m) FROM LearningModule m WHERE m.isPublished = true GROUP BY m.difficultyLevel")
     List<Object[]> countModulesByDifficulty();
+    
+    /**
+     * 键集分页：按 (sortOrder, id) 读取游标之后的模块摘要
+     */
+    @Query(SUMMARY_SELECT + "WHERE m.sortOrder > :sortOrder OR (m.sortOrder = :sortOrder AND m.id > :id) "
+            + "ORDER BY m.sortOrder, m.id")
+    List<ModuleSummaryResponse> findSummaryPageAfter(@Param("sortOrder") int sortOrder, @Param("id") long id,
+                                                     Limit limit);
+    
+    /**
+     * 键集分页：按 (sortOrder, id) 读取游标之后的已发布模块全文，供索引构建使用
+     */
+    @Query(TEXT_SELECT + "WHERE m.isPublished = true "
+            + "AND (m.sortOrder > :sortOrder OR (m.sortOrder = :sortOrder AND m.id > :id)) ORDER BY m.sortOrder, m.id")
+    List<ModuleText> findPublishedTextPageAfter(@Param("sortOrder") int sortOrder, @Param("id") long id, Limit limit);
+    
+    /**
+     * 根据ID查找已发布模块的全文
+     */
+    @Query(TEXT_SELECT + "WHERE m.id = :id AND m.isPublished = true")
+    Optional<ModuleText> findPublishedTextById(@Param("id") Long id);
 }
\ No newline at end of file
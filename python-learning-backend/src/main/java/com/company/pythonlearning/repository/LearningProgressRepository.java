@@ -0,0 +1,16 @@
+package com.company.pythonlearning.repository;
+
+import com.company.pythonlearning.entity.LearningProgress;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface LearningProgressRepository extends JpaRepository<LearningProgress, LearningProgress.Key> {
+    
+    /**
+     * 查找用户的全部学习进度
+     */
+    List<LearningProgress> findByUsername(String username);
+}
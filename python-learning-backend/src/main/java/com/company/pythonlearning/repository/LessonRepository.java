@@ -1,35 +1,55 @@
 package com.company.pythonlearning.repository;
 
+import com.company.pythonlearning.dto.response.LessonDetailResponse;
+import com.company.pythonlearning.dto.response.LessonSummaryResponse;
 import com.company.pythonlearning.entity.Lesson;
+import com.company.pythonlearning.repository.projection.LessonText;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface LessonRepository extends JpaRepository<Lesson, Long> {
     
     /**
-     * 根据模块ID查找课程
+     * 课程摘要投影，不读取正文等大字段
      */
-    List<Lesson> findByLearningModuleId(Long moduleId);
+    String SUMMARY_SELECT = "SELECT new com.company.pythonlearning.dto.response.LessonSummaryResponse(l.id, "
+            + "l.learningModule.id, l.title, l.description, l.durationMinutes, l.difficultyLevel, l.sortOrder, "
+            + "l.isFree) FROM Lesson l ";
     
     /**
-     * 根据模块ID和排序索引升序查找课程
+     * 课程全文投影，包含正文
      */
-    List<Lesson> findByLearningModuleIdOrderBySortOrderAsc(Long moduleId);
+    String TEXT_SELECT = "SELECT new com.company.pythonlearning.repository.projection.LessonText(l.id, "
+            + "l.learningModule.id, l.title, l.description, l.content, l.learningObjectives, l.sortOrder) FROM Lesson l ";
     
     /**
-     * 根据模块ID和是否免费查找课程
+     * 课程本身及所属模块均已发布
      */
-    List<Lesson> findByLearningModuleIdAndIsFree(Long moduleId, Boolean isFree);
+    String PUBLISHED = "WHERE l.isPublished = true AND l.learningModule.isPublished = true ";
     
     /**
-     * 根据标题模糊搜索课程
+     * 课程详情投影，连同所属模块标题一条查询读出
      */
-    List<Lesson> findByTitleContainingIgnoreCase(String title);
+    String DETAIL_SELECT = "SELECT new com.company.pythonlearning.dto.response.LessonDetailResponse(l.id, m.id, "
+            + "m.title, l.title, l.description, l.content, l.videoUrl, l.durationMinutes, l.difficultyLevel, "
+            + "l.sortOrder, l.isFree, l.prerequisites, l.learningObjectives) FROM Lesson l JOIN l.learningModule m ";
+    
+    /**
+     * 根据模块ID按排序索引升序查找课程摘要
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(SUMMARY_SELECT + "WHERE l.learningModule.id = :moduleId ORDER BY l.sortOrder, l.id")
+    List<LessonSummaryResponse> findSummariesByModuleId(@Param("moduleId") Long moduleId);
     
     /**
      * 统计模块下的课程数量
@@ -44,15 +64,18 @@ public interface LessonRepository extends JpaRepository<Lesson, Long> {
     int findNextSortOrderByModuleId(@Param("moduleId") Long moduleId);
     
     /**
-     * 根据模块ID列表查找课程
+     * 根据模块ID列表查找已发布课程的摘要
      */
-    @Query("SELECT l FROM Lesson l WHERE l.learningModule.id IN :moduleIds ORDER BY l.learningModule.id, l.sortOrder")
-    List<Lesson> findByLearningModuleIds(@Param("moduleIds") List<Long> moduleIds);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(SUMMARY_SELECT + "WHERE l.learningModule.id IN :moduleIds AND l.isPublished = true "
+            + "ORDER BY l.learningModule.id, l.sortOrder")
+    List<LessonSummaryResponse> findPublishedSummariesByModuleIds(@Param("moduleIds") List<Long> moduleIds);
     
     /**
-     * 查找免费课程
+     * 根据ID列表查找课程摘要
      */
-    List<Lesson> findByIsFreeTrue();
+    @Query(SUMMARY_SELECT + "WHERE l.id IN :ids")
+    List<LessonSummaryResponse> findSummariesByIds(@Param("ids") List<Long> ids);
     
     /**
      * 统计免费课程数量
@@ -69,4 +92,46 @@ public interface LessonRepository extends JpaRepository<Lesson, Long> {
      * 统计已发布课程数量
      */
     long countByIsPublishedTrue();
+    
+    /**
+     * 键集分页：按 (sortOrder, id) 读取游标之后的课程摘要
+     */
+    @Query(SUMMARY_SELECT + "WHERE l.sortOrder > :sortOrder OR (l.sortOrder = :sortOrder AND l.id > :id) "
+            + "ORDER BY l.sortOrder, l.id")
+    List<LessonSummaryResponse> findSummaryPageAfter(@Param("sortOrder") int sortOrder, @Param("id") long id,
+                                                     Limit limit);
+    
+    /**
+     * 键集分页：按 (sortOrder, id) 读取游标之后的免费课程摘要
+     */
+    @Query(SUMMARY_SELECT + "WHERE l.isFree = true "
+            + "AND (l.sortOrder > :sortOrder OR (l.sortOrder = :sortOrder AND l.id > :id)) ORDER BY l.sortOrder, l.id")
+    List<LessonSummaryResponse> findFreeSummaryPageAfter(@Param("sortOrder") int sortOrder, @Param("id") long id,
+                                                         Limit limit);
+    
+    /**
+     * 键集分页：按 (sortOrder, id) 读取游标之后的已发布课程全文，供索引构建使用
+     */
+    @Query(TEXT_SELECT + PUBLISHED + "AND (l.sortOrder > :sortOrder OR (l.sortOrder = :sortOrder AND l.id > :id)) "
+            + "ORDER BY l.sortOrder, l.id")
+    List<LessonText> findPublishedTextPageAfter(@Param("sortOrder") int sortOrder, @Param("id") long id,
+                                                Limit limit);
+    
+    /**
+     * 根据ID查找已发布课程的全文
+     */
+    @Query(TEXT_SELECT + PUBLISHED + "AND l.id = :id")
+    Optional<LessonText> findPublishedTextById(@Param("id") Long id);
+    
+    /**
+     * 根据模块ID查找已发布课程的全文
+     */
+    @Query(TEXT_SELECT + PUBLISHED + "AND l.learningModule.id = :moduleId ORDER BY l.sortOrder, l.id")
+    List<LessonText> findPublishedTextByModuleId(@Param("moduleId") Long moduleId);
+    
+    /**
+     * 根据ID查找课程详情
+     */
+    @Query(DETAIL_SELECT + "WHERE l.id = :id")
+    Optional<LessonDetailResponse> findDetailById(@Param("id") Long id);
 }
\ No newline at end of file
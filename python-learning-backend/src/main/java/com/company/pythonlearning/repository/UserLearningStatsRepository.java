@@ -0,0 +1,9 @@
+package com.company.pythonlearning.repository;
+
+import com.company.pythonlearning.entity.UserLearningStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface UserLearningStatsRepository extends JpaRepository<UserLearningStats, String> {
+}
@@ -0,0 +1,11 @@
+package com.company.pythonlearning.repository.projection;
+
+/**
+ * 代码示例全文投影，供搜索索引和搜索建议构建读取代码正文，不加载实体
+ *
+ * @author Company
+ * @version 1.0.0
+ */
+public record CodeExampleText(Long id, Long moduleId, String title, String javaCode, String pythonCode,
+                              String explanation, Integer sortOrder) {
+}
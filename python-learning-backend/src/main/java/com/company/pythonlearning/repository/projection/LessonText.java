@@ -0,0 +1,11 @@
+package com.company.pythonlearning.repository.projection;
+
+/**
+ * 课程全文投影，供搜索索引构建读取正文，不加载实体
+ *
+ * @author Company
+ * @version 1.0.0
+ */
+public record LessonText(Long id, Long moduleId, String title, String description, String content,
+                         String learningObjectives, Integer sortOrder) {
+}
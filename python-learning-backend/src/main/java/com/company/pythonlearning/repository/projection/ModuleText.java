@@ -0,0 +1,11 @@
+package com.company.pythonlearning.repository.projection;
+
+/**
+ * 学习模块全文投影，供搜索索引和搜索建议构建使用，不加载实体
+ *
+ * @author Company
+ * @version 1.0.0
+ */
+public record ModuleText(Long id, String title, String description, String learningObjectives,
+                         String prerequisites, Integer sortOrder) {
+}
@@ -0,0 +1,114 @@
+package com.company.pythonlearning.sandbox;
+
+import com.company.pythonlearning.catalog.ModulePublishedEvent;
+import com.company.pythonlearning.enums.RunStatus;
+import com.company.pythonlearning.exception.BusinessException;
+import com.company.pythonlearning.repository.CodeExampleRepository;
+import com.company.pythonlearning.repository.LearningModuleRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 代码示例预运行
+ *
+ * <p>模块或课程发布后，在后台依次运行该模块中未缓存的代码示例，把结果写入 {@link RunResultCache}；
+ * 启动时对所有已发布模块做一次同样的处理。每段代码在两个不同的新进程中各运行一次，
+ * 只有没有导入随机数或时间相关模块、两次结果完全一致且没有触发资源限制时才缓存。
+ * 两个进程的字符串哈希种子和内存布局不同，依赖集合遍历顺序或对象标识的输出也会在比较中暴露。</p>
+ *
+ * <p>缓存的结果会返回给其他用户，因此预运行不借用池中运行过用户代码的进程，
+ * 每次运行都使用 {@link PythonWorkerPool#executeOnFreshWorker} 新启动的进程。
+ * 同一时间只运行一个预运行进程；有用户请求在排队等待时放弃本轮预运行，
+ * 未缓存的示例在用户点击运行时照常实际运行。</p>
+ *
+ * @author Company
+ * @version 1.0.0
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ExampleRunPrecomputer {
+
+    private final LearningModuleRepository learningModuleRepository;
+
+    private final CodeExampleRepository codeExampleRepository;
+
+    private final PythonWorkerPool pythonWorkerPool;
+
+    private final RunResultCache runResultCache;
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void precomputePublished() {
+        if (!runResultCache.isEnabled() || !pythonWorkerPool.isAvailable()) {
+            return;
+        }
+        List<Long> moduleIds = learningModuleRepository.findPublishedIds();
+        if (!moduleIds.isEmpty()) {
+            precompute(codeExampleRepository.findPythonCodeByModuleIds(moduleIds));
+        }
+    }
+
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onModulePublished(ModulePublishedEvent event) {
+        if (!runResultCache.isEnabled() || !pythonWorkerPool.isAvailable()) {
+            return;
+        }
+        precompute(codeExampleRepository.findPythonCodeByModuleIds(List.of(event.moduleId())));
+    }
+
+    private synchronized void precompute(List<String> pythonCodes) {
+        int cached = 0;
+        for (String code : pythonCodes) {
+            if (code == null || code.isBlank()) {
+                continue;
+            }
+            String key = runResultCache.key(code, null);
+            if (runResultCache.get(key) != null) {
+                continue;
+            }
+            if (pythonWorkerPool.waitingRequests() > 0) {
+                log.debug("有运行请求在排队, 停止预运行代码示例");
+                break;
+            }
+            SandboxResult first;
+            SandboxResult second;
+            try {
+                first = pythonWorkerPool.executeOnFreshWorker(code);
+                if (!isCacheable(first)) {
+                    continue;
+                }
+                second = pythonWorkerPool.executeOnFreshWorker(code);
+            } catch (BusinessException e) {
+                log.debug("无法启动预运行进程, 停止预运行代码示例: {}", e.getMessage());
+                break;
+            }
+            if (sameOutput(first, second)) {
+                runResultCache.put(key, first);
+                cached++;
+            }
+        }
+        log.debug("代码示例预运行完成, 示例数: {}, 新缓存: {}", pythonCodes.size(), cached);
+    }
+
+    private static boolean isCacheable(SandboxResult result) {
+        return (result.status() == RunStatus.SUCCESS || result.status() == RunStatus.ERROR) && !result.truncated()
+                && RunResultCache.isDeterministic(result);
+    }
+
+    private static boolean sameOutput(SandboxResult first, SandboxResult second) {
+        return first.status() == second.status()
+                && first.stdout().equals(second.stdout())
+                && first.stderr().equals(second.stderr())
+                && Objects.equals(first.error(), second.error());
+    }
+}
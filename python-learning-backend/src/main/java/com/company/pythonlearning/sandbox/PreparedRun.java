@@ -0,0 +1,21 @@
+package com.company.pythonlearning.sandbox;
+
+import com.company.pythonlearning.dto.response.CodeRunResponse;
+
+/**
+ * 已通过校验、可以开始运行的代码
+ *
+ * <p>示例不存在、代码为空或超长等问题在得到该对象之前就已抛出，
+ * 流式接口可以据此在开始输出事件流之前返回明确的错误。</p>
+ *
+ * @author Company
+ * @version 1.0.0
+ */
+@FunctionalInterface
+public interface PreparedRun {
+
+    /**
+     * 运行代码，listener不为null时以流式模式回调输出
+     */
+    CodeRunResponse run(RunListener listener);
+}
@@ -0,0 +1,260 @@
+package com.company.pythonlearning.sandbox;
+
+import com.company.pythonlearning.config.SandboxProperties;
+import com.company.pythonlearning.enums.RunStatus;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 常驻的Python工作进程
+ *
+ * <p>进程启动后一直保持运行，每次运行通过标准输入写入一行JSON请求，从标准输出读取一行JSON结果。
+ * 常驻进程本身不执行用户代码，每次运行由它fork出的子进程执行，运行之间不共享任何解释器状态。
+ * CPU时间、墙钟时间和输出大小由工作进程自行检查；对于卡在C代码中无法响应信号的情况，
+ * 这里在墙钟时间上限之后强制结束进程作为兜底，被结束的进程不再复用。</p>
+ *
+ * <p>传入 {@link RunListener} 时以流式模式运行，输出片段在产生时即回调；
+ * 已经到达的连续片段合并后再回调，避免逐行输出时回调过于频繁。
+ * 运行可以通过 {@link RunListener#onStart} 提供的回调取消，取消即结束进程，被取消的进程不再复用。</p>
+ *
+ * <p>除取消外，实例不是线程安全的，同一时间只由借出它的一个线程使用。</p>
+ *
+ * @author Company
+ * @version 1.0.0
+ */
+class PythonWorker {
+
+    /**
+     * 墙钟超时后留给工作进程自行中断并返回结果的时间
+     */
+    private static final long KILL_GRACE_MILLIS = 1000;
+
+    private static final long STARTUP_TIMEOUT_MILLIS = 10000;
+
+    private final Process process;
+
+    private final BufferedWriter requests;
+
+    private final BufferedReader results;
+
+    private final ObjectMapper objectMapper;
+
+    private final ScheduledExecutorService watchdog;
+
+    private int runs;
+
+    private boolean broken;
+
+    private boolean cancelled;
+
+    /**
+     * 当前运行的序号，取消回调只对发出它的那次运行有效
+     */
+    private long activeRun;
+
+    private boolean running;
+
+    private PythonWorker(Process process, ObjectMapper objectMapper, ScheduledExecutorService watchdog) {
+        this.process = process;
+        this.requests = new BufferedWriter(new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8));
+        this.results = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+        this.objectMapper = objectMapper;
+        this.watchdog = watchdog;
+    }
+
+    /**
+     * 启动工作进程并等待其完成初始化
+     */
+    static PythonWorker start(String script, File workDir, SandboxProperties properties, ObjectMapper objectMapper,
+                              ScheduledExecutorService watchdog) throws IOException {
+        // -I：隔离模式，忽略PYTHON*环境变量和用户site目录，不把当前目录加入模块搜索路径
+        List<String> command = new ArrayList<>(properties.getIsolationCommand());
+        command.addAll(List.of(properties.getPythonCommand(), "-I", "-S", "-c", script,
+                Long.toString(properties.getMemoryLimit()), String.join(",", properties.getAllowedModules())));
+        ProcessBuilder builder = new ProcessBuilder(command)
+                .directory(workDir)
+                .redirectError(ProcessBuilder.Redirect.DISCARD);
+        builder.environment().clear();
+        PythonWorker worker = new PythonWorker(builder.start(), objectMapper, watchdog);
+        AtomicBoolean killed = new AtomicBoolean();
+        ScheduledFuture<?> kill = worker.killAfter(STARTUP_TIMEOUT_MILLIS, killed);
+        try {
+            String line = worker.results.readLine();
+            if (line == null || !objectMapper.readTree(line).path("ready").asBoolean()) {
+                worker.destroy();
+                throw new IOException(killed.get() ? "Python工作进程启动超时" : "Python工作进程启动失败");
+            }
+        } catch (IOException e) {
+            worker.destroy();
+            throw e;
+        } finally {
+            kill.cancel(false);
+        }
+        return worker;
+    }
+
+    /**
+     * 运行一段代码，listener 为null时一次性返回全部输出
+     */
+    SandboxResult run(String code, String stdin, SandboxProperties properties, RunListener listener) {
+        long startNanos = System.nanoTime();
+        Map<String, Object> request = new LinkedHashMap<>();
+        request.put("code", code);
+        request.put("stdin", stdin);
+        request.put("cpuMillis", properties.getCpuTimeLimit());
+        request.put("wallMillis", properties.getWallTimeLimit());
+        request.put("maxOutputBytes", properties.getMaxOutputBytes());
+        request.put("stream", listener != null);
+
+        AtomicBoolean killed = new AtomicBoolean();
+        ScheduledFuture<?> kill = killAfter(properties.getWallTimeLimit() + KILL_GRACE_MILLIS, killed);
+        try {
+            requests.write(objectMapper.writeValueAsString(request));
+            requests.newLine();
+            requests.flush();
+            long run = begin();
+            if (listener != null) {
+                listener.onStart(() -> cancel(run));
+            }
+            StringBuilder stdout = new StringBuilder();
+            StringBuilder stderr = new StringBuilder();
+            JsonNode result = readResult(listener, stdout, stderr);
+            if (result == null) {
+                return interrupted(killed, startNanos);
+            }
+            runs++;
+            stdout.append(result.path("stdout").asText());
+            stderr.append(result.path("stderr").asText());
+            return new SandboxResult(RunStatus.valueOf(result.path("status").asText()),
+                    stdout.toString(), stderr.toString(),
+                    result.path("error").isNull() ? null : result.path("error").asText(),
+                    result.path("cpuMillis").asLong(), result.path("wallMillis").asLong(),
+                    result.path("truncated").asBoolean(), imports(result.path("imports")));
+        } catch (IOException | IllegalArgumentException e) {
+            return interrupted(killed, startNanos);
+        } finally {
+            kill.cancel(false);
+            end();
+        }
+    }
+
+    private static List<String> imports(JsonNode names) {
+        List<String> imports = new ArrayList<>(names.size());
+        names.forEach(name -> imports.add(name.asText()));
+        return List.copyOf(imports);
+    }
+
+    /**
+     * 读取输出片段直到运行结果，进程退出时返回null
+     */
+    private JsonNode readResult(RunListener listener, StringBuilder stdout, StringBuilder stderr) throws IOException {
+        String pendingStream = null;
+        StringBuilder pending = new StringBuilder();
+        while (true) {
+            String line = results.readLine();
+            if (line == null) {
+                return null;
+            }
+            JsonNode message = objectMapper.readTree(line);
+            String stream = message.path("stream").asText(null);
+            if (stream == null) {
+                if (pendingStream != null) {
+                    listener.onOutput(pendingStream, pending.toString());
+                }
+                return message;
+            }
+            String text = message.path("text").asText();
+            (RunListener.STDERR.equals(stream) ? stderr : stdout).append(text);
+            if (pendingStream != null && !pendingStream.equals(stream)) {
+                listener.onOutput(pendingStream, pending.toString());
+                pending.setLength(0);
+            }
+            pendingStream = stream;
+            pending.append(text);
+            if (!results.ready()) {
+                listener.onOutput(pendingStream, pending.toString());
+                pending.setLength(0);
+                pendingStream = null;
+            }
+        }
+    }
+
+    private SandboxResult interrupted(AtomicBoolean killed, long startNanos) {
+        broken = true;
+        RunStatus status = isCancelled() ? RunStatus.CANCELLED
+                : killed.get() ? RunStatus.TIMEOUT : RunStatus.ABORTED;
+        return SandboxResult.failed(status, null, elapsedMillis(startNanos));
+    }
+
+    private synchronized long begin() {
+        running = true;
+        return ++activeRun;
+    }
+
+    /**
+     * 运行结束后取消回调失效，进程归还到池中后不会被过期的回调结束
+     */
+    private synchronized void end() {
+        running = false;
+    }
+
+    private synchronized boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * 取消指定序号的运行
+     */
+    private synchronized void cancel(long run) {
+        if (running && activeRun == run) {
+            cancelled = true;
+            kill();
+        }
+    }
+
+    /**
+     * 是否可以归还到池中继续使用
+     */
+    boolean isReusable(int maxRuns) {
+        return !broken && runs < maxRuns && process.isAlive();
+    }
+
+    void destroy() {
+        kill();
+    }
+
+    /**
+     * 结束进程及其子进程；通过隔离命令启动时解释器是隔离命令的子进程
+     */
+    private void kill() {
+        process.descendants().forEach(ProcessHandle::destroyForcibly);
+        process.destroyForcibly();
+    }
+
+    private ScheduledFuture<?> killAfter(long millis, AtomicBoolean killed) {
+        return watchdog.schedule(() -> {
+            killed.set(true);
+            kill();
+        }, millis, TimeUnit.MILLISECONDS);
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+}
@@ -0,0 +1,247 @@
+package com.company.pythonlearning.sandbox;
+
+import com.company.pythonlearning.config.SandboxProperties;
+import com.company.pythonlearning.exception.BusinessException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Python工作进程池
+ *
+ * <p>启动时预先创建固定数量的常驻Python 3进程，运行请求借用空闲进程，运行结束后归还复用，
+ * 不为每次运行冷启动解释器。出错、被强制结束或达到运行次数上限的进程在后台线程中替换为新进程。</p>
+ *
+ * <p>工作进程内对内置函数和模块导入的限制只能挡住误用，不能阻止有意的逃逸，隔离依赖于
+ * {@code app.sandbox.isolation-command} 配置的操作系统级沙箱（非特权用户、无网络、只读文件系统）；
+ * 未配置时除非显式允许，否则不启动工作进程。</p>
+ *
+ * <p>同时在运行和排队的请求总数受 poolSize + queueCapacity 限制，超出时立即拒绝；
+ * 排队超过 queueTimeout 仍未等到空闲进程的请求也会被拒绝，
+ * 因此大量用户同时点击运行时进程数保持不变，多出的请求排队或快速失败。</p>
+ *
+ * @author Company
+ * @version 1.0.0
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PythonWorkerPool {
+
+    private static final String WORKER_SCRIPT = "sandbox/python_worker.py";
+
+    private static final long RESPAWN_RETRY_MILLIS = 5000;
+
+    private final SandboxProperties sandboxProperties;
+
+    private final ObjectMapper objectMapper;
+
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    private BlockingQueue<PythonWorker> idle;
+
+    private Semaphore admission;
+
+    /**
+     * 负责超时强制结束进程，与替换进程的线程分开，避免启动慢的进程耽误超时处理
+     */
+    private ScheduledThreadPoolExecutor watchdog;
+
+    private ScheduledThreadPoolExecutor spawner;
+
+    private String script;
+
+    /**
+     * 工作进程的当前目录，保持为空目录，避免同名文件遮蔽标准库模块
+     */
+    private File workDir;
+
+    private volatile boolean available;
+
+    @PostConstruct
+    public void init() throws IOException {
+        if (!sandboxProperties.isEnabled()) {
+            log.info("代码运行沙箱未启用");
+            return;
+        }
+        if (sandboxProperties.getIsolationCommand().isEmpty()) {
+            if (!sandboxProperties.isAllowUnisolated()) {
+                log.error("代码运行沙箱未配置隔离命令(app.sandbox.isolation-command), 代码运行功能已关闭");
+                return;
+            }
+            log.warn("代码运行沙箱未配置隔离命令, 用户代码可以访问本机文件和网络, 仅限本地开发使用");
+        }
+        script = new ClassPathResource(WORKER_SCRIPT).getContentAsString(StandardCharsets.UTF_8);
+        workDir = Files.createTempDirectory("python-sandbox-").toFile();
+        int size = sandboxProperties.resolvePoolSize();
+        idle = new LinkedBlockingQueue<>();
+        admission = new Semaphore(size + sandboxProperties.getQueueCapacity());
+        watchdog = daemonScheduler("sandbox-watchdog");
+        watchdog.setRemoveOnCancelPolicy(true);
+        spawner = daemonScheduler("sandbox-spawner");
+        try {
+            for (int i = 0; i < size; i++) {
+                idle.add(PythonWorker.start(script, workDir, sandboxProperties, objectMapper, watchdog));
+            }
+        } catch (IOException e) {
+            log.warn("Python解释器不可用, 代码运行功能已关闭: {}", e.getMessage());
+            shutdown();
+            return;
+        }
+        available = true;
+        log.info("Python工作进程池初始化完成, 大小: {}, 排队上限: {}", size, sandboxProperties.getQueueCapacity());
+    }
+
+    /**
+     * 借用一个工作进程运行代码
+     */
+    public SandboxResult execute(String code, String stdin) {
+        return execute(code, stdin, null);
+    }
+
+    /**
+     * 借用一个工作进程以流式模式运行代码，输出通过listener回调；listener为null时一次性返回全部输出
+     */
+    public SandboxResult execute(String code, String stdin, RunListener listener) {
+        if (!available) {
+            throw new BusinessException(503, "代码运行环境不可用");
+        }
+        if (!admission.tryAcquire()) {
+            throw new BusinessException(429, "当前运行请求过多，请稍后重试");
+        }
+        try {
+            PythonWorker worker;
+            waiting.incrementAndGet();
+            try {
+                worker = idle.poll(sandboxProperties.getQueueTimeout(), TimeUnit.MILLISECONDS);
+            } finally {
+                waiting.decrementAndGet();
+            }
+            if (worker == null) {
+                throw new BusinessException(503, "代码运行服务繁忙，请稍后重试");
+            }
+            boolean reusable = false;
+            try {
+                SandboxResult result = worker.run(code, stdin, sandboxProperties, listener);
+                reusable = worker.isReusable(sandboxProperties.getMaxRunsPerWorker());
+                return result;
+            } finally {
+                recycle(worker, reusable);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException(499, "代码运行已取消");
+        } finally {
+            admission.release();
+        }
+    }
+
+    /**
+     * 在新启动的专用工作进程中运行一次代码，进程用完即结束，不进入空闲队列
+     *
+     * <p>用于运行结果会被缓存并返回给其他用户的场合：进程从未运行过用户代码，
+     * 结果不会受之前的运行影响。每次调用都冷启动解释器，不适合用户请求。</p>
+     */
+    public SandboxResult executeOnFreshWorker(String code) {
+        if (!available) {
+            throw new BusinessException(503, "代码运行环境不可用");
+        }
+        PythonWorker worker;
+        try {
+            worker = PythonWorker.start(script, workDir, sandboxProperties, objectMapper, watchdog);
+        } catch (IOException e) {
+            throw new BusinessException(503, "代码运行环境不可用");
+        }
+        try {
+            return worker.run(code, null, sandboxProperties, null);
+        } finally {
+            worker.destroy();
+        }
+    }
+
+    /**
+     * 是否可以运行代码
+     */
+    public boolean isAvailable() {
+        return available;
+    }
+
+    /**
+     * 当前空闲的工作进程数
+     */
+    public int idleWorkers() {
+        return available ? idle.size() : 0;
+    }
+
+    /**
+     * 当前排队等待工作进程的请求数
+     */
+    public int waitingRequests() {
+        return waiting.get();
+    }
+
+    private void recycle(PythonWorker worker, boolean reusable) {
+        if (reusable) {
+            idle.offer(worker);
+            return;
+        }
+        worker.destroy();
+        if (available) {
+            spawner.execute(this::respawn);
+        }
+    }
+
+    private void respawn() {
+        if (!available) {
+            return;
+        }
+        try {
+            idle.offer(PythonWorker.start(script, workDir, sandboxProperties, objectMapper, watchdog));
+        } catch (IOException e) {
+            log.error("替换Python工作进程失败, {}ms后重试: {}", RESPAWN_RETRY_MILLIS, e.getMessage());
+            spawner.schedule(this::respawn, RESPAWN_RETRY_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        available = false;
+        if (spawner != null) {
+            spawner.shutdownNow();
+            watchdog.shutdownNow();
+        }
+        if (idle != null) {
+            List<PythonWorker> workers = new ArrayList<>();
+            idle.drainTo(workers);
+            workers.forEach(PythonWorker::destroy);
+        }
+        if (workDir != null) {
+            workDir.delete();
+        }
+    }
+
+    private static ScheduledThreadPoolExecutor daemonScheduler(String name) {
+        return new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
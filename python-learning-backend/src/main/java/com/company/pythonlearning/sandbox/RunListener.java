@@ -0,0 +1,25 @@
+package com.company.pythonlearning.sandbox;
+
+/**
+ * 代码运行过程的回调
+ *
+ * @author Company
+ * @version 1.0.0
+ */
+public interface RunListener {
+
+    String STDOUT = "stdout";
+
+    String STDERR = "stderr";
+
+    /**
+     * 代码开始在工作进程中运行时调用，cancel 可以在任意线程中调用以中止本次运行
+     */
+    default void onStart(Runnable cancel) {
+    }
+
+    /**
+     * 收到一段输出时调用，stream 为 stdout 或 stderr
+     */
+    void onOutput(String stream, String text);
+}
@@ -0,0 +1,108 @@
+package com.company.pythonlearning.sandbox;
+
+import com.company.pythonlearning.config.SandboxProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Set;
+
+/**
+ * 代码示例运行结果缓存
+ *
+ * <p>以代码与标准输入的SHA-256摘要为键，保存发布时预先运行得到的结果。
+ * 未修改的示例代码再次运行时直接返回缓存结果，修改过的代码摘要不同，照常实际运行。
+ * 只缓存输出确定的代码：导入了随机数或时间相关模块的代码不缓存，
+ * 是否导入由工作进程在运行时记录，不依赖对源代码的文本匹配。</p>
+ *
+ * @author Company
+ * @version 1.0.0
+ */
+@Component
+@Slf4j
+public class RunResultCache implements MeterBinder {
+
+    /**
+     * 每个缓存条目除输出文本外的估算固定开销（字节）
+     */
+    private static final int ENTRY_OVERHEAD = 256;
+
+    /**
+     * 输出通常随运行而变化的模块
+     */
+    private static final Set<String> NONDETERMINISTIC_MODULES = Set.of("random", "time", "datetime", "calendar");
+
+    private final boolean enabled;
+
+    private final Cache<String, SandboxResult> cache;
+
+    public RunResultCache(SandboxProperties sandboxProperties) {
+        SandboxProperties.ResultCache config = sandboxProperties.getResultCache();
+        this.enabled = config.isEnabled();
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(config.getMaxBytes())
+                .weigher(RunResultCache::weigh)
+                .recordStats()
+                .build();
+        log.info("示例运行结果缓存初始化完成, 启用: {}, 容量上限: {} 字节", enabled, config.getMaxBytes());
+    }
+
+    /**
+     * 计算缓存键：代码 + 标准输入的SHA-256
+     */
+    public String key(String code, String stdin) {
+        MessageDigest digest = sha256();
+        digest.update(code.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        digest.update((stdin != null ? stdin : "").getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    public SandboxResult get(String key) {
+        return enabled ? cache.getIfPresent(key) : null;
+    }
+
+    public void put(String key, SandboxResult result) {
+        if (enabled) {
+            cache.put(key, result);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "run-result");
+    }
+
+    /**
+     * 产生该结果的运行是否导入了输出可能随运行而变化的模块
+     */
+    public static boolean isDeterministic(SandboxResult result) {
+        return result.imports().stream().noneMatch(NONDETERMINISTIC_MODULES::contains);
+    }
+
+    private static int weigh(String key, SandboxResult value) {
+        long bytes = ENTRY_OVERHEAD + key.length() + 2L * value.stdout().length() + 2L * value.stderr().length()
+                + (value.error() != null ? 2L * value.error().length() : 0);
+        return (int) Math.min(Integer.MAX_VALUE, bytes);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("JVM不支持SHA-256", e);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.company.pythonlearning.sandbox;
+
+import com.company.pythonlearning.enums.RunStatus;
+
+import java.util.List;
+
+/**
+ * 单次代码运行的结果
+ *
+ * @param status     运行状态
+ * @param stdout     标准输出
+ * @param stderr     标准错误
+ * @param error      未捕获异常的回溯信息，只保留用户代码中的栈帧
+ * @param cpuMillis  CPU耗时（毫秒）
+ * @param wallMillis 墙钟耗时（毫秒）
+ * @param truncated  输出是否因超出大小限制被截断
+ * @param imports    用户代码导入过的顶层模块
+ * @author Company
+ * @version 1.0.0
+ */
+public record SandboxResult(RunStatus status, String stdout, String stderr, String error,
+                            long cpuMillis, long wallMillis, boolean truncated, List<String> imports) {
+
+    /**
+     * 工作进程未能返回结果时的运行结果
+     */
+    static SandboxResult failed(RunStatus status, String error, long wallMillis) {
+        return new SandboxResult(status, "", "", error, 0, wallMillis, false, List.of());
+    }
+}
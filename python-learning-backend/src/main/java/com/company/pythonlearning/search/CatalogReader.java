@@ -0,0 +1,68 @@
+package com.company.pythonlearning.search;
+
+import com.company.pythonlearning.dto.request.KeysetCursor;
+import com.company.pythonlearning.repository.CodeExampleRepository;
+import com.company.pythonlearning.repository.LearningModuleRepository;
+import com.company.pythonlearning.repository.LessonRepository;
+import com.company.pythonlearning.repository.projection.CodeExampleText;
+import com.company.pythonlearning.repository.projection.LessonText;
+import com.company.pythonlearning.repository.projection.ModuleText;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * 按键集分页分批遍历课程目录，供索引构建使用，避免一次性把整张表加载到内存；
+ * 各类目录项以全文投影读取，正文等延迟加载的字段随批次一次查出。
+ * 只遍历对外可见的内容：已发布的模块，以及已发布模块下的已发布课程和代码示例
+ *
+ * @author Company
+ * @version 1.0.0
+ */
+@Component
+@RequiredArgsConstructor
+class CatalogReader {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final LearningModuleRepository learningModuleRepository;
+
+    private final LessonRepository lessonRepository;
+
+    private final CodeExampleRepository codeExampleRepository;
+
+    void forEachPublishedModule(Consumer<ModuleText> consumer) {
+        forEachBatch(after -> learningModuleRepository.findPublishedTextPageAfter(after.sortOrder(), after.id(),
+                        Limit.of(BATCH_SIZE)),
+                module -> KeysetCursor.of(module.sortOrder(), module.id()), consumer);
+    }
+
+    void forEachPublishedLesson(Consumer<LessonText> consumer) {
+        forEachBatch(after -> lessonRepository.findPublishedTextPageAfter(after.sortOrder(), after.id(),
+                        Limit.of(BATCH_SIZE)),
+                lesson -> KeysetCursor.of(lesson.sortOrder(), lesson.id()), consumer);
+    }
+
+    void forEachPublishedCodeExample(Consumer<CodeExampleText> consumer) {
+        forEachBatch(after -> codeExampleRepository.findPublishedTextPageAfter(after.sortOrder(), after.id(),
+                        Limit.of(BATCH_SIZE)),
+                example -> KeysetCursor.of(example.sortOrder(), example.id()), consumer);
+    }
+
+    private static <T> void forEachBatch(Function<KeysetCursor, List<T>> query, Function<T, KeysetCursor> keyOf,
+                                         Consumer<T> consumer) {
+        KeysetCursor after = KeysetCursor.FIRST;
+        while (true) {
+            List<T> batch = query.apply(after);
+            batch.forEach(consumer);
+            if (batch.size() < BATCH_SIZE) {
+                return;
+            }
+            after = keyOf.apply(batch.get(batch.size() - 1));
+        }
+    }
+}
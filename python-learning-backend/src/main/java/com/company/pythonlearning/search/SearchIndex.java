@@ -0,0 +1,289 @@
+package com.company.pythonlearning.search;
+
+import com.company.pythonlearning.enums.SearchDocumentType;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 进程内倒排索引
+ *
+ * <p>以词为键保存 文档序号 → 词频 的倒排表，按BM25为命中文档打分。
+ * 标题中的词按 {@value #TITLE_WEIGHT} 倍词频计入，使标题命中排在正文命中之前。
+ * 词表按字典序保存，以 {@code *} 结尾的查询词和单个汉字按前缀展开，
+ * 同一查询词展开出的多个词对同一文档只取最高分。</p>
+ *
+ * <p>写操作（新增、更新、删除）持有写锁，查询持有读锁；文档被删除后序号回收复用。</p>
+ *
+ * @author Company
+ * @version 1.0.0
+ */
+@Component
+public class SearchIndex {
+
+    private static final double K1 = 1.2;
+
+    private static final double B = 0.75;
+
+    private static final int TITLE_WEIGHT = 3;
+
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final TreeMap<String, Map<Integer, Integer>> postings = new TreeMap<>();
+
+    private final List<Entry> entries = new ArrayList<>();
+
+    private final Map<Key, Integer> ordinals = new HashMap<>();
+
+    private final Deque<Integer> freeOrdinals = new ArrayDeque<>();
+
+    private long totalLength;
+
+    /**
+     * 待索引的文档
+     */
+    public record Document(SearchDocumentType type, Long id, Long moduleId, String title, String body) {
+    }
+
+    /**
+     * 命中结果
+     */
+    public record Hit(SearchDocumentType type, Long id, Long moduleId, String title, double score) {
+    }
+
+    private record Key(SearchDocumentType type, long id) {
+    }
+
+    private record Entry(Key key, Long moduleId, String title, int length, String[] terms) {
+    }
+
+    /**
+     * 新增或替换文档
+     */
+    public void index(Document document) {
+        Map<String, Integer> frequencies = new LinkedHashMap<>();
+        for (String token : SearchTokenizer.tokenize(document.title())) {
+            frequencies.merge(token, TITLE_WEIGHT, Integer::sum);
+        }
+        for (String token : SearchTokenizer.tokenize(document.body())) {
+            frequencies.merge(token, 1, Integer::sum);
+        }
+        int length = 0;
+        for (int frequency : frequencies.values()) {
+            length += frequency;
+        }
+        Key key = new Key(document.type(), document.id());
+        Entry entry = new Entry(key, document.moduleId(), document.title(), length,
+                frequencies.keySet().toArray(new String[0]));
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(key);
+            Integer ordinal = freeOrdinals.poll();
+            if (ordinal == null) {
+                ordinal = entries.size();
+                entries.add(entry);
+            } else {
+                entries.set(ordinal, entry);
+            }
+            ordinals.put(key, ordinal);
+            totalLength += length;
+            for (Map.Entry<String, Integer> frequency : frequencies.entrySet()) {
+                postings.computeIfAbsent(frequency.getKey(), term -> new HashMap<>())
+                        .put(ordinal, frequency.getValue());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 删除文档，不存在时忽略
+     */
+    public void remove(SearchDocumentType type, Long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(new Key(type, id));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 删除某个模块下的全部课程和代码示例
+     */
+    public void removeByModule(Long moduleId) {
+        lock.writeLock().lock();
+        try {
+            List<Key> keys = new ArrayList<>();
+            for (Entry entry : entries) {
+                if (entry != null && entry.key().type() != SearchDocumentType.MODULE
+                        && moduleId.equals(entry.moduleId())) {
+                    keys.add(entry.key());
+                }
+            }
+            keys.forEach(this::removeLocked);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 清空索引
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            entries.clear();
+            ordinals.clear();
+            freeOrdinals.clear();
+            totalLength = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinals.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 按BM25得分返回前limit个命中文档
+     *
+     * @param type 文档类型，为null时搜索全部类型
+     */
+    public List<Hit> search(String query, SearchDocumentType type, int limit) {
+        List<QueryTerm> terms = parse(query);
+        if (terms.isEmpty() || limit <= 0) {
+            return new ArrayList<>();
+        }
+        lock.readLock().lock();
+        try {
+            int documentCount = ordinals.size();
+            if (documentCount == 0) {
+                return new ArrayList<>();
+            }
+            double averageLength = (double) totalLength / documentCount;
+            Map<Integer, Double> scores = new HashMap<>();
+            for (QueryTerm term : terms) {
+                Map<Integer, Double> best = new HashMap<>();
+                for (Map.Entry<String, Map<Integer, Integer>> posting : expand(term)) {
+                    Map<Integer, Integer> documents = posting.getValue();
+                    double idf = Math.log(1 + (documentCount - documents.size() + 0.5) / (documents.size() + 0.5));
+                    for (Map.Entry<Integer, Integer> document : documents.entrySet()) {
+                        Entry entry = entries.get(document.getKey());
+                        if (type != null && entry.key().type() != type) {
+                            continue;
+                        }
+                        int frequency = document.getValue();
+                        double norm = K1 * (1 - B + B * entry.length() / averageLength);
+                        best.merge(document.getKey(), idf * frequency * (K1 + 1) / (frequency + norm), Math::max);
+                    }
+                }
+                best.forEach((ordinal, score) -> scores.merge(ordinal, score, Double::sum));
+            }
+            return top(scores, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Hit> top(Map<Integer, Double> scores, int limit) {
+        Comparator<Map.Entry<Integer, Double>> byScore = Map.Entry.comparingByValue();
+        PriorityQueue<Map.Entry<Integer, Double>> heap = new PriorityQueue<>(limit + 1, byScore);
+        for (Map.Entry<Integer, Double> score : scores.entrySet()) {
+            heap.offer(score);
+            if (heap.size() > limit) {
+                heap.poll();
+            }
+        }
+        List<Hit> hits = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            Map.Entry<Integer, Double> score = heap.poll();
+            Entry entry = entries.get(score.getKey());
+            hits.add(new Hit(entry.key().type(), entry.key().id(), entry.moduleId(), entry.title(), score.getValue()));
+        }
+        // 小顶堆依次弹出的是升序
+        Collections.reverse(hits);
+        return hits;
+    }
+
+    private Iterable<Map.Entry<String, Map<Integer, Integer>>> expand(QueryTerm term) {
+        if (!term.prefix()) {
+            Map<Integer, Integer> documents = postings.get(term.text());
+            return documents == null ? List.of() : List.of(Map.entry(term.text(), documents));
+        }
+        SortedMap<String, Map<Integer, Integer>> range = postings.subMap(term.text(), term.text() + Character.MAX_VALUE);
+        List<Map.Entry<String, Map<Integer, Integer>>> expansions = new ArrayList<>();
+        for (Map.Entry<String, Map<Integer, Integer>> posting : range.entrySet()) {
+            expansions.add(posting);
+            if (expansions.size() == MAX_PREFIX_EXPANSIONS) {
+                break;
+            }
+        }
+        return expansions;
+    }
+
+    private void removeLocked(Key key) {
+        Integer ordinal = ordinals.remove(key);
+        if (ordinal == null) {
+            return;
+        }
+        Entry entry = entries.get(ordinal);
+        for (String term : entry.terms()) {
+            Map<Integer, Integer> documents = postings.get(term);
+            if (documents != null) {
+                documents.remove(ordinal);
+                if (documents.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+        totalLength -= entry.length();
+        entries.set(ordinal, null);
+        freeOrdinals.push(ordinal);
+    }
+
+    private record QueryTerm(String text, boolean prefix) {
+    }
+
+    /**
+     * 解析查询：以 * 结尾的词按前缀匹配，单个汉字也按前缀匹配以命中包含它的二元词
+     */
+    private static List<QueryTerm> parse(String query) {
+        List<QueryTerm> terms = new ArrayList<>();
+        if (query == null) {
+            return terms;
+        }
+        for (String word : query.trim().split("\\s+")) {
+            boolean prefix = word.endsWith("*");
+            List<String> tokens = SearchTokenizer.tokenize(prefix ? word.substring(0, word.length() - 1) : word);
+            for (int i = 0; i < tokens.size(); i++) {
+                String token = tokens.get(i);
+                boolean singleHan = token.length() == 1 && SearchTokenizer.isCjk(token.charAt(0));
+                terms.add(new QueryTerm(token, singleHan || (prefix && i == tokens.size() - 1)));
+            }
+        }
+        return terms;
+    }
+}
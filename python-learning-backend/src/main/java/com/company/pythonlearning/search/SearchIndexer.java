@@ -0,0 +1,104 @@
+package com.company.pythonlearning.search;
+
+import com.company.pythonlearning.catalog.CatalogChangedEvent;
+import com.company.pythonlearning.enums.SearchDocumentType;
+import com.company.pythonlearning.repository.CodeExampleRepository;
+import com.company.pythonlearning.repository.LearningModuleRepository;
+import com.company.pythonlearning.repository.LessonRepository;
+import com.company.pythonlearning.repository.projection.CodeExampleText;
+import com.company.pythonlearning.repository.projection.LessonText;
+import com.company.pythonlearning.repository.projection.ModuleText;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.regex.Pattern;
+
+/**
+ * 搜索索引维护
+ *
+ * <p>应用启动后在后台分批读取已发布的模块、课程和代码示例，建立完整索引；
+ * 此后模块和课程的写操作提交后按ID重新读取并增量更新，记录已被删除或不再对外发布时从索引中移除。</p>
+ *
+ * @author Company
+ * @version 1.0.0
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SearchIndexer {
+
+    private static final Pattern HTML_TAG = Pattern.compile("<[^>]*>");
+
+    private final SearchIndex searchIndex;
+
+    private final CatalogReader catalogReader;
+
+    private final LearningModuleRepository learningModuleRepository;
+
+    private final LessonRepository lessonRepository;
+
+    private final CodeExampleRepository codeExampleRepository;
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        searchIndex.clear();
+        catalogReader.forEachPublishedModule(this::indexModule);
+        catalogReader.forEachPublishedLesson(this::indexLesson);
+        catalogReader.forEachPublishedCodeExample(this::indexCodeExample);
+        log.info("搜索索引构建完成: {} 个文档，耗时 {} ms", searchIndex.size(), System.currentTimeMillis() - start);
+    }
+
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (CatalogChangedEvent.MODULE.equals(event.source())) {
+            learningModuleRepository.findPublishedTextById(event.id()).ifPresentOrElse(module -> {
+                // 模块可能刚被发布，其下已发布的课程和代码示例此前不在索引中
+                indexModule(module);
+                lessonRepository.findPublishedTextByModuleId(module.id()).forEach(this::indexLesson);
+                codeExampleRepository.findPublishedTextByModuleId(module.id()).forEach(this::indexCodeExample);
+            }, () -> {
+                searchIndex.remove(SearchDocumentType.MODULE, event.id());
+                searchIndex.removeByModule(event.id());
+            });
+        } else if (CatalogChangedEvent.LESSON.equals(event.source())) {
+            lessonRepository.findPublishedTextById(event.id()).ifPresentOrElse(this::indexLesson,
+                    () -> searchIndex.remove(SearchDocumentType.LESSON, event.id()));
+        }
+    }
+
+    private void indexModule(ModuleText module) {
+        searchIndex.index(new SearchIndex.Document(SearchDocumentType.MODULE, module.id(), module.id(),
+                module.title(), join(module.description(), module.learningObjectives(), module.prerequisites())));
+    }
+
+    private void indexLesson(LessonText lesson) {
+        String content = lesson.content() != null ? HTML_TAG.matcher(lesson.content()).replaceAll(" ") : null;
+        searchIndex.index(new SearchIndex.Document(SearchDocumentType.LESSON, lesson.id(),
+                lesson.moduleId(), lesson.title(),
+                join(lesson.description(), content, lesson.learningObjectives())));
+    }
+
+    private void indexCodeExample(CodeExampleText example) {
+        searchIndex.index(new SearchIndex.Document(SearchDocumentType.CODE_EXAMPLE, example.id(),
+                example.moduleId(), example.title(),
+                join(example.explanation(), example.javaCode(), example.pythonCode())));
+    }
+
+    private static String join(String... parts) {
+        StringBuilder text = new StringBuilder();
+        for (String part : parts) {
+            if (part != null) {
+                text.append(part).append('\n');
+            }
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,116 @@
+package com.company.pythonlearning.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 搜索分词器
+ *
+ * <p>索引和查询使用同一套规则：</p>
+ * <ul>
+ *   <li>中文按相邻两字切分（二元分词），单独的一个汉字保留为单字词；</li>
+ *   <li>英文单词和代码标识符统一转小写，标识符按驼峰和下划线拆分，
+ *       同时保留去掉下划线后的完整标识符，因此 {@code getUserName}、{@code get_user_name}
+ *       和 {@code user name} 都能互相命中；</li>
+ *   <li>单个英文字母和纯标点被丢弃。</li>
+ * </ul>
+ *
+ * @author Company
+ * @version 1.0.0
+ */
+public final class SearchTokenizer {
+
+    private SearchTokenizer() {
+    }
+
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            char c = text.charAt(i);
+            if (isWordChar(c)) {
+                int start = i;
+                while (i < length && isWordChar(text.charAt(i))) {
+                    i++;
+                }
+                addIdentifier(text.substring(start, i), tokens);
+            } else if (isCjk(c)) {
+                int start = i;
+                while (i < length && isCjk(text.charAt(i))) {
+                    i++;
+                }
+                addBigrams(text, start, i, tokens);
+            } else {
+                i++;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * 是否为汉字
+     */
+    static boolean isCjk(char c) {
+        return Character.UnicodeScript.of(c) == Character.UnicodeScript.HAN;
+    }
+
+    private static boolean isWordChar(char c) {
+        return c < 128 && (Character.isLetterOrDigit(c) || c == '_');
+    }
+
+    private static void addBigrams(String text, int start, int end, List<String> tokens) {
+        if (end - start == 1) {
+            tokens.add(text.substring(start, end));
+            return;
+        }
+        for (int i = start; i + 1 < end; i++) {
+            tokens.add(text.substring(i, i + 2));
+        }
+    }
+
+    private static void addIdentifier(String word, List<String> tokens) {
+        List<String> parts = new ArrayList<>();
+        int partStart = 0;
+        for (int i = 1; i <= word.length(); i++) {
+            if (i == word.length() || isBoundary(word, i)) {
+                String part = word.substring(partStart, i).replace("_", "");
+                if (!part.isEmpty()) {
+                    parts.add(part.toLowerCase(Locale.ROOT));
+                }
+                partStart = i;
+            }
+        }
+        for (String part : parts) {
+            if (part.length() > 1) {
+                tokens.add(part);
+            }
+        }
+        if (parts.size() > 1) {
+            tokens.add(String.join("", parts));
+        }
+    }
+
+    /**
+     * 驼峰、下划线和字母数字交界处为拆分点，连续大写视为一个缩写（如 HTTPServer → http, server）
+     */
+    private static boolean isBoundary(String word, int i) {
+        char prev = word.charAt(i - 1);
+        char c = word.charAt(i);
+        if (c == '_' || prev == '_') {
+            return true;
+        }
+        if (Character.isLowerCase(prev) && Character.isUpperCase(c)) {
+            return true;
+        }
+        if (Character.isUpperCase(prev) && Character.isUpperCase(c)
+                && i + 1 < word.length() && Character.isLowerCase(word.charAt(i + 1))) {
+            return true;
+        }
+        return Character.isDigit(prev) != Character.isDigit(c);
+    }
+}
@@ -0,0 +1,246 @@
+package com.company.pythonlearning.search;
+
+import com.company.pythonlearning.enums.SuggestionType;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+/**
+ * 不可变的前缀补全词典
+ *
+ * <p>所有候选词的小写键按字典序首尾相接存放在一个char数组中，通过偏移数组定位，
+ * 同一前缀的候选词在数组中连续，二分查找即可定位范围。
+ * 长度不超过 {@value #PRECOMPUTED_PREFIX_LENGTH} 的前缀命中范围往往很大，
+ * 构建时预先算好这些前缀的前 {@value #MAX_SUGGESTIONS} 个结果，查询时直接返回；
+ * 更长的前缀范围很小，扫描范围并用小顶堆取前k个。</p>
+ *
+ * <p>实例构建完成后不再修改，可以被多个线程无锁读取，内容变化时整体重建并替换。</p>
+ *
+ * @author Company
+ * @version 1.0.0
+ */
+public final class SuggestionDictionary {
+
+    public static final int MAX_SUGGESTIONS = 10;
+
+    private static final int PRECOMPUTED_PREFIX_LENGTH = 2;
+
+    private static final SuggestionType[] TYPES = SuggestionType.values();
+
+    private final char[] keys;
+
+    private final int[] offsets;
+
+    private final String[] texts;
+
+    private final int[] weights;
+
+    private final byte[] types;
+
+    private final Map<String, int[]> shortPrefixes;
+
+    /**
+     * 补全结果
+     */
+    public record Suggestion(String text, SuggestionType type, int weight) {
+    }
+
+    private SuggestionDictionary(TreeMap<String, Candidate> candidates) {
+        int size = candidates.size();
+        int totalLength = 0;
+        for (String key : candidates.keySet()) {
+            totalLength += key.length();
+        }
+        this.keys = new char[totalLength];
+        this.offsets = new int[size + 1];
+        this.texts = new String[size];
+        this.weights = new int[size];
+        this.types = new byte[size];
+        int index = 0;
+        int offset = 0;
+        for (Map.Entry<String, Candidate> entry : candidates.entrySet()) {
+            String key = entry.getKey();
+            key.getChars(0, key.length(), keys, offset);
+            offsets[index] = offset;
+            offset += key.length();
+            Candidate candidate = entry.getValue();
+            texts[index] = candidate.text;
+            weights[index] = candidate.weight;
+            types[index] = (byte) candidate.type.ordinal();
+            index++;
+        }
+        offsets[size] = offset;
+        this.shortPrefixes = precomputeShortPrefixes();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static SuggestionDictionary empty() {
+        return new SuggestionDictionary(new TreeMap<>());
+    }
+
+    public int size() {
+        return texts.length;
+    }
+
+    /**
+     * 返回以prefix开头（不区分大小写）、权重最高的至多limit个候选词
+     */
+    public List<Suggestion> complete(String prefix, int limit) {
+        List<Suggestion> suggestions = new ArrayList<>();
+        if (prefix == null || prefix.isBlank() || limit <= 0) {
+            return suggestions;
+        }
+        String normalized = normalize(prefix);
+        int[] top = normalized.length() <= PRECOMPUTED_PREFIX_LENGTH
+                ? shortPrefixes.getOrDefault(normalized, new int[0])
+                : topInRange(normalized, lowerBound(normalized), MAX_SUGGESTIONS);
+        for (int i = 0; i < top.length && i < limit; i++) {
+            int index = top[i];
+            suggestions.add(new Suggestion(texts[index], TYPES[types[index]], weights[index]));
+        }
+        return suggestions;
+    }
+
+    private Map<String, int[]> precomputeShortPrefixes() {
+        Map<String, int[]> result = new HashMap<>();
+        for (int length = 1; length <= PRECOMPUTED_PREFIX_LENGTH; length++) {
+            int index = 0;
+            while (index < texts.length) {
+                int keyLength = offsets[index + 1] - offsets[index];
+                if (keyLength < length) {
+                    index++;
+                    continue;
+                }
+                String prefix = new String(keys, offsets[index], length);
+                result.put(prefix, topInRange(prefix, index, MAX_SUGGESTIONS));
+                // 跳过同一前缀的整段范围
+                index = upperBound(prefix, index);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 从start开始扫描以prefix开头的连续范围，按权重降序返回前k个下标
+     */
+    private int[] topInRange(String prefix, int start, int k) {
+        // 权重相同时字典序靠前的优先保留
+        Comparator<Integer> byWeight = Comparator.<Integer>comparingInt(i -> weights[i])
+                .thenComparing(Comparator.reverseOrder());
+        PriorityQueue<Integer> heap = new PriorityQueue<>(k + 1, byWeight);
+        for (int index = start; index < texts.length && startsWith(index, prefix); index++) {
+            heap.offer(index);
+            if (heap.size() > k) {
+                heap.poll();
+            }
+        }
+        int[] top = new int[heap.size()];
+        for (int i = top.length - 1; i >= 0; i--) {
+            top[i] = heap.poll();
+        }
+        return top;
+    }
+
+    private int upperBound(String prefix, int from) {
+        int index = from;
+        while (index < texts.length && startsWith(index, prefix)) {
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * 第一个不小于prefix的键的下标
+     */
+    private int lowerBound(String prefix) {
+        int low = 0;
+        int high = texts.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (compare(middle, prefix) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private int compare(int index, String value) {
+        int start = offsets[index];
+        int length = offsets[index + 1] - start;
+        int common = Math.min(length, value.length());
+        for (int i = 0; i < common; i++) {
+            int diff = keys[start + i] - value.charAt(i);
+            if (diff != 0) {
+                return diff;
+            }
+        }
+        return length - value.length();
+    }
+
+    private boolean startsWith(int index, String prefix) {
+        int start = offsets[index];
+        if (offsets[index + 1] - start < prefix.length()) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            if (keys[start + i] != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String normalize(String text) {
+        return text.strip().toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Candidate {
+
+        private final String text;
+
+        private final SuggestionType type;
+
+        private int weight;
+
+        Candidate(String text, SuggestionType type, int weight) {
+            this.text = text;
+            this.type = type;
+            this.weight = weight;
+        }
+    }
+
+    /**
+     * 构建器，同一个键多次加入时权重累加，文本和来源以第一次加入的为准
+     */
+    public static final class Builder {
+
+        private final TreeMap<String, Candidate> candidates = new TreeMap<>();
+
+        private Builder() {
+        }
+
+        public Builder add(String text, SuggestionType type, int weight) {
+            if (text == null || text.isBlank()) {
+                return this;
+            }
+            String display = text.strip();
+            candidates.computeIfAbsent(normalize(display), key -> new Candidate(display, type, 0)).weight += weight;
+            return this;
+        }
+
+        public SuggestionDictionary build() {
+            return new SuggestionDictionary(candidates);
+        }
+    }
+}
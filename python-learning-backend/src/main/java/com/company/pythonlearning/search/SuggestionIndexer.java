@@ -0,0 +1,147 @@
+package com.company.pythonlearning.search;
+
+import com.company.pythonlearning.catalog.CatalogChangedEvent;
+import com.company.pythonlearning.enums.SuggestionType;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 搜索建议词典维护
+ *
+ * <p>候选词包括已发布模块、课程和代码示例的标题，代码示例中出现的Java标识符和Python关键字；
+ * 草稿和未发布模块下的内容不进入词典，模块或课程的发布状态变化与其他目录变更一样触发重建。
+ * 权重按出现频率累计：标题按来源给固定基础分，标识符和关键字每出现在一个示例中加1分。</p>
+ *
+ * <p>词典在单独的后台线程中整体重建，完成后替换引用，查询始终读取完整的旧词典或新词典。
+ * 目录在短时间内多次变更时只重建一次。</p>
+ *
+ * @author Company
+ * @version 1.0.0
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SuggestionIndexer {
+
+    private static final long REBUILD_DELAY_MILLIS = 2000;
+
+    private static final int MODULE_TITLE_WEIGHT = 30;
+
+    private static final int LESSON_TITLE_WEIGHT = 20;
+
+    private static final int CODE_EXAMPLE_TITLE_WEIGHT = 10;
+
+    private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z_$][A-Za-z0-9_$]+");
+
+    private static final Set<String> JAVA_KEYWORDS = Set.of(
+            "abstract", "assert", "boolean", "break", "byte", "case", "catch", "char", "class", "const",
+            "continue", "default", "do", "double", "else", "enum", "extends", "final", "finally", "float",
+            "for", "goto", "if", "implements", "import", "instanceof", "int", "interface", "long", "native",
+            "new", "package", "private", "protected", "public", "return", "short", "static", "strictfp",
+            "super", "switch", "synchronized", "this", "throw", "throws", "transient", "try", "void",
+            "volatile", "while", "var", "record", "yield", "true", "false", "null");
+
+    private static final Set<String> PYTHON_KEYWORDS = Set.of(
+            "False", "None", "True", "and", "as", "assert", "async", "await", "break", "class", "continue",
+            "def", "del", "elif", "else", "except", "finally", "for", "from", "global", "if", "import", "in",
+            "is", "lambda", "nonlocal", "not", "or", "pass", "raise", "return", "try", "while", "with", "yield");
+
+    private final CatalogReader catalogReader;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "suggestion-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AtomicBoolean rebuildPending = new AtomicBoolean();
+
+    private volatile SuggestionDictionary dictionary = SuggestionDictionary.empty();
+
+    /**
+     * 当前词典，首次构建完成前为空词典
+     */
+    public SuggestionDictionary current() {
+        return dictionary;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        scheduleRebuild(0);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        scheduleRebuild(REBUILD_DELAY_MILLIS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private void scheduleRebuild(long delayMillis) {
+        if (rebuildPending.compareAndSet(false, true)) {
+            scheduler.schedule(this::rebuild, delayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void rebuild() {
+        // 先清除标记，重建过程中到达的变更会再安排一次重建
+        rebuildPending.set(false);
+        long start = System.currentTimeMillis();
+        try {
+            SuggestionDictionary.Builder builder = SuggestionDictionary.builder();
+            catalogReader.forEachPublishedModule(module ->
+                    builder.add(module.title(), SuggestionType.MODULE, MODULE_TITLE_WEIGHT));
+            catalogReader.forEachPublishedLesson(lesson ->
+                    builder.add(lesson.title(), SuggestionType.LESSON, LESSON_TITLE_WEIGHT));
+            catalogReader.forEachPublishedCodeExample(example -> {
+                builder.add(example.title(), SuggestionType.CODE_EXAMPLE, CODE_EXAMPLE_TITLE_WEIGHT);
+                for (String identifier : identifiers(example.javaCode())) {
+                    if (!JAVA_KEYWORDS.contains(identifier)) {
+                        builder.add(identifier, SuggestionType.JAVA_IDENTIFIER, 1);
+                    }
+                }
+                for (String word : identifiers(example.pythonCode())) {
+                    if (PYTHON_KEYWORDS.contains(word)) {
+                        builder.add(word, SuggestionType.PYTHON_KEYWORD, 1);
+                    }
+                }
+            });
+            SuggestionDictionary rebuilt = builder.build();
+            dictionary = rebuilt;
+            log.info("搜索建议词典构建完成: {} 个候选词，耗时 {} ms", rebuilt.size(), System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            log.error("搜索建议词典构建失败: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 代码中出现的不重复标识符
+     */
+    private static Set<String> identifiers(String code) {
+        Set<String> identifiers = new HashSet<>();
+        if (code != null) {
+            Matcher matcher = IDENTIFIER.matcher(code);
+            while (matcher.find()) {
+                identifiers.add(matcher.group());
+            }
+        }
+        return identifiers;
+    }
+}
@@ -0,0 +1,28 @@
+package com.company.pythonlearning.service;
+
+import com.company.pythonlearning.dto.request.CodeConversionRequest.ConversionOptions;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * 批量代码转换服务接口
+ * 
+ * @author Company
+ * @version 1.0.0
+ */
+public interface BatchConversionService {
+    
+    /**
+     * 转换ZIP压缩包中的所有Java文件，结果以ZIP格式写入out
+     */
+    void convertArchive(InputStream archive, ConversionOptions options, OutputStream out) throws IOException;
+    
+    /**
+     * 转换上传的多个Java文件，结果以ZIP格式写入out
+     */
+    void convertFiles(List<MultipartFile> files, ConversionOptions options, OutputStream out) throws IOException;
+}
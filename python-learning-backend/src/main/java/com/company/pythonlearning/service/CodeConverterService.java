@@ -0,0 +1,30 @@
+package com.company.pythonlearning.service;
+
+import com.company.pythonlearning.converter.PreparedConversion;
+import com.company.pythonlearning.dto.request.CodeConversionRequest;
+import com.company.pythonlearning.dto.response.CodeConversionResponse;
+import com.company.pythonlearning.dto.response.ConversionCacheStatsResponse;
+
+/**
+ * 代码转换服务接口
+ * 
+ * @author Company
+ * @version 1.0.0
+ */
+public interface CodeConverterService {
+    
+    /**
+     * 转换代码并返回完整结果
+     */
+    CodeConversionResponse convert(CodeConversionRequest request);
+    
+    /**
+     * 解析并校验代码，返回可流式写出结果的转换任务；命中缓存时不再解析
+     */
+    PreparedConversion prepare(CodeConversionRequest request);
+    
+    /**
+     * 获取转换缓存统计
+     */
+    ConversionCacheStatsResponse getCacheStats();
+}
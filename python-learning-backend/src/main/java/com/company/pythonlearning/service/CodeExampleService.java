@@ -0,0 +1,26 @@
+package com.company.pythonlearning.service;
+
+import com.company.pythonlearning.dto.response.CodeExampleResponse;
+import com.company.pythonlearning.dto.response.CodeExampleSummaryResponse;
+import com.company.pythonlearning.dto.response.CursorPageResponse;
+import com.company.pythonlearning.enums.DifficultyLevel;
+
+/**
+ * 代码示例服务接口
+ * 
+ * @author Company
+ * @version 1.0.0
+ */
+public interface CodeExampleService {
+    
+    /**
+     * 分页获取代码示例，按 (sortOrder, id) 排序，模块和难度级别为null时不过滤
+     */
+    CursorPageResponse<CodeExampleSummaryResponse> getCodeExamples(Long moduleId, DifficultyLevel difficultyLevel,
+                                                                   String cursor, Integer size);
+    
+    /**
+     * 根据ID获取代码示例详情
+     */
+    CodeExampleResponse getCodeExampleById(Long id);
+}
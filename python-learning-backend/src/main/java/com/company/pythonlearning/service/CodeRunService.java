@@ -0,0 +1,24 @@
+package com.company.pythonlearning.service;
+
+import com.company.pythonlearning.dto.request.CodeRunRequest;
+import com.company.pythonlearning.dto.response.CodeRunResponse;
+import com.company.pythonlearning.sandbox.PreparedRun;
+
+/**
+ * 代码运行服务接口
+ * 
+ * @author Company
+ * @version 1.0.0
+ */
+public interface CodeRunService {
+    
+    /**
+     * 在沙箱中运行代码示例，请求中带有代码时运行修改后的代码
+     */
+    CodeRunResponse runCodeExample(Long exampleId, CodeRunRequest request);
+    
+    /**
+     * 校验并准备运行代码示例，实际运行在返回对象的 {@link PreparedRun#run} 中进行
+     */
+    PreparedRun prepare(Long exampleId, CodeRunRequest request);
+}
@@ -0,0 +1,34 @@
+package com.company.pythonlearning.service;
+
+import com.company.pythonlearning.dto.request.CodeConversionRequest;
+import com.company.pythonlearning.dto.response.CodeConversionResponse;
+import com.company.pythonlearning.dto.response.ConversionHistoryPageResponse;
+import com.company.pythonlearning.dto.response.ConversionHistoryResponse;
+
+/**
+ * 转换历史服务接口
+ * 
+ * @author Company
+ * @version 1.0.0
+ */
+public interface ConversionHistoryService {
+    
+    /**
+     * 记录一次成功的转换；记录失败只写日志，不影响转换结果
+     */
+    void record(String username, CodeConversionRequest request, CodeConversionResponse response);
+    
+    /**
+     * 按时间倒序分页获取用户的转换历史，page从1开始
+     */
+    ConversionHistoryPageResponse getHistory(String username, int page, int size);
+    
+    ConversionHistoryResponse getHistoryItem(String username, Long id);
+    
+    void deleteHistoryItem(String username, Long id);
+    
+    /**
+     * 清空用户的转换历史，返回删除的条数
+     */
+    int clearHistory(String username);
+}
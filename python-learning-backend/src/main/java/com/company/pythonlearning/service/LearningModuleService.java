@@ -1,5 +1,9 @@
 package com.company.pythonlearning.service;
 
+import com.company.pythonlearning.dto.response.CursorPageResponse;
+import com.company.pythonlearning.dto.response.ModuleStatisticsResponse;
+import com.company.pythonlearning.dto.response.ModuleSummaryResponse;
+import com.company.pythonlearning.dto.response.ModuleTreeResponse;
 import com.company.pythonlearning.entity.LearningModule;
 import com.company.pythonlearning.enums.DifficultyLevel;
 
@@ -14,14 +18,19 @@ import java.util.List;
 public interface LearningModuleService {
     
     /**
-     * 获取所有学习模块
+     * 分页获取所有学习模块，按 (sortOrder, id) 排序
      */
-    List<LearningModule> getAllModules();
+    CursorPageResponse<ModuleSummaryResponse> getAllModules(String cursor, Integer size);
     
     /**
      * 获取已发布的学习模块
      */
-    List<LearningModule> getPublishedModules();
+    List<ModuleSummaryResponse> getPublishedModules();
+    
+    /**
+     * 获取已发布模块的课程目录树（模块及其已发布课程、代码示例）
+     */
+    List<ModuleTreeResponse> getPublishedModuleTree();
     
     /**
      * 根据ID获取学习模块
@@ -56,15 +65,15 @@ public interface LearningModuleService {
     /**
      * 根据难度级别获取模块
      */
-    List<LearningModule> getModulesByDifficulty(DifficultyLevel difficultyLevel);
+    List<ModuleSummaryResponse> getModulesByDifficulty(DifficultyLevel difficultyLevel);
     
     /**
-     * 搜索学习模块
+     * 搜索学习模块（全文索引，按相关度排序）
      */
-    List<LearningModule> searchModules(String keyword);
+    List<ModuleSummaryResponse> searchModules(String keyword);
     
     /**
      * 统计模块数据
      */
-    Object[] getModuleStatistics();
+    ModuleStatisticsResponse getModuleStatistics();
 }
\ No newline at end of file
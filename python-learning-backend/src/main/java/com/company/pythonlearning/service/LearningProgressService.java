@@ -0,0 +1,44 @@
+package com.company.pythonlearning.service;
+
+import com.company.pythonlearning.dto.response.LearningProgressResponse;
+
+import java.util.List;
+
+/**
+ * 学习进度服务接口
+ * 
+ * @author Company
+ * @version 1.0.0
+ */
+public interface LearningProgressService {
+    
+    /**
+     * 记录用户在模块上的学习进度（百分比）
+     */
+    void recordProgress(String username, Long moduleId, int progress);
+    
+    /**
+     * 累加用户在模块上的学习时长（秒）
+     */
+    void recordStudyTime(String username, Long moduleId, long seconds);
+    
+    /**
+     * 将模块标记为已完成
+     */
+    void completeModule(String username, Long moduleId);
+    
+    /**
+     * 记录课程完成，重复完成同一课程不重复计数
+     */
+    void completeLesson(String username, Long lessonId);
+    
+    /**
+     * 记录模块测验成绩（0-100）
+     */
+    void recordQuizScore(String username, Long moduleId, int score);
+    
+    /**
+     * 获取用户的全部学习进度，包含尚未写入数据库的上报
+     */
+    List<LearningProgressResponse> getProgress(String username);
+}
@@ -0,0 +1,17 @@
+package com.company.pythonlearning.service;
+
+import com.company.pythonlearning.dto.response.LearningStatsResponse;
+
+/**
+ * 学习统计服务接口
+ * 
+ * @author Company
+ * @version 1.0.0
+ */
+public interface LearningStatsService {
+    
+    /**
+     * 获取用户的学习面板统计
+     */
+    LearningStatsResponse getStats(String username);
+}
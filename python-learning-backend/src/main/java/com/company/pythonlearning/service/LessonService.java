@@ -1,5 +1,9 @@
 package com.company.pythonlearning.service;
 
+import com.company.pythonlearning.dto.response.CursorPageResponse;
+import com.company.pythonlearning.dto.response.LessonDetailResponse;
+import com.company.pythonlearning.dto.response.LessonStatisticsResponse;
+import com.company.pythonlearning.dto.response.LessonSummaryResponse;
 import com.company.pythonlearning.entity.Lesson;
 
 import java.util.List;
@@ -13,14 +17,14 @@ import java.util.List;
 public interface LessonService {
     
     /**
-     * 获取所有课程
+     * 分页获取所有课程，按 (sortOrder, id) 排序
      */
-    List<Lesson> getAllLessons();
+    CursorPageResponse<LessonSummaryResponse> getAllLessons(String cursor, Integer size);
     
     /**
      * 根据模块ID获取课程
      */
-    List<Lesson> getLessonsByModuleId(Long moduleId);
+    List<LessonSummaryResponse> getLessonsByModuleId(Long moduleId);
     
     /**
      * 根据ID获取课程
@@ -45,12 +49,12 @@ public interface LessonService {
     /**
      * 获取免费课程
      */
-    List<Lesson> getFreeLessons();
+    CursorPageResponse<LessonSummaryResponse> getFreeLessons(String cursor, Integer size);
     
     /**
-     * 搜索课程
+     * 搜索课程（全文索引，按相关度排序）
      */
-    List<Lesson> searchLessons(String keyword);
+    List<LessonSummaryResponse> searchLessons(String keyword);
     
     /**
      * 统计模块下的课程数量
@@ -58,14 +62,9 @@ public interface LessonService {
     long countLessonsByModuleId(Long moduleId);
     
     /**
-     * 获取课程详情（包含关联的代码示例）
+     * 获取课程详情（包含所属模块的代码示例）
      */
-    Lesson getLessonWithExamples(Long id);
-    
-    /**
-     * 获取课程详情（包含关联的代码示例和练习）
-     */
-    Lesson getLessonDetail(Long id);
+    LessonDetailResponse getLessonDetail(Long id);
     
     /**
      * 发布课程
@@ -80,5 +79,5 @@ public interface LessonService {
     /**
      * 获取课程统计信息
      */
-    Object[] getLessonStatistics();
+    LessonStatisticsResponse getLessonStatistics();
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.company.pythonlearning.service;
+
+import com.company.pythonlearning.dto.response.SearchHitResponse;
+import com.company.pythonlearning.dto.response.SuggestionResponse;
+import com.company.pythonlearning.enums.SearchDocumentType;
+
+import java.util.List;
+
+/**
+ * 全文搜索服务接口
+ * 
+ * @author Company
+ * @version 1.0.0
+ */
+public interface SearchService {
+    
+    /**
+     * 跨模块、课程和代码示例搜索，按相关度排序
+     *
+     * @param type 文档类型，为null时搜索全部类型
+     */
+    List<SearchHitResponse> search(String keyword, SearchDocumentType type, Integer limit);
+    
+    /**
+     * 输入联想：返回以prefix开头、热度最高的候选词
+     */
+    List<SuggestionResponse> suggest(String prefix, Integer limit);
+}
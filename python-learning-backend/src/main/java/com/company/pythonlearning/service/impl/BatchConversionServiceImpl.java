@@ -0,0 +1,263 @@
+package com.company.pythonlearning.service.impl;
+
+import com.company.pythonlearning.config.ConverterProperties;
+import com.company.pythonlearning.dto.request.CodeConversionRequest;
+import com.company.pythonlearning.dto.request.CodeConversionRequest.ConversionOptions;
+import com.company.pythonlearning.dto.response.CodeConversionResponse;
+import com.company.pythonlearning.exception.BusinessException;
+import com.company.pythonlearning.service.BatchConversionService;
+import com.company.pythonlearning.service.CodeConverterService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * 批量代码转换服务实现类
+ *
+ * <p>请求线程顺序读取上传内容（ZIP条目直接从流中读取，不解压到磁盘），
+ * 转换任务提交到与解析器池同样大小的线程池并行执行，哪个文件先完成就先写入结果ZIP。
+ * 同时在途的任务数不超过线程数的两倍，因此内存占用与线程数成正比，而与压缩包大小无关。</p>
+ * 
+ * @author Company
+ * @version 1.0.0
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BatchConversionServiceImpl implements BatchConversionService {
+    
+    private static final String JAVA_SUFFIX = ".java";
+    
+    private static final String REPORT_NAME = "conversion-report.txt";
+    
+    private static final String CONVERSION_ERROR_MESSAGE = "转换过程中发生内部错误";
+    
+    private final CodeConverterService codeConverterService;
+    
+    private final ExecutorService conversionExecutor;
+    
+    private final ConverterProperties converterProperties;
+    
+    /**
+     * 待转换的源文件
+     */
+    private record BatchEntry(String name, String sourceCode, String error) {
+    }
+    
+    /**
+     * 单个文件的转换结果
+     */
+    private record BatchResult(String name, String pythonCode, Integer score, int warnings, String error) {
+    }
+    
+    /**
+     * 按顺序提供待转换文件，没有更多文件时返回null
+     */
+    private interface EntrySource {
+        BatchEntry next() throws IOException;
+    }
+    
+    @Override
+    public void convertArchive(InputStream archive, ConversionOptions options, OutputStream out) throws IOException {
+        ZipInputStream zip = new ZipInputStream(archive, StandardCharsets.UTF_8);
+        convert(() -> {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                if (!entry.isDirectory() && entry.getName().endsWith(JAVA_SUFFIX)) {
+                    return readEntry(entry.getName(), zip);
+                }
+            }
+            return null;
+        }, options, out);
+    }
+    
+    @Override
+    public void convertFiles(List<MultipartFile> files, ConversionOptions options, OutputStream out) throws IOException {
+        Iterator<MultipartFile> iterator = files.iterator();
+        convert(() -> {
+            while (iterator.hasNext()) {
+                MultipartFile file = iterator.next();
+                String name = file.getOriginalFilename();
+                if (name != null && name.endsWith(JAVA_SUFFIX)) {
+                    try (InputStream in = file.getInputStream()) {
+                        return readEntry(name, in);
+                    }
+                }
+            }
+            return null;
+        }, options, out);
+    }
+    
+    private void convert(EntrySource source, ConversionOptions options, OutputStream out) throws IOException {
+        int workers = converterProperties.resolveParserPoolSize();
+        int maxInFlight = workers * 2;
+        int maxFiles = converterProperties.getBatch().getMaxFiles();
+        CompletionService<BatchResult> completion = new ExecutorCompletionService<>(conversionExecutor);
+        Deque<Future<BatchResult>> pending = new ArrayDeque<>();
+        List<BatchResult> results = new ArrayList<>();
+        Set<String> entryNames = new HashSet<>();
+        ZipOutputStream zip = new ZipOutputStream(out, StandardCharsets.UTF_8);
+        long start = System.currentTimeMillis();
+        try {
+            BatchEntry entry;
+            int submitted = 0;
+            while ((entry = source.next()) != null) {
+                if (++submitted > maxFiles) {
+                    throw new BusinessException("批量转换文件数超过限制（最多" + maxFiles + "个）");
+                }
+                while (pending.size() >= maxInFlight) {
+                    writeResult(zip, take(completion, pending), results, entryNames);
+                }
+                BatchEntry task = entry;
+                pending.add(completion.submit(() -> convertOne(task, options)));
+                Future<BatchResult> done;
+                while ((done = completion.poll()) != null) {
+                    pending.remove(done);
+                    writeResult(zip, get(done), results, entryNames);
+                }
+            }
+            while (!pending.isEmpty()) {
+                writeResult(zip, take(completion, pending), results, entryNames);
+            }
+            writeReport(zip, results);
+            zip.finish();
+            log.info("批量转换完成, 文件数: {}, 耗时: {}ms", results.size(), System.currentTimeMillis() - start);
+        } finally {
+            // 客户端断开或出错时取消尚未完成的转换
+            pending.forEach(future -> future.cancel(true));
+        }
+    }
+    
+    private BatchResult convertOne(BatchEntry entry, ConversionOptions options) {
+        String outputName = outputName(entry.name());
+        if (entry.error() != null) {
+            return new BatchResult(outputName, null, null, 0, entry.error());
+        }
+        CodeConversionRequest request = new CodeConversionRequest();
+        request.setSourceCode(entry.sourceCode());
+        request.setConversionOptions(options);
+        try {
+            CodeConversionResponse response = codeConverterService.convert(request);
+            return new BatchResult(outputName, response.getConvertedCode(), response.getConversionScore(),
+                    response.getWarnings().size(), null);
+        } catch (BusinessException e) {
+            return new BatchResult(outputName, null, null, 0, e.getMessage());
+        } catch (RuntimeException e) {
+            // 单个文件触发转换器缺陷时只记为该文件失败，不中断整个压缩包
+            log.error("批量转换文件失败, 文件: {}", entry.name(), e);
+            return new BatchResult(outputName, null, null, 0, CONVERSION_ERROR_MESSAGE);
+        }
+    }
+    
+    private BatchResult take(CompletionService<BatchResult> completion, Deque<Future<BatchResult>> pending)
+            throws IOException {
+        try {
+            Future<BatchResult> done = completion.take();
+            pending.remove(done);
+            return get(done);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException(499, "批量转换已取消");
+        }
+    }
+    
+    private BatchResult get(Future<BatchResult> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException(499, "批量转换已取消");
+        } catch (ExecutionException e) {
+            throw new IOException("批量转换任务执行失败", e.getCause());
+        }
+    }
+    
+    private void writeResult(ZipOutputStream zip, BatchResult result, List<BatchResult> results,
+                             Set<String> entryNames) throws IOException {
+        // 多文件上传时可能出现同名文件，重名时追加序号
+        String name = result.name();
+        String base = name.substring(0, name.length() - ".py".length());
+        for (int i = 2; !entryNames.add(name); i++) {
+            name = base + "_" + i + ".py";
+        }
+        results.add(new BatchResult(name, null, result.score(), result.warnings(), result.error()));
+        if (result.pythonCode() == null) {
+            return;
+        }
+        zip.putNextEntry(new ZipEntry(name));
+        zip.write(result.pythonCode().getBytes(StandardCharsets.UTF_8));
+        zip.closeEntry();
+        zip.flush();
+    }
+    
+    private void writeReport(ZipOutputStream zip, List<BatchResult> results) throws IOException {
+        StringBuilder report = new StringBuilder("文件\t状态\t评分\t告警数\t说明\n");
+        long failed = 0;
+        for (BatchResult result : results) {
+            boolean success = result.error() == null;
+            if (!success) {
+                failed++;
+            }
+            report.append(result.name()).append('\t')
+                    .append(success ? "成功" : "失败").append('\t')
+                    .append(success ? result.score() : "-").append('\t')
+                    .append(result.warnings()).append('\t')
+                    .append(success ? "" : result.error()).append('\n');
+        }
+        report.append("\n共 ").append(results.size()).append(" 个文件，失败 ").append(failed).append(" 个\n");
+        zip.putNextEntry(new ZipEntry(REPORT_NAME));
+        zip.write(report.toString().getBytes(StandardCharsets.UTF_8));
+        zip.closeEntry();
+    }
+    
+    /**
+     * 读取单个源文件，超过长度限制时只记录错误而不保留内容
+     */
+    private BatchEntry readEntry(String name, InputStream in) throws IOException {
+        int maxChars = converterProperties.getMaxCodeLength();
+        // UTF-8中一个字符最多4个字节，多读一个字节用于判断是否超长
+        byte[] bytes = in.readNBytes(maxChars * 4 + 1);
+        if (bytes.length > maxChars * 4) {
+            return new BatchEntry(name, null, "源代码长度超过限制（最多" + maxChars + "个字符）");
+        }
+        return new BatchEntry(name, new String(bytes, StandardCharsets.UTF_8), null);
+    }
+    
+    /**
+     * 结果文件名：去除路径穿越片段，并把.java后缀替换为.py
+     */
+    private String outputName(String name) {
+        StringBuilder path = new StringBuilder();
+        for (String segment : name.replace('\\', '/').split("/")) {
+            if (segment.isEmpty() || ".".equals(segment) || "..".equals(segment)) {
+                continue;
+            }
+            if (path.length() > 0) {
+                path.append('/');
+            }
+            path.append(segment);
+        }
+        return path.substring(0, path.length() - JAVA_SUFFIX.length()) + ".py";
+    }
+}
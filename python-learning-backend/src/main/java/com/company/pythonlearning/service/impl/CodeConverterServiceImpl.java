@@ -0,0 +1,150 @@
+package com.company.pythonlearning.service.impl;
+
+import com.company.pythonlearning.converter.ConversionCache;
+import com.company.pythonlearning.converter.ConversionCache.CachedConversion;
+import com.company.pythonlearning.converter.ConversionReport;
+import com.company.pythonlearning.converter.JavaToPythonConverter;
+import com.company.pythonlearning.converter.PreparedConversion;
+import com.company.pythonlearning.dto.request.CodeConversionRequest;
+import com.company.pythonlearning.dto.response.CodeConversionResponse;
+import com.company.pythonlearning.dto.response.ConversionCacheStatsResponse;
+import com.company.pythonlearning.exception.BusinessException;
+import com.company.pythonlearning.service.CodeConverterService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 代码转换服务实现类
+ * 
+ * @author Company
+ * @version 1.0.0
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CodeConverterServiceImpl implements CodeConverterService {
+    
+    private final JavaToPythonConverter javaToPythonConverter;
+    
+    private final ConversionCache conversionCache;
+    
+    @Override
+    public CodeConversionResponse convert(CodeConversionRequest request) {
+        long startNanos = System.nanoTime();
+        validateLanguages(request);
+        String key = conversionCache.key(request.getSourceCode(), request.getConversionOptions());
+        CachedConversion cached = conversionCache.get(key);
+        if (cached != null) {
+            log.debug("代码转换命中缓存: {}", key);
+            return toResponse(cached.pythonCode(), cached.report(), startNanos);
+        }
+        
+        PreparedConversion conversion = javaToPythonConverter.prepare(
+                request.getSourceCode(), request.getConversionOptions());
+        StringWriter out = new StringWriter(request.getSourceCode().length() + 256);
+        ConversionReport report = conversion.writeTo(out);
+        String pythonCode = out.toString();
+        conversionCache.put(key, pythonCode, report);
+        log.debug("代码转换完成, 行数: {}, 耗时: {}ms", report.getLinesWritten(), report.getElapsedMillis());
+        return toResponse(pythonCode, report, startNanos);
+    }
+    
+    @Override
+    public PreparedConversion prepare(CodeConversionRequest request) {
+        validateLanguages(request);
+        String key = conversionCache.key(request.getSourceCode(), request.getConversionOptions());
+        CachedConversion cached = conversionCache.get(key);
+        if (cached != null) {
+            return cached.replay();
+        }
+        PreparedConversion conversion = javaToPythonConverter.prepare(
+                request.getSourceCode(), request.getConversionOptions());
+        if (!conversionCache.isEnabled()) {
+            return conversion;
+        }
+        // 边输出边保留一份副本，写出完成后回填缓存
+        return new PreparedConversion() {
+            @Override
+            public ConversionReport writeTo(Writer out) {
+                return writeTo(out, warning -> { });
+            }
+            
+            @Override
+            public ConversionReport writeTo(Writer out, Consumer<String> warnings) {
+                StringWriter copy = new StringWriter(request.getSourceCode().length() + 256);
+                ConversionReport report = conversion.writeTo(new TeeWriter(out, copy), warnings);
+                conversionCache.put(key, copy.toString(), report);
+                return report;
+            }
+        };
+    }
+    
+    @Override
+    public ConversionCacheStatsResponse getCacheStats() {
+        return conversionCache.stats();
+    }
+    
+    private void validateLanguages(CodeConversionRequest request) {
+        if (request.getSourceLanguage() != null && !"java".equalsIgnoreCase(request.getSourceLanguage())) {
+            throw new BusinessException("暂不支持的源语言: " + request.getSourceLanguage());
+        }
+        if (request.getTargetLanguage() != null && !"python".equalsIgnoreCase(request.getTargetLanguage())) {
+            throw new BusinessException("暂不支持的目标语言: " + request.getTargetLanguage());
+        }
+    }
+    
+    private CodeConversionResponse toResponse(String pythonCode, ConversionReport report, long startNanos) {
+        CodeConversionResponse response = new CodeConversionResponse();
+        response.setSuccess(report.isSuccess());
+        response.setConvertedCode(pythonCode);
+        response.setConversionScore(report.getScore());
+        response.setWarnings(report.getWarnings());
+        response.setErrors(report.getErrors());
+        response.setExecutionTime(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        return response;
+    }
+    
+    /**
+     * 同时写入两个Writer
+     */
+    private static class TeeWriter extends Writer {
+        
+        private final Writer primary;
+        
+        private final Writer copy;
+        
+        TeeWriter(Writer primary, Writer copy) {
+            this.primary = primary;
+            this.copy = copy;
+        }
+        
+        @Override
+        public void write(char[] buffer, int offset, int length) throws IOException {
+            primary.write(buffer, offset, length);
+            copy.write(buffer, offset, length);
+        }
+        
+        @Override
+        public void write(String text, int offset, int length) throws IOException {
+            primary.write(text, offset, length);
+            copy.write(text, offset, length);
+        }
+        
+        @Override
+        public void flush() throws IOException {
+            primary.flush();
+        }
+        
+        @Override
+        public void close() throws IOException {
+            primary.close();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.company.pythonlearning.service.impl;
+
+import com.company.pythonlearning.dto.request.KeysetCursor;
+import com.company.pythonlearning.dto.response.CodeExampleResponse;
+import com.company.pythonlearning.dto.response.CodeExampleSummaryResponse;
+import com.company.pythonlearning.dto.response.CursorPageResponse;
+import com.company.pythonlearning.enums.DifficultyLevel;
+import com.company.pythonlearning.exception.BusinessException;
+import com.company.pythonlearning.repository.CodeExampleRepository;
+import com.company.pythonlearning.service.CodeExampleService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 代码示例服务实现类
+ * 
+ * @author Company
+ * @version 1.0.0
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CodeExampleServiceImpl implements CodeExampleService {
+    
+    private final CodeExampleRepository codeExampleRepository;
+    
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<CodeExampleSummaryResponse> getCodeExamples(Long moduleId, DifficultyLevel difficultyLevel,
+                                                                          String cursor, Integer size) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int pageSize = KeysetCursor.pageSize(size);
+        Limit limit = Limit.of(pageSize + 1);
+        // 每种过滤组合使用各自的查询，避免 ":参数 IS NULL OR ..." 形式的条件让数据库放弃索引
+        List<CodeExampleSummaryResponse> rows;
+        if (moduleId != null && difficultyLevel != null) {
+            rows = codeExampleRepository.findSummaryPageAfterByModuleIdAndDifficultyLevel(
+                    moduleId, difficultyLevel, after.sortOrder(), after.id(), limit);
+        } else if (moduleId != null) {
+            rows = codeExampleRepository.findSummaryPageAfterByModuleId(moduleId, after.sortOrder(), after.id(), limit);
+        } else if (difficultyLevel != null) {
+            rows = codeExampleRepository.findSummaryPageAfterByDifficultyLevel(
+                    difficultyLevel, after.sortOrder(), after.id(), limit);
+        } else {
+            rows = codeExampleRepository.findSummaryPageAfter(after.sortOrder(), after.id(), limit);
+        }
+        return CursorPageResponse.of(rows, pageSize,
+                example -> KeysetCursor.of(example.getSortOrder(), example.getId()), Function.identity());
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public CodeExampleResponse getCodeExampleById(Long id) {
+        return codeExampleRepository.findById(id)
+                .map(CodeExampleResponse::from)
+                .orElseThrow(() -> new BusinessException(404, "代码示例不存在: " + id));
+    }
+}
@@ -0,0 +1,81 @@
+package com.company.pythonlearning.service.impl;
+
+import com.company.pythonlearning.config.SandboxProperties;
+import com.company.pythonlearning.dto.request.CodeRunRequest;
+import com.company.pythonlearning.dto.response.CodeRunResponse;
+import com.company.pythonlearning.entity.CodeExample;
+import com.company.pythonlearning.exception.BusinessException;
+import com.company.pythonlearning.repository.CodeExampleRepository;
+import com.company.pythonlearning.sandbox.PreparedRun;
+import com.company.pythonlearning.sandbox.PythonWorkerPool;
+import com.company.pythonlearning.sandbox.RunListener;
+import com.company.pythonlearning.sandbox.RunResultCache;
+import com.company.pythonlearning.sandbox.SandboxResult;
+import com.company.pythonlearning.service.CodeRunService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+/**
+ * 代码运行服务实现类
+ *
+ * <p>运行期间不持有数据库事务，示例代码读取完成后再借用工作进程。
+ * 代码与标准输入和发布时预先运行过的未修改示例相同时直接返回缓存结果，不占用工作进程。</p>
+ * 
+ * @author Company
+ * @version 1.0.0
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CodeRunServiceImpl implements CodeRunService {
+    
+    private final CodeExampleRepository codeExampleRepository;
+    
+    private final PythonWorkerPool pythonWorkerPool;
+    
+    private final RunResultCache runResultCache;
+    
+    private final SandboxProperties sandboxProperties;
+    
+    @Override
+    public CodeRunResponse runCodeExample(Long exampleId, CodeRunRequest request) {
+        return prepare(exampleId, request).run(null);
+    }
+    
+    @Override
+    public PreparedRun prepare(Long exampleId, CodeRunRequest request) {
+        CodeExample example = codeExampleRepository.findById(exampleId)
+                .orElseThrow(() -> new BusinessException(404, "代码示例不存在: " + exampleId));
+        String code = request != null && request.getCode() != null ? request.getCode() : example.getPythonCode();
+        if (code == null || code.isBlank()) {
+            throw new BusinessException("没有可运行的Python代码");
+        }
+        if (code.length() > sandboxProperties.getMaxCodeLength()) {
+            throw new BusinessException("代码长度超过限制（最多" + sandboxProperties.getMaxCodeLength() + "个字符）");
+        }
+        String stdin = request != null ? request.getStdin() : null;
+        SandboxResult cached = runResultCache.get(runResultCache.key(code, stdin));
+        if (cached != null) {
+            return listener -> replay(exampleId, cached, listener);
+        }
+        return listener -> {
+            SandboxResult result = pythonWorkerPool.execute(code, stdin, listener);
+            log.debug("代码示例运行完成, id: {}, 状态: {}, 耗时: {}ms", exampleId, result.status(), result.wallMillis());
+            return CodeRunResponse.from(result, false);
+        };
+    }
+    
+    private CodeRunResponse replay(Long exampleId, SandboxResult cached, RunListener listener) {
+        log.debug("代码示例运行命中缓存, id: {}", exampleId);
+        if (listener != null) {
+            if (!cached.stdout().isEmpty()) {
+                listener.onOutput(RunListener.STDOUT, cached.stdout());
+            }
+            if (!cached.stderr().isEmpty()) {
+                listener.onOutput(RunListener.STDERR, cached.stderr());
+            }
+        }
+        return CodeRunResponse.from(cached, true);
+    }
+}
@@ -0,0 +1,189 @@
+package com.company.pythonlearning.service.impl;
+
+import com.company.pythonlearning.config.ConverterProperties;
+import com.company.pythonlearning.converter.ConversionCache;
+import com.company.pythonlearning.dto.request.CodeConversionRequest;
+import com.company.pythonlearning.dto.response.CodeConversionResponse;
+import com.company.pythonlearning.dto.response.ConversionHistoryPageResponse;
+import com.company.pythonlearning.dto.response.ConversionHistoryResponse;
+import com.company.pythonlearning.exception.BusinessException;
+import com.company.pythonlearning.history.HistoryEntry;
+import com.company.pythonlearning.history.HistoryLog;
+import com.company.pythonlearning.service.ConversionHistoryService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 转换历史服务实现类
+ *
+ * <p>历史保存在本地磁盘的 {@link HistoryLog} 中，不写数据库。正文以转换缓存的键去重，
+ * 同一用户或不同用户反复转换同一段代码只保存一份正文。后台线程定时刷盘并压缩最早的段。
+ * 日志目录不可用时关闭历史功能，转换本身不受影响。</p>
+ * 
+ * @author Company
+ * @version 1.0.0
+ */
+@Service
+@Slf4j
+public class ConversionHistoryServiceImpl implements ConversionHistoryService, MeterBinder {
+    
+    private static final int MAX_PAGE_SIZE = 50;
+    
+    private final ConverterProperties.History config;
+    
+    private final ConversionCache conversionCache;
+    
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "conversion-history");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    private volatile HistoryLog historyLog;
+    
+    public ConversionHistoryServiceImpl(ConverterProperties converterProperties, ConversionCache conversionCache) {
+        this.config = converterProperties.getHistory();
+        this.conversionCache = conversionCache;
+    }
+    
+    @PostConstruct
+    public void start() {
+        if (!config.isEnabled()) {
+            log.info("转换历史未启用");
+            return;
+        }
+        try {
+            historyLog = HistoryLog.open(Path.of(config.getDirectory()), config);
+        } catch (IOException | RuntimeException e) {
+            log.warn("转换历史日志无法打开, 历史功能已关闭: {}", e.getMessage(), e);
+            return;
+        }
+        scheduler.scheduleWithFixedDelay(this::syncQuietly,
+                config.getSyncInterval(), config.getSyncInterval(), TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::compactQuietly,
+                config.getCompactInterval(), config.getCompactInterval(), TimeUnit.MILLISECONDS);
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        if (historyLog != null) {
+            historyLog.close();
+        }
+    }
+    
+    @Override
+    public void record(String username, CodeConversionRequest request, CodeConversionResponse response) {
+        HistoryLog history = historyLog;
+        if (history == null || !Boolean.TRUE.equals(response.getSuccess())) {
+            return;
+        }
+        try {
+            String hash = conversionCache.key(request.getSourceCode(), request.getConversionOptions());
+            history.append(username, hash, request.getSourceCode(), response.getConvertedCode(),
+                    response.getExecutionTime() != null ? response.getExecutionTime() : 0,
+                    response.getConversionScore() != null ? response.getConversionScore() : 0);
+        } catch (RuntimeException e) {
+            log.warn("记录转换历史失败: {}", e.getMessage(), e);
+        }
+    }
+    
+    @Override
+    public ConversionHistoryPageResponse getHistory(String username, int page, int size) {
+        if (page < 1 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BusinessException("页码从1开始，每页1到" + MAX_PAGE_SIZE + "条");
+        }
+        HistoryLog.Page result = history().page(username, page, size);
+        ConversionHistoryPageResponse response = new ConversionHistoryPageResponse();
+        response.setItems(result.items().stream().map(this::toResponse).toList());
+        response.setTotal(result.total());
+        response.setPage(page);
+        response.setSize(size);
+        return response;
+    }
+    
+    @Override
+    public ConversionHistoryResponse getHistoryItem(String username, Long id) {
+        HistoryEntry entry = history().get(username, id);
+        if (entry == null) {
+            throw new BusinessException(404, "转换历史不存在: " + id);
+        }
+        return toResponse(entry);
+    }
+    
+    @Override
+    public void deleteHistoryItem(String username, Long id) {
+        if (!history().delete(username, id)) {
+            throw new BusinessException(404, "转换历史不存在: " + id);
+        }
+    }
+    
+    @Override
+    public int clearHistory(String username) {
+        return history().clear(username);
+    }
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("conversion.history.segments", this, service -> service.historyLog != null
+                        ? service.historyLog.segmentCount() : 0)
+                .description("转换历史日志的段文件数")
+                .register(registry);
+        Gauge.builder("conversion.history.bytes", this, service -> service.historyLog != null
+                        ? service.historyLog.totalBytes() : 0)
+                .description("转换历史日志已写入的字节数")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+    
+    private HistoryLog history() {
+        HistoryLog history = historyLog;
+        if (history == null) {
+            throw new BusinessException(503, "转换历史不可用");
+        }
+        return history;
+    }
+    
+    private ConversionHistoryResponse toResponse(HistoryEntry entry) {
+        ConversionHistoryResponse response = new ConversionHistoryResponse();
+        response.setId(entry.id());
+        response.setJavaCode(entry.javaCode());
+        response.setPythonCode(entry.pythonCode());
+        response.setConversionTime(entry.conversionTime());
+        response.setConversionScore(entry.score());
+        response.setCreatedAt(LocalDateTime.ofInstant(entry.createdAt(), ZoneId.systemDefault()));
+        return response;
+    }
+    
+    private void syncQuietly() {
+        try {
+            historyLog.sync();
+        } catch (RuntimeException e) {
+            log.warn("转换历史刷盘失败: {}", e.getMessage(), e);
+        }
+    }
+    
+    private void compactQuietly() {
+        try {
+            int removed = historyLog.compact();
+            if (removed > 0) {
+                log.info("转换历史压缩完成, 删除 {} 个段", removed);
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("转换历史压缩失败: {}", e.getMessage(), e);
+        }
+    }
+}
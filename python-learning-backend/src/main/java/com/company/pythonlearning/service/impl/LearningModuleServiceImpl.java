@@ -1,15 +1,37 @@
 package com.company.pythonlearning.service.impl;
 
+import com.company.pythonlearning.catalog.CatalogChangedEvent;
+import com.company.pythonlearning.catalog.CatalogStatistics;
+import com.company.pythonlearning.catalog.CatalogStatistics.ModuleState;
+import com.company.pythonlearning.catalog.ModulePublishedEvent;
+import com.company.pythonlearning.dto.request.KeysetCursor;
+import com.company.pythonlearning.dto.response.CodeExampleSummaryResponse;
+import com.company.pythonlearning.dto.response.CursorPageResponse;
+import com.company.pythonlearning.dto.response.LessonSummaryResponse;
+import com.company.pythonlearning.dto.response.ModuleStatisticsResponse;
+import com.company.pythonlearning.dto.response.ModuleSummaryResponse;
+import com.company.pythonlearning.dto.response.ModuleTreeResponse;
 import com.company.pythonlearning.entity.LearningModule;
 import com.company.pythonlearning.enums.DifficultyLevel;
+import com.company.pythonlearning.enums.SearchDocumentType;
+import com.company.pythonlearning.repository.CodeExampleRepository;
 import com.company.pythonlearning.repository.LearningModuleRepository;
+import com.company.pythonlearning.repository.LessonRepository;
+import com.company.pythonlearning.search.SearchIndex;
 import com.company.pythonlearning.service.LearningModuleService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 
 /**
  * 学习模块服务实现类
@@ -24,14 +46,54 @@ public class LearningModuleServiceImpl implements LearningModuleService {
     
     private final LearningModuleRepository learningModuleRepository;
     
+    private final LessonRepository lessonRepository;
+    
+    private final CodeExampleRepository codeExampleRepository;
+    
+    private final SearchIndex searchIndex;
+    
+    private final CatalogStatistics catalogStatistics;
+    
+    private final ApplicationEventPublisher eventPublisher;
+    
     @Override
-    public List<LearningModule> getAllModules() {
-        return learningModuleRepository.findAll();
+    public CursorPageResponse<ModuleSummaryResponse> getAllModules(String cursor, Integer size) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int pageSize = KeysetCursor.pageSize(size);
+        List<ModuleSummaryResponse> rows = learningModuleRepository.findSummaryPageAfter(
+                after.sortOrder(), after.id(), Limit.of(pageSize + 1));
+        return CursorPageResponse.of(rows, pageSize,
+                module -> KeysetCursor.of(module.getSortOrder(), module.getId()), Function.identity());
     }
     
     @Override
-    public List<LearningModule> getPublishedModules() {
-        return learningModuleRepository.findByIsPublishedTrueOrderBySortOrderAsc();
+    public List<ModuleSummaryResponse> getPublishedModules() {
+        return learningModuleRepository.findPublishedSummaries();
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<ModuleTreeResponse> getPublishedModuleTree() {
+        // 固定三条查询：模块、课程摘要、代码示例摘要，摘要按模块ID批量投影后在内存中挂到对应模块下
+        List<ModuleTreeResponse> modules = learningModuleRepository.findPublishedTreeNodes();
+        if (modules.isEmpty()) {
+            return new ArrayList<>();
+        }
+        
+        Map<Long, ModuleTreeResponse> tree = new LinkedHashMap<>();
+        for (ModuleTreeResponse module : modules) {
+            tree.put(module.getId(), module);
+        }
+        List<Long> moduleIds = new ArrayList<>(tree.keySet());
+        
+        for (LessonSummaryResponse summary : lessonRepository.findPublishedSummariesByModuleIds(moduleIds)) {
+            tree.get(summary.getModuleId()).getLessons().add(summary);
+        }
+        for (CodeExampleSummaryResponse summary : codeExampleRepository.findSummariesByModuleIds(moduleIds)) {
+            tree.get(summary.getModuleId()).getCodeExamples().add(summary);
+        }
+        
+        return new ArrayList<>(tree.values());
     }
     
     @Override
@@ -51,13 +113,17 @@ public class LearningModuleServiceImpl implements LearningModuleService {
             module.setIsPublished(false);
         }
         
-        return learningModuleRepository.save(module);
+        LearningModule saved = learningModuleRepository.save(module);
+        catalogStatistics.moduleChanged(null, ModuleState.of(saved));
+        catalogChanged(saved.getId());
+        return saved;
     }
     
     @Override
     @Transactional
     public LearningModule updateModule(Long id, LearningModule module) {
         LearningModule existingModule = getModuleById(id);
+        ModuleState before = ModuleState.of(existingModule);
         
         // 更新允许修改的字段
         if (module.getTitle() != null) {
@@ -79,7 +145,10 @@ public class LearningModuleServiceImpl implements LearningModuleService {
             existingModule.setThumbnailUrl(module.getThumbnailUrl());
         }
         
-        return learningModuleRepository.save(existingModule);
+        LearningModule saved = learningModuleRepository.save(existingModule);
+        catalogStatistics.moduleChanged(before, ModuleState.of(saved));
+        catalogChanged(saved.getId());
+        return saved;
     }
     
     @Override
@@ -87,6 +156,8 @@ public class LearningModuleServiceImpl implements LearningModuleService {
     public void deleteModule(Long id) {
         LearningModule module = getModuleById(id);
         learningModuleRepository.delete(module);
+        catalogStatistics.moduleChanged(ModuleState.of(module), null);
+        catalogChanged(id);
         log.info("删除学习模块: {}", module.getTitle());
     }
     
@@ -94,38 +165,56 @@ public class LearningModuleServiceImpl implements LearningModuleService {
     @Transactional
     public LearningModule publishModule(Long id) {
         LearningModule module = getModuleById(id);
+        ModuleState before = ModuleState.of(module);
         module.setIsPublished(true);
-        return learningModuleRepository.save(module);
+        LearningModule saved = learningModuleRepository.save(module);
+        catalogStatistics.moduleChanged(before, ModuleState.of(saved));
+        catalogChanged(saved.getId());
+        eventPublisher.publishEvent(new ModulePublishedEvent(saved.getId()));
+        return saved;
     }
     
     @Override
     @Transactional
     public LearningModule unpublishModule(Long id) {
         LearningModule module = getModuleById(id);
+        ModuleState before = ModuleState.of(module);
         module.setIsPublished(false);
-        return learningModuleRepository.save(module);
+        LearningModule saved = learningModuleRepository.save(module);
+        catalogStatistics.moduleChanged(before, ModuleState.of(saved));
+        catalogChanged(saved.getId());
+        return saved;
     }
     
     @Override
-    public List<LearningModule> getModulesByDifficulty(DifficultyLevel difficultyLevel) {
-        return learningModuleRepository.findByDifficultyLevelAndIsPublished(difficultyLevel, true);
+    public List<ModuleSummaryResponse> getModulesByDifficulty(DifficultyLevel difficultyLevel) {
+        return learningModuleRepository.findPublishedSummariesByDifficulty(difficultyLevel);
     }
     
     @Override
-    public List<LearningModule> searchModules(String keyword) {
-        return learningModuleRepository.findByTitleContainingIgnoreCase(keyword);
+    public List<ModuleSummaryResponse> searchModules(String keyword) {
+        List<SearchIndex.Hit> hits = searchIndex.search(keyword, SearchDocumentType.MODULE, KeysetCursor.MAX_PAGE_SIZE);
+        Map<Long, ModuleSummaryResponse> modules = new HashMap<>();
+        for (ModuleSummaryResponse module : learningModuleRepository.findSummariesByIds(
+                hits.stream().map(SearchIndex.Hit::id).toList())) {
+            modules.put(module.getId(), module);
+        }
+        List<ModuleSummaryResponse> results = new ArrayList<>(hits.size());
+        for (SearchIndex.Hit hit : hits) {
+            ModuleSummaryResponse module = modules.get(hit.id());
+            if (module != null) {
+                results.add(module);
+            }
+        }
+        return results;
     }
     
     @Override
-    public Object[] getModuleStatistics() {
-        long totalModules = learningModuleRepository.count();
-        long publishedModules = learningModuleRepository.countPublishedModules();
-        List<Object[]> difficultyStats = learningModuleRepository.countModulesByDifficulty();
-        
-        return new Object[]{
-            totalModules,
-            publishedModules,
-            difficultyStats
-        };
+    public ModuleStatisticsResponse getModuleStatistics() {
+        return catalogStatistics.moduleStatistics();
+    }
+    
+    private void catalogChanged(Long id) {
+        eventPublisher.publishEvent(new CatalogChangedEvent(CatalogChangedEvent.MODULE, id));
     }
 }
\ No newline at end of file
@@ -0,0 +1,151 @@
+package com.company.pythonlearning.service.impl;
+
+import com.company.pythonlearning.config.LearningProperties;
+import com.company.pythonlearning.dto.response.LearningProgressResponse;
+import com.company.pythonlearning.entity.LearningProgress;
+import com.company.pythonlearning.entity.Lesson;
+import com.company.pythonlearning.exception.BusinessException;
+import com.company.pythonlearning.progress.LearningStatsWriter;
+import com.company.pythonlearning.progress.ProgressBuffer;
+import com.company.pythonlearning.progress.ProgressDelta;
+import com.company.pythonlearning.progress.ProgressKey;
+import com.company.pythonlearning.repository.LearningModuleRepository;
+import com.company.pythonlearning.repository.LearningProgressRepository;
+import com.company.pythonlearning.repository.LessonRepository;
+import com.company.pythonlearning.service.LearningProgressService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 学习进度服务实现类
+ *
+ * <p>上报只写入内存中的 {@link ProgressBuffer}，由其合并后批量写库；
+ * 读取时把数据库中的进度与缓冲中尚未写入的变化合并，用户总能读到自己刚上报的进度。
+ * 测验成绩和课程完成事件频率低，直接写库并在同一事务中更新学习统计。
+ * 模块是否存在的校验结果短时缓存，心跳请求不访问数据库。</p>
+ * 
+ * @author Company
+ * @version 1.0.0
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LearningProgressServiceImpl implements LearningProgressService, MeterBinder {
+    
+    private final LearningProgressRepository learningProgressRepository;
+    
+    private final LearningModuleRepository learningModuleRepository;
+    
+    private final LessonRepository lessonRepository;
+    
+    private final ProgressBuffer progressBuffer;
+    
+    private final LearningStatsWriter learningStatsWriter;
+    
+    private final LearningProperties learningProperties;
+    
+    private final Cache<Long, Boolean> moduleExists = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterWrite(Duration.ofMinutes(5))
+            .recordStats()
+            .build();
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, moduleExists, "module-exists");
+    }
+    
+    @Override
+    public void recordProgress(String username, Long moduleId, int progress) {
+        checkModule(moduleId);
+        int maxProgress = learningProperties.getMaxProgress();
+        int clamped = Math.max(0, Math.min(maxProgress, progress));
+        progressBuffer.record(new ProgressKey(username, moduleId),
+                ProgressDelta.ofProgress(clamped, clamped >= maxProgress));
+    }
+    
+    @Override
+    public void recordStudyTime(String username, Long moduleId, long seconds) {
+        checkModule(moduleId);
+        long maxSeconds = learningProperties.getProgress().getMaxHeartbeatSeconds();
+        if (seconds > maxSeconds) {
+            throw new BusinessException("单次上报的学习时长不能超过" + maxSeconds + "秒");
+        }
+        progressBuffer.record(new ProgressKey(username, moduleId), ProgressDelta.ofTime(seconds));
+    }
+    
+    @Override
+    public void completeModule(String username, Long moduleId) {
+        recordProgress(username, moduleId, learningProperties.getMaxProgress());
+    }
+    
+    @Override
+    public void completeLesson(String username, Long lessonId) {
+        Lesson lesson = lessonRepository.findById(lessonId)
+                .orElseThrow(() -> new BusinessException(404, "课程不存在: " + lessonId));
+        Long moduleId = lesson.getLearningModule().getId();
+        if (!learningStatsWriter.recordLessonCompletion(username, lessonId, moduleId)) {
+            log.debug("课程已完成过, 不重复计数: {} {}", username, lessonId);
+        }
+    }
+    
+    @Override
+    public void recordQuizScore(String username, Long moduleId, int score) {
+        checkModule(moduleId);
+        learningStatsWriter.recordQuiz(username, moduleId, score, score >= learningProperties.getMinQuizScore());
+    }
+    
+    @Override
+    public List<LearningProgressResponse> getProgress(String username) {
+        Map<Long, ProgressDelta> pending = progressBuffer.pendingFor(username);
+        List<LearningProgressResponse> result = new ArrayList<>();
+        for (LearningProgress saved : learningProgressRepository.findByUsername(username)) {
+            result.add(toResponse(saved, pending.remove(saved.getModuleId())));
+        }
+        pending.forEach((moduleId, delta) -> {
+            LearningProgress fresh = new LearningProgress();
+            fresh.setUsername(username);
+            fresh.setModuleId(moduleId);
+            result.add(toResponse(fresh, delta));
+        });
+        result.sort(Comparator.comparing(LearningProgressResponse::getModuleId));
+        return result;
+    }
+    
+    private void checkModule(Long moduleId) {
+        boolean exists = moduleExists.get(moduleId, id -> learningModuleRepository.findById(id).isPresent());
+        if (!exists) {
+            throw new BusinessException(404, "学习模块不存在: " + moduleId);
+        }
+    }
+    
+    private LearningProgressResponse toResponse(LearningProgress saved, ProgressDelta delta) {
+        LearningProgressResponse response = new LearningProgressResponse();
+        response.setModuleId(saved.getModuleId());
+        response.setProgress(saved.getProgress());
+        response.setCompleted(saved.getCompleted());
+        response.setTimeSpent(saved.getTimeSpent());
+        response.setLastStudyTime(saved.getLastStudyTime());
+        if (delta != null) {
+            if (delta.hasProgress()) {
+                response.setProgress(delta.progress());
+            }
+            response.setCompleted(saved.getCompleted() || delta.completed());
+            response.setTimeSpent(saved.getTimeSpent() + delta.seconds());
+            response.setLastStudyTime(delta.lastStudyTime());
+        }
+        return response;
+    }
+}
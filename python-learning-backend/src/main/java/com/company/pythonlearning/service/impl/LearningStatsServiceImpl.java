@@ -0,0 +1,146 @@
+package com.company.pythonlearning.service.impl;
+
+import com.company.pythonlearning.catalog.CatalogChangedEvent;
+import com.company.pythonlearning.dto.response.LearningStatsResponse;
+import com.company.pythonlearning.dto.response.LearningStatsResponse.ModuleStats;
+import com.company.pythonlearning.dto.response.LearningStatsResponse.SkillScore;
+import com.company.pythonlearning.dto.response.ModuleSummaryResponse;
+import com.company.pythonlearning.entity.LearningModule.ModuleType;
+import com.company.pythonlearning.entity.LearningProgress;
+import com.company.pythonlearning.entity.UserLearningStats;
+import com.company.pythonlearning.repository.LearningModuleRepository;
+import com.company.pythonlearning.repository.LearningProgressRepository;
+import com.company.pythonlearning.repository.LessonRepository;
+import com.company.pythonlearning.repository.UserLearningStatsRepository;
+import com.company.pythonlearning.service.LearningStatsService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 学习统计服务实现类
+ *
+ * <p>只读取物化的汇总：用户统计按主键读一行，模块计数按用户名读该用户的进度行，
+ * 模块列表来自查询缓存，各模块的课程数缓存在内存中，目录变更时清空。
+ * 统计随进度写缓冲的写入周期更新，最多落后一个写入间隔。</p>
+ * 
+ * @author Company
+ * @version 1.0.0
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LearningStatsServiceImpl implements LearningStatsService, MeterBinder {
+    
+    private static final int FULL_COMPLETION = 100;
+    
+    private final UserLearningStatsRepository userLearningStatsRepository;
+    
+    private final LearningProgressRepository learningProgressRepository;
+    
+    private final LearningModuleRepository learningModuleRepository;
+    
+    private final LessonRepository lessonRepository;
+    
+    private final Cache<Long, Long> lessonCounts = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .recordStats()
+            .build();
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, lessonCounts, "lesson-count");
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public LearningStatsResponse getStats(String username) {
+        LearningStatsResponse response = new LearningStatsResponse();
+        UserLearningStats stats = userLearningStatsRepository.findById(username).orElseGet(UserLearningStats::new);
+        response.setTotalMinutes(stats.getTimeSpent() / 60);
+        response.setCompletedModules(stats.getCompletedModules());
+        response.setCompletedLessons(stats.getCompletedLessons());
+        response.setQuizAttempts(stats.getQuizAttempts());
+        response.setAverageQuizScore(average(stats.getQuizScoreSum(), stats.getQuizAttempts()));
+        response.setQuizPassRate(stats.getQuizAttempts() == 0 ? null
+                : 100.0 * stats.getQuizzesPassed() / stats.getQuizAttempts());
+        response.setStreakDays(isStreakAlive(stats.getLastActiveDate()) ? stats.getCurrentStreak() : 0);
+        response.setLongestStreak(stats.getLongestStreak());
+        response.setLastActiveDate(stats.getLastActiveDate());
+        
+        Map<Long, LearningProgress> progress = learningProgressRepository.findByUsername(username).stream()
+                .collect(Collectors.toMap(LearningProgress::getModuleId, Function.identity()));
+        Map<ModuleType, int[]> skillTotals = new EnumMap<>(ModuleType.class);
+        for (ModuleSummaryResponse module : learningModuleRepository.findPublishedSummaries()) {
+            ModuleStats moduleStats = toModuleStats(module, progress.get(module.getId()));
+            response.getModules().add(moduleStats);
+            if (module.getModuleType() != null) {
+                int[] total = skillTotals.computeIfAbsent(module.getModuleType(), type -> new int[2]);
+                total[0] += moduleStats.getCompletionRate();
+                total[1]++;
+            }
+        }
+        skillTotals.forEach((type, total) -> {
+            SkillScore skill = new SkillScore();
+            skill.setSkill(type);
+            skill.setScore(Math.round((float) total[0] / total[1]));
+            response.getSkills().add(skill);
+        });
+        return response;
+    }
+    
+    /**
+     * 课程增删或模块变更后清空课程数缓存
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        lessonCounts.invalidateAll();
+    }
+    
+    private ModuleStats toModuleStats(ModuleSummaryResponse module, LearningProgress progress) {
+        long lessonCount = lessonCounts.get(module.getId(), lessonRepository::countByLearningModuleId);
+        ModuleStats stats = new ModuleStats();
+        stats.setModuleId(module.getId());
+        stats.setTitle(module.getTitle());
+        stats.setModuleType(module.getModuleType());
+        stats.setLessonCount(lessonCount);
+        if (progress == null) {
+            stats.setCompletedLessons(0);
+            stats.setProgress(0);
+            stats.setCompletionRate(0);
+            stats.setCompleted(false);
+            stats.setMinutes(0L);
+            return stats;
+        }
+        int lessonRate = lessonCount == 0 ? 0
+                : (int) Math.min(FULL_COMPLETION, FULL_COMPLETION * progress.getCompletedLessons() / lessonCount);
+        stats.setCompletedLessons(progress.getCompletedLessons());
+        stats.setProgress(progress.getProgress());
+        stats.setCompletionRate(progress.getCompleted() ? FULL_COMPLETION : Math.max(progress.getProgress(), lessonRate));
+        stats.setCompleted(progress.getCompleted());
+        stats.setMinutes(progress.getTimeSpent() / 60);
+        stats.setAverageQuizScore(average(progress.getQuizScoreSum(), progress.getQuizAttempts()));
+        return stats;
+    }
+    
+    private static Double average(long sum, int count) {
+        return count == 0 ? null : (double) sum / count;
+    }
+    
+    private static boolean isStreakAlive(LocalDate lastActiveDate) {
+        return lastActiveDate != null && !lastActiveDate.isBefore(LocalDate.now().minusDays(1));
+    }
+}
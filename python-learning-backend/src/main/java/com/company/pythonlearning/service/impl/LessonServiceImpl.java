@@ -1,14 +1,32 @@
 package com.company.pythonlearning.service.impl;
 
+import com.company.pythonlearning.catalog.CatalogChangedEvent;
+import com.company.pythonlearning.catalog.CatalogStatistics;
+import com.company.pythonlearning.catalog.CatalogStatistics.LessonState;
+import com.company.pythonlearning.catalog.ModulePublishedEvent;
+import com.company.pythonlearning.dto.request.KeysetCursor;
+import com.company.pythonlearning.dto.response.CursorPageResponse;
+import com.company.pythonlearning.dto.response.LessonDetailResponse;
+import com.company.pythonlearning.dto.response.LessonStatisticsResponse;
+import com.company.pythonlearning.dto.response.LessonSummaryResponse;
 import com.company.pythonlearning.entity.Lesson;
+import com.company.pythonlearning.enums.SearchDocumentType;
+import com.company.pythonlearning.repository.CodeExampleRepository;
 import com.company.pythonlearning.repository.LessonRepository;
+import com.company.pythonlearning.search.SearchIndex;
 import com.company.pythonlearning.service.LessonService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 
 /**
  * 课程服务实现类
@@ -23,14 +41,27 @@ public class LessonServiceImpl implements LessonService {
     
     private final LessonRepository lessonRepository;
     
+    private final CodeExampleRepository codeExampleRepository;
+    
+    private final SearchIndex searchIndex;
+    
+    private final CatalogStatistics catalogStatistics;
+    
+    private final ApplicationEventPublisher eventPublisher;
+    
     @Override
-    public List<Lesson> getAllLessons() {
-        return lessonRepository.findAll();
+    @Transactional(readOnly = true)
+    public CursorPageResponse<LessonSummaryResponse> getAllLessons(String cursor, Integer size) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int pageSize = KeysetCursor.pageSize(size);
+        List<LessonSummaryResponse> rows = lessonRepository.findSummaryPageAfter(
+                after.sortOrder(), after.id(), Limit.of(pageSize + 1));
+        return CursorPageResponse.of(rows, pageSize, this::keyOf, Function.identity());
     }
     
     @Override
-    public List<Lesson> getLessonsByModuleId(Long moduleId) {
-        return lessonRepository.findByLearningModuleIdOrderBySortOrderAsc(moduleId);
+    public List<LessonSummaryResponse> getLessonsByModuleId(Long moduleId) {
+        return lessonRepository.findSummariesByModuleId(moduleId);
     }
     
     @Override
@@ -53,13 +84,17 @@ public class LessonServiceImpl implements LessonService {
             lesson.setDurationMinutes(15);
         }
         
-        return lessonRepository.save(lesson);
+        Lesson saved = lessonRepository.save(lesson);
+        catalogStatistics.lessonChanged(null, LessonState.of(saved));
+        catalogChanged(saved.getId());
+        return saved;
     }
     
     @Override
     @Transactional
     public Lesson updateLesson(Long id, Lesson lesson) {
         Lesson existingLesson = getLessonById(id);
+        LessonState before = LessonState.of(existingLesson);
         
         // 更新允许修改的字段
         if (lesson.getTitle() != null) {
@@ -90,7 +125,10 @@ public class LessonServiceImpl implements LessonService {
             existingLesson.setLearningObjectives(lesson.getLearningObjectives());
         }
         
-        return lessonRepository.save(existingLesson);
+        Lesson saved = lessonRepository.save(existingLesson);
+        catalogStatistics.lessonChanged(before, LessonState.of(saved));
+        catalogChanged(saved.getId());
+        return saved;
     }
     
     @Override
@@ -98,17 +136,37 @@ public class LessonServiceImpl implements LessonService {
     public void deleteLesson(Long id) {
         Lesson lesson = getLessonById(id);
         lessonRepository.delete(lesson);
+        catalogStatistics.lessonChanged(LessonState.of(lesson), null);
+        catalogChanged(id);
         log.info("删除课程: {}", lesson.getTitle());
     }
     
     @Override
-    public List<Lesson> getFreeLessons() {
-        return lessonRepository.findByIsFreeTrue();
+    @Transactional(readOnly = true)
+    public CursorPageResponse<LessonSummaryResponse> getFreeLessons(String cursor, Integer size) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int pageSize = KeysetCursor.pageSize(size);
+        List<LessonSummaryResponse> rows = lessonRepository.findFreeSummaryPageAfter(
+                after.sortOrder(), after.id(), Limit.of(pageSize + 1));
+        return CursorPageResponse.of(rows, pageSize, this::keyOf, Function.identity());
     }
     
     @Override
-    public List<Lesson> searchLessons(String keyword) {
-        return lessonRepository.findByTitleContainingIgnoreCase(keyword);
+    public List<LessonSummaryResponse> searchLessons(String keyword) {
+        List<SearchIndex.Hit> hits = searchIndex.search(keyword, SearchDocumentType.LESSON, KeysetCursor.MAX_PAGE_SIZE);
+        Map<Long, LessonSummaryResponse> lessons = new HashMap<>();
+        for (LessonSummaryResponse lesson : lessonRepository.findSummariesByIds(
+                hits.stream().map(SearchIndex.Hit::id).toList())) {
+            lessons.put(lesson.getId(), lesson);
+        }
+        List<LessonSummaryResponse> results = new ArrayList<>(hits.size());
+        for (SearchIndex.Hit hit : hits) {
+            LessonSummaryResponse lesson = lessons.get(hit.id());
+            if (lesson != null) {
+                results.add(lesson);
+            }
+        }
+        return results;
     }
     
     @Override
@@ -117,16 +175,12 @@ public class LessonServiceImpl implements LessonService {
     }
     
     @Override
-    public Lesson getLessonWithExamples(Long id) {
-        // 这里需要实现获取课程及其关联的代码示例
-        // 暂时返回课程基本信息
-        return getLessonById(id);
-    }
-    
-    @Override
-    public Lesson getLessonDetail(Long id) {
-        Lesson lesson = getLessonById(id);
-        // 这里可以添加获取关联代码示例和练习的逻辑
+    @Transactional(readOnly = true)
+    public LessonDetailResponse getLessonDetail(Long id) {
+        // 固定两条查询：课程详情（连同模块标题）、所属模块的代码示例摘要
+        LessonDetailResponse lesson = lessonRepository.findDetailById(id)
+                .orElseThrow(() -> new RuntimeException("课程不存在: " + id));
+        lesson.getCodeExamples().addAll(codeExampleRepository.findSummariesByModuleIds(List.of(lesson.getModuleId())));
         return lesson;
     }
     
@@ -134,28 +188,37 @@ public class LessonServiceImpl implements LessonService {
     @Transactional
     public Lesson publishLesson(Long id) {
         Lesson lesson = getLessonById(id);
+        LessonState before = LessonState.of(lesson);
         lesson.setIsPublished(true);
-        return lessonRepository.save(lesson);
+        Lesson saved = lessonRepository.save(lesson);
+        catalogStatistics.lessonChanged(before, LessonState.of(saved));
+        catalogChanged(saved.getId());
+        eventPublisher.publishEvent(new ModulePublishedEvent(saved.getLearningModule().getId()));
+        return saved;
     }
     
     @Override
     @Transactional
     public Lesson unpublishLesson(Long id) {
         Lesson lesson = getLessonById(id);
+        LessonState before = LessonState.of(lesson);
         lesson.setIsPublished(false);
-        return lessonRepository.save(lesson);
+        Lesson saved = lessonRepository.save(lesson);
+        catalogStatistics.lessonChanged(before, LessonState.of(saved));
+        catalogChanged(saved.getId());
+        return saved;
     }
     
     @Override
-    public Object[] getLessonStatistics() {
-        long totalLessons = lessonRepository.count();
-        long freeLessons = lessonRepository.countByIsFreeTrue();
-        long publishedLessons = lessonRepository.countByIsPublishedTrue();
-        
-        return new Object[]{
-            totalLessons,
-            freeLessons,
-            publishedLessons
-        };
+    public LessonStatisticsResponse getLessonStatistics() {
+        return catalogStatistics.lessonStatistics();
+    }
+    
+    private KeysetCursor keyOf(LessonSummaryResponse lesson) {
+        return KeysetCursor.of(lesson.getSortOrder(), lesson.getId());
+    }
+    
+    private void catalogChanged(Long id) {
+        eventPublisher.publishEvent(new CatalogChangedEvent(CatalogChangedEvent.LESSON, id));
     }
 }
\ No newline at end of file
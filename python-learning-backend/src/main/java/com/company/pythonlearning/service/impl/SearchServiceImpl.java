@@ -0,0 +1,68 @@
+package com.company.pythonlearning.service.impl;
+
+import com.company.pythonlearning.dto.request.KeysetCursor;
+import com.company.pythonlearning.dto.response.SearchHitResponse;
+import com.company.pythonlearning.dto.response.SuggestionResponse;
+import com.company.pythonlearning.enums.SearchDocumentType;
+import com.company.pythonlearning.exception.BusinessException;
+import com.company.pythonlearning.search.SearchIndex;
+import com.company.pythonlearning.search.SuggestionDictionary;
+import com.company.pythonlearning.search.SuggestionIndexer;
+import com.company.pythonlearning.service.SearchService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 全文搜索服务实现类
+ * 
+ * @author Company
+ * @version 1.0.0
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SearchServiceImpl implements SearchService {
+    
+    private final SearchIndex searchIndex;
+    
+    private final SuggestionIndexer suggestionIndexer;
+    
+    @Override
+    public List<SearchHitResponse> search(String keyword, SearchDocumentType type, Integer limit) {
+        if (keyword == null || keyword.isBlank()) {
+            throw new BusinessException("搜索关键词不能为空");
+        }
+        List<SearchIndex.Hit> hits = searchIndex.search(keyword, type, KeysetCursor.pageSize(limit));
+        List<SearchHitResponse> responses = new ArrayList<>(hits.size());
+        for (SearchIndex.Hit hit : hits) {
+            SearchHitResponse response = new SearchHitResponse();
+            response.setType(hit.type());
+            response.setId(hit.id());
+            response.setModuleId(hit.moduleId());
+            response.setTitle(hit.title());
+            response.setScore(hit.score());
+            responses.add(response);
+        }
+        return responses;
+    }
+    
+    @Override
+    public List<SuggestionResponse> suggest(String prefix, Integer limit) {
+        int size = limit != null ? Math.max(1, Math.min(limit, SuggestionDictionary.MAX_SUGGESTIONS))
+                : SuggestionDictionary.MAX_SUGGESTIONS;
+        List<SuggestionDictionary.Suggestion> suggestions = suggestionIndexer.current().complete(prefix, size);
+        List<SuggestionResponse> responses = new ArrayList<>(suggestions.size());
+        for (SuggestionDictionary.Suggestion suggestion : suggestions) {
+            SuggestionResponse response = new SuggestionResponse();
+            response.setText(suggestion.text());
+            response.setType(suggestion.type());
+            response.setWeight(suggestion.weight());
+            responses.add(response);
+        }
+        return responses;
+    }
+}
@@ -0,0 +1,325 @@
+# -*- coding: utf-8 -*-
+"""
+代码运行沙箱的常驻工作进程
+
+由 PythonWorkerPool 以 python3 -I -S -c 启动（通常包在操作系统级隔离命令中），通过标准输入输出逐行交换JSON：
+启动完成后输出 {"ready": true}，之后每读入一行运行请求，返回一行运行结果。
+请求中 stream 为 true 时，运行过程中按行输出 {"stream": "stdout", "text": ...} 形式的输出片段，
+最后一行运行结果中不再重复输出内容。
+
+常驻进程完成模块预加载后不再执行用户代码，每次运行从它fork出一个子进程执行，子进程回复结果后退出。
+用户代码对模块、内置对象和协议函数的任何修改都随子进程消失，不会带入下一次运行，
+同时仍然省去了每次冷启动解释器和导入模块的时间。
+资源限制分两层：地址空间和文件写入限制在启动时设置一次，由子进程继承；
+禁止创建子进程的限制以及单次运行的CPU时间、墙钟时间和输出大小在子进程中设置。
+
+屏蔽内置函数和限制模块导入只用于给出明确的错误提示，用户代码可以通过对象的内部属性
+取得本进程已加载的任意模块，不能据此隔离文件系统和网络；隔离由外层的操作系统级沙箱负责。
+"""
+import builtins
+import gc
+import io
+import json
+import os
+import resource
+import signal
+import sys
+import time
+import traceback
+
+MEMORY_BYTES = int(sys.argv[1])
+ALLOWED_MODULES = frozenset(name for name in sys.argv[2].split(',') if name)
+SOURCE_NAME = '<example>'
+STREAM_CHUNK_BYTES = 8192
+_TIMER_SIGNALS = {signal.SIGPROF, signal.SIGALRM}
+
+# 协议通道使用复制出的文件描述符，原始的0、1、2号描述符指向空设备，
+# 避免用户代码或C扩展直接写描述符破坏协议
+_channel_in = os.fdopen(os.dup(0), 'r', encoding='utf-8')
+_channel_out = os.fdopen(os.dup(1), 'w', encoding='utf-8')
+_devnull = os.open(os.devnull, os.O_RDWR)
+for _fd in (0, 1, 2):
+    os.dup2(_devnull, _fd)
+
+# 预先导入允许的模块，运行时只从已加载的模块中取
+for _name in sorted(ALLOWED_MODULES):
+    try:
+        __import__(_name)
+    except ImportError:
+        pass
+
+
+class LimitExceeded(BaseException):
+    """超出运行限制，继承BaseException使用户代码的 except Exception 无法吞掉"""
+
+    def __init__(self, status):
+        super().__init__(status)
+        self.status = status
+
+
+class BoundedOutput(io.TextIOBase):
+    """按UTF-8字节数限制大小的输出缓冲区，指定 stream 时按行把输出推送到协议通道"""
+
+    def __init__(self, limit, stream=None):
+        self.parts = []
+        self.size = 0
+        self.limit = limit
+        self.truncated = False
+        self.stream = stream
+        self.pending = []
+        self.pending_size = 0
+
+    def writable(self):
+        return True
+
+    def write(self, text):
+        if not isinstance(text, str):
+            raise TypeError('write() argument must be str, not ' + type(text).__name__)
+        data = text.encode('utf-8', 'replace')
+        if self.size + len(data) > self.limit:
+            room = self.limit - self.size
+            if room > 0:
+                self._append(data[:room].decode('utf-8', 'ignore'), room)
+            self.size = self.limit
+            self.truncated = True
+            self.push()
+            raise LimitExceeded('OUTPUT_LIMIT')
+        self._append(text, len(data))
+        self.size += len(data)
+        if self.stream is not None and ('\n' in text or self.pending_size >= STREAM_CHUNK_BYTES):
+            self.push()
+        return len(text)
+
+    def _append(self, text, size):
+        if self.stream is None:
+            self.parts.append(text)
+        else:
+            self.pending.append(text)
+            self.pending_size += size
+
+    def push(self):
+        """把尚未推送的输出作为一个片段发送"""
+        if self.pending:
+            text = ''.join(self.pending)
+            self.pending.clear()
+            self.pending_size = 0
+            _reply({'stream': self.stream, 'text': text})
+
+    def getvalue(self):
+        return ''.join(self.parts)
+
+
+# 本次运行中用户代码导入过的顶层模块，随结果返回，供调用方判断输出是否可能随运行变化。
+# 记录在导入钩子中，任何写法的导入语句和直接调用 __import__ 都会经过这里
+_imported = set()
+
+
+def _guarded_import(name, globals=None, locals=None, fromlist=(), level=0):
+    if level != 0 or name.partition('.')[0] not in ALLOWED_MODULES:
+        raise ImportError('沙箱中不允许导入模块: ' + name)
+    _imported.add(name.partition('.')[0])
+    return __import__(name, globals, locals, fromlist, level)
+
+
+_BLOCKED_BUILTINS = ('open', 'breakpoint', 'help', 'exit', 'quit', 'copyright', 'credits', 'license')
+
+
+def _sandbox_builtins():
+    names = dict(vars(builtins))
+    for name in _BLOCKED_BUILTINS:
+        names.pop(name, None)
+    names['__import__'] = _guarded_import
+    return names
+
+
+def _on_cpu_limit(signum, frame):
+    raise LimitExceeded('CPU_LIMIT')
+
+
+def _on_timeout(signum, frame):
+    raise LimitExceeded('TIMEOUT')
+
+
+def _cpu_seconds():
+    usage = resource.getrusage(resource.RUSAGE_SELF)
+    return usage.ru_utime + usage.ru_stime
+
+
+def _disarm():
+    signal.setitimer(signal.ITIMER_PROF, 0)
+    signal.setitimer(signal.ITIMER_REAL, 0)
+
+
+def _format_error(error):
+    if isinstance(error, SyntaxError):
+        return ''.join(traceback.format_exception_only(type(error), error))
+    frames = [frame for frame in traceback.extract_tb(error.__traceback__) if frame.filename == SOURCE_NAME]
+    lines = ['Traceback (most recent call last):\n'] if frames else []
+    lines.extend(traceback.format_list(frames))
+    lines.extend(traceback.format_exception_only(type(error), error))
+    return ''.join(lines)
+
+
+def _run(request):
+    limit = request['maxOutputBytes']
+    streaming = bool(request.get('stream'))
+    stdout = BoundedOutput(limit, 'stdout' if streaming else None)
+    stderr = BoundedOutput(limit, 'stderr' if streaming else None)
+    namespace = {'__name__': '__main__', '__builtins__': _sandbox_builtins()}
+    status, error = 'SUCCESS', None
+    start_cpu, start_wall = _cpu_seconds(), time.monotonic()
+    sys.stdout, sys.stderr, sys.stdin = stdout, stderr, io.StringIO(request.get('stdin') or '')
+    try:
+        try:
+            code = compile(request['code'], SOURCE_NAME, 'exec')
+            signal.setitimer(signal.ITIMER_PROF, request['cpuMillis'] / 1000.0)
+            signal.setitimer(signal.ITIMER_REAL, request['wallMillis'] / 1000.0)
+            try:
+                exec(code, namespace)
+            finally:
+                _disarm()
+        except LimitExceeded as e:
+            status = e.status
+        except MemoryError:
+            status = 'MEMORY_LIMIT'
+        except SystemExit as e:
+            if e.code not in (None, 0):
+                status, error = 'ERROR', 'SystemExit: ' + str(e.code)
+        except BaseException as e:
+            status, error = 'ERROR', _format_error(e)
+    except LimitExceeded as e:
+        # 计时器恰好在异常处理过程中触发
+        _disarm()
+        status = e.status
+    finally:
+        sys.stdout, sys.stderr, sys.stdin = sys.__stdout__, sys.__stderr__, sys.__stdin__
+    stdout.push()
+    stderr.push()
+    namespace.clear()
+    return {
+        'status': status,
+        'stdout': stdout.getvalue(),
+        'stderr': stderr.getvalue(),
+        'error': error,
+        'cpuMillis': int((_cpu_seconds() - start_cpu) * 1000),
+        'wallMillis': int((time.monotonic() - start_wall) * 1000),
+        'truncated': stdout.truncated or stderr.truncated,
+        'imports': sorted(_imported),
+    }
+
+
+def _reply(message):
+    # 写出期间屏蔽计时器信号，避免超时异常打断写到一半的消息
+    line = json.dumps(message, ensure_ascii=False) + '\n'
+    signal.pthread_sigmask(signal.SIG_BLOCK, _TIMER_SIGNALS)
+    try:
+        _channel_out.write(line)
+        _channel_out.flush()
+    finally:
+        signal.pthread_sigmask(signal.SIG_UNBLOCK, _TIMER_SIGNALS)
+
+
+_STATUSES = frozenset(('SUCCESS', 'ERROR', 'TIMEOUT', 'CPU_LIMIT', 'MEMORY_LIMIT', 'OUTPUT_LIMIT'))
+_STREAMS = frozenset(('stdout', 'stderr'))
+
+
+def _failed(status):
+    return {'status': status, 'stdout': '', 'stderr': '', 'error': None,
+            'cpuMillis': 0, 'wallMillis': 0, 'truncated': False, 'imports': []}
+
+
+def _run_child(request, results):
+    """在fork出的子进程中运行一次，输出片段和结果写入私有管道，不返回"""
+    global _channel_out
+    code = 1
+    try:
+        # 子进程拿不到协议通道，只能经由常驻进程转发，用户代码无法伪造或打乱之后的运行结果
+        _channel_in.close()
+        _channel_out.close()
+        _channel_out = os.fdopen(results, 'w', encoding='utf-8')
+        resource.setrlimit(resource.RLIMIT_NPROC, (0, 0))
+        try:
+            result = _run(request)
+        except LimitExceeded as e:
+            _disarm()
+            result = _failed(e.status)
+        _reply(result)
+        code = 0
+    finally:
+        os._exit(code)
+
+
+def _checked_result(message):
+    """按协议字段重建子进程的运行结果，字段不合法时视为异常退出"""
+    try:
+        result = {
+            'status': message['status'],
+            'stdout': message['stdout'],
+            'stderr': message['stderr'],
+            'error': message['error'],
+            'cpuMillis': message['cpuMillis'],
+            'wallMillis': message['wallMillis'],
+            'truncated': message['truncated'],
+            'imports': message['imports'],
+        }
+    except (KeyError, TypeError):
+        return None
+    valid = (result['status'] in _STATUSES
+             and isinstance(result['stdout'], str) and isinstance(result['stderr'], str)
+             and (result['error'] is None or isinstance(result['error'], str))
+             and type(result['cpuMillis']) is int and type(result['wallMillis']) is int
+             and type(result['truncated']) is bool
+             and isinstance(result['imports'], list) and all(isinstance(name, str) for name in result['imports']))
+    return result if valid else None
+
+
+def _relay(results, max_line):
+    """转发子进程的输出片段，返回它的运行结果；结果之后的内容丢弃"""
+    result = None
+    with os.fdopen(results, 'r', encoding='utf-8', errors='replace') as reader:
+        while True:
+            line = reader.readline(max_line)
+            if not line:
+                return result
+            if result is not None:
+                continue
+            try:
+                message = json.loads(line)
+            except ValueError:
+                message = None
+            if not isinstance(message, dict):
+                result = _failed('ABORTED')
+            elif 'stream' in message:
+                if message['stream'] in _STREAMS and isinstance(message.get('text'), str):
+                    _reply({'stream': message['stream'], 'text': message['text']})
+            else:
+                result = _checked_result(message) or _failed('ABORTED')
+
+
+def main():
+    signal.signal(signal.SIGPROF, _on_cpu_limit)
+    signal.signal(signal.SIGALRM, _on_timeout)
+    signal.signal(signal.SIGXFSZ, signal.SIG_IGN)
+    resource.setrlimit(resource.RLIMIT_AS, (MEMORY_BYTES, MEMORY_BYTES))
+    resource.setrlimit(resource.RLIMIT_FSIZE, (0, 0))
+    # 预加载完成后冻结现有对象，子进程中的垃圾回收不再触碰它们，减少写时复制的内存页
+    gc.collect()
+    gc.freeze()
+    _reply({'ready': True})
+    for line in _channel_in:
+        request = json.loads(line)
+        # 输出在JSON中最多转义为原长度的6倍，另留出其余字段的余量
+        max_line = request['maxOutputBytes'] * 6 + 65536
+        results_in, results_out = os.pipe()
+        pid = os.fork()
+        if pid == 0:
+            os.close(results_in)
+            _run_child(request, results_out)
+        os.close(results_out)
+        result = _relay(results_in, max_line)
+        os.waitpid(pid, 0)
+        # 子进程没有给出结果就退出（如被信号结束）时返回异常退出
+        _reply(result or _failed('ABORTED'))
+
+
+main()
@@ -21,7 +21,7 @@ CREATE TABLE IF NOT EXISTS `learning_modules` (
     `thumbnail_url` VARCHAR(255) COMMENT '缩略图URL',
     `is_active` BOOLEAN DEFAULT TRUE COMMENT '是否激活',
     `is_published` BOOLEAN DEFAULT FALSE COMMENT '是否发布',
-    `sort_order` INT DEFAULT 0 COMMENT '排序索引',
+    `sort_order` INT NOT NULL DEFAULT 0 COMMENT '排序索引',
     `created_at` DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
     `updated_at` DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
     PRIMARY KEY (`id`),
@@ -37,10 +37,10 @@ CREATE TABLE IF NOT EXISTS `lessons` (
     `module_id` BIGINT NOT NULL COMMENT '所属模块ID',
     `title` VARCHAR(100) NOT NULL COMMENT '课程标题',
     `description` TEXT COMMENT '课程描述',
-    `content` LONGTEXT COMMENT '课程内容(HTML格式)',
+    `content` LONGBLOB COMMENT '课程内容(HTML格式, 压缩存储)',
     `video_url` VARCHAR(255) COMMENT '视频URL',
     `duration` INT DEFAULT 15 COMMENT '课程时长(分钟)',
-    `sort_order` INT DEFAULT 0 COMMENT '排序索引',
+    `sort_order` INT NOT NULL DEFAULT 0 COMMENT '排序索引',
     `is_free` BOOLEAN DEFAULT TRUE COMMENT '是否免费',
     `prerequisites` TEXT COMMENT '前置要求',
     `learning_objectives` TEXT COMMENT '学习目标',
@@ -59,11 +59,11 @@ CREATE TABLE IF NOT EXISTS `code_examples` (
     `lesson_id` BIGINT NOT NULL COMMENT '所属课程ID',
     `title` VARCHAR(100) NOT NULL COMMENT '示例标题',
     `description` TEXT COMMENT '示例描述',
-    `java_code` LONGTEXT COMMENT 'Java代码',
-    `python_code` LONGTEXT COMMENT 'Python代码',
-    `explanation` TEXT COMMENT '代码解释',
+    `java_code` LONGBLOB COMMENT 'Java代码(压缩存储)',
+    `python_code` LONGBLOB COMMENT 'Python代码(压缩存储)',
+    `explanation` LONGBLOB COMMENT '代码解释(压缩存储)',
     `difficulty_level` ENUM('EASY', 'MEDIUM', 'HARD') DEFAULT 'EASY' COMMENT '难度级别',
-    `sort_order` INT DEFAULT 0 COMMENT '排序索引',
+    `sort_order` INT NOT NULL DEFAULT 0 COMMENT '排序索引',
     `is_interactive` BOOLEAN DEFAULT FALSE COMMENT '是否可交互',
     `created_at` DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
     `updated_at` DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
@@ -0,0 +1,55 @@
+package com.company.pythonlearning.controller;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Accept-Encoding 解析：编码名、别名、通配符和q值
+ *
+ * @author Company
+ * @version 1.0.0
+ */
+class AcceptEncodingTest {
+
+    @Test
+    void acceptsListedGzip() {
+        assertThat(AcceptEncoding.allowsGzip("gzip")).isTrue();
+        assertThat(AcceptEncoding.allowsGzip("gzip, deflate, br")).isTrue();
+        assertThat(AcceptEncoding.allowsGzip("br;q=1.0, GZIP;q=0.5")).isTrue();
+        assertThat(AcceptEncoding.allowsGzip("x-gzip")).isTrue();
+        assertThat(AcceptEncoding.allowsGzip("deflate, gzip ; q = 0.001")).isTrue();
+    }
+
+    @Test
+    void rejectsGzipWithZeroQuality() {
+        assertThat(AcceptEncoding.allowsGzip("gzip;q=0")).isFalse();
+        assertThat(AcceptEncoding.allowsGzip("gzip;q=0.000, identity")).isFalse();
+        assertThat(AcceptEncoding.allowsGzip("*, gzip;q=0")).isFalse();
+    }
+
+    @Test
+    void fallsBackToWildcard() {
+        assertThat(AcceptEncoding.allowsGzip("*")).isTrue();
+        assertThat(AcceptEncoding.allowsGzip("br, *;q=0.1")).isTrue();
+        assertThat(AcceptEncoding.allowsGzip("identity, *;q=0")).isFalse();
+    }
+
+    @Test
+    void rejectsMissingOrUnrelatedCodings() {
+        assertThat(AcceptEncoding.allowsGzip(null)).isFalse();
+        assertThat(AcceptEncoding.allowsGzip("")).isFalse();
+        assertThat(AcceptEncoding.allowsGzip("identity")).isFalse();
+        assertThat(AcceptEncoding.allowsGzip("br, deflate")).isFalse();
+        // 名称中包含gzip的其他编码不算
+        assertThat(AcceptEncoding.allowsGzip("gzip-experimental")).isFalse();
+    }
+
+    @Test
+    void treatsMalformedQualityAsRefusal() {
+        assertThat(AcceptEncoding.allowsGzip("gzip;q=2")).isFalse();
+        assertThat(AcceptEncoding.allowsGzip("gzip;q=abc")).isFalse();
+        assertThat(AcceptEncoding.allowsGzip("gzip;q=NaN")).isFalse();
+        assertThat(AcceptEncoding.allowsGzip("gzip;level=9")).isTrue();
+    }
+}
@@ -0,0 +1,96 @@
+package com.company.pythonlearning.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 大文本字段压缩存储转换器：标记字节、压缩与原文两种存储格式，以及未带标记的历史数据
+ *
+ * @author Company
+ * @version 1.0.0
+ */
+class CompressedTextConverterTest {
+
+    private static final String LESSON_HTML = "<h2>类与对象</h2>\n<p>Python 使用 <code>class</code> 关键字定义类，"
+            + "构造函数为 <code>__init__</code>，实例方法的第一个参数是 <code>self</code>。</p>\n"
+            + "<pre><code>class User:\n    def __init__(self, name):\n        self.name = name\n</code></pre>\n";
+
+    private static final String JAVA_CODE = "public class User {\n    private String name;\n\n"
+            + "    public User(String name) {\n        this.name = name;\n    }\n\n"
+            + "    public String getName() {\n        return name;\n    }\n}\n";
+
+    private final CompressedTextConverter converter = new CompressedTextConverter();
+
+    @Test
+    void compressesLongTextBehindDeflateMarker() {
+        for (String text : new String[]{LESSON_HTML, JAVA_CODE, LESSON_HTML.repeat(50)}) {
+            byte[] column = converter.convertToDatabaseColumn(text);
+            int utf8Length = text.getBytes(StandardCharsets.UTF_8).length;
+
+            assertThat(column[0]).isEqualTo((byte) 0x01);
+            assertThat(ByteBuffer.wrap(column, 1, Integer.BYTES).getInt()).isEqualTo(utf8Length);
+            assertThat(column.length).isLessThan(utf8Length);
+            assertThat(converter.convertToEntityAttribute(column)).isEqualTo(text);
+        }
+    }
+
+    @Test
+    void storesShortTextBehindPlainMarker() {
+        String text = "print(\"你好\")";
+        byte[] column = converter.convertToDatabaseColumn(text);
+
+        assertThat(column[0]).isEqualTo((byte) 0x00);
+        assertThat(Arrays.copyOfRange(column, 1, column.length)).isEqualTo(text.getBytes(StandardCharsets.UTF_8));
+        assertThat(converter.convertToEntityAttribute(column)).isEqualTo(text);
+    }
+
+    @Test
+    void storesIncompressibleTextBehindPlainMarker() {
+        // 超过压缩阈值但没有重复的短文本，加上标记和长度后压缩结果不会更小
+        StringBuilder noise = new StringBuilder();
+        Random random = new Random(42);
+        while (noise.length() < 72) {
+            noise.append((char) ('!' + random.nextInt('~' - '!' + 1)));
+        }
+        String text = noise.toString();
+        byte[] column = converter.convertToDatabaseColumn(text);
+
+        assertThat(column[0]).isEqualTo((byte) 0x00);
+        assertThat(column.length).isEqualTo(text.getBytes(StandardCharsets.UTF_8).length + 1);
+        assertThat(converter.convertToEntityAttribute(column)).isEqualTo(text);
+    }
+
+    @Test
+    void roundTripsNullAndEmpty() {
+        assertThat(converter.convertToDatabaseColumn(null)).isNull();
+        assertThat(converter.convertToEntityAttribute(null)).isNull();
+        assertThat(converter.convertToDatabaseColumn("")).containsExactly(0x00);
+        assertThat(converter.convertToEntityAttribute(converter.convertToDatabaseColumn(""))).isEmpty();
+        assertThat(converter.convertToEntityAttribute(new byte[0])).isEmpty();
+    }
+
+    @Test
+    void readsLegacyUnmarkedText() {
+        // 通过SQL脚本直接写入的UTF-8原文没有标记字节
+        for (String text : new String[]{"<p>变量与数据类型</p>", JAVA_CODE, "x"}) {
+            assertThat(converter.convertToEntityAttribute(text.getBytes(StandardCharsets.UTF_8))).isEqualTo(text);
+        }
+    }
+
+    @Test
+    void rejectsTruncatedCompressedValue() {
+        byte[] column = converter.convertToDatabaseColumn(LESSON_HTML.repeat(20));
+        byte[] truncated = Arrays.copyOf(column, column.length / 2);
+
+        assertThatThrownBy(() -> converter.convertToEntityAttribute(truncated))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("压缩文本已损坏");
+    }
+}
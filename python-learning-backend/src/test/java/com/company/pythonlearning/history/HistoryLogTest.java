@@ -0,0 +1,249 @@
+package com.company.pythonlearning.history;
+
+import com.company.pythonlearning.config.ConverterProperties;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 转换历史日志：追加、分页、删除、清空，重新打开后的一致性，写到一半的记录，以及最早段的压缩
+ *
+ * @author Company
+ * @version 1.0.0
+ */
+class HistoryLogTest {
+
+    private static final int SMALL_SEGMENT_BYTES = 2048;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void appendPageDeleteAndClear() throws IOException {
+        try (HistoryLog historyLog = HistoryLog.open(directory, config())) {
+            long first = append(historyLog, "alice", 1);
+            long second = append(historyLog, "alice", 2);
+            long third = append(historyLog, "alice", 3);
+            long other = append(historyLog, "bob", 1);
+
+            HistoryLog.Page page = historyLog.page("alice", 1, 2);
+            assertThat(page.total()).isEqualTo(3);
+            assertThat(page.items()).extracting(HistoryEntry::id).containsExactly(third, second);
+            assertThat(historyLog.page("alice", 2, 2).items()).extracting(HistoryEntry::id).containsExactly(first);
+            assertThat(historyLog.page("alice", 3, 2).items()).isEmpty();
+
+            HistoryEntry entry = historyLog.get("alice", second);
+            assertThat(entry.username()).isEqualTo("alice");
+            assertThat(entry.javaCode()).isEqualTo(javaCode(2));
+            assertThat(entry.pythonCode()).isEqualTo(pythonCode(2));
+            assertThat(entry.conversionTime()).isEqualTo(12);
+            assertThat(entry.score()).isEqualTo(92);
+            // 其他用户的条目按ID也取不到
+            assertThat(historyLog.get("alice", other)).isNull();
+
+            assertThat(historyLog.delete("alice", second)).isTrue();
+            assertThat(historyLog.delete("alice", second)).isFalse();
+            assertThat(historyLog.get("alice", second)).isNull();
+            assertThat(historyLog.page("alice", 1, 10).items()).extracting(HistoryEntry::id)
+                    .containsExactly(third, first);
+
+            assertThat(historyLog.clear("alice")).isEqualTo(2);
+            assertThat(historyLog.clear("alice")).isZero();
+            assertThat(historyLog.page("alice", 1, 10).total()).isZero();
+            assertThat(historyLog.page("bob", 1, 10).items()).extracting(HistoryEntry::id).containsExactly(other);
+        }
+    }
+
+    @Test
+    void sameCodeIsStoredOnce() throws IOException {
+        try (HistoryLog historyLog = HistoryLog.open(directory, config())) {
+            append(historyLog, "alice", 1);
+            long afterFirst = historyLog.totalBytes();
+            append(historyLog, "alice", 2);
+            long distinctBody = historyLog.totalBytes() - afterFirst;
+            append(historyLog, "bob", 2);
+            long sharedBody = historyLog.totalBytes() - afterFirst - distinctBody;
+
+            assertThat(sharedBody).isLessThan(distinctBody);
+            assertThat(historyLog.page("bob", 1, 1).items().get(0).pythonCode()).isEqualTo(pythonCode(2));
+        }
+    }
+
+    @Test
+    void reopenRestoresIndexAndContinuesIds() throws IOException {
+        ConverterProperties.History config = config();
+        config.setMaxEntriesPerUser(3);
+        long deleted;
+        try (HistoryLog historyLog = HistoryLog.open(directory, config)) {
+            for (int i = 1; i <= 5; i++) {
+                append(historyLog, "alice", i);
+            }
+            append(historyLog, "bob", 1);
+            append(historyLog, "carol", 1);
+            historyLog.clear("carol");
+            deleted = append(historyLog, "bob", 2);
+            historyLog.delete("bob", deleted);
+        }
+
+        try (HistoryLog historyLog = HistoryLog.open(directory, config)) {
+            // 超出每用户上限的条目在回放时按同样的规则淘汰
+            assertThat(historyLog.page("alice", 1, 10).items()).extracting(HistoryEntry::id).containsExactly(5L, 4L, 3L);
+            assertThat(historyLog.page("alice", 1, 10).items()).extracting(HistoryEntry::javaCode)
+                    .containsExactly(javaCode(5), javaCode(4), javaCode(3));
+            assertThat(historyLog.page("bob", 1, 10).items()).extracting(HistoryEntry::id).containsExactly(6L);
+            assertThat(historyLog.page("carol", 1, 10).total()).isZero();
+
+            // 最大的ID已被删除，新ID仍然继续递增，不会复用
+            assertThat(append(historyLog, "bob", 3)).isEqualTo(deleted + 1);
+        }
+
+        try (HistoryLog historyLog = HistoryLog.open(directory, config)) {
+            assertThat(historyLog.page("bob", 1, 10).items()).extracting(HistoryEntry::id)
+                    .containsExactly(deleted + 1, 6L);
+        }
+    }
+
+    @Test
+    void tornFinalRecordIsDroppedOnReopen() throws IOException {
+        long kept;
+        try (HistoryLog historyLog = HistoryLog.open(directory, config())) {
+            kept = append(historyLog, "alice", 1);
+            append(historyLog, "alice", 2);
+        }
+
+        // 模拟写到一半时进程退出：最后一条记录的负载与校验和对不上
+        Path segment = directory.resolve(HistorySegment.fileName(0));
+        byte[] bytes = Files.readAllBytes(segment);
+        int last = lastRecordOffset(bytes);
+        bytes[last + HistorySegment.HEADER_BYTES] ^= 0x5A;
+        Files.write(segment, bytes);
+
+        try (HistoryLog historyLog = HistoryLog.open(directory, config())) {
+            assertThat(historyLog.page("alice", 1, 10).items()).extracting(HistoryEntry::id).containsExactly(kept);
+            long appended = append(historyLog, "alice", 3);
+            assertThat(appended).isEqualTo(kept + 1);
+        }
+
+        try (HistoryLog historyLog = HistoryLog.open(directory, config())) {
+            assertThat(historyLog.page("alice", 1, 10).items()).extracting(HistoryEntry::javaCode)
+                    .containsExactly(javaCode(3), javaCode(1));
+        }
+    }
+
+    @Test
+    void compactionCopiesLiveRecordsOutOfOldestSegment() throws IOException {
+        ConverterProperties.History config = config();
+        config.setSegmentBytes(SMALL_SEGMENT_BYTES);
+        int count = 40;
+        try (HistoryLog historyLog = HistoryLog.open(directory, config)) {
+            for (int i = 1; i <= count; i++) {
+                append(historyLog, "alice", i);
+            }
+            // 只保留第一条，其余删除；第一条及其正文位于最早的段中，压缩时必须被复制
+            for (long id = 2; id <= count; id++) {
+                historyLog.delete("alice", id);
+            }
+            int before = historyLog.segmentCount();
+            long bytesBefore = historyLog.totalBytes();
+            assertThat(before).isGreaterThan(2);
+
+            int removed = historyLog.compact();
+
+            assertThat(removed).isPositive();
+            assertThat(historyLog.segmentCount()).isEqualTo(before - removed);
+            assertThat(historyLog.totalBytes()).isLessThan(bytesBefore);
+            assertThat(Files.exists(directory.resolve(HistorySegment.fileName(0)))).isFalse();
+            assertSingleEntry(historyLog);
+        }
+
+        try (HistoryLog historyLog = HistoryLog.open(directory, config)) {
+            assertSingleEntry(historyLog);
+            assertThat(append(historyLog, "alice", count + 1)).isEqualTo(count + 1);
+        }
+    }
+
+    @Test
+    void idsContinueAfterCompactionDropsTheLastDeleteRecord() throws IOException {
+        ConverterProperties.History config = config();
+        config.setSegmentBytes(SMALL_SEGMENT_BYTES);
+        int count = 120;
+        try (HistoryLog historyLog = HistoryLog.open(directory, config)) {
+            for (int i = 1; i <= count; i++) {
+                append(historyLog, "alice", i);
+            }
+            // 最大ID的删除记录先写入，随后的删除记录把它挤进更早的段，压缩后只剩较小ID的删除记录
+            historyLog.delete("alice", count);
+            for (long id = count - 1; id >= 1; id--) {
+                historyLog.delete("alice", id);
+            }
+            historyLog.compact();
+            assertThat(historyLog.segmentCount()).isEqualTo(1);
+        }
+
+        try (HistoryLog historyLog = HistoryLog.open(directory, config)) {
+            assertThat(historyLog.page("alice", 1, 10).total()).isZero();
+            assertThat(append(historyLog, "bob", 1)).isEqualTo(count + 1);
+        }
+    }
+
+    private static void assertSingleEntry(HistoryLog historyLog) {
+        List<HistoryEntry> items = historyLog.page("alice", 1, 10).items();
+        assertThat(items).extracting(HistoryEntry::id).containsExactly(1L);
+        assertThat(items.get(0).javaCode()).isEqualTo(javaCode(1));
+        assertThat(items.get(0).pythonCode()).isEqualTo(pythonCode(1));
+    }
+
+    private static ConverterProperties.History config() {
+        ConverterProperties.History config = new ConverterProperties.History();
+        config.setSegmentBytes(64 * 1024);
+        return config;
+    }
+
+    private static long append(HistoryLog historyLog, String username, int n) {
+        String javaCode = javaCode(n);
+        return historyLog.append(username, sha256(javaCode), javaCode, pythonCode(n), 10 + n, 90 + n);
+    }
+
+    private static String javaCode(int n) {
+        return "public int square" + n + "(int x) { return x * x + " + n + "; }";
+    }
+
+    private static String pythonCode(int n) {
+        return "def square" + n + "(x):\n    return x * x + " + n + "\n";
+    }
+
+    private static String sha256(String text) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                    .digest(text.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 按记录头中的长度依次跳过，返回最后一条记录的偏移量
+     */
+    private static int lastRecordOffset(byte[] segment) {
+        ByteBuffer buffer = ByteBuffer.wrap(segment).order(ByteOrder.BIG_ENDIAN);
+        int offset = 0;
+        int last = -1;
+        while (offset + HistorySegment.HEADER_BYTES <= segment.length && buffer.getInt(offset) > 0) {
+            last = offset;
+            offset += HistorySegment.HEADER_BYTES + buffer.getInt(offset);
+        }
+        return last;
+    }
+}
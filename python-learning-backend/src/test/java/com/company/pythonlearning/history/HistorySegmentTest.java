@@ -0,0 +1,93 @@
+package com.company.pythonlearning.history;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 段文件：追加与回放、长度未写入的记录、封存截断和文件名解析
+ *
+ * @author Company
+ * @version 1.0.0
+ */
+class HistorySegmentTest {
+
+    private static final int CAPACITY = 256;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replaysAppendedRecords() throws IOException {
+        HistorySegment segment = HistorySegment.create(directory, 3, CAPACITY);
+        int first = segment.append((byte) 1, text("print(1)"));
+        int second = segment.append((byte) 2, text("print(2)"));
+        segment.force();
+
+        HistorySegment reopened = HistorySegment.open(directory.resolve(HistorySegment.fileName(3)), 3);
+        List<String> records = new ArrayList<>();
+        int end = reopened.replay((offset, type, payload) ->
+                records.add(offset + ":" + type + ":" + StandardCharsets.UTF_8.decode(payload)));
+
+        assertThat(records).containsExactly(first + ":1:print(1)", second + ":2:print(2)");
+        assertThat(end).isEqualTo(segment.size());
+        assertThat(reopened.recordBytes(second)).isEqualTo(HistorySegment.HEADER_BYTES + 8);
+    }
+
+    @Test
+    void stopsAtRecordWhoseLengthWasNeverWritten() throws IOException {
+        HistorySegment segment = HistorySegment.create(directory, 0, CAPACITY);
+        segment.append((byte) 1, text("kept"));
+        int torn = segment.append((byte) 1, text("torn"));
+        segment.force();
+
+        // 长度最后写入：写到一半时长度字段仍为0
+        Path path = directory.resolve(HistorySegment.fileName(0));
+        byte[] bytes = Files.readAllBytes(path);
+        ByteBuffer.wrap(bytes).putInt(torn, 0);
+        Files.write(path, bytes);
+
+        List<String> records = new ArrayList<>();
+        int end = HistorySegment.open(path, 0).replay((offset, type, payload) ->
+                records.add(StandardCharsets.UTF_8.decode(payload).toString()));
+
+        assertThat(records).containsExactly("kept");
+        assertThat(end).isEqualTo(torn);
+    }
+
+    @Test
+    void sealTruncatesToWrittenLength() throws IOException {
+        HistorySegment segment = HistorySegment.create(directory, 0, CAPACITY);
+        segment.append((byte) 1, text("print(1)"));
+        assertThat(segment.hasRoom(CAPACITY - segment.size() - HistorySegment.HEADER_BYTES)).isTrue();
+        assertThat(segment.hasRoom(CAPACITY - segment.size())).isFalse();
+
+        segment.seal();
+
+        assertThat(segment.isSealed()).isTrue();
+        assertThat(segment.hasRoom(0)).isFalse();
+        assertThat(Files.size(directory.resolve(HistorySegment.fileName(0)))).isEqualTo(segment.size());
+        assertThat(StandardCharsets.UTF_8.decode(segment.payload(0)).toString()).isEqualTo("print(1)");
+    }
+
+    @Test
+    void parsesSegmentFileNames() {
+        assertThat(HistorySegment.parseNumber(Path.of(HistorySegment.fileName(42)))).isEqualTo(42);
+        assertThat(HistorySegment.parseNumber(Path.of("0000000042.tmp"))).isEqualTo(-1);
+        assertThat(HistorySegment.parseNumber(Path.of("42.log"))).isEqualTo(-1);
+        assertThat(HistorySegment.parseNumber(Path.of("00000000xx.log"))).isEqualTo(-1);
+    }
+
+    private static ByteBuffer text(String value) {
+        return ByteBuffer.wrap(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,79 @@
+package com.company.pythonlearning.history;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 单个用户的历史索引：按ID有序插入、查找和各类批量删除
+ *
+ * @author Company
+ * @version 1.0.0
+ */
+class UserHistoryIndexTest {
+
+    @Test
+    void keepsEntriesOrderedById() {
+        UserHistoryIndex index = new UserHistoryIndex();
+        // 超过初始容量，且乱序插入
+        for (long id : new long[]{5, 1, 9, 3, 7, 2, 8, 4, 6, 10}) {
+            index.put(id, id * 100, id * 1000);
+        }
+
+        assertThat(index.size()).isEqualTo(10);
+        for (int i = 0; i < index.size(); i++) {
+            assertThat(index.idAt(i)).isEqualTo(i + 1);
+            assertThat(index.positionAt(i)).isEqualTo((i + 1) * 100L);
+        }
+        assertThat(index.position(7)).isEqualTo(700);
+        assertThat(index.position(11)).isEqualTo(-1);
+    }
+
+    @Test
+    void putOfExistingIdOnlyMovesPosition() {
+        UserHistoryIndex index = new UserHistoryIndex();
+        index.put(1, 100, 1000);
+        index.put(1, 555, 9999);
+
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.position(1)).isEqualTo(555);
+        // 创建时间保持原值，压缩复制不会让条目“变新”
+        assertThat(index.removeCreatedBefore(1001)).isEqualTo(1);
+    }
+
+    @Test
+    void removesSingleAndRanges() {
+        UserHistoryIndex index = filled(10);
+
+        assertThat(index.remove(4)).isTrue();
+        assertThat(index.remove(4)).isFalse();
+        assertThat(index.removeUpTo(3)).isEqualTo(3);
+        assertThat(index.idAt(0)).isEqualTo(5);
+        // 上界本身不存在时删除到它之前的最后一个条目
+        index.remove(6);
+        assertThat(index.removeUpTo(6)).isEqualTo(1);
+        assertThat(index.trimTo(2)).isEqualTo(2);
+        assertThat(index.idAt(0)).isEqualTo(9);
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    void removesByCreationTimeAndPosition() {
+        UserHistoryIndex index = filled(10);
+
+        assertThat(index.removeCreatedBefore(3000)).isEqualTo(2);
+        assertThat(index.removeByPosition(position -> position % 200 == 0)).isEqualTo(4);
+        assertThat(index.size()).isEqualTo(4);
+        for (int i = 0; i < index.size(); i++) {
+            assertThat(index.idAt(i) % 2).isEqualTo(1);
+        }
+    }
+
+    private static UserHistoryIndex filled(int count) {
+        UserHistoryIndex index = new UserHistoryIndex();
+        for (long id = 1; id <= count; id++) {
+            index.put(id, id * 100, id * 1000);
+        }
+        return index;
+    }
+}
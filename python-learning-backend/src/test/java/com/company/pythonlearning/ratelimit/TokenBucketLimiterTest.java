@@ -0,0 +1,103 @@
+package com.company.pythonlearning.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 令牌桶限流器：突发容量、补充速率、等待时间，以及分段已满时的溢出桶
+ *
+ * @author Company
+ * @version 1.0.0
+ */
+class TokenBucketLimiterTest {
+
+    private static final long MINUTE_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    @Test
+    void admitsBurstUpToCapacity() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(3, 1, 1, 16);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire("alice")).isZero();
+        }
+        assertThat(limiter.tryAcquire("alice")).isPositive();
+        // 其他键有自己的桶
+        assertThat(limiter.tryAcquire("bob")).isZero();
+    }
+
+    @Test
+    void waitIsTimeUntilNextToken() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(2, 1, 1, 16);
+        limiter.tryAcquire("alice");
+        limiter.tryAcquire("alice");
+
+        long wait = limiter.tryAcquire("alice");
+
+        // 每分钟补充一个令牌，刚取空时约等一分钟
+        assertThat(wait).isLessThanOrEqualTo(MINUTE_NANOS).isGreaterThan(MINUTE_NANOS - TimeUnit.SECONDS.toNanos(5));
+        // 被拒绝的请求不消耗令牌，再次询问时等待时间不会变长
+        assertThat(limiter.tryAcquire("alice")).isPositive().isLessThanOrEqualTo(wait);
+    }
+
+    @Test
+    void refillsAtConfiguredRate() throws InterruptedException {
+        // 每100毫秒补充一个令牌
+        TokenBucketLimiter limiter = new TokenBucketLimiter(2, 600, 1, 16);
+        assertThat(limiter.tryAcquire("alice")).isZero();
+        assertThat(limiter.tryAcquire("alice")).isZero();
+        long wait = limiter.tryAcquire("alice");
+        assertThat(wait).isPositive().isLessThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+
+        TimeUnit.NANOSECONDS.sleep(wait + TimeUnit.MILLISECONDS.toNanos(5));
+        assertThat(limiter.tryAcquire("alice")).isZero();
+
+        // 空闲再久也只回满到容量
+        TimeUnit.MILLISECONDS.sleep(500);
+        assertThat(limiter.tryAcquire("alice")).isZero();
+        assertThat(limiter.tryAcquire("alice")).isZero();
+        assertThat(limiter.tryAcquire("alice")).isPositive();
+    }
+
+    @Test
+    void fullStripeFallsBackToSharedOverflowBucket() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(2, 1, 1, 2);
+        assertThat(limiter.tryAcquire("alice")).isZero();
+        assertThat(limiter.tryAcquire("bob")).isZero();
+
+        // 分段中的桶都在使用中，新键共用溢出桶，总共只放行一个桶的容量
+        int admitted = 0;
+        for (int i = 0; i < 100; i++) {
+            if (limiter.tryAcquire("user" + i) == 0) {
+                admitted++;
+            }
+        }
+
+        assertThat(admitted).isEqualTo(2);
+        assertThat(limiter.size()).isEqualTo(2);
+        // 已有自己桶的键不受溢出桶影响
+        assertThat(limiter.tryAcquire("alice")).isZero();
+    }
+
+    @Test
+    void refilledBucketsAreEvictedToMakeRoom() throws InterruptedException {
+        // 每毫秒补充一个令牌，容量1：取走后1毫秒即回满
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1, 60_000, 1, 2);
+        limiter.tryAcquire("alice");
+        limiter.tryAcquire("bob");
+        TimeUnit.MILLISECONDS.sleep(5);
+
+        assertThat(limiter.tryAcquire("carol")).isZero();
+        assertThat(limiter.tryAcquire("dave")).isZero();
+        assertThat(limiter.size()).isEqualTo(2);
+    }
+
+    @Test
+    void rejectsInvalidConfiguration() {
+        assertThatThrownBy(() -> new TokenBucketLimiter(0, 1, 1, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TokenBucketLimiter(1, 0, 1, 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,129 @@
+package com.company.pythonlearning.service.impl;
+
+import com.company.pythonlearning.dto.response.ModuleTreeResponse;
+import com.company.pythonlearning.entity.CodeExample;
+import com.company.pythonlearning.entity.LearningModule;
+import com.company.pythonlearning.entity.Lesson;
+import com.company.pythonlearning.enums.DifficultyLevel;
+import com.company.pythonlearning.metrics.StatementCounter;
+import com.company.pythonlearning.repository.CodeExampleRepository;
+import com.company.pythonlearning.repository.LearningModuleRepository;
+import com.company.pythonlearning.repository.LessonRepository;
+import com.company.pythonlearning.service.LearningModuleService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 已发布模块树的查询次数：无论模块多少都固定为三条语句
+ *
+ * <p>在内嵌H2上启动不含Web层的应用上下文，数据由实体直接生成，语句数由 {@link StatementCounter} 统计。</p>
+ *
+ * @author Company
+ * @version 1.0.0
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:module-tree;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+})
+class LearningModuleServiceImplTest {
+
+    private static final int MODULE_COUNT = 5;
+
+    private static final int LESSONS_PER_MODULE = 4;
+
+    private static final int EXAMPLES_PER_MODULE = 3;
+
+    private static final int TREE_STATEMENTS = 3;
+
+    @Autowired
+    private LearningModuleService learningModuleService;
+
+    @Autowired
+    private LearningModuleRepository learningModuleRepository;
+
+    @Autowired
+    private LessonRepository lessonRepository;
+
+    @Autowired
+    private CodeExampleRepository codeExampleRepository;
+
+    @Autowired
+    private StatementCounter statementCounter;
+
+    @Test
+    void publishedModuleTreeUsesFixedNumberOfStatements() {
+        seed(0, MODULE_COUNT);
+        assertTreeStatements(MODULE_COUNT);
+
+        seed(MODULE_COUNT, MODULE_COUNT);
+        assertTreeStatements(MODULE_COUNT * 2);
+    }
+
+    private void assertTreeStatements(int expectedModules) {
+        statementCounter.begin();
+        List<ModuleTreeResponse> tree;
+        int statements;
+        try {
+            tree = learningModuleService.getPublishedModuleTree();
+        } finally {
+            statements = statementCounter.end();
+        }
+
+        assertThat(tree).hasSize(expectedModules);
+        assertThat(tree).allSatisfy(module -> {
+            assertThat(module.getLessons()).hasSize(LESSONS_PER_MODULE);
+            assertThat(module.getCodeExamples()).hasSize(EXAMPLES_PER_MODULE);
+        });
+        assertThat(statements).isEqualTo(TREE_STATEMENTS);
+    }
+
+    private void seed(int firstSortOrder, int count) {
+        for (int m = firstSortOrder; m < firstSortOrder + count; m++) {
+            LearningModule module = new LearningModule();
+            module.setTitle("Python模块" + m);
+            module.setDescription("学习类、继承和多态");
+            module.setDifficultyLevel(DifficultyLevel.BEGINNER);
+            module.setIsPublished(true);
+            module.setSortOrder(m);
+            module = learningModuleRepository.save(module);
+
+            List<Lesson> lessons = new ArrayList<>(LESSONS_PER_MODULE);
+            for (int l = 0; l < LESSONS_PER_MODULE; l++) {
+                Lesson lesson = new Lesson();
+                lesson.setLearningModule(module);
+                lesson.setTitle("第" + l + "课 " + m);
+                lesson.setContent("<p>变量与数据类型</p>");
+                lesson.setSortOrder(l);
+                lesson.setIsFree(true);
+                lesson.setIsPublished(true);
+                lessons.add(lesson);
+            }
+            lessonRepository.saveAll(lessons);
+
+            List<CodeExample> examples = new ArrayList<>(EXAMPLES_PER_MODULE);
+            for (int e = 0; e < EXAMPLES_PER_MODULE; e++) {
+                CodeExample example = new CodeExample();
+                example.setLearningModule(module);
+                example.setTitle("示例" + e + " " + m);
+                example.setJavaCode("System.out.println(\"hello\");");
+                example.setPythonCode("print(\"hello\")\n");
+                example.setDifficultyLevel(DifficultyLevel.BEGINNER);
+                example.setSortOrder(e);
+                examples.add(example);
+            }
+            codeExampleRepository.saveAll(examples);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.company.pythonlearning.service.impl;
+
+import com.company.pythonlearning.dto.response.CodeExampleSummaryResponse;
+import com.company.pythonlearning.dto.response.LessonDetailResponse;
+import com.company.pythonlearning.entity.CodeExample;
+import com.company.pythonlearning.entity.LearningModule;
+import com.company.pythonlearning.entity.Lesson;
+import com.company.pythonlearning.enums.DifficultyLevel;
+import com.company.pythonlearning.metrics.StatementCounter;
+import com.company.pythonlearning.repository.CodeExampleRepository;
+import com.company.pythonlearning.repository.LearningModuleRepository;
+import com.company.pythonlearning.repository.LessonRepository;
+import com.company.pythonlearning.service.LessonService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 课程详情的查询次数：课程和所属模块的代码示例固定为两条语句
+ *
+ * <p>在内嵌H2上启动不含Web层的应用上下文，数据由实体直接生成，语句数由 {@link StatementCounter} 统计。</p>
+ *
+ * @author Company
+ * @version 1.0.0
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:lesson-detail;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+})
+class LessonServiceImplTest {
+
+    private static final int EXAMPLE_COUNT = 6;
+
+    private static final int DETAIL_STATEMENTS = 2;
+
+    @Autowired
+    private LessonService lessonService;
+
+    @Autowired
+    private LearningModuleRepository learningModuleRepository;
+
+    @Autowired
+    private LessonRepository lessonRepository;
+
+    @Autowired
+    private CodeExampleRepository codeExampleRepository;
+
+    @Autowired
+    private StatementCounter statementCounter;
+
+    @Test
+    void lessonDetailUsesFixedNumberOfStatements() {
+        LearningModule module = new LearningModule();
+        module.setTitle("面向对象");
+        module.setDifficultyLevel(DifficultyLevel.BEGINNER);
+        module.setIsPublished(true);
+        module.setSortOrder(0);
+        module = learningModuleRepository.save(module);
+
+        Lesson lesson = new Lesson();
+        lesson.setLearningModule(module);
+        lesson.setTitle("类与对象");
+        lesson.setContent("<p>class 关键字</p>");
+        lesson.setSortOrder(0);
+        lesson.setIsFree(true);
+        lesson.setIsPublished(true);
+        lesson = lessonRepository.save(lesson);
+
+        List<CodeExample> examples = new ArrayList<>(EXAMPLE_COUNT);
+        for (int e = 0; e < EXAMPLE_COUNT; e++) {
+            CodeExample example = new CodeExample();
+            example.setLearningModule(module);
+            example.setTitle("示例" + e);
+            example.setJavaCode("System.out.println(\"hello\");");
+            example.setPythonCode("print(\"hello\")\n");
+            example.setDifficultyLevel(DifficultyLevel.BEGINNER);
+            example.setSortOrder(e);
+            examples.add(example);
+        }
+        codeExampleRepository.saveAll(examples);
+
+        statementCounter.begin();
+        LessonDetailResponse detail;
+        int statements;
+        try {
+            detail = lessonService.getLessonDetail(lesson.getId());
+        } finally {
+            statements = statementCounter.end();
+        }
+
+        assertThat(detail.getModuleId()).isEqualTo(module.getId());
+        assertThat(detail.getModuleTitle()).isEqualTo("面向对象");
+        assertThat(detail.getContent()).isEqualTo("<p>class 关键字</p>");
+        assertThat(detail.getCodeExamples()).extracting(CodeExampleSummaryResponse::getSortOrder)
+                .containsExactly(0, 1, 2, 3, 4, 5);
+        assertThat(statements).isEqualTo(DETAIL_STATEMENTS);
+    }
+
+    @Test
+    void missingLessonIsRejected() {
+        assertThatThrownBy(() -> lessonService.getLessonDetail(Long.MAX_VALUE))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("课程不存在");
+    }
+}
@@ -5,7 +5,10 @@ import type {
   Course, 
   LearningProgress,
   QuizResult,
-  PaginationResponse
+  PaginationResponse,
+  SearchSuggestion,
+  CodeRunResult,
+  LearningStats
 } from '@/types/api'
 
 /**
@@ -89,5 +92,35 @@ export const learningApi = {
     return request.get('/api/v1/learning/courses/search', {
       params: { keyword, page, size }
     })
+  },
+
+  /**
+   * 搜索输入联想
+   */
+  suggest: (prefix: string, limit: number = 10): Promise<ApiResponse<SearchSuggestion[]>> => {
+    return request.get('/api/v1/search/suggest', {
+      params: { prefix, limit }
+    })
+  },
+
+  /**
+   * 运行代码示例，传入code时运行修改后的代码
+   */
+  runCodeExample: (id: number, code?: string, stdin?: string): Promise<ApiResponse<CodeRunResult>> => {
+    return request.post(`/api/v1/code-examples/${id}/run`, { code, stdin })
+  },
+
+  /**
+   * 标记课时完成
+   */
+  completeLesson: (lessonId: number): Promise<ApiResponse<void>> => {
+    return request.post(`/api/v1/learning/lessons/${lessonId}/complete`)
+  },
+
+  /**
+   * 获取学习面板统计（模块完成度、连续学习天数、技能雷达图）
+   */
+  getLearningStats: (): Promise<ApiResponse<LearningStats>> => {
+    return request.get('/api/v1/learning/stats')
   }
 }
\ No newline at end of file
@@ -19,6 +19,58 @@ export interface PaginationResponse<T = any> {
   pages: number
 }
 
+// 搜索建议类型
+export interface SearchSuggestion {
+  text: string
+  type: 'MODULE' | 'LESSON' | 'CODE_EXAMPLE' | 'JAVA_IDENTIFIER' | 'PYTHON_KEYWORD'
+  weight: number
+}
+
+// 代码运行结果类型
+export interface CodeRunResult {
+  status: 'SUCCESS' | 'ERROR' | 'TIMEOUT' | 'CPU_LIMIT' | 'MEMORY_LIMIT' | 'OUTPUT_LIMIT' | 'ABORTED' | 'CANCELLED'
+  stdout: string
+  stderr: string
+  error: string | null
+  cpuTime: number
+  executionTime: number
+  truncated: boolean
+  cached: boolean
+}
+
+// 学习面板统计
+export interface LearningStats {
+  totalMinutes: number
+  completedModules: number
+  completedLessons: number
+  quizAttempts: number
+  averageQuizScore: number | null
+  quizPassRate: number | null
+  streakDays: number
+  longestStreak: number
+  lastActiveDate: string | null
+  modules: ModuleStats[]
+  skills: SkillScore[]
+}
+
+export interface ModuleStats {
+  moduleId: number
+  title: string
+  moduleType: string | null
+  lessonCount: number
+  completedLessons: number
+  progress: number
+  completionRate: number
+  completed: boolean
+  minutes: number
+  averageQuizScore: number | null
+}
+
+export interface SkillScore {
+  skill: string
+  score: number
+}
+
 // 列表响应类型
 export interface ListResponse<T = any> extends BaseResponse<PaginationResponse<T>> {}
 